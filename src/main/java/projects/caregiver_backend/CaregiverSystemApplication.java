@@ -2,8 +2,10 @@ package projects.caregiver_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class CaregiverSystemApplication {
 
 	public static void main(String[] args) {
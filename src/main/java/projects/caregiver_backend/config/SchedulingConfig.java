@@ -0,0 +1,32 @@
+package projects.caregiver_backend.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Scheduling Configuration
+ * Reconciliation and payout runs can hold a scheduler thread for minutes, so the
+ * webhook inbox drain runs on a scheduler of its own instead of queueing behind them
+ */
+@Configuration
+public class SchedulingConfig {
+
+    /**
+     * Shared scheduler for the periodic jobs, sized by spring.task.scheduling.pool.size.
+     * Picked by name for every @Scheduled method that does not name a scheduler.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler webhookInboxScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("webhook-inbox-");
+        return scheduler;
+    }
+}
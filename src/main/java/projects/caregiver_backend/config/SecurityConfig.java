@@ -1,19 +1,28 @@
 package projects.caregiver_backend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.client.RestTemplate;
 import projects.caregiver_backend.security.JwtAuthenticationFilter;
 
 @Configuration
@@ -22,7 +31,50 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
 
+    /**
+     * The Prometheus scrape authenticates with its own HTTP Basic credential, not a
+     * user JWT, so a scrape job never has to renew a token. Without a configured
+     * password the endpoint refuses every request.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain metricsScrapeFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${metrics.scrape.username:prometheus}") String username,
+            @Value("${metrics.scrape.password:}") String password
+    ) throws Exception {
+
+        http
+                .securityMatcher(EndpointRequest.to(PrometheusScrapeEndpoint.class))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                );
+
+        if (password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+            return http.build();
+        }
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername(username)
+                        .password(passwordEncoder.encode(password))
+                        .roles("METRICS")
+                        .build()
+        ));
+        provider.setPasswordEncoder(passwordEncoder);
+
+        http
+                .authenticationManager(new ProviderManager(provider))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"))
+                .httpBasic(Customizer.withDefaults());
+
+        return http.build();
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
         http
@@ -35,12 +87,26 @@ public class SecurityConfig {
                 // Authorization rules
                 .authorizeHttpRequests(auth -> auth
 
+                        // Async dispatches only write a result the original request was authorised for
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                        // A caregiver's own bookings, earnings and payouts, ahead of the public GET /caregivers/**
+                        .requestMatchers(
+                                "/caregivers/me/bookings/**",
+                                "/caregivers/me/earnings/**",
+                                "/caregivers/me/payout-account"
+                        ).hasRole("CAREGIVER")
+
                         // Public endpoints
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/caregivers/**").permitAll()
+                        // Paystack cannot send a JWT; webhooks are authenticated by signature
+                        .requestMatchers(HttpMethod.POST, "/api/webhooks/paystack").permitAll()
+                        // Container health check
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
 
-                        // Admin-only
-                        .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // Admin-only, including the remaining actuator endpoints
+                        .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
 
                         // Caregiver-only actions
                         .requestMatchers("/caregivers/onboard").hasRole("CAREGIVER")
@@ -66,11 +132,6 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
-    @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(
             AuthenticationConfiguration config) throws Exception {
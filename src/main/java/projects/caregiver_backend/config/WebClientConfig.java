@@ -1,18 +1,58 @@
 package projects.caregiver_backend.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    /**
+     * Bounded keep-alive pool for Paystack; pool gauges are published to Micrometer
+     * under reactor.netty.connection.provider.*
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider paystackConnectionProvider(
+            @Value("${paystack.gateway.max-connections:50}") int maxConnections,
+            @Value("${paystack.gateway.pending-acquire-timeout:PT2S}") Duration pendingAcquireTimeout,
+            @Value("${paystack.gateway.max-idle-time:PT30S}") Duration maxIdleTime
+    ) {
+        return ConnectionProvider.builder("paystack")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient paystackWebClient() {
+    public WebClient paystackWebClient(
+            ConnectionProvider paystackConnectionProvider,
+            @Value("${paystack.base.url}") String baseUrl,
+            @Value("${paystack.secret.key}") String secretKey,
+            @Value("${paystack.gateway.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${paystack.gateway.deadline:PT10S}") Duration responseTimeout
+    ) {
+        HttpClient httpClient = HttpClient.create(paystackConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+
         return WebClient.builder()
-                .baseUrl("https://api.paystack.co")
-                .defaultHeader("Authorization", "Bearer " + System.getenv("PAYSTACK_SECRET_KEY"))
-                .defaultHeader("Content-Type", "application/json")
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeaders(headers -> {
+                    headers.setBearerAuth(secretKey);
+                    headers.setContentType(MediaType.APPLICATION_JSON);
+                })
                 .build();
     }
 }
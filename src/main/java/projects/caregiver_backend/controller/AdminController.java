@@ -0,0 +1,32 @@
+package projects.caregiver_backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import projects.caregiver_backend.dtos.response.TemplateMigrationResponse;
+import projects.caregiver_backend.service.AvailabilityTemplateService;
+import projects.caregiver_backend.service.PaystackService;
+
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final AvailabilityTemplateService availabilityTemplateService;
+    private final PaystackService paystackService;
+
+    @PostMapping("/availability/migrate-templates")
+    public TemplateMigrationResponse migrateAvailabilityToTemplates() {
+        return availabilityTemplateService.migrateExistingRows();
+    }
+
+    // Raw Paystack JSON for support and dispute handling, decompressed from the side table
+    @GetMapping(value = "/payments/{reference}/gateway-payload", produces = MediaType.APPLICATION_JSON_VALUE)
+    public String gatewayPayload(@PathVariable String reference) {
+        return paystackService.gatewayPayload(reference);
+    }
+}
@@ -7,11 +7,13 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import projects.caregiver_backend.dtos.request.BookingRequest;
 import projects.caregiver_backend.dtos.response.BookingResponse;
 import projects.caregiver_backend.service.BookingService;
+import projects.caregiver_backend.service.IdempotencyService;
 
 @RestController
 @RequestMapping("/bookings")
@@ -19,16 +21,25 @@ import projects.caregiver_backend.service.BookingService;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     public ResponseEntity<BookingResponse> createBooking(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody BookingRequest request
     ) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(bookingService.createBooking(
+                .body(idempotencyService.execute(
+                        idempotencyKey,
                         userDetails.getUsername(),
-                        request
+                        "create-booking",
+                        request,
+                        BookingResponse.class,
+                        () -> bookingService.createBooking(
+                                userDetails.getUsername(),
+                                request
+                        )
                 ));
     }
 }
@@ -1,19 +1,45 @@
 package projects.caregiver_backend.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import projects.caregiver_backend.dtos.request.AvailabilityTemplateRequest;
 import projects.caregiver_backend.dtos.request.CaregiverFilterRequest;
+import projects.caregiver_backend.dtos.request.CaregiverMatchRequest;
 import projects.caregiver_backend.dtos.request.CaregiverOnboardingRequest;
+import projects.caregiver_backend.dtos.request.PayoutAccountRequest;
+import projects.caregiver_backend.dtos.request.WeeklyAvailabilityRequest;
+import projects.caregiver_backend.dtos.response.AvailabilityGridResponse;
+import projects.caregiver_backend.dtos.response.BookingResponse;
+import projects.caregiver_backend.dtos.response.CaregiverMatchResponse;
 import projects.caregiver_backend.dtos.response.CaregiverResponse;
+import projects.caregiver_backend.dtos.response.EarningsBalanceResponse;
+import projects.caregiver_backend.dtos.response.EarningsStatementResponse;
+import projects.caregiver_backend.dtos.response.FreeSlotResponse;
+import projects.caregiver_backend.dtos.response.LeaderboardEntryResponse;
+import projects.caregiver_backend.dtos.response.RatingSummaryResponse;
 import projects.caregiver_backend.model.Caregiver;
 import projects.caregiver_backend.model.OnboardingStatus;
 import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.service.AvailabilityGridService;
+import projects.caregiver_backend.service.AvailabilityTemplateService;
+import projects.caregiver_backend.service.BookingService;
+import projects.caregiver_backend.service.CaregiverMatchingService;
+import projects.caregiver_backend.service.CaregiverRankingService;
+import projects.caregiver_backend.service.CaregiverRatingService;
 import projects.caregiver_backend.service.CaregiverService;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.FreeSlotService;
+import projects.caregiver_backend.service.PayoutService;
 
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -23,6 +49,15 @@ public class CaregiverController {
 
     private final CaregiverService caregiverService;
     private final CaregiverRepository caregiverRepository;
+    private final FreeSlotService freeSlotService;
+    private final AvailabilityGridService availabilityGridService;
+    private final AvailabilityTemplateService availabilityTemplateService;
+    private final CaregiverMatchingService caregiverMatchingService;
+    private final CaregiverRatingService caregiverRatingService;
+    private final CaregiverRankingService caregiverRankingService;
+    private final BookingService bookingService;
+    private final EarningsLedgerService earningsLedgerService;
+    private final PayoutService payoutService;
 
     @PostMapping("/onboard")
     public ResponseEntity<?> onboardCaregiver(
@@ -44,6 +79,7 @@ public class CaregiverController {
 
         caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
         caregiverRepository.save(caregiver);
+        caregiverRankingService.refresh(id);
 
         return ResponseEntity.ok("Caregiver approved");
     }
@@ -65,4 +101,115 @@ public class CaregiverController {
         );
     }
 
+    @PostMapping("/match")
+    public ResponseEntity<List<CaregiverMatchResponse>> matchCaregivers(
+            @Valid @RequestBody CaregiverMatchRequest request
+    ) {
+        return ResponseEntity.ok(
+                caregiverMatchingService.match(request)
+        );
+    }
+
+    @GetMapping("/top")
+    public List<LeaderboardEntryResponse> topCaregivers(
+            @RequestParam String city,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return caregiverRankingService.top(city, limit);
+    }
+
+    @GetMapping("/{id}/ratings")
+    public RatingSummaryResponse ratingSummary(@PathVariable UUID id) {
+        return caregiverRatingService.summary(id);
+    }
+
+    @GetMapping("/{id}/slots")
+    public List<FreeSlotResponse> nextFreeSlots(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime from,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return freeSlotService.nextFreeSlots(id, date, from, limit);
+    }
+
+    @GetMapping("/{id}/slots/check")
+    public Map<String, Boolean> isRangeFree(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime endTime
+    ) {
+        return Map.of(
+                "free",
+                freeSlotService.isRangeFree(id, date, startTime, endTime)
+        );
+    }
+
+    @GetMapping("/availability/grid")
+    public AvailabilityGridResponse availabilityGrid(
+            @RequestParam List<UUID> caregiverIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return availabilityGridService.getGrid(caregiverIds, from, to);
+    }
+
+    @PutMapping("/me/availability/week")
+    public ResponseEntity<Map<String, Integer>> replaceWeeklyAvailability(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody WeeklyAvailabilityRequest request
+    ) {
+        int windows = availabilityGridService.replaceWeek(
+                userDetails.getUsername(),
+                request
+        );
+        return ResponseEntity.ok(Map.of("windows", windows));
+    }
+
+    @PutMapping("/me/availability/template")
+    public ResponseEntity<Map<String, Integer>> replaceAvailabilityTemplate(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody AvailabilityTemplateRequest request
+    ) {
+        int windows = availabilityTemplateService.replaceTemplate(
+                userDetails.getUsername(),
+                request
+        );
+        return ResponseEntity.ok(Map.of("windows", windows));
+    }
+
+    @PostMapping("/me/bookings/{id}/complete")
+    public BookingResponse completeBooking(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable UUID id
+    ) {
+        return bookingService.completeBooking(userDetails.getUsername(), id);
+    }
+
+    @GetMapping("/me/earnings")
+    public EarningsBalanceResponse earningsBalance(
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return earningsLedgerService.balanceFor(userDetails.getUsername());
+    }
+
+    @GetMapping("/me/earnings/statement")
+    public EarningsStatementResponse earningsStatement(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return earningsLedgerService.statementFor(userDetails.getUsername(), before, limit);
+    }
+
+    @PutMapping("/me/payout-account")
+    public ResponseEntity<Void> registerPayoutAccount(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody PayoutAccountRequest request
+    ) {
+        payoutService.registerPayoutAccount(userDetails.getUsername(), request);
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -2,13 +2,22 @@ package projects.caregiver_backend.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import projects.caregiver_backend.dtos.request.PaymentInitRequest;
 import projects.caregiver_backend.dtos.response.PaymentInitResponse;
+import projects.caregiver_backend.dtos.response.PaymentStatusResponse;
+import projects.caregiver_backend.service.IdempotencyService;
+import projects.caregiver_backend.service.PaymentStatusService;
 import projects.caregiver_backend.service.PaystackService;
 
+import java.io.IOException;
+import java.time.Duration;
+
 @RestController
 @RequestMapping("/payments")
 @RequiredArgsConstructor
@@ -17,14 +26,83 @@ public class PaymentController {
     @Autowired
     private final PaystackService paystackService;
 
+    private final IdempotencyService idempotencyService;
+
+    private final PaymentStatusService paymentStatusService;
+
+    // Async timeouts sit past the service's own wait so the service always answers first
+    private static final long ASYNC_TIMEOUT_MARGIN_MS = 5_000;
+
     @PostMapping("/init")
     public PaymentInitResponse initializePayment(
             @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody PaymentInitRequest request
     ) {
-        return paystackService.initializePayment(
-                request.bookingId(),
-                userDetails.getUsername() // customer email
+        return idempotencyService.execute(
+                idempotencyKey,
+                userDetails.getUsername(),
+                "init-payment",
+                request,
+                PaymentInitResponse.class,
+                () -> paystackService.initializePayment(
+                        request.bookingId(),
+                        userDetails.getUsername() // customer email
+                )
         );
     }
+
+    /**
+     * Long-poll: answers at once unless the payment is pending, otherwise when it
+     * settles or after {@code wait} seconds. The servlet thread is released while waiting.
+     */
+    @GetMapping("/{reference}/status")
+    public DeferredResult<PaymentStatusResponse> paymentStatus(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String reference,
+            @RequestParam(name = "wait", defaultValue = "0") long waitSeconds
+    ) {
+        Duration wait = Duration.ofSeconds(waitSeconds);
+        DeferredResult<PaymentStatusResponse> result = new DeferredResult<>(
+                paymentStatusService.maxWait().toMillis() + ASYNC_TIMEOUT_MARGIN_MS
+        );
+
+        paymentStatusService.awaitStatus(reference, userDetails.getUsername(), wait)
+                .whenComplete((status, error) -> {
+                    if (error != null) {
+                        result.setErrorResult(error);
+                    } else {
+                        result.setResult(status);
+                    }
+                });
+        return result;
+    }
+
+    /**
+     * Server-Sent Events: one "status" event once the payment is no longer pending
+     * (or at the maximum wait), then the stream closes
+     */
+    @GetMapping(value = "/{reference}/status", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter paymentStatusStream(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String reference
+    ) {
+        Duration wait = paymentStatusService.maxWait();
+        SseEmitter emitter = new SseEmitter(wait.toMillis() + ASYNC_TIMEOUT_MARGIN_MS);
+
+        paymentStatusService.awaitStatus(reference, userDetails.getUsername(), wait)
+                .whenComplete((status, error) -> {
+                    if (error != null) {
+                        emitter.completeWithError(error);
+                        return;
+                    }
+                    try {
+                        emitter.send(SseEmitter.event().name("status").data(status));
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                });
+        return emitter;
+    }
 }
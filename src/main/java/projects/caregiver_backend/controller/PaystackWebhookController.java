@@ -14,7 +14,7 @@ public class PaystackWebhookController {
 
     @PostMapping("/paystack")
     public ResponseEntity<Void> handleWebhook(
-            @RequestBody String payload,
+            @RequestBody byte[] payload,
             @RequestHeader("x-paystack-signature") String signature
     ) {
         paystackService.handleWebhook(payload, signature);
@@ -2,15 +2,15 @@ package projects.caregiver_backend.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import projects.caregiver_backend.dtos.request.ReviewRequest;
+import projects.caregiver_backend.dtos.response.ReviewPageResponse;
 import projects.caregiver_backend.dtos.response.ReviewResponse;
+import projects.caregiver_backend.security.AuthenticatedUser;
 import projects.caregiver_backend.service.ReviewService;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/reviews")
@@ -21,21 +21,25 @@ public class ReviewController {
 
     @PostMapping("/{caregiverId}")
     public ReviewResponse createReview(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable String caregiverId,
             @Valid @RequestBody ReviewRequest request
     ) {
         return reviewService.createReview(
-                userDetails.getUsername(),
+                user.getId(),
+                user.getUsername(),
                 caregiverId,
                 request
         );
     }
 
     @GetMapping("/{caregiverId}")
-    public List<ReviewResponse> getCaregiverReviews(
-            @PathVariable String caregiverId
+    public ReviewPageResponse getCaregiverReviews(
+            @PathVariable String caregiverId,
+            @RequestParam(defaultValue = ReviewService.SORT_NEWEST) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit
     ) {
-        return reviewService.getReviewsForCaregiver(caregiverId);
+        return reviewService.getReviewsForCaregiver(caregiverId, sort, cursor, limit);
     }
 }
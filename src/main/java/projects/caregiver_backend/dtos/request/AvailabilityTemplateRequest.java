@@ -0,0 +1,36 @@
+package projects.caregiver_backend.dtos.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request DTO for replacing a caregiver's recurring weekly availability
+ */
+public record AvailabilityTemplateRequest(
+        @NotNull(message = "Windows are required")
+        List<@Valid TemplateWindow> windows
+) {
+
+    public record TemplateWindow(
+            @NotNull(message = "Day of week is required")
+            DayOfWeek dayOfWeek,
+
+            @NotNull(message = "Start time is required")
+            LocalTime startTime,
+
+            @NotNull(message = "End time is required")
+            LocalTime endTime
+    ) {
+        public TemplateWindow {
+            if (startTime != null && endTime != null && !endTime.isAfter(startTime)) {
+                throw new IllegalArgumentException(
+                        "End time must be after start time"
+                );
+            }
+        }
+    }
+}
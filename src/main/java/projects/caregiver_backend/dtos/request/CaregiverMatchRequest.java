@@ -0,0 +1,39 @@
+package projects.caregiver_backend.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Request DTO for matching caregivers to a concrete care request
+ */
+public record CaregiverMatchRequest(
+        @NotBlank(message = "City is required")
+        String city,
+
+        String neighborhood,
+
+        @NotNull(message = "Date is required")
+        LocalDate date,
+
+        @NotNull(message = "Start time is required")
+        LocalTime startTime,
+
+        @NotNull(message = "End time is required")
+        LocalTime endTime,
+
+        BigDecimal maxHourlyRate,
+
+        Integer limit
+) {
+    public CaregiverMatchRequest {
+        if (startTime != null && endTime != null && !endTime.isAfter(startTime)) {
+            throw new IllegalArgumentException(
+                    "End time must be after start time"
+            );
+        }
+    }
+}
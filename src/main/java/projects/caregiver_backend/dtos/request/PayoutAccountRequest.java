@@ -0,0 +1,19 @@
+package projects.caregiver_backend.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Bank account caregiver payouts are sent to
+ */
+public record PayoutAccountRequest(
+        @NotBlank(message = "Account name is required")
+        String accountName,
+
+        @NotBlank(message = "Account number is required")
+        @Pattern(regexp = "\\d{10}", message = "Account number must be 10 digits")
+        String accountNumber,
+
+        @NotBlank(message = "Bank code is required")
+        String bankCode
+) {}
@@ -0,0 +1,21 @@
+package projects.caregiver_backend.dtos.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for replacing a caregiver's week of availability
+ * {@code slots} uses the same packed encoding as the availability grid:
+ * base64 of 7 × 12 bytes, one 96-bit mask per day starting at {@code weekStart}.
+ * Set bits are available time; slots held by active bookings stay available
+ * whether or not they are set, so a week read from the grid can be sent back as is.
+ */
+public record WeeklyAvailabilityRequest(
+        @NotNull(message = "Week start is required")
+        LocalDate weekStart,
+
+        @NotBlank(message = "Slots are required")
+        String slots
+) {}
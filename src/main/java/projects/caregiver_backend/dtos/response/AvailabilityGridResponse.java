@@ -0,0 +1,17 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Free slots for many caregivers over a date range
+ * Each value is base64 of {@code days} × 12 bytes, one packed 96-bit day mask
+ * after another (slot i of a day = bit i % 8 of byte i / 8, 15-minute slots).
+ */
+public record AvailabilityGridResponse(
+        LocalDate from,
+        int days,
+        int slotMinutes,
+        Map<UUID, String> slots
+) {}
@@ -0,0 +1,14 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record CaregiverMatchResponse(
+        UUID id,
+        String fullName,
+        String neighborhood,
+        BigDecimal hourlyRate,
+        Double averageRating,
+        Long reviewCount,
+        double score
+) {}
@@ -1,5 +1,6 @@
 package projects.caregiver_backend.dtos.response;
 
+import java.util.Map;
 import java.util.UUID;
 
 public record CaregiverResponse(
@@ -10,5 +11,6 @@ public record CaregiverResponse(
         String phone,
         String bio,
         Double averageRating,
-        Long reviewCount
+        Long reviewCount,
+        Map<Integer, Long> ratingHistogram
 ) {}
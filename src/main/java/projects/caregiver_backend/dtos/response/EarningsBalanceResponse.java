@@ -0,0 +1,10 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.math.BigDecimal;
+
+public record EarningsBalanceResponse(
+        BigDecimal pending,
+        BigDecimal available,
+        String currency,
+        long sequence
+) {}
@@ -0,0 +1,17 @@
+package projects.caregiver_backend.dtos.response;
+
+import projects.caregiver_backend.model.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EarningsEntryResponse(
+        long sequence,
+        LedgerEntryType type,
+        String sourceRef,
+        BigDecimal pendingChange,
+        BigDecimal availableChange,
+        BigDecimal pendingBalance,
+        BigDecimal availableBalance,
+        LocalDateTime createdAt
+) {}
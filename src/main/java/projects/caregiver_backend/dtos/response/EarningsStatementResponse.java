@@ -0,0 +1,12 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.util.List;
+
+/**
+ * One statement page, newest entry first; pass nextBefore as {@code before}
+ * for the next page (null when there are no more entries)
+ */
+public record EarningsStatementResponse(
+        List<EarningsEntryResponse> entries,
+        Long nextBefore
+) {}
@@ -0,0 +1,10 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record FreeSlotResponse(
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime
+) {}
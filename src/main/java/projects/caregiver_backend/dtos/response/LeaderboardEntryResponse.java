@@ -0,0 +1,16 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.util.UUID;
+
+/**
+ * One leaderboard row; score is the Bayesian-smoothed rating the board is ordered by
+ */
+public record LeaderboardEntryResponse(
+        int rank,
+        UUID caregiverId,
+        String fullName,
+        String neighborhood,
+        double score,
+        double averageRating,
+        long reviewCount
+) {}
@@ -0,0 +1,11 @@
+package projects.caregiver_backend.dtos.response;
+
+import projects.caregiver_backend.model.PaymentStatus;
+
+import java.util.UUID;
+
+public record PaymentStatusResponse(
+        String reference,
+        PaymentStatus status,
+        UUID bookingId
+) {}
@@ -0,0 +1,14 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A caregiver's review summary; histogram maps each star, 1 to 5, to its review count
+ */
+public record RatingSummaryResponse(
+        UUID caregiverId,
+        double averageRating,
+        long reviewCount,
+        Map<Integer, Long> histogram
+) {}
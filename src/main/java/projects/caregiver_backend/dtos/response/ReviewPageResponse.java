@@ -0,0 +1,12 @@
+package projects.caregiver_backend.dtos.response;
+
+import java.util.List;
+
+/**
+ * One page of a caregiver's reviews; pass nextCursor as {@code cursor} with the
+ * same sort for the next page (null when there are no more reviews)
+ */
+public record ReviewPageResponse(
+        List<ReviewResponse> reviews,
+        String nextCursor
+) {}
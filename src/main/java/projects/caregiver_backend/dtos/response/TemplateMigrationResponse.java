@@ -0,0 +1,8 @@
+package projects.caregiver_backend.dtos.response;
+
+public record TemplateMigrationResponse(
+        int caregiversMigrated,
+        int templatesCreated,
+        int rowsRemoved,
+        int dayOffsAdded
+) {}
@@ -2,8 +2,9 @@ package projects.caregiver_backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -11,17 +12,26 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_CAREGIVER, attributeNodes = @NamedAttributeNode("caregiver"))
 @Data
 public class Booking {
 
+    // Responses that name the caregiver
+    public static final String WITH_CAREGIVER = "Booking.withCaregiver";
+
     @Id
     @GeneratedValue
     private UUID id;
 
+    // Kept out of toString/equals so logging or hashing a booking never loads them
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user; // person booking
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Caregiver caregiver;
 
     private LocalDate date;
@@ -31,7 +41,10 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
-    private BigDecimal totalAmount;
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "total_amount_minor"))
+    @AttributeOverride(name = "currency", column = @Column(name = "total_amount_currency", length = 3))
+    private Money totalAmount;
 
     private LocalDateTime createdAt;
 
@@ -6,7 +6,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.util.UUID;
 
 @Entity
@@ -21,7 +20,7 @@ public class Caregiver {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
@@ -47,8 +46,18 @@ public class Caregiver {
     @Enumerated(EnumType.STRING)
     private OnboardingStatus onboardingStatus = OnboardingStatus.PENDING;
 
-    @Column(nullable = false)
-    private BigDecimal hourlyRate;
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "hourly_rate_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "hourly_rate_currency", nullable = false, length = 3))
+    private Money hourlyRate;
+
+    // Paystack transfer recipient for payouts; no payouts until it is set
+    @Column(length = 64)
+    private String payoutRecipientCode;
+
+    // Maintained by ReviewService through CaregiverRepository.recordRating, never set directly
+    @Embedded
+    private RatingSummary ratings = RatingSummary.EMPTY;
 
 
 }
@@ -10,6 +10,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.UUID;
 
+/**
+ * Date-specific availability
+ * Rows for a date replace the caregiver's weekly {@link AvailabilityTemplate} for that date;
+ * a row without start/end time marks the whole date as unavailable.
+ */
 @Entity
 @Table(name = "caregiver_availability")
 @Getter
@@ -30,4 +35,8 @@ public class CaregiverAvailability {
 
     private LocalTime startTime;
     private LocalTime endTime;
+
+    public boolean isDayOff() {
+        return startTime == null || endTime == null;
+    }
 }
@@ -0,0 +1,50 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Caregiver balance as of ledger entry {@code sequence}
+ * Written every few entries so a balance read sums a short tail instead of the whole ledger.
+ */
+@Entity
+@Table(
+        name = "earnings_balance_snapshots",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_earnings_snapshot_caregiver_seq",
+                columnNames = {"caregiver_id", "seq"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class EarningsBalanceSnapshot {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "caregiver_id", nullable = false)
+    private UUID caregiverId;
+
+    @Column(name = "seq", nullable = false)
+    private long sequence;
+
+    @Column(nullable = false)
+    private long pendingMinor;
+
+    @Column(nullable = false)
+    private long availableMinor;
+
+    @Column(nullable = false, length = 3)
+    private Currency currency;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
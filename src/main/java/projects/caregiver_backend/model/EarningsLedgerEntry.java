@@ -0,0 +1,61 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * One movement on a caregiver's earnings, never updated or deleted
+ * Entries are numbered per caregiver; the balance after entry n is the latest
+ * snapshot at or before n plus the deltas between the two.
+ */
+@Entity
+@Table(
+        name = "earnings_ledger",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_earnings_ledger_caregiver_seq", columnNames = {"caregiver_id", "seq"}),
+                // A booking is credited once per step, whichever path settles it
+                @UniqueConstraint(name = "uk_earnings_ledger_source", columnNames = {"entry_type", "source_ref"})
+        }
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class EarningsLedgerEntry {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "caregiver_id", nullable = false)
+    private UUID caregiverId;
+
+    @Column(name = "seq", nullable = false)
+    private long sequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, length = 32)
+    private LedgerEntryType entryType;
+
+    // Booking id or transfer reference the entry came from
+    @Column(name = "source_ref", nullable = false, length = 100)
+    private String sourceRef;
+
+    // Signed, in minor units of currency
+    @Column(nullable = false)
+    private long pendingDelta;
+
+    @Column(nullable = false)
+    private long availableDelta;
+
+    @Column(nullable = false, length = 3)
+    private Currency currency;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,50 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Raw Paystack data object for a payment, deflate-compressed
+ * Kept off the payments row so payment lookups never read it; it is loaded
+ * only when someone asks for the gateway's view of a payment.
+ */
+@Entity
+@Table(
+        name = "payment_gateway_payloads",
+        indexes = @Index(name = "idx_gateway_payloads_payment", columnList = "payment_id, created_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class GatewayPayload {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "payment_id", nullable = false)
+    private UUID paymentId;
+
+    // webhook or verify
+    @Column(nullable = false, length = 16)
+    private String source;
+
+    // Compression format, see GatewayPayloadStore
+    @Column(nullable = false)
+    private short codec;
+
+    @Column(nullable = false, length = 1_048_576)
+    private byte[] body;
+
+    // Uncompressed UTF-8 length
+    @Column(nullable = false)
+    private int rawSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package projects.caregiver_backend.model;
+
+public enum LedgerEntryType {
+    BOOKING_PAID,       // customer paid; held as pending until the booking completes
+    BOOKING_COMPLETED,  // pending moves to available
+    PAYOUT,             // available withdrawn for a transfer
+    PAYOUT_RETURNED     // transfer failed or was reversed
+}
@@ -0,0 +1,105 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount held as a long of minor units (kobo for NGN) with its currency
+ * Arithmetic is exact and overflow-checked; BigDecimal only appears at the API
+ * boundary, through {@link #ofMajor} and {@link #toMajor}. Mapped as an embeddable,
+ * so each owner overrides the column names.
+ */
+@Embeddable
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public static final Currency NGN = Currency.getInstance("NGN");
+
+    private static final long MINUTES_PER_HOUR = 60;
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency has no minor unit: " + currency);
+        }
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Converts a major-unit amount such as 2500.50; more decimal places than the
+     * currency has is rejected rather than rounded
+     */
+    public static Money ofMajor(BigDecimal amount, Currency currency) {
+        try {
+            long minor = amount
+                    .movePointRight(currency.getDefaultFractionDigits())
+                    .longValueExact();
+            return new Money(minor, currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Amount " + amount.toPlainString() + " is not a valid " + currency + " amount"
+            );
+        }
+    }
+
+    public BigDecimal toMajor() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    /**
+     * Price of {@code minutes} at this hourly rate, rounded half-up to the minor unit
+     */
+    public Money forMinutes(long minutes) {
+        return new Money(priceForMinutes(minorUnits, minutes), currency);
+    }
+
+    /**
+     * Allocation-free core of {@link #forMinutes}: rate in minor units per hour times
+     * minutes, divided by 60 and rounded half-up. Throws on overflow instead of wrapping.
+     */
+    public static long priceForMinutes(long hourlyRateMinor, long minutes) {
+        if (hourlyRateMinor < 0 || minutes < 0) {
+            throw new IllegalArgumentException("Rate and duration must not be negative");
+        }
+        long scaled = Math.multiplyExact(hourlyRateMinor, minutes);
+        return scaled / MINUTES_PER_HOUR + (scaled % MINUTES_PER_HOUR >= MINUTES_PER_HOUR / 2 ? 1 : 0);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException(
+                    "Currency mismatch: " + currency + " and " + other.currency
+            );
+        }
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + toMajor().toPlainString();
+    }
+}
@@ -2,26 +2,38 @@ package projects.caregiver_backend.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payments")
+@Table(
+        name = "payments",
+        indexes = @Index(name = "idx_payments_status_created", columnList = "status, created_at, id")
+)
+@NamedEntityGraph(name = Payment.WITH_BOOKING, attributeNodes = @NamedAttributeNode("booking"))
 @Data
 public class Payment {
 
+    // Settlement marks the booking paid alongside the payment
+    public static final String WITH_BOOKING = "Payment.withBooking";
+
     @Id
     @GeneratedValue
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Booking booking;
 
-    @Column(nullable = false)
-    private BigDecimal amount;
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "amount_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "amount_currency", nullable = false, length = 3))
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
@@ -31,7 +43,8 @@ public class Payment {
 
     private String authorizationUrl;
 
-    private String gatewayResponse;
+    // Paystack's id for the transaction; the full payload lives in GatewayPayload
+    private String gatewayTransactionId;
 
     private LocalDateTime paidAt;
 
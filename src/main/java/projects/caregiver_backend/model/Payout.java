@@ -0,0 +1,59 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One transfer of a caregiver's available earnings
+ * The amount is withdrawn from the ledger when the row is created; it goes back
+ * if Paystack reports the transfer failed or reversed.
+ */
+@Entity
+@Table(
+        name = "payouts",
+        indexes = @Index(name = "idx_payouts_status_created", columnList = "status, created_at, id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class Payout {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "caregiver_id", nullable = false)
+    private UUID caregiverId;
+
+    // Transfer recipient at the time of the payout
+    @Column(nullable = false, length = 64)
+    private String recipientCode;
+
+    // Our transfer reference; Paystack treats a repeated reference as the same transfer
+    @Column(nullable = false, unique = true, length = 64)
+    private String reference;
+
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "amount_minor", nullable = false))
+    @AttributeOverride(name = "currency", column = @Column(name = "amount_currency", nullable = false, length = 3))
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PayoutStatus status;
+
+    @Column(length = 64)
+    private String transferCode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime submittedAt;
+
+    private LocalDateTime settledAt;
+}
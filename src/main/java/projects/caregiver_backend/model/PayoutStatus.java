@@ -0,0 +1,9 @@
+package projects.caregiver_backend.model;
+
+public enum PayoutStatus {
+    PENDING,    // balance withdrawn, not yet accepted by Paystack
+    SUBMITTED,  // part of an accepted bulk transfer
+    SUCCESS,
+    FAILED,
+    REVERSED
+}
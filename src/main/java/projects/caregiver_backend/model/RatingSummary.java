@@ -0,0 +1,43 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Running review counters for one caregiver: how many reviews, the sum of their
+ * stars and a count per star. Kept on the caregiver row and bumped by one atomic
+ * UPDATE per review, so listings read the average and distribution without
+ * aggregating reviews. The columns are left out of entity updates so saving a
+ * caregiver loaded before a review cannot write stale counts back over it.
+ */
+@Embeddable
+public record RatingSummary(
+        @Column(name = "review_count", nullable = false, updatable = false) long reviewCount,
+        @Column(name = "rating_total", nullable = false, updatable = false) long ratingTotal,
+        @Column(name = "stars_1", nullable = false, updatable = false) long oneStar,
+        @Column(name = "stars_2", nullable = false, updatable = false) long twoStar,
+        @Column(name = "stars_3", nullable = false, updatable = false) long threeStar,
+        @Column(name = "stars_4", nullable = false, updatable = false) long fourStar,
+        @Column(name = "stars_5", nullable = false, updatable = false) long fiveStar
+) {
+
+    public static final RatingSummary EMPTY = new RatingSummary(0, 0, 0, 0, 0, 0, 0);
+
+    public double averageRating() {
+        return reviewCount == 0 ? 0.0 : (double) ratingTotal / reviewCount;
+    }
+
+    /** Review count per star, 1 through 5 in order */
+    public Map<Integer, Long> histogram() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>(8);
+        histogram.put(1, oneStar);
+        histogram.put(2, twoStar);
+        histogram.put(3, threeStar);
+        histogram.put(4, fourStar);
+        histogram.put(5, fiveStar);
+        return histogram;
+    }
+}
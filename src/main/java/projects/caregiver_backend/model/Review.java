@@ -14,6 +14,11 @@ import java.util.UUID;
 @Table(
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"user_id", "caregiver_id"})
+        },
+        indexes = {
+                // Keyset orders for the review listing: newest first, and by rating
+                @Index(name = "idx_review_caregiver_created", columnList = "caregiver_id, created_at, id"),
+                @Index(name = "idx_review_caregiver_rating", columnList = "caregiver_id, rating, created_at, id")
         }
 )
 public class Review {
@@ -22,10 +27,10 @@ public class Review {
     @GeneratedValue
     private UUID id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private User user;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     private Caregiver caregiver;
 
     @Column(nullable = false)
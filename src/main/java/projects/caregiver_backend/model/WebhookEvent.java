@@ -0,0 +1,53 @@
+package projects.caregiver_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Verified Paystack webhook waiting in the inbox
+ * Rows are written when the webhook is acknowledged and applied later by
+ * background workers; eventId is unique so redeliveries are dropped on insert.
+ */
+@Entity
+@Table(
+        name = "webhook_inbox",
+        indexes = @Index(name = "idx_webhook_inbox_status_received", columnList = "status, received_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class WebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "event_id", nullable = false, unique = true, length = 200)
+    private String eventId;
+
+    @Column(nullable = false, length = 100)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WebhookEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    private LocalDateTime processedAt;
+}
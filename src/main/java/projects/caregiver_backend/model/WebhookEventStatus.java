@@ -0,0 +1,7 @@
+package projects.caregiver_backend.model;
+
+public enum WebhookEventStatus {
+    RECEIVED,
+    PROCESSED,
+    FAILED
+}
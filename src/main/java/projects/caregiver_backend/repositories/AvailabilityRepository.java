@@ -1,10 +1,13 @@
 package projects.caregiver_backend.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import projects.caregiver_backend.model.CaregiverAvailability;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +18,43 @@ public interface AvailabilityRepository
         SELECT DISTINCT a.caregiver.id
         FROM CaregiverAvailability a
         WHERE a.date = :date
+        AND a.startTime IS NOT NULL
     """)
     List<UUID> findAvailableCaregiverIds(LocalDate date);
+
+    @Query("""
+        SELECT
+            a.caregiver.id AS caregiverId,
+            a.date AS date,
+            a.startTime AS startTime,
+            a.endTime AS endTime
+        FROM CaregiverAvailability a
+        WHERE a.caregiver.id IN :caregiverIds
+        AND a.date BETWEEN :from AND :to
+    """)
+    List<CaregiverWindowView> findWindowsForCaregivers(
+            Collection<UUID> caregiverIds,
+            LocalDate from,
+            LocalDate to
+    );
+
+    List<CaregiverAvailability> findByCaregiverIdOrderByDateAsc(UUID caregiverId);
+
+    @Query("""
+        SELECT DISTINCT a.caregiver.id
+        FROM CaregiverAvailability a
+    """)
+    List<UUID> findCaregiverIdsWithWindows();
+
+    @Modifying
+    @Query("""
+        DELETE FROM CaregiverAvailability a
+        WHERE a.caregiver.id = :caregiverId
+        AND a.date BETWEEN :from AND :to
+    """)
+    int deleteWindows(
+            UUID caregiverId,
+            LocalDate from,
+            LocalDate to
+    );
 }
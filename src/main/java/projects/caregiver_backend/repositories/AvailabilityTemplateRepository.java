@@ -0,0 +1,52 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import projects.caregiver_backend.model.AvailabilityTemplate;
+import projects.caregiver_backend.repositories.projections.TemplateWindowView;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface AvailabilityTemplateRepository
+        extends JpaRepository<AvailabilityTemplate, UUID> {
+
+    @Query("""
+        SELECT
+            t.caregiver.id AS caregiverId,
+            t.dayOfWeek AS dayOfWeek,
+            t.startTime AS startTime,
+            t.endTime AS endTime
+        FROM AvailabilityTemplate t
+        WHERE t.caregiver.id IN :caregiverIds
+    """)
+    List<TemplateWindowView> findTemplateWindows(Collection<UUID> caregiverIds);
+
+    /**
+     * Caregivers whose template covers the date and who have no date-specific override for it
+     */
+    @Query("""
+        SELECT DISTINCT t.caregiver.id
+        FROM AvailabilityTemplate t
+        WHERE t.dayOfWeek = :dayOfWeek
+        AND NOT EXISTS (
+            SELECT 1 FROM CaregiverAvailability a
+            WHERE a.caregiver.id = t.caregiver.id
+            AND a.date = :date
+        )
+    """)
+    List<UUID> findCaregiverIdsWithTemplateOn(DayOfWeek dayOfWeek, LocalDate date);
+
+    boolean existsByCaregiverId(UUID caregiverId);
+
+    @Modifying
+    @Query("""
+        DELETE FROM AvailabilityTemplate t
+        WHERE t.caregiver.id = :caregiverId
+    """)
+    int deleteByCaregiverId(UUID caregiverId);
+}
@@ -1,13 +1,18 @@
 package projects.caregiver_backend.repositories;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import projects.caregiver_backend.model.Booking;
 import projects.caregiver_backend.model.BookingStatus;
 import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BookingRepository
@@ -20,8 +25,34 @@ public interface BookingRepository
             LocalTime startTime
     );
 
+    @EntityGraph(Booking.WITH_CAREGIVER)
+    Optional<Booking> findWithCaregiverById(UUID id);
+
     List<Booking> findByCaregiverIdAndStatus(
             UUID caregiverId,
             BookingStatus status
     );
+
+    /**
+     * Time ranges that still occupy the caregivers (anything not cancelled or rejected)
+     */
+    @Query("""
+        SELECT
+            b.caregiver.id AS caregiverId,
+            b.date AS date,
+            b.startTime AS startTime,
+            b.endTime AS endTime
+        FROM Booking b
+        WHERE b.caregiver.id IN :caregiverIds
+        AND b.date BETWEEN :from AND :to
+        AND b.status NOT IN (
+            projects.caregiver_backend.model.BookingStatus.CANCELLED,
+            projects.caregiver_backend.model.BookingStatus.REJECTED
+        )
+    """)
+    List<CaregiverWindowView> findBookedWindowsForCaregivers(
+            Collection<UUID> caregiverIds,
+            LocalDate from,
+            LocalDate to
+    );
 }
@@ -1,12 +1,20 @@
 package projects.caregiver_backend.repositories;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import projects.caregiver_backend.model.Caregiver;
 import projects.caregiver_backend.model.OnboardingStatus;
+import projects.caregiver_backend.model.RatingSummary;
 import projects.caregiver_backend.model.User;
+import projects.caregiver_backend.repositories.projections.CaregiverCandidateView;
+import projects.caregiver_backend.repositories.projections.CaregiverStandingView;
+import projects.caregiver_backend.repositories.projections.PayoutRecipientView;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -51,15 +59,123 @@ public interface CaregiverRepository extends JpaRepository<Caregiver, UUID> {
 SELECT c FROM Caregiver c
 WHERE (:city IS NULL OR c.city = :city)
 AND (:neighborhood IS NULL OR c.neighborhood = :neighborhood)
-AND (:minPrice IS NULL OR c.hourlyRate >= :minPrice)
-AND (:maxPrice IS NULL OR c.hourlyRate <= :maxPrice)
+AND (:minPriceMinor IS NULL OR c.hourlyRate.minorUnits >= :minPriceMinor)
+AND (:maxPriceMinor IS NULL OR c.hourlyRate.minorUnits <= :maxPriceMinor)
 AND c.onboardingStatus = 'VERIFIED'
 """)
     List<Caregiver> filterCaregivers(
             String city,
             String neighborhood,
-            BigDecimal minPrice,
-            BigDecimal maxPrice
+            Long minPriceMinor,
+            Long maxPriceMinor
     );
 
+    /**
+     * Matching candidates with their rating summary in one round trip,
+     * selecting only the columns needed for scoring
+     */
+    @Query("""
+SELECT
+    c.id AS id,
+    c.fullName AS fullName,
+    c.neighborhood AS neighborhood,
+    c.hourlyRate.minorUnits AS hourlyRateMinor,
+    CASE WHEN c.ratings.reviewCount = 0 THEN NULL
+         ELSE c.ratings.ratingTotal * 1.0 / c.ratings.reviewCount END AS averageRating,
+    c.ratings.reviewCount AS reviewCount
+FROM Caregiver c
+WHERE c.city = :city
+AND (:neighborhood IS NULL OR c.neighborhood = :neighborhood)
+AND (:maxPriceMinor IS NULL OR c.hourlyRate.minorUnits <= :maxPriceMinor)
+AND c.onboardingStatus = 'VERIFIED'
+""")
+    List<CaregiverCandidateView> findMatchCandidates(
+            String city,
+            String neighborhood,
+            Long maxPriceMinor
+    );
+
+    @Query("SELECT c.ratings FROM Caregiver c WHERE c.id = :caregiverId")
+    Optional<RatingSummary> findRatingsById(UUID caregiverId);
+
+    /**
+     * Adds one review of {@code rating} stars to the caregiver's counters in a
+     * single statement; concurrent reviews serialise on the row, never lose a count.
+     * Matches no row when the caregiver does not exist or belongs to the reviewer.
+     */
+    @Modifying
+    @Query("""
+        UPDATE Caregiver c SET
+            c.ratings.reviewCount = c.ratings.reviewCount + 1,
+            c.ratings.ratingTotal = c.ratings.ratingTotal + :rating,
+            c.ratings.oneStar = c.ratings.oneStar + CASE WHEN :rating = 1 THEN 1 ELSE 0 END,
+            c.ratings.twoStar = c.ratings.twoStar + CASE WHEN :rating = 2 THEN 1 ELSE 0 END,
+            c.ratings.threeStar = c.ratings.threeStar + CASE WHEN :rating = 3 THEN 1 ELSE 0 END,
+            c.ratings.fourStar = c.ratings.fourStar + CASE WHEN :rating = 4 THEN 1 ELSE 0 END,
+            c.ratings.fiveStar = c.ratings.fiveStar + CASE WHEN :rating = 5 THEN 1 ELSE 0 END
+        WHERE c.id = :caregiverId
+        AND c.user.id <> :reviewerId
+    """)
+    int recordRating(UUID caregiverId, UUID reviewerId, int rating);
+
+    /**
+     * Next page of verified caregivers with their rating counters, in id order,
+     * for building the leaderboards
+     */
+    @Query("""
+        SELECT
+            c.id AS id,
+            c.city AS city,
+            c.fullName AS fullName,
+            c.neighborhood AS neighborhood,
+            c.ratings.reviewCount AS reviewCount,
+            c.ratings.ratingTotal AS ratingTotal
+        FROM Caregiver c
+        WHERE c.onboardingStatus = projects.caregiver_backend.model.OnboardingStatus.VERIFIED
+        AND c.id > :afterId
+        ORDER BY c.id
+    """)
+    List<CaregiverStandingView> findStandingsAfter(UUID afterId, Limit limit);
+
+    @Query("""
+        SELECT
+            c.id AS id,
+            c.city AS city,
+            c.fullName AS fullName,
+            c.neighborhood AS neighborhood,
+            c.ratings.reviewCount AS reviewCount,
+            c.ratings.ratingTotal AS ratingTotal
+        FROM Caregiver c
+        WHERE c.id = :caregiverId
+        AND c.onboardingStatus = projects.caregiver_backend.model.OnboardingStatus.VERIFIED
+    """)
+    Optional<CaregiverStandingView> findStandingById(UUID caregiverId);
+
+    @Query("SELECT c.id FROM Caregiver c WHERE c.user.username = :username")
+    Optional<UUID> findIdByUsername(String username);
+
+    /**
+     * Next page of caregivers that can receive payouts, in id order
+     */
+    @Query("""
+        SELECT c.id AS id, c.payoutRecipientCode AS recipientCode
+        FROM Caregiver c
+        WHERE c.payoutRecipientCode IS NOT NULL
+        AND c.id > :afterId
+        ORDER BY c.id
+    """)
+    List<PayoutRecipientView> findPayoutRecipientsAfter(UUID afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE Caregiver c SET c.payoutRecipientCode = :recipientCode WHERE c.id = :caregiverId")
+    int updatePayoutRecipientCode(UUID caregiverId, String recipientCode);
+
+    /**
+     * Row-locks the caregivers in id order so concurrent ledger writers for the
+     * same caregiver queue up instead of racing for the next sequence number
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Caregiver c WHERE c.id IN :ids ORDER BY c.id")
+    List<UUID> lockByIdIn(Collection<UUID> ids);
+
 }
@@ -0,0 +1,68 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import projects.caregiver_backend.model.EarningsLedgerEntry;
+import projects.caregiver_backend.repositories.projections.EarningsBalanceView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface EarningsLedgerRepository extends JpaRepository<EarningsLedgerEntry, UUID> {
+
+    /**
+     * Current balances: each caregiver's latest snapshot plus the entries after it
+     */
+    @Query("""
+        SELECT
+            s.caregiverId AS caregiverId,
+            s.sequence AS snapshotSequence,
+            COALESCE(MAX(e.sequence), s.sequence) AS lastSequence,
+            s.pendingMinor + COALESCE(SUM(e.pendingDelta), 0) AS pendingMinor,
+            s.availableMinor + COALESCE(SUM(e.availableDelta), 0) AS availableMinor,
+            s.currency AS currency
+        FROM EarningsBalanceSnapshot s
+        LEFT JOIN EarningsLedgerEntry e
+            ON e.caregiverId = s.caregiverId AND e.sequence > s.sequence
+        WHERE s.caregiverId IN :caregiverIds
+        AND s.sequence = (
+            SELECT MAX(s2.sequence) FROM EarningsBalanceSnapshot s2
+            WHERE s2.caregiverId = s.caregiverId
+        )
+        GROUP BY s.caregiverId, s.sequence, s.pendingMinor, s.availableMinor, s.currency
+    """)
+    List<EarningsBalanceView> findBalances(Collection<UUID> caregiverIds);
+
+    /**
+     * Balance right after entry {@code sequence}, from the nearest snapshot at or before it
+     */
+    @Query("""
+        SELECT
+            s.caregiverId AS caregiverId,
+            s.sequence AS snapshotSequence,
+            COALESCE(MAX(e.sequence), s.sequence) AS lastSequence,
+            s.pendingMinor + COALESCE(SUM(e.pendingDelta), 0) AS pendingMinor,
+            s.availableMinor + COALESCE(SUM(e.availableDelta), 0) AS availableMinor,
+            s.currency AS currency
+        FROM EarningsBalanceSnapshot s
+        LEFT JOIN EarningsLedgerEntry e
+            ON e.caregiverId = s.caregiverId AND e.sequence > s.sequence AND e.sequence <= :sequence
+        WHERE s.caregiverId = :caregiverId
+        AND s.sequence = (
+            SELECT MAX(s2.sequence) FROM EarningsBalanceSnapshot s2
+            WHERE s2.caregiverId = :caregiverId AND s2.sequence <= :sequence
+        )
+        GROUP BY s.caregiverId, s.sequence, s.pendingMinor, s.availableMinor, s.currency
+    """)
+    Optional<EarningsBalanceView> findBalanceAt(UUID caregiverId, long sequence);
+
+    // Statement page, newest first, keyed on the per-caregiver sequence
+    List<EarningsLedgerEntry> findByCaregiverIdAndSequenceLessThanOrderBySequenceDesc(
+            UUID caregiverId,
+            long beforeSequence,
+            Limit limit
+    );
+}
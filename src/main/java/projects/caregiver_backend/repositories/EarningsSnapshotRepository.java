@@ -0,0 +1,9 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import projects.caregiver_backend.model.EarningsBalanceSnapshot;
+
+import java.util.UUID;
+
+public interface EarningsSnapshotRepository extends JpaRepository<EarningsBalanceSnapshot, UUID> {
+}
@@ -0,0 +1,12 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import projects.caregiver_backend.model.GatewayPayload;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface GatewayPayloadRepository extends JpaRepository<GatewayPayload, UUID> {
+
+    Optional<GatewayPayload> findFirstByPaymentIdOrderByCreatedAtDesc(UUID paymentId);
+}
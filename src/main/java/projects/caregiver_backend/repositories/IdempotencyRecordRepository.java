@@ -0,0 +1,46 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import projects.caregiver_backend.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository
+        extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Plain insert so a concurrent claim on the same key fails on the primary key
+     * instead of being merged into the existing row
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+        VALUES (:key, :fingerprint, :createdAt, :expiresAt)
+    """, nativeQuery = true)
+    int insertClaim(String key, String fingerprint, LocalDateTime createdAt, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.responseBody = :responseBody, r.expiresAt = :expiresAt
+        WHERE r.idempotencyKey = :key
+    """)
+    int complete(String key, String responseBody, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+        DELETE FROM IdempotencyRecord r
+        WHERE r.idempotencyKey = :key
+        AND r.expiresAt < :now
+    """)
+    int deleteIfExpired(String key, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        DELETE FROM IdempotencyRecord r
+        WHERE r.expiresAt < :now
+    """)
+    int deleteExpired(LocalDateTime now);
+}
@@ -1,8 +1,17 @@
 package projects.caregiver_backend.repositories;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import projects.caregiver_backend.model.Payment;
+import projects.caregiver_backend.repositories.projections.PaymentStatusView;
+import projects.caregiver_backend.repositories.projections.PendingPaymentView;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,5 +21,57 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByBookingId(UUID bookingId);
 
+    @Query("SELECT p.id FROM Payment p WHERE p.reference = :reference")
+    Optional<UUID> findIdByReference(String reference);
+
     boolean existsByBookingId(UUID bookingId);
+
+    @Query("""
+        SELECT p.status AS status, b.id AS bookingId, u.username AS customerUsername
+        FROM Payment p
+        JOIN p.booking b
+        JOIN b.user u
+        WHERE p.reference = :reference
+    """)
+    Optional<PaymentStatusView> findStatusByReference(String reference);
+
+    @EntityGraph(Payment.WITH_BOOKING)
+    List<Payment> findWithBookingByReferenceIn(Collection<String> references);
+
+    @Modifying
+    @Query("""
+        UPDATE Payment p
+        SET p.authorizationUrl = :authorizationUrl
+        WHERE p.id = :paymentId
+    """)
+    int updateAuthorizationUrl(UUID paymentId, String authorizationUrl);
+
+    @Modifying
+    @Query("""
+        UPDATE Payment p
+        SET p.status = projects.caregiver_backend.model.PaymentStatus.FAILED
+        WHERE p.id = :paymentId
+        AND p.status = projects.caregiver_backend.model.PaymentStatus.PENDING
+    """)
+    int markFailedIfPending(UUID paymentId);
+
+    /**
+     * Next chunk of pending payments created before the cutoff, in (createdAt, id)
+     * order after the given key, so each chunk is an index range scan
+     */
+    @Query("""
+        SELECT p.id AS id, p.reference AS reference, p.createdAt AS createdAt
+        FROM Payment p
+        WHERE p.status = projects.caregiver_backend.model.PaymentStatus.PENDING
+        AND p.createdAt < :cutoff
+        AND (p.createdAt > :afterCreatedAt
+             OR (p.createdAt = :afterCreatedAt AND p.id > :afterId))
+        ORDER BY p.createdAt, p.id
+    """)
+    List<PendingPaymentView> findPendingCreatedBefore(
+            LocalDateTime cutoff,
+            LocalDateTime afterCreatedAt,
+            UUID afterId,
+            Limit limit
+    );
 }
@@ -0,0 +1,33 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import projects.caregiver_backend.model.Payout;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PayoutRepository extends JpaRepository<Payout, UUID> {
+
+    // Transfer webhooks are matched on the unique reference index
+    List<Payout> findByReferenceIn(Collection<String> references);
+
+    /**
+     * Next page of payouts Paystack has not accepted yet, in (createdAt, id) order
+     */
+    @Query("""
+        SELECT p FROM Payout p
+        WHERE p.status = projects.caregiver_backend.model.PayoutStatus.PENDING
+        AND (p.createdAt > :afterCreatedAt
+             OR (p.createdAt = :afterCreatedAt AND p.id > :afterId))
+        ORDER BY p.createdAt, p.id
+    """)
+    List<Payout> findPendingAfter(
+            LocalDateTime afterCreatedAt,
+            UUID afterId,
+            Limit limit
+    );
+}
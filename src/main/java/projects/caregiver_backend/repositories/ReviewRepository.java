@@ -1,28 +1,65 @@
 package projects.caregiver_backend.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import projects.caregiver_backend.model.Review;
-import projects.caregiver_backend.model.Caregiver;
-import projects.caregiver_backend.model.User;
-import projects.caregiver_backend.repositories.projections.CaregiverRatingView;
+import projects.caregiver_backend.repositories.projections.ReviewListingView;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
-    boolean existsByUserAndCaregiver(User user, Caregiver caregiver);
-
-    List<Review> findByCaregiver(Caregiver caregiver);
+    /**
+     * Newest-first page of a caregiver's reviews after the (createdAt, id) key;
+     * reads the reviewer's username only, never the whole user row
+     */
+    @Query("""
+        SELECT
+            r.id AS id,
+            u.username AS reviewerUsername,
+            r.rating AS rating,
+            r.comment AS comment,
+            r.createdAt AS createdAt
+        FROM Review r
+        JOIN r.user u
+        WHERE r.caregiver.id = :caregiverId
+          AND (r.createdAt < :afterCreatedAt
+               OR (r.createdAt = :afterCreatedAt AND r.id < :afterId))
+        ORDER BY r.createdAt DESC, r.id DESC
+    """)
+    List<ReviewListingView> findNewestAfter(
+            UUID caregiverId,
+            LocalDateTime afterCreatedAt,
+            UUID afterId,
+            Limit limit
+    );
 
+    /**
+     * Highest-rated-first page after the (rating, createdAt, id) key, newest first within a rating
+     */
     @Query("""
-        SELECT 
-            r.caregiver.id AS caregiverId,
-            AVG(r.rating) AS averageRating,
-            COUNT(r.id) AS reviewCount
+        SELECT
+            r.id AS id,
+            u.username AS reviewerUsername,
+            r.rating AS rating,
+            r.comment AS comment,
+            r.createdAt AS createdAt
         FROM Review r
-        GROUP BY r.caregiver.id
+        JOIN r.user u
+        WHERE r.caregiver.id = :caregiverId
+          AND (r.rating < :afterRating
+               OR (r.rating = :afterRating AND r.createdAt < :afterCreatedAt)
+               OR (r.rating = :afterRating AND r.createdAt = :afterCreatedAt AND r.id < :afterId))
+        ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC
     """)
-    List<CaregiverRatingView> fetchCaregiverRatings();
+    List<ReviewListingView> findTopRatedAfter(
+            UUID caregiverId,
+            int afterRating,
+            LocalDateTime afterCreatedAt,
+            UUID afterId,
+            Limit limit
+    );
 }
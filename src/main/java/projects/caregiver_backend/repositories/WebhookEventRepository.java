@@ -0,0 +1,60 @@
+package projects.caregiver_backend.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import projects.caregiver_backend.model.WebhookEvent;
+import projects.caregiver_backend.model.WebhookEventStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WebhookEventRepository extends JpaRepository<WebhookEvent, UUID> {
+
+    /**
+     * Plain insert so a redelivered event fails on the unique event_id
+     * without a prior lookup
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO webhook_inbox (id, event_id, event_type, payload, status, attempts, received_at)
+        VALUES (:id, :eventId, :eventType, :payload, 'RECEIVED', 0, :receivedAt)
+    """, nativeQuery = true)
+    int append(UUID id, String eventId, String eventType, String payload, LocalDateTime receivedAt);
+
+    /**
+     * Locks the oldest pending events; rows locked by other workers are skipped
+     * rather than waited on. Must run inside a transaction.
+     */
+    @Query(value = """
+        SELECT * FROM webhook_inbox
+        WHERE status = 'RECEIVED'
+        ORDER BY received_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<WebhookEvent> claimBatch(int limit);
+
+    /**
+     * Locks one pending event, or returns empty if it was processed or another
+     * worker holds it. Must run inside a transaction.
+     */
+    @Query(value = """
+        SELECT * FROM webhook_inbox
+        WHERE id = :id AND status = 'RECEIVED'
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    Optional<WebhookEvent> claimById(UUID id);
+
+    long countByStatus(WebhookEventStatus status);
+
+    @Modifying
+    @Query("""
+        DELETE FROM WebhookEvent e
+        WHERE e.status = projects.caregiver_backend.model.WebhookEventStatus.PROCESSED
+        AND e.processedAt < :before
+    """)
+    int deleteProcessedBefore(LocalDateTime before);
+}
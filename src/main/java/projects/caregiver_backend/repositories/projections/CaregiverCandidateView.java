@@ -0,0 +1,19 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.util.UUID;
+
+public interface CaregiverCandidateView {
+
+    UUID getId();
+
+    String getFullName();
+
+    String getNeighborhood();
+
+    // Minor units (kobo) of the caregiver's hourly rate
+    Long getHourlyRateMinor();
+
+    Double getAverageRating();
+
+    Long getReviewCount();
+}
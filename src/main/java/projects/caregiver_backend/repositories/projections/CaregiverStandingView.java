@@ -0,0 +1,18 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.util.UUID;
+
+public interface CaregiverStandingView {
+
+    UUID getId();
+
+    String getCity();
+
+    String getFullName();
+
+    String getNeighborhood();
+
+    long getReviewCount();
+
+    long getRatingTotal();
+}
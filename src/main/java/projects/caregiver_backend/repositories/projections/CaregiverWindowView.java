@@ -2,11 +2,7 @@ package projects.caregiver_backend.repositories.projections;
 
 import java.util.UUID;
 
-public interface CaregiverRatingView {
+public interface CaregiverWindowView extends TimeWindowView {
 
     UUID getCaregiverId();
-
-    Double getAverageRating();
-
-    Long getReviewCount();
 }
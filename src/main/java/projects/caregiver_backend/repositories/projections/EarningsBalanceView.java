@@ -0,0 +1,19 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.util.Currency;
+import java.util.UUID;
+
+public interface EarningsBalanceView {
+
+    UUID getCaregiverId();
+
+    Long getSnapshotSequence();
+
+    Long getLastSequence();
+
+    Long getPendingMinor();
+
+    Long getAvailableMinor();
+
+    Currency getCurrency();
+}
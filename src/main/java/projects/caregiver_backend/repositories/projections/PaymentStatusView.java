@@ -0,0 +1,14 @@
+package projects.caregiver_backend.repositories.projections;
+
+import projects.caregiver_backend.model.PaymentStatus;
+
+import java.util.UUID;
+
+public interface PaymentStatusView {
+
+    PaymentStatus getStatus();
+
+    UUID getBookingId();
+
+    String getCustomerUsername();
+}
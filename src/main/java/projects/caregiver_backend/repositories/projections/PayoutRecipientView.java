@@ -0,0 +1,10 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.util.UUID;
+
+public interface PayoutRecipientView {
+
+    UUID getId();
+
+    String getRecipientCode();
+}
@@ -0,0 +1,13 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PendingPaymentView {
+
+    UUID getId();
+
+    String getReference();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,17 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ReviewListingView {
+
+    UUID getId();
+
+    String getReviewerUsername();
+
+    int getRating();
+
+    String getComment();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,16 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+public interface TemplateWindowView {
+
+    UUID getCaregiverId();
+
+    DayOfWeek getDayOfWeek();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
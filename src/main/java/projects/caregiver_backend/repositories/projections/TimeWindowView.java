@@ -0,0 +1,13 @@
+package projects.caregiver_backend.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public interface TimeWindowView {
+
+    LocalDate getDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getEndTime();
+}
@@ -0,0 +1,28 @@
+package projects.caregiver_backend.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Principal for a JWT-authenticated request; carries the user's id so services
+ * can reference the user row without looking it up by username again
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final UUID id;
+
+    public AuthenticatedUser(
+            UUID id,
+            String username,
+            String password,
+            Collection<? extends GrantedAuthority> authorities
+    ) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+}
@@ -0,0 +1,166 @@
+package projects.caregiver_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projects.caregiver_backend.dtos.request.WeeklyAvailabilityRequest;
+import projects.caregiver_backend.dtos.response.AvailabilityGridResponse;
+import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.CaregiverAvailability;
+import projects.caregiver_backend.model.User;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk availability for calendar views
+ * Reads many caregivers' free slots as packed day masks and replaces a
+ * caregiver's week of windows in a single batched write.
+ * The grid is free time, so a week read from it has booked time cleared; the
+ * upsert therefore keeps time held by active bookings as availability, and a
+ * cancelled or rejected booking's slot is offered again.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityGridService {
+
+    static final int MAX_CAREGIVERS = 100;
+    static final int MAX_DAYS = 31;
+    static final int WEEK_DAYS = 7;
+
+    private final FreeSlotService freeSlotService;
+    private final AvailabilityRepository availabilityRepository;
+    private final CaregiverRepository caregiverRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+
+    public AvailabilityGridResponse getGrid(
+            List<UUID> caregiverIds,
+            LocalDate from,
+            LocalDate to
+    ) {
+        if (caregiverIds.isEmpty() || caregiverIds.size() > MAX_CAREGIVERS) {
+            throw new IllegalArgumentException(
+                    "Between 1 and " + MAX_CAREGIVERS + " caregivers can be requested"
+            );
+        }
+        if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException(
+                    "Date range must cover between 1 and " + MAX_DAYS + " days"
+            );
+        }
+
+        Set<UUID> ids = new LinkedHashSet<>(caregiverIds);
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+
+        Map<UUID, Map<LocalDate, DaySlots>> free =
+                freeSlotService.freeSlots(ids, from, to);
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        ByteBuffer buffer = ByteBuffer.allocate(days * DaySlots.PACKED_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        Map<UUID, String> slots = new LinkedHashMap<>();
+        for (UUID id : ids) {
+            Map<LocalDate, DaySlots> perDay = free.get(id);
+            buffer.clear();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                perDay.get(day).writeTo(buffer);
+            }
+            slots.put(id, encoder.encodeToString(buffer.array()));
+        }
+
+        return new AvailabilityGridResponse(from, days, DaySlots.SLOT_MINUTES, slots);
+    }
+
+    /**
+     * Replaces the caregiver's windows for the 7 days starting at weekStart.
+     * Each contiguous run of free slots becomes one availability row; these
+     * override the weekly template for those dates. Slots held by an active
+     * booking count as available whatever the payload says, since the grid the
+     * payload was read from shows them as taken.
+     */
+    @Transactional
+    public int replaceWeek(
+            String username,
+            WeeklyAvailabilityRequest request
+    ) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Caregiver caregiver = caregiverRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Caregiver profile not found"));
+
+        byte[] packed = Base64.getDecoder().decode(request.slots());
+        if (packed.length != WEEK_DAYS * DaySlots.PACKED_BYTES) {
+            throw new IllegalArgumentException(
+                    "Slots must encode exactly " + WEEK_DAYS + " days"
+            );
+        }
+
+        LocalDate weekStart = request.weekStart();
+        LocalDate weekEnd = weekStart.plusDays(WEEK_DAYS - 1);
+        ByteBuffer buffer = ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN);
+
+        DaySlots[] week = new DaySlots[WEEK_DAYS];
+        for (int i = 0; i < WEEK_DAYS; i++) {
+            week[i] = DaySlots.readFrom(buffer);
+        }
+        for (CaregiverWindowView booked : bookingRepository.findBookedWindowsForCaregivers(
+                List.of(caregiver.getId()), weekStart, weekEnd)) {
+            week[(int) ChronoUnit.DAYS.between(weekStart, booked.getDate())]
+                    .release(booked.getStartTime(), booked.getEndTime());
+        }
+
+        List<CaregiverAvailability> windows = new ArrayList<>();
+        for (int i = 0; i < WEEK_DAYS; i++) {
+            LocalDate date = weekStart.plusDays(i);
+            DaySlots day = week[i];
+
+            int start = day.nextFree(0);
+            if (start < 0) {
+                // Explicit day off, otherwise the weekly template would apply
+                CaregiverAvailability dayOff = new CaregiverAvailability();
+                dayOff.setCaregiver(caregiver);
+                dayOff.setDate(date);
+                windows.add(dayOff);
+            }
+            while (start >= 0) {
+                int end = day.nextBusy(start);
+
+                CaregiverAvailability window = new CaregiverAvailability();
+                window.setCaregiver(caregiver);
+                window.setDate(date);
+                window.setStartTime(DaySlots.slotStart(start));
+                window.setEndTime(DaySlots.slotEnd(end - 1));
+                windows.add(window);
+
+                start = end < DaySlots.SLOTS_PER_DAY ? day.nextFree(end) : -1;
+            }
+        }
+
+        availabilityRepository.deleteWindows(caregiver.getId(), weekStart, weekEnd);
+        availabilityRepository.saveAll(windows);
+
+        for (LocalDate day = weekStart; !day.isAfter(weekEnd); day = day.plusDays(1)) {
+            freeSlotService.invalidate(caregiver.getId(), day);
+        }
+
+        return (int) windows.stream().filter(w -> !w.isDayOff()).count();
+    }
+}
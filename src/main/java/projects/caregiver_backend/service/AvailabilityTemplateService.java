@@ -0,0 +1,191 @@
+package projects.caregiver_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.dtos.request.AvailabilityTemplateRequest;
+import projects.caregiver_backend.dtos.response.TemplateMigrationResponse;
+import projects.caregiver_backend.model.AvailabilityTemplate;
+import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.CaregiverAvailability;
+import projects.caregiver_backend.model.User;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Recurring weekly availability
+ * Templates are stored once per caregiver and expanded lazily by {@link FreeSlotService};
+ * date-specific {@link CaregiverAvailability} rows remain only as exceptions.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityTemplateService {
+
+    // A weekday pattern must repeat at least this often before it becomes a template
+    static final int MIN_PATTERN_OCCURRENCES = 2;
+    // Day-off rows reach at least this far ahead when a caregiver's rows stop sooner
+    public static final int DAY_OFF_HORIZON_DAYS = 180;
+
+    private final AvailabilityTemplateRepository templateRepository;
+    private final AvailabilityRepository availabilityRepository;
+    private final CaregiverRepository caregiverRepository;
+    private final UserRepository userRepository;
+    private final FreeSlotService freeSlotService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public int replaceTemplate(
+            String username,
+            AvailabilityTemplateRequest request
+    ) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Caregiver caregiver = caregiverRepository.findByUser(user)
+                .orElseThrow(() -> new RuntimeException("Caregiver profile not found"));
+
+        List<AvailabilityTemplate> templates = new ArrayList<>();
+        for (AvailabilityTemplateRequest.TemplateWindow window : request.windows()) {
+            templates.add(new AvailabilityTemplate(
+                    null,
+                    caregiver,
+                    window.dayOfWeek(),
+                    window.startTime(),
+                    window.endTime()
+            ));
+        }
+
+        templateRepository.deleteByCaregiverId(caregiver.getId());
+        templateRepository.saveAll(templates);
+        freeSlotService.invalidateCaregiver(caregiver.getId());
+
+        return templates.size();
+    }
+
+    /**
+     * One-off migration from row-per-date availability to templates.
+     * For each caregiver without templates, the most frequent window set per weekday
+     * becomes the template; dated rows equal to it are removed, differing dates stay
+     * as exceptions, and future dates that had no rows get a day-off row so nobody
+     * becomes bookable on a date they never offered. That covers the caregiver's last
+     * dated row or {@value #DAY_OFF_HORIZON_DAYS} days from now, whichever is later;
+     * past that the template applies, so caregivers should review it before then.
+     * Each caregiver commits separately.
+     */
+    public TemplateMigrationResponse migrateExistingRows() {
+        int caregivers = 0;
+        int templates = 0;
+        int removed = 0;
+        int dayOffs = 0;
+
+        for (UUID caregiverId : availabilityRepository.findCaregiverIdsWithWindows()) {
+            int[] counts = transactionTemplate.execute(status -> migrateCaregiver(caregiverId));
+            if (counts == null || counts[0] == 0) continue;
+
+            caregivers++;
+            templates += counts[0];
+            removed += counts[1];
+            dayOffs += counts[2];
+        }
+
+        return new TemplateMigrationResponse(caregivers, templates, removed, dayOffs);
+    }
+
+    // Returns {templates created, rows removed, day-off rows added}
+    private int[] migrateCaregiver(UUID caregiverId) {
+        if (templateRepository.existsByCaregiverId(caregiverId)) {
+            return new int[]{0, 0, 0};
+        }
+
+        List<CaregiverAvailability> rows =
+                availabilityRepository.findByCaregiverIdOrderByDateAsc(caregiverId);
+        if (rows.isEmpty()) {
+            return new int[]{0, 0, 0};
+        }
+
+        Map<LocalDate, List<CaregiverAvailability>> rowsByDate = new HashMap<>();
+        Map<LocalDate, Set<Window>> windowsByDate = new HashMap<>();
+        for (CaregiverAvailability row : rows) {
+            if (row.getDate() == null) continue;
+            rowsByDate.computeIfAbsent(row.getDate(), d -> new ArrayList<>()).add(row);
+            Set<Window> windows = windowsByDate.computeIfAbsent(row.getDate(), d -> new HashSet<>());
+            if (!row.isDayOff()) {
+                windows.add(new Window(row.getStartTime(), row.getEndTime()));
+            }
+        }
+        if (windowsByDate.isEmpty()) {
+            return new int[]{0, 0, 0};
+        }
+
+        Map<DayOfWeek, Map<Set<Window>, Integer>> frequencies = new EnumMap<>(DayOfWeek.class);
+        windowsByDate.forEach((date, windows) -> frequencies
+                .computeIfAbsent(date.getDayOfWeek(), d -> new HashMap<>())
+                .merge(windows, 1, Integer::sum));
+
+        Map<DayOfWeek, Set<Window>> pattern = new EnumMap<>(DayOfWeek.class);
+        frequencies.forEach((day, counts) -> counts.entrySet().stream()
+                .filter(e -> !e.getKey().isEmpty() && e.getValue() >= MIN_PATTERN_OCCURRENCES)
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(e -> pattern.put(day, e.getKey())));
+
+        if (pattern.isEmpty()) {
+            return new int[]{0, 0, 0};
+        }
+
+        Caregiver caregiver = caregiverRepository.getReferenceById(caregiverId);
+
+        List<AvailabilityTemplate> templates = new ArrayList<>();
+        pattern.forEach((day, windows) -> windows.forEach(w -> templates.add(
+                new AvailabilityTemplate(null, caregiver, day, w.start(), w.end())
+        )));
+
+        List<CaregiverAvailability> toDelete = new ArrayList<>();
+        List<CaregiverAvailability> dayOffRows = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        LocalDate first = Collections.min(windowsByDate.keySet());
+        LocalDate last = Collections.max(windowsByDate.keySet());
+        LocalDate horizon = today.plusDays(DAY_OFF_HORIZON_DAYS);
+        LocalDate until = last.isAfter(horizon) ? last : horizon;
+
+        for (LocalDate date = first; !date.isAfter(until); date = date.plusDays(1)) {
+            Set<Window> expected = pattern.getOrDefault(date.getDayOfWeek(), Set.of());
+            Set<Window> actual = windowsByDate.get(date);
+
+            if (actual == null) {
+                if (!expected.isEmpty() && !date.isBefore(today)) {
+                    CaregiverAvailability dayOff = new CaregiverAvailability();
+                    dayOff.setCaregiver(caregiver);
+                    dayOff.setDate(date);
+                    dayOffRows.add(dayOff);
+                }
+            } else if (actual.equals(expected)) {
+                toDelete.addAll(rowsByDate.get(date));
+            }
+        }
+
+        templateRepository.saveAll(templates);
+        availabilityRepository.deleteAllInBatch(toDelete);
+        availabilityRepository.saveAll(dayOffRows);
+        freeSlotService.invalidateCaregiver(caregiverId);
+
+        return new int[]{templates.size(), toDelete.size(), dayOffRows.size()};
+    }
+
+    private record Window(LocalTime start, LocalTime end) {}
+}
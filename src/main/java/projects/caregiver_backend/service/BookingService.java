@@ -10,9 +10,9 @@ import projects.caregiver_backend.repositories.BookingRepository;
 import projects.caregiver_backend.repositories.CaregiverRepository;
 import projects.caregiver_backend.repositories.UserRepository;
 
-import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.UUID;
 
 /**
@@ -28,6 +28,8 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final CaregiverRepository caregiverRepository;
     private final UserRepository userRepository;
+    private final FreeSlotService freeSlotService;
+    private final EarningsLedgerService earningsLedgerService;
 
     @Transactional
     public BookingResponse createBooking(
@@ -57,6 +59,19 @@ public class BookingService {
             throw new IllegalStateException("Time slot already booked");
         }
 
+        // No overlapping booking, so a non-free range means it falls outside availability.
+        // Read from the database: the slot cache may not have seen a change made on another node.
+        if (!freeSlotService.isRangeFreeUncached(
+                caregiver.getId(),
+                request.date(),
+                request.startTime(),
+                request.endTime()
+        )) {
+            throw new IllegalStateException(
+                    "Requested time is outside the caregiver's availability"
+            );
+        }
+
         Booking booking = new Booking();
         booking.setUser(user);
         booking.setCaregiver(caregiver);
@@ -67,14 +82,14 @@ public class BookingService {
         booking.setCreatedAt(LocalDateTime.now());
 
         // Calculate total amount based on hourly rate and duration
-        BigDecimal totalAmount = calculateTotalAmount(
+        booking.setTotalAmount(calculateTotalAmount(
                 caregiver.getHourlyRate(),
                 request.startTime(),
                 request.endTime()
-        );
-        booking.setTotalAmount(totalAmount);
+        ));
 
         Booking saved = bookingRepository.save(booking);
+        freeSlotService.invalidate(caregiver.getId(), saved.getDate());
 
         return new BookingResponse(
                 saved.getId(),
@@ -84,34 +99,26 @@ public class BookingService {
                 saved.getStartTime(),
                 saved.getEndTime(),
                 saved.getStatus(),
-                saved.getTotalAmount()
+                saved.getTotalAmount() != null ? saved.getTotalAmount().toMajor() : null
         );
     }
 
     /**
      * Calculate total booking amount
-     * hourlyRate × duration (in hours, including fractions)
-     * 
+     * hourlyRate × duration, exact in minor units and rounded half-up to the kobo
+     *
      * @param hourlyRate The caregiver's hourly rate
      * @param startTime Booking start time
      * @param endTime Booking end time
      * @return Total amount to charge
      */
-    private BigDecimal calculateTotalAmount(
-            BigDecimal hourlyRate,
-            java.time.LocalTime startTime,
-            java.time.LocalTime endTime
+    private Money calculateTotalAmount(
+            Money hourlyRate,
+            LocalTime startTime,
+            LocalTime endTime
     ) {
-        // Calculate duration in minutes
         long minutes = Duration.between(startTime, endTime).toMinutes();
-        
-        // Convert minutes to hours (as decimal)
-        BigDecimal hours = BigDecimal.valueOf(minutes)
-                .divide(BigDecimal.valueOf(60), 2, java.math.RoundingMode.HALF_UP);
-        
-        // Calculate total: hourlyRate × hours
-        return hourlyRate.multiply(hours)
-                .setScale(2, java.math.RoundingMode.HALF_UP);
+        return hourlyRate.forMinutes(minutes);
     }
 
     @Transactional
@@ -144,6 +151,10 @@ public class BookingService {
 
         Booking saved = bookingRepository.save(booking);
 
+        if (!accept) {
+            freeSlotService.invalidate(caregiver.getId(), saved.getDate());
+        }
+
         return new BookingResponse(
                 saved.getId(),
                 caregiver.getId(),
@@ -152,7 +163,51 @@ public class BookingService {
                 saved.getStartTime(),
                 saved.getEndTime(),
                 saved.getStatus(),
-                saved.getTotalAmount()
+                saved.getTotalAmount() != null ? saved.getTotalAmount().toMajor() : null
+        );
+    }
+
+    /**
+     * Caregiver marks a paid booking as done once it has ended; the booking's
+     * earnings move from pending to available in the same transaction
+     */
+    @Transactional
+    public BookingResponse completeBooking(
+            String caregiverUsername,
+            UUID bookingId
+    ) {
+
+        UUID caregiverId = caregiverRepository.findIdByUsername(caregiverUsername)
+                .orElseThrow(() -> new RuntimeException("Caregiver profile not found"));
+
+        Booking booking = bookingRepository.findWithCaregiverById(bookingId)
+                .orElseThrow(() -> new RuntimeException("Booking not found"));
+
+        if (!booking.getCaregiver().getId().equals(caregiverId)) {
+            throw new SecurityException("You cannot modify this booking");
+        }
+
+        if (booking.getStatus() != BookingStatus.PAID
+                && booking.getStatus() != BookingStatus.CONFIRMED) {
+            throw new IllegalStateException("Only paid bookings can be completed");
+        }
+
+        if (LocalDateTime.of(booking.getDate(), booking.getEndTime()).isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Booking has not ended yet");
+        }
+
+        booking.setStatus(BookingStatus.COMPLETED);
+        earningsLedgerService.bookingCompleted(booking);
+
+        return new BookingResponse(
+                booking.getId(),
+                caregiverId,
+                booking.getCaregiver().getFullName(),
+                booking.getDate(),
+                booking.getStartTime(),
+                booking.getEndTime(),
+                booking.getStatus(),
+                booking.getTotalAmount() != null ? booking.getTotalAmount().toMajor() : null
         );
     }
 }
@@ -0,0 +1,64 @@
+package projects.caregiver_backend.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Hit, miss and eviction counts of one in-process LRU cache, published under
+ * Micrometer's cache meter names (cache.gets by result, cache.evictions,
+ * cache.size) so the hit ratio is gets{result=hit} over all gets
+ */
+final class CacheMetrics {
+
+    private final String name;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    CacheMetrics(String name) {
+        this.name = name;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void evicted() {
+        evictions.increment();
+    }
+
+    void evicted(int entries) {
+        evictions.add(entries);
+    }
+
+    void bindTo(MeterRegistry registry, Map<?, ?> cache) {
+        bindTo(registry, cache::size);
+    }
+
+    void bindTo(MeterRegistry registry, Supplier<Number> size) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", name, "result", "hit")
+                .description("Lookups answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", name, "result", "miss")
+                .description("Lookups that had to load")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tag("cache", name)
+                .description("Entries dropped to stay within the size limit")
+                .register(registry);
+        Gauge.builder("cache.size", size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
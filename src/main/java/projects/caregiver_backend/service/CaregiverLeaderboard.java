@@ -0,0 +1,125 @@
+package projects.caregiver_backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory per-city rankings by Bayesian-smoothed rating
+ * A caregiver's score is (priorWeight × priorMean + ratingTotal) / (priorWeight + reviewCount):
+ * the average rating pulled toward the overall mean as if priorWeight extra
+ * reviews at that mean had been given, so a handful of reviews cannot outrank a
+ * long track record. Each city is a skip list ordered best first; an update is a
+ * remove and an insert, O(log n), and top-N walks the first N entries. Writers
+ * serialise on the board, readers never block.
+ */
+public class CaregiverLeaderboard {
+
+    public record Standing(
+            UUID caregiverId,
+            String city,
+            String fullName,
+            String neighborhood,
+            long reviewCount,
+            long ratingTotal,
+            double score
+    ) {
+
+        public double averageRating() {
+            return reviewCount == 0 ? 0.0 : (double) ratingTotal / reviewCount;
+        }
+    }
+
+    // Higher score first, then the longer track record, then id for a stable order
+    private static final Comparator<Standing> BEST_FIRST =
+            Comparator.comparingDouble(Standing::score).reversed()
+                    .thenComparing(Comparator.comparingLong(Standing::reviewCount).reversed())
+                    .thenComparing(Standing::caregiverId);
+
+    private final double priorWeight;
+    private final double priorMean;
+    private final Map<UUID, Standing> standings = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Standing>> cities = new ConcurrentHashMap<>();
+
+    public CaregiverLeaderboard(double priorWeight, double priorMean) {
+        if (priorWeight <= 0) {
+            throw new IllegalArgumentException("Prior weight must be positive");
+        }
+        this.priorWeight = priorWeight;
+        this.priorMean = priorMean;
+    }
+
+    public double priorMean() {
+        return priorMean;
+    }
+
+    public double score(long reviewCount, long ratingTotal) {
+        return (priorWeight * priorMean + ratingTotal) / (priorWeight + reviewCount);
+    }
+
+    /** Adds the caregiver, or replaces its standing, e.g. after a rebuild or a city change */
+    public synchronized void put(
+            UUID caregiverId,
+            String city,
+            String fullName,
+            String neighborhood,
+            long reviewCount,
+            long ratingTotal
+    ) {
+        replace(new Standing(
+                caregiverId, city, fullName, neighborhood,
+                reviewCount, ratingTotal, score(reviewCount, ratingTotal)
+        ));
+    }
+
+    /** Counts one more review; caregivers not on any board are ignored */
+    public synchronized void recordReview(UUID caregiverId, int rating) {
+        Standing current = standings.get(caregiverId);
+        if (current == null) return;
+
+        long reviewCount = current.reviewCount() + 1;
+        long ratingTotal = current.ratingTotal() + rating;
+        replace(new Standing(
+                caregiverId, current.city(), current.fullName(), current.neighborhood(),
+                reviewCount, ratingTotal, score(reviewCount, ratingTotal)
+        ));
+    }
+
+    public synchronized void remove(UUID caregiverId) {
+        Standing current = standings.remove(caregiverId);
+        if (current != null) {
+            cities.get(current.city()).remove(current);
+        }
+    }
+
+    /** The best {@code limit} caregivers in the city, best first */
+    public List<Standing> top(String city, int limit) {
+        NavigableSet<Standing> board = cities.get(city);
+        if (board == null) return List.of();
+
+        List<Standing> top = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Standing> it = board.iterator();
+        while (top.size() < limit && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    public int size() {
+        return standings.size();
+    }
+
+    private void replace(Standing next) {
+        Standing previous = standings.put(next.caregiverId(), next);
+        if (previous != null) {
+            cities.get(previous.city()).remove(previous);
+        }
+        cities.computeIfAbsent(next.city(), city -> new ConcurrentSkipListSet<>(BEST_FIRST)).add(next);
+    }
+}
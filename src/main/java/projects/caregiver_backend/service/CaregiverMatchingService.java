@@ -0,0 +1,159 @@
+package projects.caregiver_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import projects.caregiver_backend.dtos.request.CaregiverMatchRequest;
+import projects.caregiver_backend.dtos.response.CaregiverMatchResponse;
+import projects.caregiver_backend.model.Money;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverCandidateView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Matches caregivers to a concrete request (city, day, time range, budget)
+ * Candidates come from one projection query with ratings; only those that could
+ * still enter the top K are checked against the free-slot engine, and the
+ * result is kept in a bounded min-heap instead of sorting every candidate.
+ */
+@Service
+@RequiredArgsConstructor
+public class CaregiverMatchingService {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+    static final int AVAILABILITY_CHUNK = 500;
+
+    static final double RATING_WEIGHT = 0.7;
+    static final double PRICE_WEIGHT = 0.3;
+
+    private static final Comparator<ScoredCandidate> WORST_FIRST =
+            Comparator.comparingDouble(ScoredCandidate::score)
+                    .thenComparingLong(c -> reviewCount(c.candidate()))
+                    .thenComparing(c -> c.candidate().getId());
+
+    private final CaregiverRepository caregiverRepository;
+    private final FreeSlotService freeSlotService;
+
+    public List<CaregiverMatchResponse> match(CaregiverMatchRequest request) {
+        int limit = request.limit() != null ? request.limit() : DEFAULT_LIMIT;
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_LIMIT
+            );
+        }
+
+        Long maxRateMinor = request.maxHourlyRate() != null
+                ? Money.ofMajor(request.maxHourlyRate(), Money.NGN).minorUnits()
+                : null;
+
+        List<CaregiverCandidateView> candidates =
+                caregiverRepository.findMatchCandidates(
+                        request.city(),
+                        request.neighborhood(),
+                        maxRateMinor
+                );
+
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+
+        // Scores only use the ratio of rate to ceiling, so minor units work as well as naira
+        double priceCeiling = maxRateMinor != null
+                ? maxRateMinor
+                : candidates.stream()
+                        .map(CaregiverCandidateView::getHourlyRateMinor)
+                        .filter(rate -> rate != null)
+                        .mapToLong(Long::longValue)
+                        .max()
+                        .orElse(0);
+
+        PriorityQueue<ScoredCandidate> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        LocalDate date = request.date();
+
+        for (int from = 0; from < candidates.size(); from += AVAILABILITY_CHUNK) {
+            List<CaregiverCandidateView> chunk =
+                    candidates.subList(from, Math.min(from + AVAILABILITY_CHUNK, candidates.size()));
+
+            // Availability can only remove candidates, so anything that cannot beat
+            // the current K-th best is dropped before paying for the slot lookup
+            List<ScoredCandidate> contenders = new ArrayList<>();
+            for (CaregiverCandidateView candidate : chunk) {
+                ScoredCandidate scored = new ScoredCandidate(candidate, score(candidate, priceCeiling));
+                if (top.size() < limit || WORST_FIRST.compare(scored, top.peek()) > 0) {
+                    contenders.add(scored);
+                }
+            }
+            if (contenders.isEmpty()) continue;
+
+            Map<UUID, Map<LocalDate, DaySlots>> free = freeSlotService.freeSlots(
+                    contenders.stream().map(c -> c.candidate().getId()).toList(),
+                    date,
+                    date
+            );
+
+            for (ScoredCandidate scored : contenders) {
+                DaySlots slots = free.get(scored.candidate().getId()).get(date);
+                if (!slots.isFree(request.startTime(), request.endTime())) continue;
+
+                if (top.size() < limit) {
+                    top.offer(scored);
+                } else if (WORST_FIRST.compare(scored, top.peek()) > 0) {
+                    top.poll();
+                    top.offer(scored);
+                }
+            }
+        }
+
+        List<CaregiverMatchResponse> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ScoredCandidate scored = top.poll();
+            CaregiverCandidateView c = scored.candidate();
+            result.add(new CaregiverMatchResponse(
+                    c.getId(),
+                    c.getFullName(),
+                    c.getNeighborhood(),
+                    c.getHourlyRateMinor() != null
+                            ? Money.ofMinor(c.getHourlyRateMinor(), Money.NGN).toMajor()
+                            : null,
+                    c.getAverageRating() != null ? c.getAverageRating() : 0.0,
+                    reviewCount(c),
+                    scored.score()
+            ));
+        }
+        Collections.reverse(result);
+
+        return result;
+    }
+
+    /**
+     * Weighted score in [0, 1]: normalised rating plus how far below the
+     * price ceiling the caregiver's hourly rate is
+     */
+    static double score(CaregiverCandidateView candidate, double priceCeiling) {
+        double rating = candidate.getAverageRating() != null
+                ? candidate.getAverageRating() / 5.0
+                : 0.0;
+
+        double price = 0.0;
+        if (candidate.getHourlyRateMinor() != null && priceCeiling > 0) {
+            price = 1.0 - candidate.getHourlyRateMinor() / priceCeiling;
+            price = Math.max(0.0, Math.min(1.0, price));
+        }
+
+        return RATING_WEIGHT * rating + PRICE_WEIGHT * price;
+    }
+
+    private static long reviewCount(CaregiverCandidateView candidate) {
+        return candidate.getReviewCount() != null ? candidate.getReviewCount() : 0L;
+    }
+
+    private record ScoredCandidate(CaregiverCandidateView candidate, double score) {}
+}
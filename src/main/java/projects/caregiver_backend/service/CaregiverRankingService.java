@@ -0,0 +1,162 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import projects.caregiver_backend.dtos.response.LeaderboardEntryResponse;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverStandingView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * "Top caregivers" per city, served from a {@link CaregiverLeaderboard}
+ * The board is built from the rating counters on the caregiver rows, with the
+ * prior mean set to the average over every verified caregiver's reviews, and
+ * then kept current in memory as reviews commit. The periodic rebuild refreshes
+ * the prior mean and repairs anything an update raced with. Updates that land
+ * while a rebuild scans go to the board being replaced, so the caregivers they
+ * touched are re-read onto the new board once it is swapped in.
+ */
+@Service
+public class CaregiverRankingService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+    private static final UUID SCAN_START_ID = new UUID(0L, 0L);
+
+    private final CaregiverRepository caregiverRepository;
+    private final double priorWeight;
+    private final double defaultMean;
+    private volatile CaregiverLeaderboard leaderboard;
+    private volatile boolean rebuilding;
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    public CaregiverRankingService(
+            CaregiverRepository caregiverRepository,
+            @Value("${reviews.ranking.prior-weight:10}") double priorWeight,
+            @Value("${reviews.ranking.default-mean:4.0}") double defaultMean
+    ) {
+        this.caregiverRepository = caregiverRepository;
+        this.priorWeight = priorWeight;
+        this.defaultMean = defaultMean;
+        this.leaderboard = new CaregiverLeaderboard(priorWeight, defaultMean);
+    }
+
+    @Scheduled(
+            initialDelayString = "${reviews.ranking.initial-delay:PT0S}",
+            fixedDelayString = "${reviews.ranking.rebuild-interval:PT1H}"
+    )
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Loads every verified caregiver's counters page by page and swaps in a fresh
+     * board, then re-reads the caregivers updated while it was loading
+     */
+    public synchronized void rebuild() {
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            leaderboard = load();
+            // Replayed while still flagged so an update racing the swap is re-read too
+            replayChanges();
+        } finally {
+            rebuilding = false;
+        }
+        replayChanges();
+    }
+
+    private CaregiverLeaderboard load() {
+        List<CaregiverStandingView> standings = new ArrayList<>();
+        UUID afterId = SCAN_START_ID;
+        while (true) {
+            List<CaregiverStandingView> page =
+                    caregiverRepository.findStandingsAfter(afterId, Limit.of(LOAD_PAGE_SIZE));
+            standings.addAll(page);
+            if (page.size() < LOAD_PAGE_SIZE) break;
+            afterId = page.get(page.size() - 1).getId();
+        }
+
+        long reviews = 0;
+        long stars = 0;
+        for (CaregiverStandingView standing : standings) {
+            reviews += standing.getReviewCount();
+            stars += standing.getRatingTotal();
+        }
+        double priorMean = reviews == 0 ? defaultMean : (double) stars / reviews;
+
+        CaregiverLeaderboard next = new CaregiverLeaderboard(priorWeight, priorMean);
+        standings.forEach(standing -> put(next, standing));
+        return next;
+    }
+
+    private void replayChanges() {
+        for (UUID caregiverId : changedDuringRebuild) {
+            changedDuringRebuild.remove(caregiverId);
+            reload(caregiverId);
+        }
+    }
+
+    /** Counts a committed review; no database access */
+    public void recordReview(UUID caregiverId, int rating) {
+        leaderboard.recordReview(caregiverId, rating);
+        if (rebuilding) changedDuringRebuild.add(caregiverId);
+    }
+
+    /** Re-reads one caregiver, e.g. after approval; drops it unless verified */
+    public void refresh(UUID caregiverId) {
+        reload(caregiverId);
+        if (rebuilding) changedDuringRebuild.add(caregiverId);
+    }
+
+    private void reload(UUID caregiverId) {
+        CaregiverLeaderboard board = leaderboard;
+        caregiverRepository.findStandingById(caregiverId).ifPresentOrElse(
+                standing -> put(board, standing),
+                () -> board.remove(caregiverId)
+        );
+    }
+
+    public List<LeaderboardEntryResponse> top(String city, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_LIMIT
+            );
+        }
+
+        List<CaregiverLeaderboard.Standing> top = leaderboard.top(city, limit);
+        List<LeaderboardEntryResponse> result = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            CaregiverLeaderboard.Standing standing = top.get(i);
+            result.add(new LeaderboardEntryResponse(
+                    i + 1,
+                    standing.caregiverId(),
+                    standing.fullName(),
+                    standing.neighborhood(),
+                    standing.score(),
+                    standing.averageRating(),
+                    standing.reviewCount()
+            ));
+        }
+        return result;
+    }
+
+    private static void put(CaregiverLeaderboard board, CaregiverStandingView standing) {
+        board.put(
+                standing.getId(),
+                standing.getCity(),
+                standing.getFullName(),
+                standing.getNeighborhood(),
+                standing.getReviewCount(),
+                standing.getRatingTotal()
+        );
+    }
+}
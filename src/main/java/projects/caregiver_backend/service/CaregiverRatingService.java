@@ -0,0 +1,114 @@
+package projects.caregiver_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import projects.caregiver_backend.dtos.response.RatingSummaryResponse;
+import projects.caregiver_backend.model.RatingSummary;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-caregiver rating counters
+ * Each review bumps the caregiver's {@link RatingSummary} in one UPDATE; reads
+ * are served from an LRU cache that the write path invalidates, so a summary is
+ * loaded at most once between two reviews of the same caregiver. Committed
+ * reviews are also passed on to the city leaderboards.
+ */
+@Service
+public class CaregiverRatingService implements MeterBinder {
+
+    private final CaregiverRepository caregiverRepository;
+    private final CaregiverRankingService rankingService;
+    private final Map<UUID, RatingSummary> cache;
+    private final CacheMetrics cacheMetrics = new CacheMetrics("reviews.ratings");
+
+    public CaregiverRatingService(
+            CaregiverRepository caregiverRepository,
+            CaregiverRankingService rankingService,
+            @Value("${reviews.rating-cache.max-entries:10000}") int maxEntries
+    ) {
+        this.caregiverRepository = caregiverRepository;
+        this.rankingService = rankingService;
+        this.cache = Collections.synchronizedMap(
+                new LinkedHashMap<UUID, RatingSummary>(256, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<UUID, RatingSummary> eldest) {
+                        if (size() <= maxEntries) return false;
+                        cacheMetrics.evicted();
+                        return true;
+                    }
+                }
+        );
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheMetrics.bindTo(registry, cache);
+    }
+
+    public RatingSummaryResponse summary(UUID caregiverId) {
+        RatingSummary ratings = cache.get(caregiverId);
+        if (ratings != null) {
+            cacheMetrics.hit();
+        } else {
+            cacheMetrics.miss();
+            ratings = caregiverRepository.findRatingsById(caregiverId)
+                    .orElseThrow(() -> new RuntimeException("Caregiver not found"));
+            cache.put(caregiverId, ratings);
+        }
+        return toResponse(caregiverId, ratings);
+    }
+
+    /**
+     * Counts one review inside the caller's transaction and returns false, counting
+     * nothing, when the caregiver does not exist or is the reviewer. The cached
+     * summary is dropped now and again once the transaction completes, so a
+     * concurrent reload cannot re-cache the pre-commit counters.
+     */
+    public boolean recordReview(UUID caregiverId, UUID reviewerId, int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        if (caregiverRepository.recordRating(caregiverId, reviewerId, rating) == 0) {
+            return false;
+        }
+
+        Runnable evict = () -> cache.remove(caregiverId);
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            rankingService.recordReview(caregiverId, rating);
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            evict.run();
+                        }
+                    }
+            );
+        } else {
+            rankingService.recordReview(caregiverId, rating);
+        }
+        return true;
+    }
+
+    private static RatingSummaryResponse toResponse(UUID caregiverId, RatingSummary ratings) {
+        return new RatingSummaryResponse(
+                caregiverId,
+                ratings.averageRating(),
+                ratings.reviewCount(),
+                ratings.histogram()
+        );
+    }
+}
@@ -7,18 +7,20 @@ import projects.caregiver_backend.dtos.request.CaregiverFilterRequest;
 import projects.caregiver_backend.dtos.request.CaregiverOnboardingRequest;
 import projects.caregiver_backend.dtos.response.CaregiverResponse;
 import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.Money;
 import projects.caregiver_backend.model.OnboardingStatus;
+import projects.caregiver_backend.model.RatingSummary;
 import projects.caregiver_backend.model.User;
 import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
 import projects.caregiver_backend.repositories.CaregiverRepository;
-import projects.caregiver_backend.repositories.ReviewRepository;
 import projects.caregiver_backend.repositories.UserRepository;
-import projects.caregiver_backend.repositories.projections.CaregiverRatingView;
 
+import java.math.BigDecimal;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,8 +28,8 @@ public class CaregiverService {
 
     private final CaregiverRepository caregiverRepository;
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
     private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityTemplateRepository templateRepository;
 
 
     @Transactional
@@ -54,16 +56,7 @@ public class CaregiverService {
 
         Caregiver saved = caregiverRepository.save(caregiver);
 
-        return new CaregiverResponse(
-                saved.getId(),
-                saved.getFullName(),
-                saved.getCity(),
-                saved.getNeighborhood(),
-                saved.getPhone(),
-                saved.getBio(),
-                0.0,   // averageRating
-                0L     // reviewCount
-        );
+        return toResponse(saved);
     }
 
 
@@ -75,30 +68,8 @@ public class CaregiverService {
         List<Caregiver> caregivers =
                 caregiverRepository.findByCityAndNeighborhoodAndVerifiedTrue(city, neighborhood);
 
-        Map<UUID, CaregiverRatingView> ratingMap =
-                reviewRepository.fetchCaregiverRatings()
-                        .stream()
-                        .collect(Collectors.toMap(
-                                CaregiverRatingView::getCaregiverId,
-                                r -> r
-                        ));
-
         return caregivers.stream()
-                .map(caregiver -> {
-                    CaregiverRatingView rating =
-                            ratingMap.get(caregiver.getId());
-
-                    return new CaregiverResponse(
-                            caregiver.getId(),
-                            caregiver.getFullName(),
-                            caregiver.getCity(),
-                            caregiver.getNeighborhood(),
-                            caregiver.getPhone(),
-                            caregiver.getBio(),
-                            rating != null ? rating.getAverageRating() : 0.0,
-                            rating != null ? rating.getReviewCount() : 0L
-                    );
-                })
+                .map(CaregiverService::toResponse)
                 .toList();
     }
 
@@ -110,52 +81,54 @@ public class CaregiverService {
                 caregiverRepository.filterCaregivers(
                         request.city(),
                         request.neighborhood(),
-                        request.minPrice(),
-                        request.maxPrice()
+                        minorUnits(request.minPrice()),
+                        minorUnits(request.maxPrice())
                 );
 
-        // Availability filter
+        // Availability filter: date-specific windows plus templates not overridden on that date
         if (request.availableDate() != null) {
-            List<UUID> availableIds =
+            Set<UUID> availableIds = new HashSet<>(
                     availabilityRepository.findAvailableCaregiverIds(
                             request.availableDate()
-                    );
+                    )
+            );
+            availableIds.addAll(
+                    templateRepository.findCaregiverIdsWithTemplateOn(
+                            request.availableDate().getDayOfWeek(),
+                            request.availableDate()
+                    )
+            );
 
             caregivers = caregivers.stream()
                     .filter(c -> availableIds.contains(c.getId()))
                     .toList();
         }
 
-        // Ratings (bulk fetch)
-        Map<UUID, CaregiverRatingView> ratings =
-                reviewRepository.fetchCaregiverRatings()
-                        .stream()
-                        .collect(Collectors.toMap(
-                                CaregiverRatingView::getCaregiverId,
-                                r -> r
-                        ));
-
+        // Ratings come from the counters on each caregiver row
         return caregivers.stream()
-                .filter(c -> {
-                    CaregiverRatingView r = ratings.get(c.getId());
-                    return request.minRating() == null ||
-                            (r != null && r.getAverageRating() >= request.minRating());
-                })
-                .map(c -> {
-                    CaregiverRatingView r = ratings.get(c.getId());
-
-                    return new CaregiverResponse(
-                            c.getId(),
-                            c.getFullName(),
-                            c.getCity(),
-                            c.getNeighborhood(),
-                            c.getPhone(),
-                            c.getBio(),
-                            r != null ? r.getAverageRating() : 0.0,
-                            r != null ? r.getReviewCount() : 0L
-                    );
-                })
+                .filter(c -> request.minRating() == null ||
+                        (c.getRatings().reviewCount() > 0
+                                && c.getRatings().averageRating() >= request.minRating()))
+                .map(CaregiverService::toResponse)
                 .toList();
     }
 
+    private static CaregiverResponse toResponse(Caregiver caregiver) {
+        RatingSummary ratings = caregiver.getRatings();
+        return new CaregiverResponse(
+                caregiver.getId(),
+                caregiver.getFullName(),
+                caregiver.getCity(),
+                caregiver.getNeighborhood(),
+                caregiver.getPhone(),
+                caregiver.getBio(),
+                ratings.averageRating(),
+                ratings.reviewCount(),
+                ratings.histogram()
+        );
+    }
+
+    private static Long minorUnits(BigDecimal naira) {
+        return naira != null ? Money.ofMajor(naira, Money.NGN).minorUnits() : null;
+    }
 }
@@ -0,0 +1,138 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.model.IdempotencyRecord;
+import projects.caregiver_backend.repositories.IdempotencyRecordRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency store shared by every node through the idempotency_keys table
+ * A node claims a key by inserting its row; duplicates on any node poll that row
+ * until the response body is written. Claims expire after the claim timeout so a
+ * crashed node does not block the key forever.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    static final long POLL_INTERVAL_MS = 100;
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Duration claimTimeout;
+
+    public DatabaseIdempotencyStore(
+            IdempotencyRecordRepository repository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout,
+            @Value("${idempotency.claim-timeout:PT1M}") Duration claimTimeout
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Override
+    public <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            if (claim(key, fingerprint)) {
+                return runClaimed(key, type, action);
+            }
+
+            IdempotencyRecord existing = repository.findById(key).orElse(null);
+            if (existing != null) {
+                if (!existing.getFingerprint().equals(fingerprint)) {
+                    throw new IllegalArgumentException(
+                            "Idempotency-Key was already used for a different request"
+                    );
+                }
+                if (existing.isCompleted()) {
+                    return read(existing.getResponseBody(), type);
+                }
+            }
+
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(
+                        "A request with this Idempotency-Key is still in progress"
+                );
+            }
+
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the original request");
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        transactionTemplate.executeWithoutResult(status ->
+                repository.deleteExpired(LocalDateTime.now())
+        );
+    }
+
+    private boolean claim(String key, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                repository.deleteIfExpired(key, now);
+                repository.insertClaim(key, fingerprint, now, now.plus(claimTimeout));
+            });
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private <T> T runClaimed(String key, Class<T> type, Supplier<T> action) {
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> repository.deleteById(key));
+            throw e;
+        }
+
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store idempotent response", e);
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                repository.complete(key, body, LocalDateTime.now().plus(ttl))
+        );
+        return result;
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read stored idempotent response", e);
+        }
+    }
+}
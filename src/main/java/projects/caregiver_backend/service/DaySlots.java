@@ -0,0 +1,158 @@
+package projects.caregiver_backend.service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+
+/**
+ * Compact bitset of the 96 fifteen-minute slots in one caregiver-day.
+ * Slots 0..63 live in {@code low}, slots 64..95 in the lower half of {@code high}.
+ * A set bit means the slot is free (inside an availability window and not booked).
+ * Packed form is {@value #PACKED_BYTES} little-endian bytes: slot {@code i} is bit
+ * {@code i % 8} of byte {@code i / 8}.
+ */
+public final class DaySlots {
+
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY = 96;
+    public static final int PACKED_BYTES = SLOTS_PER_DAY / 8;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59);
+
+    private long low;
+    private long high;
+
+    public static DaySlots empty() {
+        return new DaySlots();
+    }
+
+    /** Marks every slot fully covered by [start, end) as free. */
+    public void markFree(LocalTime start, LocalTime end) {
+        set(ceilSlot(start), floorEndSlot(end));
+    }
+
+    /** Marks every slot touched by [start, end) as busy. */
+    public void markBusy(LocalTime start, LocalTime end) {
+        clear(floorSlot(start), ceilSlot(end));
+    }
+
+    /** Marks every slot touched by [start, end) as free, undoing {@link #markBusy}. */
+    public void release(LocalTime start, LocalTime end) {
+        set(floorSlot(start), ceilSlot(end));
+    }
+
+    /** True when every slot touched by [start, end) is free. */
+    public boolean isFree(LocalTime start, LocalTime end) {
+        return allSet(floorSlot(start), ceilSlot(end));
+    }
+
+    /** Index of the first free slot at or after {@code fromSlot}, or -1. */
+    public int nextFree(int fromSlot) {
+        if (fromSlot < 64) {
+            long word = low & (-1L << fromSlot);
+            if (word != 0) {
+                return Long.numberOfTrailingZeros(word);
+            }
+            fromSlot = 64;
+        }
+        if (fromSlot < SLOTS_PER_DAY) {
+            long word = high & (-1L << (fromSlot - 64));
+            if (word != 0) {
+                return 64 + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /** Index of the first busy slot at or after {@code fromSlot}, or {@value #SLOTS_PER_DAY}. */
+    public int nextBusy(int fromSlot) {
+        if (fromSlot < 64) {
+            long word = ~low & (-1L << fromSlot);
+            if (word != 0) {
+                return Long.numberOfTrailingZeros(word);
+            }
+            fromSlot = 64;
+        }
+        if (fromSlot < SLOTS_PER_DAY) {
+            // Bits 32..63 of high are never set, so this always finds a stop
+            long word = ~high & (-1L << (fromSlot - 64));
+            return Math.min(SLOTS_PER_DAY, 64 + Long.numberOfTrailingZeros(word));
+        }
+        return SLOTS_PER_DAY;
+    }
+
+    /** Writes the packed form; {@code buffer} must be little-endian. */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putLong(low);
+        buffer.putInt((int) high);
+    }
+
+    /** Reads the packed form written by {@link #writeTo}; {@code buffer} must be little-endian. */
+    public static DaySlots readFrom(ByteBuffer buffer) {
+        DaySlots slots = new DaySlots();
+        slots.low = buffer.getLong();
+        slots.high = buffer.getInt() & 0xFFFFFFFFL;
+        return slots;
+    }
+
+    public int freeCount() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+
+    public static int floorSlot(LocalTime time) {
+        return time.toSecondOfDay() / SLOT_SECONDS;
+    }
+
+    public static int ceilSlot(LocalTime time) {
+        if (!time.isBefore(END_OF_DAY)) {
+            return SLOTS_PER_DAY;
+        }
+        return (time.toSecondOfDay() + SLOT_SECONDS - 1) / SLOT_SECONDS;
+    }
+
+    public static LocalTime slotStart(int slot) {
+        return LocalTime.ofSecondOfDay((long) slot * SLOT_SECONDS);
+    }
+
+    public static LocalTime slotEnd(int slot) {
+        return slot + 1 >= SLOTS_PER_DAY
+                ? LocalTime.MAX
+                : slotStart(slot + 1);
+    }
+
+    // Windows ending at 23:59 (or later) count as running to midnight
+    private static int floorEndSlot(LocalTime time) {
+        if (!time.isBefore(END_OF_DAY)) {
+            return SLOTS_PER_DAY;
+        }
+        return floorSlot(time);
+    }
+
+    private void set(int from, int to) {
+        low |= wordMask(Math.min(from, 64), Math.min(to, 64));
+        high |= wordMask(Math.max(from, 64) - 64, Math.max(to, 64) - 64);
+    }
+
+    private void clear(int from, int to) {
+        low &= ~wordMask(Math.min(from, 64), Math.min(to, 64));
+        high &= ~wordMask(Math.max(from, 64) - 64, Math.max(to, 64) - 64);
+    }
+
+    private boolean allSet(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        long lowMask = wordMask(Math.min(from, 64), Math.min(to, 64));
+        long highMask = wordMask(Math.max(from, 64) - 64, Math.max(to, 64) - 64);
+        return (low & lowMask) == lowMask && (high & highMask) == highMask;
+    }
+
+    // Bits [from, to) of a single 64-bit word
+    private static long wordMask(int from, int to) {
+        if (from >= to) {
+            return 0L;
+        }
+        long upper = to == 64 ? -1L : (1L << to) - 1;
+        return upper & (-1L << from);
+    }
+}
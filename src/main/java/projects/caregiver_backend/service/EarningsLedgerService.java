@@ -0,0 +1,315 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import projects.caregiver_backend.dtos.response.EarningsBalanceResponse;
+import projects.caregiver_backend.dtos.response.EarningsEntryResponse;
+import projects.caregiver_backend.dtos.response.EarningsStatementResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.EarningsLedgerRepository;
+import projects.caregiver_backend.repositories.EarningsSnapshotRepository;
+import projects.caregiver_backend.repositories.projections.EarningsBalanceView;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only earnings ledger per caregiver
+ * Paid bookings are credited as pending and move to available when the booking
+ * completes; payouts withdraw from available. Entries are numbered per caregiver under a row lock on the caregiver,
+ * and a balance snapshot is written with the first entry and then every
+ * {@code snapshotInterval} entries, so a balance is one snapshot plus a short tail.
+ */
+@Service
+public class EarningsLedgerService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final EarningsLedgerRepository ledgerRepository;
+    private final EarningsSnapshotRepository snapshotRepository;
+    private final CaregiverRepository caregiverRepository;
+    private final int snapshotInterval;
+
+    public EarningsLedgerService(
+            EarningsLedgerRepository ledgerRepository,
+            EarningsSnapshotRepository snapshotRepository,
+            CaregiverRepository caregiverRepository,
+            @Value("${earnings.ledger.snapshot-interval:100}") int snapshotInterval
+    ) {
+        if (snapshotInterval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.ledgerRepository = ledgerRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.caregiverRepository = caregiverRepository;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public record Posting(
+            UUID caregiverId,
+            LedgerEntryType type,
+            String sourceRef,
+            long pendingDelta,
+            long availableDelta,
+            Currency currency
+    ) {}
+
+    public record Balance(UUID caregiverId, long sequence, Money pending, Money available) {}
+
+    /**
+     * Credits each booking's total to its caregiver's pending balance
+     */
+    @Transactional
+    public void bookingsPaid(Collection<Booking> bookings) {
+        post(bookings.stream()
+                .map(booking -> new Posting(
+                        booking.getCaregiver().getId(),
+                        LedgerEntryType.BOOKING_PAID,
+                        booking.getId().toString(),
+                        booking.getTotalAmount().minorUnits(),
+                        0,
+                        booking.getTotalAmount().currency()
+                ))
+                .toList());
+    }
+
+    /**
+     * Moves the booking's total from pending to available
+     */
+    @Transactional
+    public void bookingCompleted(Booking booking) {
+        post(List.of(new Posting(
+                booking.getCaregiver().getId(),
+                LedgerEntryType.BOOKING_COMPLETED,
+                booking.getId().toString(),
+                -booking.getTotalAmount().minorUnits(),
+                booking.getTotalAmount().minorUnits(),
+                booking.getTotalAmount().currency()
+        )));
+    }
+
+    /**
+     * Returns the payouts' amounts to available, after a failed or reversed transfer
+     */
+    @Transactional
+    public void payoutsReturned(Collection<Payout> payouts) {
+        post(payouts.stream()
+                .map(payout -> new Posting(
+                        payout.getCaregiverId(),
+                        LedgerEntryType.PAYOUT_RETURNED,
+                        payout.getReference(),
+                        0,
+                        payout.getAmount().minorUnits(),
+                        payout.getAmount().currency()
+                ))
+                .toList());
+    }
+
+    /**
+     * Appends the postings in one batch. Must join the caller's transaction so the
+     * entries commit together with the state change they record.
+     */
+    @Transactional
+    public void post(List<Posting> postings) {
+        if (postings.isEmpty()) return;
+
+        Map<UUID, List<Posting>> byCaregiver = postings.stream()
+                .collect(Collectors.groupingBy(Posting::caregiverId, LinkedHashMap::new, Collectors.toList()));
+
+        append(byCaregiver, lockHeads(byCaregiver.keySet()));
+    }
+
+    /**
+     * Withdraws each caregiver's whole available balance for a payout, skipping
+     * caregivers below {@code minimumMinor}, and returns the amounts withdrawn.
+     * The balance is read under the caregiver lock, so earnings released or paid
+     * out concurrently are never withdrawn twice.
+     */
+    @Transactional
+    public Map<UUID, Money> withdrawAvailable(Map<UUID, String> payoutReferences, long minimumMinor) {
+        if (minimumMinor < 1) {
+            throw new IllegalArgumentException("Minimum payout must be positive");
+        }
+        if (payoutReferences.isEmpty()) return Map.of();
+
+        Map<UUID, EarningsBalanceView> heads = lockHeads(payoutReferences.keySet());
+
+        Map<UUID, List<Posting>> byCaregiver = new LinkedHashMap<>();
+        Map<UUID, Money> withdrawn = new LinkedHashMap<>();
+        heads.forEach((caregiverId, head) -> {
+            long available = head.getAvailableMinor();
+            if (available < minimumMinor) return;
+
+            byCaregiver.put(caregiverId, List.of(new Posting(
+                    caregiverId,
+                    LedgerEntryType.PAYOUT,
+                    payoutReferences.get(caregiverId),
+                    0,
+                    -available,
+                    head.getCurrency()
+            )));
+            withdrawn.put(caregiverId, Money.ofMinor(available, head.getCurrency()));
+        });
+
+        append(byCaregiver, heads);
+        return withdrawn;
+    }
+
+    // Balances must be read after the locks, otherwise two writers can number from the same head
+    private Map<UUID, EarningsBalanceView> lockHeads(Collection<UUID> caregiverIds) {
+        caregiverRepository.lockByIdIn(caregiverIds);
+        return ledgerRepository.findBalances(caregiverIds)
+                .stream()
+                .collect(Collectors.toMap(EarningsBalanceView::getCaregiverId, Function.identity()));
+    }
+
+    private void append(Map<UUID, List<Posting>> byCaregiver, Map<UUID, EarningsBalanceView> heads) {
+        if (byCaregiver.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EarningsLedgerEntry> entries = new ArrayList<>();
+        List<EarningsBalanceSnapshot> snapshots = new ArrayList<>();
+
+        byCaregiver.forEach((caregiverId, caregiverPostings) -> {
+            EarningsBalanceView head = heads.get(caregiverId);
+            long sequence = head != null ? head.getLastSequence() : 0;
+            long snapshotSequence = head != null ? head.getSnapshotSequence() : 0;
+            long pending = head != null ? head.getPendingMinor() : 0;
+            long available = head != null ? head.getAvailableMinor() : 0;
+            Currency currency = head != null ? head.getCurrency() : caregiverPostings.get(0).currency();
+
+            for (Posting posting : caregiverPostings) {
+                if (!posting.currency().equals(currency)) {
+                    throw new IllegalStateException("Ledger for caregiver is kept in " + currency);
+                }
+                sequence++;
+                pending = Math.addExact(pending, posting.pendingDelta());
+                available = Math.addExact(available, posting.availableDelta());
+
+                EarningsLedgerEntry entry = new EarningsLedgerEntry();
+                entry.setCaregiverId(caregiverId);
+                entry.setSequence(sequence);
+                entry.setEntryType(posting.type());
+                entry.setSourceRef(posting.sourceRef());
+                entry.setPendingDelta(posting.pendingDelta());
+                entry.setAvailableDelta(posting.availableDelta());
+                entry.setCurrency(currency);
+                entry.setCreatedAt(now);
+                entries.add(entry);
+
+                if (snapshotSequence == 0 || sequence - snapshotSequence >= snapshotInterval) {
+                    EarningsBalanceSnapshot snapshot = new EarningsBalanceSnapshot();
+                    snapshot.setCaregiverId(caregiverId);
+                    snapshot.setSequence(sequence);
+                    snapshot.setPendingMinor(pending);
+                    snapshot.setAvailableMinor(available);
+                    snapshot.setCurrency(currency);
+                    snapshot.setCreatedAt(now);
+                    snapshots.add(snapshot);
+                    snapshotSequence = sequence;
+                }
+            }
+        });
+
+        ledgerRepository.saveAll(entries);
+        snapshotRepository.saveAll(snapshots);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, Balance> balances(Collection<UUID> caregiverIds) {
+        if (caregiverIds.isEmpty()) return Map.of();
+
+        return ledgerRepository.findBalances(caregiverIds)
+                .stream()
+                .collect(Collectors.toMap(EarningsBalanceView::getCaregiverId, EarningsLedgerService::toBalance));
+    }
+
+    @Transactional(readOnly = true)
+    public EarningsBalanceResponse balanceFor(String username) {
+        UUID caregiverId = caregiverId(username);
+
+        Balance balance = balances(List.of(caregiverId)).get(caregiverId);
+        if (balance == null) {
+            // Nothing booked yet; payments are only taken in naira
+            BigDecimal zero = Money.ofMinor(0, Money.NGN).toMajor();
+            return new EarningsBalanceResponse(zero, zero, Money.NGN.getCurrencyCode(), 0);
+        }
+        return new EarningsBalanceResponse(
+                balance.pending().toMajor(),
+                balance.available().toMajor(),
+                balance.pending().currency().getCurrencyCode(),
+                balance.sequence()
+        );
+    }
+
+    /**
+     * Statement page newest first, starting below {@code before} (or at the latest
+     * entry). Running balances come from the nearest snapshot, so any page costs the
+     * same however long the ledger is.
+     */
+    @Transactional(readOnly = true)
+    public EarningsStatementResponse statementFor(String username, Long before, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+        UUID caregiverId = caregiverId(username);
+
+        List<EarningsLedgerEntry> entries = ledgerRepository.findByCaregiverIdAndSequenceLessThanOrderBySequenceDesc(
+                caregiverId,
+                before != null ? before : Long.MAX_VALUE,
+                Limit.of(limit)
+        );
+        if (entries.isEmpty()) {
+            return new EarningsStatementResponse(List.of(), null);
+        }
+
+        EarningsBalanceView top = ledgerRepository.findBalanceAt(caregiverId, entries.get(0).getSequence())
+                .orElseThrow(() -> new IllegalStateException("Ledger has no snapshot"));
+        long pending = top.getPendingMinor();
+        long available = top.getAvailableMinor();
+
+        List<EarningsEntryResponse> lines = new ArrayList<>(entries.size());
+        for (EarningsLedgerEntry entry : entries) {
+            Currency currency = entry.getCurrency();
+            lines.add(new EarningsEntryResponse(
+                    entry.getSequence(),
+                    entry.getEntryType(),
+                    entry.getSourceRef(),
+                    Money.ofMinor(entry.getPendingDelta(), currency).toMajor(),
+                    Money.ofMinor(entry.getAvailableDelta(), currency).toMajor(),
+                    Money.ofMinor(pending, currency).toMajor(),
+                    Money.ofMinor(available, currency).toMajor(),
+                    entry.getCreatedAt()
+            ));
+            pending -= entry.getPendingDelta();
+            available -= entry.getAvailableDelta();
+        }
+
+        Long nextBefore = entries.size() == limit
+                ? entries.get(entries.size() - 1).getSequence()
+                : null;
+        return new EarningsStatementResponse(lines, nextBefore);
+    }
+
+    private UUID caregiverId(String username) {
+        return caregiverRepository.findIdByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Caregiver profile not found"));
+    }
+
+    private static Balance toBalance(EarningsBalanceView view) {
+        return new Balance(
+                view.getCaregiverId(),
+                view.getLastSequence(),
+                Money.ofMinor(view.getPendingMinor(), view.getCurrency()),
+                Money.ofMinor(view.getAvailableMinor(), view.getCurrency())
+        );
+    }
+}
@@ -0,0 +1,351 @@
+package projects.caregiver_backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import projects.caregiver_backend.dtos.response.FreeSlotResponse;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
+import projects.caregiver_backend.repositories.projections.TemplateWindowView;
+import projects.caregiver_backend.repositories.projections.TimeWindowView;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Free-slot engine
+ * Free time per caregiver-day = availability minus active bookings, kept as a
+ * {@link DaySlots} bitset and cached until a booking or availability change touches it.
+ * Availability is the weekly template, replaced on any date that has date-specific rows.
+ * Cache misses load and expand whole Monday–Sunday weeks.
+ * The cache is per node: entries expire after the configured TTL so changes made on
+ * another node show up eventually, and booking validation reads through to the database.
+ */
+@Service
+public class FreeSlotService implements MeterBinder {
+
+    static final int SEARCH_HORIZON_DAYS = 14;
+    private static final int VERSION_STRIPES = 1024;
+
+    private final AvailabilityRepository availabilityRepository;
+    private final AvailabilityTemplateRepository templateRepository;
+    private final BookingRepository bookingRepository;
+    // Cached days per caregiver, least recently used caregiver first; guarded by itself
+    private final LinkedHashMap<UUID, Map<LocalDate, CachedDay>> cache =
+            new LinkedHashMap<>(256, 0.75f, true);
+    private final int maxEntries;
+    private final long ttlNanos;
+    // Days across all caregivers, which is what max-entries bounds
+    private int cachedDays;
+    // Invalidation count per caregiver stripe; a load only caches if its stripe did not move
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    // A lookup is a hit when every day of the caregiver's range was cached
+    private final CacheMetrics cacheMetrics = new CacheMetrics("availability.slots");
+
+    public FreeSlotService(
+            AvailabilityRepository availabilityRepository,
+            AvailabilityTemplateRepository templateRepository,
+            BookingRepository bookingRepository,
+            @Value("${availability.slot-cache.max-entries:200000}") int maxEntries,
+            @Value("${availability.slot-cache.ttl:PT2M}") Duration ttl
+    ) {
+        this.availabilityRepository = availabilityRepository;
+        this.templateRepository = templateRepository;
+        this.bookingRepository = bookingRepository;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        cacheMetrics.bindTo(registry, () -> {
+            synchronized (cache) {
+                return cachedDays;
+            }
+        });
+    }
+
+    public DaySlots freeSlots(UUID caregiverId, LocalDate date) {
+        return freeSlots(caregiverId, date, date).get(date);
+    }
+
+    public Map<LocalDate, DaySlots> freeSlots(
+            UUID caregiverId,
+            LocalDate from,
+            LocalDate to
+    ) {
+        return freeSlots(List.of(caregiverId), from, to).get(caregiverId);
+    }
+
+    /**
+     * Free slots for every caregiver and day in [from, to]. Caregivers with any
+     * uncached day are loaded together: one query each for templates, date rows
+     * and bookings, covering the whole weeks around the range.
+     */
+    public Map<UUID, Map<LocalDate, DaySlots>> freeSlots(
+            Collection<UUID> caregiverIds,
+            LocalDate from,
+            LocalDate to
+    ) {
+        Map<UUID, Map<LocalDate, DaySlots>> result = new HashMap<>();
+        Map<UUID, Long> missing = new HashMap<>();
+        long now = System.nanoTime();
+
+        for (UUID caregiverId : caregiverIds) {
+            Map<LocalDate, DaySlots> days = new HashMap<>();
+            synchronized (cache) {
+                Map<LocalDate, CachedDay> cachedDays = cache.getOrDefault(caregiverId, Map.of());
+                for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                    CachedDay cached = cachedDays.get(day);
+                    if (cached == null || cached.expiresAt() - now <= 0) {
+                        missing.put(caregiverId, versions.get(stripe(caregiverId)));
+                        break;
+                    }
+                    days.put(day, cached.slots());
+                }
+            }
+            if (missing.containsKey(caregiverId)) {
+                cacheMetrics.miss();
+            } else {
+                cacheMetrics.hit();
+            }
+            result.put(caregiverId, days);
+        }
+
+        if (!missing.isEmpty()) {
+            LocalDate weekStart = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            LocalDate weekEnd = to.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+
+            long expiresAt = System.nanoTime() + ttlNanos;
+            load(missing.keySet(), weekStart, weekEnd).forEach((caregiverId, days) -> {
+                // Invalidated while loading: the load may predate the change, so use it once
+                synchronized (cache) {
+                    if (versions.get(stripe(caregiverId)) == missing.get(caregiverId)) {
+                        cache(caregiverId, days, expiresAt);
+                    }
+                }
+                result.put(caregiverId, days);
+            });
+        }
+
+        return result;
+    }
+
+    public boolean isRangeFree(
+            UUID caregiverId,
+            LocalDate date,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {
+        return freeSlots(caregiverId, date).isFree(startTime, endTime);
+    }
+
+    /**
+     * Same check against the database, bypassing the cache, for decisions that
+     * must not rest on a stale or another node's view of the caregiver's time
+     */
+    public boolean isRangeFreeUncached(
+            UUID caregiverId,
+            LocalDate date,
+            LocalTime startTime,
+            LocalTime endTime
+    ) {
+        return load(List.of(caregiverId), date, date)
+                .get(caregiverId)
+                .get(date)
+                .isFree(startTime, endTime);
+    }
+
+    /**
+     * Next {@code limit} free 15-minute slots at or after the given date/time,
+     * looking at most {@value #SEARCH_HORIZON_DAYS} days ahead.
+     */
+    public List<FreeSlotResponse> nextFreeSlots(
+            UUID caregiverId,
+            LocalDate fromDate,
+            LocalTime fromTime,
+            int limit
+    ) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        LocalDate horizon = fromDate.plusDays(SEARCH_HORIZON_DAYS - 1);
+        Map<LocalDate, DaySlots> days = freeSlots(caregiverId, fromDate, horizon);
+
+        List<FreeSlotResponse> slots = new ArrayList<>(Math.min(limit, DaySlots.SLOTS_PER_DAY));
+        int startSlot = fromTime != null ? DaySlots.ceilSlot(fromTime) : 0;
+
+        for (LocalDate day = fromDate;
+             !day.isAfter(horizon) && slots.size() < limit;
+             day = day.plusDays(1)) {
+
+            DaySlots free = days.get(day);
+            for (int slot = free.nextFree(startSlot);
+                 slot >= 0 && slots.size() < limit;
+                 slot = free.nextFree(slot + 1)) {
+                slots.add(new FreeSlotResponse(
+                        day,
+                        DaySlots.slotStart(slot),
+                        DaySlots.slotEnd(slot)
+                ));
+            }
+            startSlot = 0;
+        }
+
+        return slots;
+    }
+
+    /**
+     * Drops the cached day now and again once the surrounding transaction
+     * completes. Each drop bumps the caregiver's version, so a load that started
+     * before the commit is returned to its caller but not cached.
+     */
+    public void invalidate(UUID caregiverId, LocalDate date) {
+        Runnable evict = () -> {
+            synchronized (cache) {
+                versions.incrementAndGet(stripe(caregiverId));
+                Map<LocalDate, CachedDay> days = cache.get(caregiverId);
+                if (days != null && days.remove(date) != null) {
+                    cachedDays--;
+                    if (days.isEmpty()) cache.remove(caregiverId);
+                }
+            }
+        };
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    /** Drops every cached day of the caregiver, e.g. after a template change. */
+    public void invalidateCaregiver(UUID caregiverId) {
+        Runnable evict = () -> {
+            synchronized (cache) {
+                versions.incrementAndGet(stripe(caregiverId));
+                Map<LocalDate, CachedDay> days = cache.remove(caregiverId);
+                if (days != null) cachedDays -= days.size();
+            }
+        };
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    // Caller holds the cache lock
+    private void cache(UUID caregiverId, Map<LocalDate, DaySlots> days, long expiresAt) {
+        Map<LocalDate, CachedDay> cached = cache.computeIfAbsent(caregiverId, id -> new HashMap<>());
+        days.forEach((day, slots) -> {
+            if (cached.put(day, new CachedDay(slots, expiresAt)) == null) cachedDays++;
+        });
+
+        // Whole caregivers go, least recently used first, until the days fit again
+        Iterator<Map<LocalDate, CachedDay>> eldest = cache.values().iterator();
+        while (cachedDays > maxEntries && eldest.hasNext()) {
+            int evicted = eldest.next().size();
+            eldest.remove();
+            cachedDays -= evicted;
+            cacheMetrics.evicted(evicted);
+        }
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            action.run();
+                        }
+                    }
+            );
+        }
+    }
+
+    private Map<UUID, Map<LocalDate, DaySlots>> load(
+            Collection<UUID> caregiverIds,
+            LocalDate from,
+            LocalDate to
+    ) {
+        Map<UUID, Map<DayOfWeek, List<TemplateWindowView>>> templates = new HashMap<>();
+        for (TemplateWindowView template : templateRepository.findTemplateWindows(caregiverIds)) {
+            templates.computeIfAbsent(template.getCaregiverId(), id -> new EnumMap<>(DayOfWeek.class))
+                    .computeIfAbsent(template.getDayOfWeek(), day -> new ArrayList<>())
+                    .add(template);
+        }
+
+        Map<UUID, Map<LocalDate, DaySlots>> loaded = new HashMap<>();
+        Map<UUID, Set<LocalDate>> overridden = new HashMap<>();
+        for (UUID caregiverId : caregiverIds) {
+            loaded.put(caregiverId, emptyDays(from, to));
+            overridden.put(caregiverId, new HashSet<>());
+        }
+
+        // Date-specific rows (including day-off rows) replace the template for their date
+        for (CaregiverWindowView window :
+                availabilityRepository.findWindowsForCaregivers(caregiverIds, from, to)) {
+            overridden.get(window.getCaregiverId()).add(window.getDate());
+            markFree(loaded.get(window.getCaregiverId()), window);
+        }
+
+        templates.forEach((caregiverId, byDay) -> {
+            Set<LocalDate> skip = overridden.get(caregiverId);
+            loaded.get(caregiverId).forEach((day, slots) -> {
+                if (skip.contains(day)) return;
+                for (TemplateWindowView template : byDay.getOrDefault(day.getDayOfWeek(), List.of())) {
+                    slots.markFree(template.getStartTime(), template.getEndTime());
+                }
+            });
+        });
+
+        // Bookings are applied last so overlapping windows cannot re-free them
+        for (CaregiverWindowView booked :
+                bookingRepository.findBookedWindowsForCaregivers(caregiverIds, from, to)) {
+            markBusy(loaded.get(booked.getCaregiverId()), booked);
+        }
+
+        return loaded;
+    }
+
+    private static Map<LocalDate, DaySlots> emptyDays(LocalDate from, LocalDate to) {
+        Map<LocalDate, DaySlots> days = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            days.put(day, DaySlots.empty());
+        }
+        return days;
+    }
+
+    private static void markFree(Map<LocalDate, DaySlots> days, TimeWindowView window) {
+        if (window.getStartTime() == null || window.getEndTime() == null) return;
+        days.get(window.getDate())
+                .markFree(window.getStartTime(), window.getEndTime());
+    }
+
+    private static void markBusy(Map<LocalDate, DaySlots> days, TimeWindowView booked) {
+        days.get(booked.getDate())
+                .markBusy(booked.getStartTime(), booked.getEndTime());
+    }
+
+    private static int stripe(UUID caregiverId) {
+        return Math.floorMod(caregiverId.hashCode(), VERSION_STRIPES);
+    }
+
+    private record CachedDay(DaySlots slots, long expiresAt) {}
+}
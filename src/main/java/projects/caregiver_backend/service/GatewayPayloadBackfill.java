@@ -0,0 +1,103 @@
+package projects.caregiver_backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One-off move of payloads left in the legacy payments.gateway_response column
+ * into the compressed store. Runs at startup when
+ * payments.gateway-payload.backfill=true, one short transaction per chunk;
+ * once it reports nothing left the column can be dropped. A schema that never
+ * had the column (or has dropped it) is skipped.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "payments.gateway-payload.backfill", havingValue = "true")
+public class GatewayPayloadBackfill implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GatewayPayloadStore payloadStore;
+    private final int chunkSize;
+
+    public GatewayPayloadBackfill(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            GatewayPayloadStore payloadStore,
+            @Value("${payments.gateway-payload.backfill-chunk-size:500}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.payloadStore = payloadStore;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!hasLegacyColumn()) {
+            log.info("payments.gateway_response does not exist, skipping the gateway payload backfill");
+            return;
+        }
+
+        long total = 0;
+        Integer moved;
+        do {
+            moved = transactionTemplate.execute(status -> moveChunk());
+            total += moved != null ? moved : 0;
+        } while (moved != null && moved == chunkSize);
+        log.info("Moved {} gateway payloads out of payments.gateway_response", total);
+    }
+
+    private boolean hasLegacyColumn() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(
+                    connection.getCatalog(),
+                    connection.getSchema(),
+                    identifier(metaData, "payments"),
+                    identifier(metaData, "gateway_response")
+            )) {
+                return columns.next();
+            }
+        }));
+    }
+
+    // Metadata lookups match the case the database stores unquoted names in
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) return name.toUpperCase(Locale.ROOT);
+        if (metaData.storesLowerCaseIdentifiers()) return name.toLowerCase(Locale.ROOT);
+        return name;
+    }
+
+    private int moveChunk() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, gateway_response FROM payments WHERE gateway_response IS NOT NULL LIMIT ?",
+                chunkSize
+        );
+
+        List<Object[]> moved = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            UUID paymentId = (UUID) row.get("id");
+            payloadStore.save(paymentId, GatewayPayloadStore.SOURCE_WEBHOOK, (String) row.get("gateway_response"));
+            moved.add(new Object[]{paymentId});
+        }
+        jdbcTemplate.batchUpdate("UPDATE payments SET gateway_response = NULL WHERE id = ?", moved);
+        return rows.size();
+    }
+}
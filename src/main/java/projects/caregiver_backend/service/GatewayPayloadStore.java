@@ -0,0 +1,132 @@
+package projects.caregiver_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import projects.caregiver_backend.model.GatewayPayload;
+import projects.caregiver_backend.repositories.GatewayPayloadRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed side store for raw gateway payloads
+ * A single data object is only 1-2 KB, too small for plain deflate to find much
+ * repetition, so it is compressed against a preset dictionary of Paystack's field
+ * names and common values. Writes join the caller's transaction, so a payload is
+ * saved together with the status change it explains and flushed in the same JDBC batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class GatewayPayloadStore {
+
+    public static final String SOURCE_WEBHOOK = "webhook";
+    public static final String SOURCE_VERIFY = "verify";
+
+    // Stored per row; never edit a dictionary once rows use it, add a new codec instead
+    static final short CODEC_DEFLATE_DICT_V1 = 1;
+
+    private static final byte[] DICTIONARY_V1 = """
+            {"id":,"domain":"live","status":"success","reference":"","amount":,"message":null,\
+            "gateway_response":"Approved by Financial Institution","Successful","Declined",\
+            "paid_at":"","created_at":"","paidAt":"","createdAt":"","channel":"card","bank","ussd",\
+            "bank_transfer","currency":"NGN","ip_address":"",\
+            "metadata":{"custom_fields":[{"display_name":"","variable_name":"","value":""}],\
+            "referrer":"https://"},"log":{"start_time":,"time_spent":,"attempts":1,"errors":0,\
+            "success":true,"mobile":false,"input":[],"history":[{"type":"action",\
+            "message":"Attempted to pay with card","time":},{"type":"success",\
+            "message":"Successfully paid with card","time":}]},"fees":,"fees_split":null,\
+            "authorization":{"authorization_code":"AUTH_","bin":"","last4":"","exp_month":"",\
+            "exp_year":"","channel":"card","card_type":"visa DEBIT","mastercard DEBIT","verve ",\
+            "bank":"Guaranty Trust Bank","Access Bank","Zenith Bank","First Bank of Nigeria",\
+            "United Bank for Africa","country_code":"NG","brand":"visa","mastercard","reusable":true,\
+            "signature":"SIG_","account_name":null,"receiver_bank_account_number":null,\
+            "receiver_bank":null},"customer":{"id":,"first_name":"","last_name":"","email":"",\
+            "customer_code":"CUS_","phone":"+234","metadata":{},"risk_action":"default",\
+            "international_format_phone":null},"plan":{},"subaccount":{},"split":{},"order_id":null,\
+            "requested_amount":,"pos_transaction_data":null,"source":{"type":"web",\
+            "source":"checkout","entry_point":"request_inline","identifier":null}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final GatewayPayloadRepository payloadRepository;
+
+    public void save(UUID paymentId, String source, String json) {
+        if (json == null) return;
+
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+
+        GatewayPayload payload = new GatewayPayload();
+        payload.setPaymentId(paymentId);
+        payload.setSource(source);
+        payload.setCodec(CODEC_DEFLATE_DICT_V1);
+        payload.setBody(compress(raw));
+        payload.setRawSize(raw.length);
+        payload.setCreatedAt(LocalDateTime.now());
+        payloadRepository.save(payload);
+    }
+
+    /**
+     * Most recent payload recorded for the payment
+     */
+    public Optional<String> latest(UUID paymentId) {
+        return payloadRepository.findFirstByPaymentIdOrderByCreatedAtDesc(paymentId)
+                .map(payload -> {
+                    if (payload.getCodec() != CODEC_DEFLATE_DICT_V1) {
+                        throw new IllegalStateException("Unknown payload codec " + payload.getCodec());
+                    }
+                    return new String(
+                            decompress(payload.getBody(), payload.getRawSize()),
+                            StandardCharsets.UTF_8
+                    );
+                });
+    }
+
+    static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 3 + 16);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[] decompress(byte[] compressed, int rawSize) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawSize];
+            int read = 0;
+            while (read < rawSize && !inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawSize - read);
+                if (n == 0 && inflater.needsDictionary()) {
+                    inflater.setDictionary(DICTIONARY_V1);
+                    continue;
+                }
+                if (n == 0 && inflater.needsInput()) break;
+                read += n;
+            }
+            if (read != rawSize) {
+                throw new IllegalStateException("Corrupt gateway payload");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt gateway payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key handling for retried POSTs
+ * Keys are scoped per user and operation, and the request body is fingerprinted so
+ * a key reused for a different request is rejected rather than answered wrongly.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    public <T> T execute(
+            String idempotencyKey,
+            String username,
+            String operation,
+            Object request,
+            Class<T> type,
+            Supplier<T> action
+    ) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters"
+            );
+        }
+
+        String key = sha256(
+                (operation + "\n" + username + "\n" + idempotencyKey).getBytes(StandardCharsets.UTF_8)
+        );
+
+        return store.execute(key, fingerprint(request), type, action);
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body could not be fingerprinted");
+        }
+    }
+
+    private static String sha256(byte[] input) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(input)
+            );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package projects.caregiver_backend.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Remembers the result of an action per idempotency key
+ * The first caller for a key runs the action; later callers with the same key get
+ * the stored result, waiting for it while the first call is still in flight.
+ */
+public interface IdempotencyStore {
+
+    <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action);
+}
@@ -0,0 +1,138 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-node idempotency store
+ * Entries live in a bounded LRU map; duplicates of an in-flight request block on
+ * the original's future instead of running the action again. Failed actions are
+ * forgotten so the client can retry with the same key. Only completed entries are
+ * evicted to stay within the bound: dropping an in-flight one would let its
+ * duplicate run, so a store full of in-flight requests turns new keys away instead.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    public InMemoryIdempotencyStore(
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.wait-timeout:PT10S}") Duration waitTimeout
+    ) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+    }
+
+    @Override
+    public <T> T execute(String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        Entry mine = new Entry(fingerprint);
+        Entry existing;
+
+        synchronized (entries) {
+            existing = entries.get(key);
+            if (existing != null && existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(key);
+                existing = null;
+            }
+            if (existing == null) {
+                if (entries.size() >= maxEntries && !evictCompleted()) {
+                    throw new ResponseStatusException(
+                            HttpStatus.SERVICE_UNAVAILABLE, "Too many requests in progress"
+                    );
+                }
+                entries.put(key, mine);
+            }
+        }
+
+        if (existing != null) {
+            return replay(existing, fingerprint, type);
+        }
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            synchronized (entries) {
+                entries.remove(key, mine);
+            }
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+
+        mine.expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        mine.result.complete(result);
+        return result;
+    }
+
+    // Drops the least recently used completed entry; false when every entry is in flight
+    private boolean evictCompleted() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (eldest.hasNext()) {
+            if (eldest.next().result.isDone()) {
+                eldest.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> T replay(Entry existing, String fingerprint, Class<T> type) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key was already used for a different request"
+            );
+        }
+
+        try {
+            return type.cast(existing.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(
+                    "A request with this Idempotency-Key is still in progress"
+            );
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Original request failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request");
+        }
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        // In-flight entries never expire; set once the result is stored
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.model.Booking;
+import projects.caregiver_backend.model.BookingStatus;
+import projects.caregiver_backend.model.Payment;
+import projects.caregiver_backend.model.PaymentStatus;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.projections.PendingPaymentView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Settles payments whose webhook never arrived
+ * Stale PENDING payments are read in keyset-ordered chunks, each chunk is verified
+ * against Paystack with a bounded number of calls in flight, and the results are
+ * applied in one short transaction per chunk. No transaction is open during the
+ * gateway calls, so a run over tens of thousands of rows holds no long locks.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    static final Set<String> FAILED_STATUSES = Set.of("failed", "abandoned", "reversed");
+
+    // Keyset origin; every real payment sorts after it
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID SCAN_START_ID = new UUID(0L, 0L);
+
+    private final PaymentRepository paymentRepository;
+    private final PaystackGatewayClient gatewayClient;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentStatusRegistry statusRegistry;
+    private final GatewayPayloadStore payloadStore;
+    private final EarningsLedgerService earningsLedger;
+    private final Duration minAge;
+    private final int chunkSize;
+    private final int concurrency;
+
+    public PaymentReconciliationService(
+            PaymentRepository paymentRepository,
+            PaystackGatewayClient gatewayClient,
+            TransactionTemplate transactionTemplate,
+            PaymentStatusRegistry statusRegistry,
+            GatewayPayloadStore payloadStore,
+            EarningsLedgerService earningsLedger,
+            @Value("${payments.reconciliation.min-age:PT15M}") Duration minAge,
+            @Value("${payments.reconciliation.chunk-size:200}") int chunkSize,
+            @Value("${payments.reconciliation.concurrency:8}") int concurrency
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.gatewayClient = gatewayClient;
+        this.transactionTemplate = transactionTemplate;
+        this.statusRegistry = statusRegistry;
+        this.payloadStore = payloadStore;
+        this.earningsLedger = earningsLedger;
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+        this.concurrency = concurrency;
+    }
+
+    public record Result(int scanned, int succeeded, int failed, int unresolved) {}
+
+    @Scheduled(
+            initialDelayString = "${payments.reconciliation.initial-delay:PT1M}",
+            fixedDelayString = "${payments.reconciliation.interval:PT10M}"
+    )
+    public void scheduledRun() {
+        reconcile();
+    }
+
+    /**
+     * Verifies every payment that has been pending for longer than the minimum age
+     */
+    public Result reconcile() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        LocalDateTime afterCreatedAt = SCAN_START;
+        UUID afterId = SCAN_START_ID;
+
+        int scanned = 0;
+        int succeeded = 0;
+        int failed = 0;
+
+        while (true) {
+            List<PendingPaymentView> chunk = paymentRepository.findPendingCreatedBefore(
+                    cutoff, afterCreatedAt, afterId, Limit.of(chunkSize)
+            );
+            if (chunk.isEmpty()) break;
+
+            Map<String, JsonNode> verified = verify(chunk);
+            Applied applied = transactionTemplate.execute(status -> apply(verified));
+
+            scanned += chunk.size();
+            if (applied != null) {
+                succeeded += applied.succeeded();
+                failed += applied.failed();
+            }
+
+            // The breaker is shedding calls; leave the rest for the next run
+            if (gatewayClient.circuitState() == GatewayCircuitBreaker.State.OPEN) break;
+            if (chunk.size() < chunkSize) break;
+
+            PendingPaymentView last = chunk.get(chunk.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        return new Result(scanned, succeeded, failed, scanned - succeeded - failed);
+    }
+
+    // Settled transactions by reference; errors and open transactions are left for a later run
+    private Map<String, JsonNode> verify(List<PendingPaymentView> chunk) {
+        Map<String, JsonNode> verified = Flux.fromIterable(chunk)
+                .flatMap(payment -> gatewayClient.verifyTransactionAsync(payment.getReference())
+                                .onErrorResume(e -> Mono.empty()),
+                        concurrency)
+                .filter(data -> isSettled(data.path("status").asText()))
+                .collectMap(data -> data.path("reference").asText())
+                .block();
+        return verified != null ? verified : Map.of();
+    }
+
+    /**
+     * Loads the verified payments with their bookings in one query and updates them
+     * as entities so Hibernate flushes the changes as JDBC batches
+     */
+    private Applied apply(Map<String, JsonNode> verified) {
+        if (verified.isEmpty()) return new Applied(0, 0);
+
+        int succeeded = 0;
+        int failed = 0;
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> paid = new ArrayList<>();
+        for (Payment payment : paymentRepository.findWithBookingByReferenceIn(verified.keySet())) {
+            // A webhook may have settled it since the chunk was read
+            if (payment.getStatus() != PaymentStatus.PENDING) continue;
+
+            JsonNode data = verified.get(payment.getReference());
+            payment.setGatewayTransactionId(data.path("id").asText(null));
+            payloadStore.save(payment.getId(), GatewayPayloadStore.SOURCE_VERIFY, data.toString());
+
+            if ("success".equals(data.path("status").asText())) {
+                payment.setStatus(PaymentStatus.SUCCESS);
+                payment.setPaidAt(now);
+                payment.getBooking().setStatus(BookingStatus.PAID);
+                paid.add(payment.getBooking());
+                succeeded++;
+            } else {
+                payment.setStatus(PaymentStatus.FAILED);
+                failed++;
+            }
+            statusRegistry.completeAfterCommit(payment.getReference(), payment.getStatus());
+        }
+
+        earningsLedger.bookingsPaid(paid);
+        return new Applied(succeeded, failed);
+    }
+
+    private static boolean isSettled(String status) {
+        return "success".equals(status) || FAILED_STATUSES.contains(status);
+    }
+
+    private record Applied(int succeeded, int failed) {}
+}
@@ -0,0 +1,86 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.model.PaymentStatus;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clients parked on a payment reference until it settles
+ * Each waiter is a future completed by whichever code path settles the payment.
+ * The registry is per node; a waiter on another node falls back to its timeout
+ * and the client's next poll reads the settled status from the database.
+ */
+@Component
+public class PaymentStatusRegistry {
+
+    private final ConcurrentHashMap<String, Set<CompletableFuture<PaymentStatus>>> waiters =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final int maxWaiters;
+
+    public PaymentStatusRegistry(@Value("${payments.status.max-waiters:10000}") int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    public CompletableFuture<PaymentStatus> register(String reference) {
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Too many clients waiting for payment status"
+            );
+        }
+
+        CompletableFuture<PaymentStatus> waiter = new CompletableFuture<>();
+        waiters.compute(reference, (key, set) -> {
+            Set<CompletableFuture<PaymentStatus>> target = set != null ? set : ConcurrentHashMap.newKeySet();
+            target.add(waiter);
+            return target;
+        });
+        return waiter;
+    }
+
+    public void unregister(String reference, CompletableFuture<PaymentStatus> waiter) {
+        waiters.computeIfPresent(reference, (key, set) -> {
+            if (set.remove(waiter)) waiting.decrementAndGet();
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    public void complete(String reference, PaymentStatus status) {
+        Set<CompletableFuture<PaymentStatus>> parked = waiters.remove(reference);
+        if (parked == null) return;
+
+        waiting.addAndGet(-parked.size());
+        parked.forEach(waiter -> waiter.complete(status));
+    }
+
+    /**
+     * Completes the waiters once the surrounding transaction commits, so a woken
+     * client never reads the payment before the new status is visible
+     */
+    public void completeAfterCommit(String reference, PaymentStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(reference, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                complete(reference, status);
+            }
+        });
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+}
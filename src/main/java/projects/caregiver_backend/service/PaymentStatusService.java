@@ -0,0 +1,85 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import projects.caregiver_backend.dtos.response.PaymentStatusResponse;
+import projects.caregiver_backend.model.PaymentStatus;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.projections.PaymentStatusView;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment status for the post-checkout redirect
+ * A pending payment parks the caller on {@link PaymentStatusRegistry} instead of
+ * having the client poll; the future completes when the payment settles or the
+ * wait runs out, whichever comes first.
+ */
+@Service
+public class PaymentStatusService {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentStatusRegistry registry;
+    private final Duration maxWait;
+
+    public PaymentStatusService(
+            PaymentRepository paymentRepository,
+            PaymentStatusRegistry registry,
+            @Value("${payments.status.max-wait:PT30S}") Duration maxWait
+    ) {
+        this.paymentRepository = paymentRepository;
+        this.registry = registry;
+        this.maxWait = maxWait;
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    /**
+     * Current status, or the settled status if it changes within the wait
+     */
+    public CompletableFuture<PaymentStatusResponse> awaitStatus(
+            String reference,
+            String username,
+            Duration wait
+    ) {
+        Duration bounded = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        if (bounded.isNegative() || bounded.isZero()) {
+            return CompletableFuture.completedFuture(currentStatus(reference, username));
+        }
+
+        // Registering before the read means a settlement in between is not missed
+        CompletableFuture<PaymentStatus> waiter = registry.register(reference);
+        PaymentStatusResponse current;
+        try {
+            current = currentStatus(reference, username);
+        } catch (RuntimeException e) {
+            registry.unregister(reference, waiter);
+            throw e;
+        }
+
+        if (current.status() != PaymentStatus.PENDING) {
+            registry.unregister(reference, waiter);
+            return CompletableFuture.completedFuture(current);
+        }
+
+        return waiter
+                .completeOnTimeout(PaymentStatus.PENDING, bounded.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((status, error) -> registry.unregister(reference, waiter))
+                .thenApply(status -> new PaymentStatusResponse(reference, status, current.bookingId()));
+    }
+
+    public PaymentStatusResponse currentStatus(String reference, String username) {
+        PaymentStatusView view = paymentRepository.findStatusByReference(reference)
+                .orElseThrow(() -> new RuntimeException("Payment not found"));
+
+        if (!view.getCustomerUsername().equals(username)) {
+            throw new SecurityException("You cannot view this payment");
+        }
+
+        return new PaymentStatusResponse(reference, view.getStatus(), view.getBookingId());
+    }
+}
@@ -0,0 +1,254 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.dtos.request.PayoutAccountRequest;
+import projects.caregiver_backend.model.Money;
+import projects.caregiver_backend.model.Payout;
+import projects.caregiver_backend.model.PayoutStatus;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PayoutRepository;
+import projects.caregiver_backend.repositories.projections.PayoutRecipientView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Pays caregivers' available earnings out through Paystack bulk transfers
+ * A run first withdraws eligible balances in short transactions, one page of
+ * recipients at a time, recording a PENDING payout per caregiver. It then submits
+ * pending payouts in bulk requests of up to {@code batchSize} transfers with at
+ * most {@code concurrency} requests in flight. A payout whose request failed stays
+ * PENDING and is resubmitted by the next run under the same reference, which
+ * Paystack treats as the same transfer.
+ */
+@Service
+public class PayoutService {
+
+    // Keyset origins; every real row sorts after them
+    private static final UUID SCAN_START_ID = new UUID(0L, 0L);
+    private static final LocalDateTime SCAN_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CaregiverRepository caregiverRepository;
+    private final PayoutRepository payoutRepository;
+    private final EarningsLedgerService earningsLedger;
+    private final PaystackGatewayClient gatewayClient;
+    private final TransactionTemplate transactionTemplate;
+    private final long minimumMinor;
+    private final int batchSize;
+    private final int concurrency;
+
+    public PayoutService(
+            CaregiverRepository caregiverRepository,
+            PayoutRepository payoutRepository,
+            EarningsLedgerService earningsLedger,
+            PaystackGatewayClient gatewayClient,
+            TransactionTemplate transactionTemplate,
+            @Value("${payouts.minimum-amount:1000.00}") BigDecimal minimumAmount,
+            @Value("${payouts.batch-size:100}") int batchSize,
+            @Value("${payouts.concurrency:4}") int concurrency
+    ) {
+        if (batchSize < 1 || batchSize > PaystackGatewayClient.MAX_BULK_TRANSFERS) {
+            throw new IllegalArgumentException(
+                    "Payout batch size must be between 1 and " + PaystackGatewayClient.MAX_BULK_TRANSFERS
+            );
+        }
+        this.caregiverRepository = caregiverRepository;
+        this.payoutRepository = payoutRepository;
+        this.earningsLedger = earningsLedger;
+        this.gatewayClient = gatewayClient;
+        this.transactionTemplate = transactionTemplate;
+        this.minimumMinor = Money.ofMajor(minimumAmount, Money.NGN).minorUnits();
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    public record Result(int created, int submitted, int batches, int unsubmitted) {}
+
+    @Scheduled(cron = "${payouts.cron:0 0 6 * * *}")
+    public void scheduledRun() {
+        run();
+    }
+
+    public Result run() {
+        int created = reserve();
+        return submitPending(created);
+    }
+
+    /**
+     * Registers the caregiver's bank account with Paystack, outside any transaction,
+     * and stores the recipient code future payouts go to
+     */
+    public void registerPayoutAccount(String username, PayoutAccountRequest request) {
+        UUID caregiverId = caregiverRepository.findIdByUsername(username)
+                .orElseThrow(() -> new RuntimeException("Caregiver profile not found"));
+
+        String recipientCode = gatewayClient.createTransferRecipient(
+                request.accountName(),
+                request.accountNumber(),
+                request.bankCode()
+        );
+
+        transactionTemplate.executeWithoutResult(status ->
+                caregiverRepository.updatePayoutRecipientCode(caregiverId, recipientCode)
+        );
+    }
+
+    /**
+     * Withdraws every eligible balance into a PENDING payout, one page of
+     * recipients per transaction. Returns the number of payouts created.
+     */
+    private int reserve() {
+        int created = 0;
+        UUID afterId = SCAN_START_ID;
+
+        while (true) {
+            List<PayoutRecipientView> page = caregiverRepository.findPayoutRecipientsAfter(
+                    afterId, Limit.of(batchSize)
+            );
+            if (page.isEmpty()) break;
+
+            // Unlocked read to skip the many caregivers with nothing to pay; withdrawAvailable re-checks under lock
+            Map<UUID, EarningsLedgerService.Balance> balances = earningsLedger.balances(
+                    page.stream().map(PayoutRecipientView::getId).toList()
+            );
+            List<PayoutRecipientView> eligible = page.stream()
+                    .filter(recipient -> {
+                        EarningsLedgerService.Balance balance = balances.get(recipient.getId());
+                        return balance != null && balance.available().minorUnits() >= minimumMinor;
+                    })
+                    .toList();
+
+            if (!eligible.isEmpty()) {
+                Integer count = transactionTemplate.execute(status -> createPayouts(eligible));
+                created += count != null ? count : 0;
+            }
+
+            if (page.size() < batchSize) break;
+            afterId = page.get(page.size() - 1).getId();
+        }
+        return created;
+    }
+
+    private int createPayouts(List<PayoutRecipientView> recipients) {
+        Map<UUID, String> references = new LinkedHashMap<>();
+        Map<UUID, String> recipientCodes = new HashMap<>();
+        for (PayoutRecipientView recipient : recipients) {
+            references.put(recipient.getId(), newReference());
+            recipientCodes.put(recipient.getId(), recipient.getRecipientCode());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Payout> payouts = new ArrayList<>();
+        earningsLedger.withdrawAvailable(references, minimumMinor).forEach((caregiverId, amount) -> {
+            Payout payout = new Payout();
+            payout.setCaregiverId(caregiverId);
+            payout.setRecipientCode(recipientCodes.get(caregiverId));
+            payout.setReference(references.get(caregiverId));
+            payout.setAmount(amount);
+            payout.setStatus(PayoutStatus.PENDING);
+            payout.setCreatedAt(now);
+            payouts.add(payout);
+        });
+        payoutRepository.saveAll(payouts);
+        return payouts.size();
+    }
+
+    /**
+     * Submits pending payouts page by page; each page is split into bulk requests
+     * that run concurrently, and the accepted payouts are marked in one transaction
+     */
+    private Result submitPending(int created) {
+        int submitted = 0;
+        int batches = 0;
+        int unsubmitted = 0;
+        LocalDateTime afterCreatedAt = SCAN_START;
+        UUID afterId = SCAN_START_ID;
+
+        while (true) {
+            List<Payout> page = payoutRepository.findPendingAfter(
+                    afterCreatedAt, afterId, Limit.of(batchSize * concurrency)
+            );
+            if (page.isEmpty()) break;
+
+            List<List<Payout>> pageBatches = batches(page);
+            Map<String, String> accepted = submit(pageBatches);
+            batches += pageBatches.size();
+
+            if (!accepted.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> markSubmitted(accepted));
+            }
+            submitted += accepted.size();
+            unsubmitted += page.size() - accepted.size();
+
+            // The breaker is shedding calls; leave the rest for the next run
+            if (gatewayClient.circuitState() == GatewayCircuitBreaker.State.OPEN) break;
+            if (page.size() < batchSize * concurrency) break;
+
+            Payout last = page.get(page.size() - 1);
+            afterCreatedAt = last.getCreatedAt();
+            afterId = last.getId();
+        }
+
+        return new Result(created, submitted, batches, unsubmitted);
+    }
+
+    // Bulk requests carry one currency, so batches are cut per currency
+    private List<List<Payout>> batches(List<Payout> payouts) {
+        List<List<Payout>> batches = new ArrayList<>();
+        payouts.stream()
+                .collect(Collectors.groupingBy(p -> p.getAmount().currency(), LinkedHashMap::new, Collectors.toList()))
+                .values()
+                .forEach(sameCurrency -> {
+                    for (int i = 0; i < sameCurrency.size(); i += batchSize) {
+                        batches.add(sameCurrency.subList(i, Math.min(i + batchSize, sameCurrency.size())));
+                    }
+                });
+        return batches;
+    }
+
+    // Transfer code by reference for every transfer Paystack accepted; failed requests are left for a later run
+    private Map<String, String> submit(List<List<Payout>> batches) {
+        Map<String, String> accepted = Flux.fromIterable(batches)
+                .flatMap(batch -> gatewayClient.bulkTransferAsync(batch.stream()
+                                        .map(p -> new PaystackGatewayClient.Transfer(
+                                                p.getReference(), p.getRecipientCode(), p.getAmount()
+                                        ))
+                                        .toList())
+                                .onErrorResume(e -> Mono.empty()),
+                        concurrency)
+                .flatMapIterable(data -> data)
+                .filter(transfer -> transfer.hasNonNull("reference"))
+                .collectMap(
+                        transfer -> transfer.path("reference").asText(),
+                        transfer -> transfer.path("transfer_code").asText("")
+                )
+                .block();
+        return accepted != null ? accepted : Map.of();
+    }
+
+    private void markSubmitted(Map<String, String> accepted) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Payout payout : payoutRepository.findByReferenceIn(accepted.keySet())) {
+            // A transfer webhook may already have settled it
+            if (payout.getStatus() != PayoutStatus.PENDING) continue;
+
+            payout.setStatus(PayoutStatus.SUBMITTED);
+            payout.setTransferCode(accepted.get(payout.getReference()));
+            payout.setSubmittedAt(now);
+        }
+    }
+
+    // Paystack transfer references: lowercase letters, digits, '-' and '_', 16 to 50 characters
+    private static String newReference() {
+        return "payout_" + UUID.randomUUID().toString().replace("-", "");
+    }
+}
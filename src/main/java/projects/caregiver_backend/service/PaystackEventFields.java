@@ -0,0 +1,110 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * The few webhook fields the backend needs, read with a streaming parser
+ * No tree is built; the data object is located by offset so its raw JSON can be
+ * sliced out of the payload when it has to be stored.
+ *
+ * @param event     top-level "event"
+ * @param objectId  data.id, Paystack's id for the transaction or transfer
+ * @param reference data.reference
+ * @param dataStart offset of data's opening brace, -1 if absent
+ * @param dataEnd   offset just past data's closing brace, -1 if absent
+ */
+public record PaystackEventFields(
+        String event,
+        String objectId,
+        String reference,
+        int dataStart,
+        int dataEnd
+) {
+
+    /**
+     * Offsets are byte offsets into the payload
+     */
+    public static PaystackEventFields parse(JsonFactory factory, byte[] payload) {
+        try (JsonParser parser = factory.createParser(payload)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid webhook payload");
+        }
+    }
+
+    /**
+     * Offsets are char offsets into the payload
+     */
+    public static PaystackEventFields parse(JsonFactory factory, String payload) {
+        try (JsonParser parser = factory.createParser(payload)) {
+            return parse(parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid webhook payload");
+        }
+    }
+
+    /**
+     * Raw JSON of the data object, or null when the payload had none
+     */
+    public String data(String payload) {
+        return dataStart < 0 ? null : payload.substring(dataStart, dataEnd);
+    }
+
+    private static PaystackEventFields parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Invalid webhook payload");
+        }
+
+        String event = null;
+        String objectId = null;
+        String reference = null;
+        int dataStart = -1;
+        int dataEnd = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("event".equals(field) && value == JsonToken.VALUE_STRING) {
+                event = parser.getText();
+            } else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+                dataStart = offset(parser.currentTokenLocation());
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String dataField = parser.currentName();
+                    JsonToken dataValue = parser.nextToken();
+
+                    if ("id".equals(dataField) && dataValue.isScalarValue()) {
+                        objectId = parser.getText();
+                    } else if ("reference".equals(dataField) && dataValue == JsonToken.VALUE_STRING) {
+                        reference = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                dataEnd = offset(parser.currentLocation());
+
+                if (event != null) break;
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (event == null) {
+            throw new IllegalArgumentException("Invalid webhook payload");
+        }
+        return new PaystackEventFields(event, objectId, reference, dataStart, dataEnd);
+    }
+
+    private static int offset(JsonLocation location) {
+        long offset = location.getByteOffset() >= 0
+                ? location.getByteOffset()
+                : location.getCharOffset();
+        return (int) offset;
+    }
+}
@@ -0,0 +1,265 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.model.Money;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for calls to Paystack
+ * Runs on the pooled non-blocking paystackWebClient and wraps every call in a
+ * deadline, a concurrency bulkhead and a circuit breaker. Failures surface as
+ * ResponseStatusException: 503 when the call is shed, 504 on deadline, 502 otherwise.
+ */
+@Service
+public class PaystackGatewayClient {
+
+    static final String METRIC_PREFIX = "paystack.gateway";
+
+    // Paystack accepts at most this many transfers in one bulk request
+    public static final int MAX_BULK_TRANSFERS = 100;
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Duration deadline;
+    private final Semaphore bulkhead;
+    private final GatewayCircuitBreaker circuitBreaker;
+
+    public PaystackGatewayClient(
+            @Qualifier("paystackWebClient") WebClient webClient,
+            MeterRegistry meterRegistry,
+            @Value("${paystack.gateway.deadline:PT10S}") Duration deadline,
+            @Value("${paystack.gateway.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${paystack.gateway.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${paystack.gateway.circuit.open-duration:PT30S}") Duration openDuration
+    ) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.deadline = deadline;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new GatewayCircuitBreaker(failureThreshold, openDuration);
+
+        Gauge.builder(METRIC_PREFIX + ".in_flight", bulkhead, b -> maxConcurrentCalls - b.availablePermits())
+                .description("Paystack calls currently holding a bulkhead permit")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".circuit.open", circuitBreaker,
+                        cb -> cb.state() == GatewayCircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("1 while the Paystack circuit breaker is open or half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Initialises a transaction and returns its authorization URL
+     */
+    public String initializeTransaction(String email, Money amount, String reference) {
+        return initializeTransactionAsync(email, amount, reference).block();
+    }
+
+    public Mono<String> initializeTransactionAsync(String email, Money amount, String reference) {
+        long subunits = gatewayAmount(amount);
+        return execute("initialize", () -> webClient.post()
+                .uri("/transaction/initialize")
+                .bodyValue(Map.of(
+                        "email", email,
+                        "amount", subunits,
+                        "currency", amount.currency().getCurrencyCode(),
+                        "reference", reference
+                ))
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(data -> requiredText(data, "authorization_url"));
+    }
+
+    /**
+     * Looks up a transaction by reference and returns Paystack's data object,
+     * whose "status" is success, failed, abandoned, ongoing, pending or reversed
+     */
+    public Mono<JsonNode> verifyTransactionAsync(String reference) {
+        return execute("verify", () -> webClient.get()
+                .uri("/transaction/verify/{reference}", reference)
+                .retrieve()
+                .bodyToMono(JsonNode.class));
+    }
+
+    /**
+     * Registers a Nigerian bank account (NUBAN) as a transfer recipient and returns
+     * its recipient code
+     */
+    public String createTransferRecipient(String name, String accountNumber, String bankCode) {
+        return execute("create_recipient", () -> webClient.post()
+                .uri("/transferrecipient")
+                .bodyValue(Map.of(
+                        "type", "nuban",
+                        "name", name,
+                        "account_number", accountNumber,
+                        "bank_code", bankCode,
+                        "currency", Money.NGN.getCurrencyCode()
+                ))
+                .retrieve()
+                .bodyToMono(JsonNode.class))
+                .map(data -> requiredText(data, "recipient_code"))
+                .block();
+    }
+
+    public record Transfer(String reference, String recipientCode, Money amount) {}
+
+    /**
+     * Queues up to {@link #MAX_BULK_TRANSFERS} transfers from the Paystack balance in
+     * one request and returns the data array, one element per transfer with its
+     * reference and transfer_code. Outcomes arrive later as transfer webhooks.
+     */
+    public Mono<JsonNode> bulkTransferAsync(List<Transfer> transfers) {
+        if (transfers.isEmpty() || transfers.size() > MAX_BULK_TRANSFERS) {
+            throw new IllegalArgumentException(
+                    "A bulk transfer takes between 1 and " + MAX_BULK_TRANSFERS + " transfers"
+            );
+        }
+        Currency currency = transfers.get(0).amount().currency();
+        List<Map<String, Object>> items = transfers.stream()
+                .map(transfer -> {
+                    if (!transfer.amount().currency().equals(currency)) {
+                        throw new IllegalArgumentException("A bulk transfer must use one currency");
+                    }
+                    return Map.<String, Object>of(
+                            "amount", gatewayAmount(transfer.amount()),
+                            "recipient", transfer.recipientCode(),
+                            "reference", transfer.reference(),
+                            "reason", "Caregiver earnings"
+                    );
+                })
+                .toList();
+
+        return execute("bulk_transfer", () -> webClient.post()
+                .uri("/transfer/bulk")
+                .bodyValue(Map.of(
+                        "currency", currency.getCurrencyCode(),
+                        "source", "balance",
+                        "transfers", items
+                ))
+                .retrieve()
+                .bodyToMono(JsonNode.class));
+    }
+
+    public GatewayCircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /**
+     * Applies bulkhead, circuit breaker, deadline and metrics to one call and
+     * unwraps Paystack's {"status", "data"} envelope
+     */
+    Mono<JsonNode> execute(String operation, Supplier<Mono<JsonNode>> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                record(operation, "rejected", 0);
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Payment gateway is busy"
+                ));
+            }
+            if (!circuitBreaker.allowRequest()) {
+                bulkhead.release();
+                record(operation, "circuit_open", 0);
+                return Mono.error(new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Payment gateway temporarily unavailable"
+                ));
+            }
+
+            long started = System.nanoTime();
+            return call.get()
+                    .timeout(deadline)
+                    // A 2xx without a body carries no envelope to unwrap
+                    .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty Paystack response")))
+                    .map(PaystackGatewayClient::unwrap)
+                    .doOnSuccess(data -> {
+                        circuitBreaker.recordSuccess();
+                        record(operation, "success", System.nanoTime() - started);
+                    })
+                    .onErrorMap(e -> !(e instanceof ResponseStatusException), e -> {
+                        boolean clientError = e instanceof WebClientResponseException response
+                                && response.getStatusCode().is4xxClientError();
+                        // A rejected request says nothing about gateway health
+                        if (clientError) {
+                            circuitBreaker.recordSuccess();
+                        } else {
+                            circuitBreaker.recordFailure();
+                        }
+
+                        if (e instanceof TimeoutException) {
+                            record(operation, "timeout", System.nanoTime() - started);
+                            return new ResponseStatusException(
+                                    HttpStatus.GATEWAY_TIMEOUT, "Payment gateway timed out"
+                            );
+                        }
+                        record(operation, "error", System.nanoTime() - started);
+                        return new ResponseStatusException(
+                                HttpStatus.BAD_GATEWAY, "Payment gateway request failed"
+                        );
+                    })
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            circuitBreaker.recordFailure();
+                        }
+                        bulkhead.release();
+                    });
+        });
+    }
+
+    /**
+     * Paystack takes amounts in the currency's subunit (kobo, pesewas, cents), which
+     * for every currency it supports is the two-digit minor unit Money already holds
+     */
+    static long gatewayAmount(Money amount) {
+        if (amount.currency().getDefaultFractionDigits() != 2) {
+            throw new IllegalArgumentException("Unsupported payment currency " + amount.currency());
+        }
+        if (amount.minorUnits() <= 0) {
+            throw new IllegalArgumentException("Payment amount must be positive");
+        }
+        return amount.minorUnits();
+    }
+
+    private static JsonNode unwrap(JsonNode root) {
+        JsonNode data = root.get("data");
+        if (!root.path("status").asBoolean(false) || data == null || data.isNull()) {
+            throw new IllegalStateException("Invalid Paystack response");
+        }
+        return data;
+    }
+
+    private static String requiredText(JsonNode data, String field) {
+        JsonNode value = data.get(field);
+        if (value == null || value.isNull()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_GATEWAY, "Paystack response is missing " + field
+            );
+        }
+        return value.asText();
+    }
+
+    private void record(String operation, String outcome, long elapsedNanos) {
+        Timer.builder(METRIC_PREFIX + ".requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+}
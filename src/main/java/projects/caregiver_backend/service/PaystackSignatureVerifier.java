@@ -0,0 +1,58 @@
+package projects.caregiver_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Checks the x-paystack-signature header (hex HMAC-SHA512 of the raw body)
+ * Each thread keeps an initialised Mac; the header is decoded to bytes and
+ * compared in constant time instead of hex-encoding the digest.
+ */
+@Component
+public class PaystackSignatureVerifier {
+
+    static final String ALGORITHM = "HmacSHA512";
+    static final int SIGNATURE_BYTES = 64;
+
+    private final ThreadLocal<Mac> macs;
+
+    public PaystackSignatureVerifier(@Value("${paystack.secret.key}") String secretKey) {
+        SecretKeySpec key = new SecretKeySpec(
+                secretKey.getBytes(StandardCharsets.UTF_8),
+                ALGORITHM
+        );
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " not available", e);
+            }
+        });
+    }
+
+    public boolean verify(byte[] payload, String signature) {
+        if (signature == null || signature.length() != SIGNATURE_BYTES * 2) {
+            return false;
+        }
+
+        byte[] expected;
+        try {
+            expected = HexFormat.of().parseHex(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+
+        // doFinal also resets the Mac for the thread's next request
+        byte[] actual = macs.get().doFinal(payload);
+        return MessageDigest.isEqual(actual, expected);
+    }
+}
@@ -1,81 +1,181 @@
 package projects.caregiver_backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import projects.caregiver_backend.dtos.request.ReviewRequest;
+import projects.caregiver_backend.dtos.response.ReviewPageResponse;
 import projects.caregiver_backend.dtos.response.ReviewResponse;
 import projects.caregiver_backend.model.*;
 
 import projects.caregiver_backend.repositories.*;
+import projects.caregiver_backend.repositories.projections.ReviewListingView;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class ReviewService {
 
+    public static final String SORT_NEWEST = "newest";
+    public static final String SORT_RATING = "rating";
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final ReviewRepository reviewRepository;
     private final UserRepository userRepository;
     private final CaregiverRepository caregiverRepository;
+    private final CaregiverRatingService caregiverRatingService;
 
+    /**
+     * Writes a review in two statements: the guarded counter UPDATE, which also
+     * rules out a missing caregiver and self-review, then the INSERT, where the
+     * (user_id, caregiver_id) unique constraint catches a duplicate. Reviewer and
+     * caregiver are id-only references; neither row is read.
+     */
     @Transactional
     public ReviewResponse createReview(
-            String username,
+            UUID reviewerId,
+            String reviewerUsername,
             String caregiverId,
             ReviewRequest request
     ) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Caregiver caregiver = caregiverRepository.findById(
-                java.util.UUID.fromString(caregiverId)
-        ).orElseThrow(() -> new RuntimeException("Caregiver not found"));
+        UUID id = UUID.fromString(caregiverId);
 
-        // Prevent self-review
-        if (caregiver.getUser().getId().equals(user.getId())) {
+        if (!caregiverRatingService.recordReview(id, reviewerId, request.rating())) {
+            // Failure path only: tell the two reasons apart
+            if (!caregiverRepository.existsById(id)) {
+                throw new RuntimeException("Caregiver not found");
+            }
             throw new IllegalStateException("You cannot review yourself");
         }
 
-        // Prevent duplicate review
-        if (reviewRepository.existsByUserAndCaregiver(user, caregiver)) {
-            throw new IllegalStateException("You already reviewed this caregiver");
-        }
-
         Review review = Review.builder()
-                .user(user)
-                .caregiver(caregiver)
+                .user(userRepository.getReferenceById(reviewerId))
+                .caregiver(caregiverRepository.getReferenceById(id))
                 .rating(request.rating())
                 .comment(request.comment())
                 .createdAt(LocalDateTime.now())
                 .build();
 
-        Review saved = reviewRepository.save(review);
+        Review saved;
+        try {
+            // Flush now so a duplicate surfaces here, rolling back the counter bump with it
+            saved = reviewRepository.saveAndFlush(review);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("You already reviewed this caregiver");
+        }
 
         return new ReviewResponse(
                 saved.getId(),
-                user.getUsername(),
+                reviewerUsername,
                 saved.getRating(),
                 saved.getComment(),
                 saved.getCreatedAt()
         );
     }
 
-    public List<ReviewResponse> getReviewsForCaregiver(String caregiverId) {
-        Caregiver caregiver = caregiverRepository.findById(
-                java.util.UUID.fromString(caregiverId)
-        ).orElseThrow(() -> new RuntimeException("Caregiver not found"));
+    /**
+     * One keyset page of a caregiver's reviews, sorted "newest" or "rating".
+     * Every page is a single index range scan on the caregiver's reviews, so its
+     * cost does not grow with how many reviews came before it.
+     */
+    @Transactional(readOnly = true)
+    public ReviewPageResponse getReviewsForCaregiver(
+            String caregiverId,
+            String sort,
+            String cursor,
+            int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE
+            );
+        }
+        UUID id = UUID.fromString(caregiverId);
+        boolean byRating = switch (sort) {
+            case SORT_NEWEST -> false;
+            case SORT_RATING -> true;
+            default -> throw new IllegalArgumentException("Sort must be newest or rating");
+        };
+        ReviewCursor after = cursor != null ? ReviewCursor.decode(cursor, byRating) : ReviewCursor.START;
+
+        List<ReviewListingView> page = byRating
+                ? reviewRepository.findTopRatedAfter(
+                        id, after.rating(), after.createdAt(), after.id(), Limit.of(limit))
+                : reviewRepository.findNewestAfter(
+                        id, after.createdAt(), after.id(), Limit.of(limit));
 
-        return reviewRepository.findByCaregiver(caregiver)
-                .stream()
+        // Only an empty first page needs to tell "no reviews" from "no caregiver"
+        if (page.isEmpty() && cursor == null && !caregiverRepository.existsById(id)) {
+            throw new RuntimeException("Caregiver not found");
+        }
+
+        List<ReviewResponse> reviews = page.stream()
                 .map(r -> new ReviewResponse(
                         r.getId(),
-                        r.getUser().getUsername(),
+                        r.getReviewerUsername(),
                         r.getRating(),
                         r.getComment(),
                         r.getCreatedAt()
                 ))
                 .toList();
+
+        String nextCursor = null;
+        if (page.size() == limit) {
+            ReviewListingView last = page.get(page.size() - 1);
+            nextCursor = new ReviewCursor(last.getRating(), last.getCreatedAt(), last.getId())
+                    .encode(byRating);
+        }
+        return new ReviewPageResponse(reviews, nextCursor);
+    }
+
+    /**
+     * Opaque position in a review listing: the sort it belongs to and the last
+     * row's key, as URL-safe base64
+     */
+    private record ReviewCursor(int rating, LocalDateTime createdAt, UUID id) {
+
+        // Sorts before every real row in both orders
+        static final ReviewCursor START = new ReviewCursor(
+                Integer.MAX_VALUE,
+                LocalDateTime.of(9999, 12, 31, 23, 59),
+                new UUID(-1L, -1L)
+        );
+
+        String encode(boolean byRating) {
+            String raw = (byRating ? SORT_RATING : SORT_NEWEST) + "|" + rating + "|" + createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ReviewCursor decode(String cursor, boolean byRating) {
+            String[] parts;
+            try {
+                parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            if (!parts[0].equals(byRating ? SORT_RATING : SORT_NEWEST)) {
+                throw new IllegalArgumentException("Cursor belongs to a different sort");
+            }
+            try {
+                return new ReviewCursor(
+                        Integer.parseInt(parts[1]),
+                        LocalDateTime.parse(parts[2]),
+                        UUID.fromString(parts[3])
+                );
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
     }
 }
@@ -0,0 +1,352 @@
+package projects.caregiver_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.PayoutRepository;
+import projects.caregiver_backend.repositories.WebhookEventRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Durable inbox for verified Paystack webhooks
+ * The webhook request only appends the event; workers claim pending events in
+ * batches with FOR UPDATE SKIP LOCKED, so several workers and several nodes can
+ * drain the inbox without handing the same event out twice.
+ * When a batch fails, its events are retried one per transaction so a single bad
+ * event is counted against its own attempts instead of holding back the rest.
+ */
+@Slf4j
+@Service
+public class WebhookInboxService {
+
+    static final String CHARGE_SUCCESS = "charge.success";
+    static final String TRANSFER_SUCCESS = "transfer.success";
+    static final String TRANSFER_FAILED = "transfer.failed";
+    static final String TRANSFER_REVERSED = "transfer.reversed";
+    static final Set<String> TRANSFER_EVENTS = Set.of(TRANSFER_SUCCESS, TRANSFER_FAILED, TRANSFER_REVERSED);
+    static final int MAX_ATTEMPTS = 5;
+    static final int MAX_ERROR_LENGTH = 500;
+
+    private final WebhookEventRepository inboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final PayoutRepository payoutRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PaymentStatusRegistry statusRegistry;
+    private final GatewayPayloadStore payloadStore;
+    private final EarningsLedgerService earningsLedger;
+    private final int batchSize;
+    private final int workers;
+    private final Duration retention;
+    private final ExecutorService workerPool;
+
+    public WebhookInboxService(
+            WebhookEventRepository inboxRepository,
+            PaymentRepository paymentRepository,
+            PayoutRepository payoutRepository,
+            TransactionTemplate transactionTemplate,
+            ObjectMapper objectMapper,
+            PaymentStatusRegistry statusRegistry,
+            GatewayPayloadStore payloadStore,
+            EarningsLedgerService earningsLedger,
+            @Value("${webhooks.inbox.batch-size:200}") int batchSize,
+            @Value("${webhooks.inbox.workers:2}") int workers,
+            @Value("${webhooks.inbox.retention:P7D}") Duration retention
+    ) {
+        this.inboxRepository = inboxRepository;
+        this.paymentRepository = paymentRepository;
+        this.payoutRepository = payoutRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.statusRegistry = statusRegistry;
+        this.payloadStore = payloadStore;
+        this.earningsLedger = earningsLedger;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.retention = retention;
+        this.workerPool = Executors.newFixedThreadPool(workers);
+    }
+
+    /**
+     * Stores a verified webhook. Returns false when the same event was already received.
+     */
+    public boolean append(byte[] payload) {
+        PaystackEventFields fields = PaystackEventFields.parse(objectMapper.getFactory(), payload);
+
+        String eventId = eventId(fields, payload);
+        try {
+            transactionTemplate.executeWithoutResult(status -> inboxRepository.append(
+                    UUID.randomUUID(),
+                    eventId,
+                    fields.event(),
+                    new String(payload, StandardCharsets.UTF_8),
+                    LocalDateTime.now()
+            ));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhooks.inbox.poll-interval:PT0.5S}", scheduler = "webhookInboxScheduler")
+    public void drain() {
+        List<Future<?>> running = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            running.add(workerPool.submit(() -> {
+                while (processBatch() == batchSize) {
+                    // keep going while batches come back full
+                }
+            }));
+        }
+
+        for (Future<?> worker : running) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // Whatever the worker left unprocessed stays pending for the next run
+                log.error("Webhook inbox worker failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Claims and applies one batch in a single transaction. Returns the batch size.
+     * If the batch fails, each of its events is retried in a transaction of its own.
+     */
+    public int processBatch() {
+        List<UUID> claimed = new ArrayList<>();
+        try {
+            Integer processed = transactionTemplate.execute(status -> {
+                List<WebhookEvent> events = inboxRepository.claimBatch(batchSize);
+                events.forEach(event -> claimed.add(event.getId()));
+                apply(events);
+                return events.size();
+            });
+            return processed != null ? processed : 0;
+        } catch (RuntimeException e) {
+            if (claimed.isEmpty()) {
+                throw e;
+            }
+            log.warn("Webhook batch of {} events failed, retrying them one at a time", claimed.size(), e);
+            claimed.forEach(this::processOne);
+            return claimed.size();
+        }
+    }
+
+    /**
+     * Applies one event on its own. If that fails too, the failure is recorded
+     * against the event in a fresh transaction so it ends up FAILED after
+     * {@link #MAX_ATTEMPTS} runs. Events another worker holds are skipped.
+     */
+    private void processOne(UUID id) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    inboxRepository.claimById(id).ifPresent(event -> apply(List.of(event)))
+            );
+        } catch (RuntimeException e) {
+            log.warn("Webhook event {} failed", id, e);
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            transactionTemplate.executeWithoutResult(status ->
+                    inboxRepository.claimById(id).ifPresent(event -> markFailed(
+                            event, error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error
+                    ))
+            );
+        }
+    }
+
+    private void apply(List<WebhookEvent> events) {
+        Map<WebhookEvent, PaystackEventFields> charges = new HashMap<>();
+        Map<WebhookEvent, PaystackEventFields> transfers = new HashMap<>();
+        for (WebhookEvent event : events) {
+            boolean charge = CHARGE_SUCCESS.equals(event.getEventType());
+            if (!charge && !TRANSFER_EVENTS.contains(event.getEventType())) {
+                markProcessed(event);
+                continue;
+            }
+            try {
+                PaystackEventFields fields =
+                        PaystackEventFields.parse(objectMapper.getFactory(), event.getPayload());
+                if (fields.reference() == null) {
+                    markFailed(event, "Missing data.reference");
+                } else {
+                    (charge ? charges : transfers).put(event, fields);
+                }
+            } catch (IllegalArgumentException e) {
+                markFailed(event, "Invalid webhook payload");
+            }
+        }
+
+        if (!charges.isEmpty()) {
+            applyChargeSuccess(charges);
+        }
+        if (!transfers.isEmpty()) {
+            applyTransferOutcomes(transfers);
+        }
+    }
+
+    @Scheduled(cron = "${webhooks.inbox.purge-cron:0 30 3 * * *}")
+    public void purgeProcessed() {
+        transactionTemplate.executeWithoutResult(status ->
+                inboxRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention))
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    // Loads every referenced payment with its booking in one query
+    private void applyChargeSuccess(Map<WebhookEvent, PaystackEventFields> charges) {
+        List<String> references = charges.values().stream()
+                .map(PaystackEventFields::reference)
+                .toList();
+
+        Map<String, Payment> payments = paymentRepository.findWithBookingByReferenceIn(references)
+                .stream()
+                .collect(Collectors.toMap(Payment::getReference, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> paid = new ArrayList<>();
+        charges.forEach((event, fields) -> {
+            Payment payment = payments.get(fields.reference());
+            if (payment == null) {
+                markFailed(event, "Payment not found");
+                return;
+            }
+
+            if (payment.getStatus() != PaymentStatus.SUCCESS) {
+                payment.setStatus(PaymentStatus.SUCCESS);
+                payment.setPaidAt(now);
+                payment.setGatewayTransactionId(fields.objectId());
+                payloadStore.save(
+                        payment.getId(),
+                        GatewayPayloadStore.SOURCE_WEBHOOK,
+                        fields.data(event.getPayload())
+                );
+                payment.getBooking().setStatus(BookingStatus.PAID);
+                paid.add(payment.getBooking());
+                statusRegistry.completeAfterCommit(payment.getReference(), PaymentStatus.SUCCESS);
+            }
+            markProcessed(event);
+        });
+
+        earningsLedger.bookingsPaid(paid);
+    }
+
+    /**
+     * Settles payouts from transfer webhooks, loading them by reference in one query.
+     * Failed and reversed transfers put the amount back into available earnings.
+     */
+    private void applyTransferOutcomes(Map<WebhookEvent, PaystackEventFields> transfers) {
+        List<String> references = transfers.values().stream()
+                .map(PaystackEventFields::reference)
+                .toList();
+
+        Map<String, Payout> payouts = payoutRepository.findByReferenceIn(references)
+                .stream()
+                .collect(Collectors.toMap(Payout::getReference, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Payout> returned = new ArrayList<>();
+        transfers.forEach((event, fields) -> {
+            Payout payout = payouts.get(fields.reference());
+            if (payout == null) {
+                markFailed(event, "Payout not found");
+                return;
+            }
+
+            PayoutStatus outcome = switch (event.getEventType()) {
+                case TRANSFER_SUCCESS -> PayoutStatus.SUCCESS;
+                case TRANSFER_FAILED -> PayoutStatus.FAILED;
+                default -> PayoutStatus.REVERSED;
+            };
+            // Settled payouts stay settled, except that Paystack can reverse a successful transfer
+            boolean applies = switch (payout.getStatus()) {
+                case PENDING, SUBMITTED -> true;
+                case SUCCESS -> outcome == PayoutStatus.REVERSED;
+                case FAILED, REVERSED -> false;
+            };
+
+            if (applies) {
+                payout.setStatus(outcome);
+                payout.setSettledAt(now);
+                if (payout.getTransferCode() == null) {
+                    payout.setTransferCode(fields.objectId());
+                }
+                if (outcome != PayoutStatus.SUCCESS) {
+                    returned.add(payout);
+                }
+            }
+            markProcessed(event);
+        });
+
+        earningsLedger.payoutsReturned(returned);
+    }
+
+    private void markProcessed(WebhookEvent event) {
+        event.setStatus(WebhookEventStatus.PROCESSED);
+        event.setProcessedAt(LocalDateTime.now());
+    }
+
+    private void markFailed(WebhookEvent event, String error) {
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(error);
+        if (event.getAttempts() >= MAX_ATTEMPTS) {
+            event.setStatus(WebhookEventStatus.FAILED);
+        }
+    }
+
+    /**
+     * Paystack sends no delivery id, so an event is identified by its type and the
+     * gateway's id for the object (falling back to reference, then to the payload hash)
+     */
+    private static String eventId(PaystackEventFields fields, byte[] payload) {
+        String objectId = fields.objectId();
+        if (objectId == null || objectId.isEmpty()) {
+            objectId = fields.reference();
+        }
+        if (objectId == null || objectId.isEmpty()) {
+            objectId = sha256(payload);
+        }
+        return fields.event() + ":" + objectId;
+    }
+
+    private static String sha256(byte[] input) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(input)
+            );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+-- Adds the per-caregiver review counters and fills them from existing reviews.
+-- PostgreSQL; run once before starting a build that maps Caregiver.ratings, since
+-- ddl-auto=update cannot add NOT NULL columns to a populated table.
+
+BEGIN;
+
+ALTER TABLE caregivers
+    ADD COLUMN review_count BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN rating_total BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN stars_1 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN stars_2 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN stars_3 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN stars_4 BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN stars_5 BIGINT NOT NULL DEFAULT 0;
+
+UPDATE caregivers c
+SET review_count = r.review_count,
+    rating_total = r.rating_total,
+    stars_1 = r.stars_1,
+    stars_2 = r.stars_2,
+    stars_3 = r.stars_3,
+    stars_4 = r.stars_4,
+    stars_5 = r.stars_5
+FROM (
+    SELECT caregiver_id,
+           COUNT(*) AS review_count,
+           SUM(rating) AS rating_total,
+           COUNT(*) FILTER (WHERE rating = 1) AS stars_1,
+           COUNT(*) FILTER (WHERE rating = 2) AS stars_2,
+           COUNT(*) FILTER (WHERE rating = 3) AS stars_3,
+           COUNT(*) FILTER (WHERE rating = 4) AS stars_4,
+           COUNT(*) FILTER (WHERE rating = 5) AS stars_5
+    FROM review
+    GROUP BY caregiver_id
+) r
+WHERE r.caregiver_id = c.id;
+
+COMMIT;
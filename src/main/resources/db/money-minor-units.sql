@@ -0,0 +1,38 @@
+-- Moves money columns from numeric major units to bigint minor units plus currency.
+-- PostgreSQL; run once before starting a build that maps Money, since ddl-auto=update
+-- cannot add NOT NULL columns to populated tables or convert existing values.
+
+BEGIN;
+
+ALTER TABLE caregivers
+    ADD COLUMN hourly_rate_minor BIGINT,
+    ADD COLUMN hourly_rate_currency VARCHAR(3);
+UPDATE caregivers
+SET hourly_rate_minor = ROUND(hourly_rate * 100)::BIGINT,
+    hourly_rate_currency = 'NGN';
+ALTER TABLE caregivers
+    ALTER COLUMN hourly_rate_minor SET NOT NULL,
+    ALTER COLUMN hourly_rate_currency SET NOT NULL,
+    DROP COLUMN hourly_rate;
+
+ALTER TABLE bookings
+    ADD COLUMN total_amount_minor BIGINT,
+    ADD COLUMN total_amount_currency VARCHAR(3);
+UPDATE bookings
+SET total_amount_minor = ROUND(total_amount * 100)::BIGINT,
+    total_amount_currency = 'NGN'
+WHERE total_amount IS NOT NULL;
+ALTER TABLE bookings DROP COLUMN total_amount;
+
+ALTER TABLE payments
+    ADD COLUMN amount_minor BIGINT,
+    ADD COLUMN amount_currency VARCHAR(3);
+UPDATE payments
+SET amount_minor = ROUND(amount * 100)::BIGINT,
+    amount_currency = 'NGN';
+ALTER TABLE payments
+    ALTER COLUMN amount_minor SET NOT NULL,
+    ALTER COLUMN amount_currency SET NOT NULL,
+    DROP COLUMN amount;
+
+COMMIT;
@@ -0,0 +1,186 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projects.caregiver_backend.service.CaregiverService;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.support.DatasetGenerator;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The generated dataset has to be something the app itself could have written:
+ * rating counters agreeing with the reviews, payments only where the booking
+ * status allows them, no caregiver booked twice at once, a ledger that balances
+ * to the paid and completed bookings, and the same rows again for the same seed. Runs on its own
+ * in-memory database so the other integration tests' rows stay out of the counts.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datasetdb;DB_CLOSE_DELAY=-1",
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H"
+})
+@ActiveProfiles("test")
+class DatasetGeneratorTests {
+
+    private static final DatasetGenerator.Scale SCALE = DatasetGenerator.Scale.small();
+
+    private static final List<String> TABLES = List.of(
+            "earnings_balance_snapshots", "earnings_ledger",
+            "review", "payments", "bookings", "caregiver_availability",
+            "caregiver_availability_templates", "caregivers", "app_users"
+    );
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private CaregiverService caregiverService;
+
+    @Autowired
+    private EarningsLedgerService earningsLedger;
+
+    @Test
+    void generatesAConsistentSkewedDatasetThatTheSameSeedReproduces() throws Exception {
+        DatasetGenerator.Summary first = new DatasetGenerator(dataSource, 42).generate(SCALE);
+
+        assertThat(first.rows("app_users")).isEqualTo(SCALE.customers() + SCALE.caregivers());
+        assertThat(first.rows("caregivers")).isEqualTo(SCALE.caregivers());
+        assertThat(first.rows("bookings")).isGreaterThan(SCALE.customers() * 2L);
+        assertThat(first.rows("review")).isPositive();
+        for (String table : TABLES) {
+            assertThat(count(table)).as(table).isEqualTo(first.rows(table));
+        }
+
+        // Counters say what the reviews say
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM caregivers c
+                WHERE c.review_count <> (SELECT COUNT(*) FROM review r WHERE r.caregiver_id = c.id)
+                   OR c.rating_total <> (SELECT COALESCE(SUM(r.rating), 0) FROM review r WHERE r.caregiver_id = c.id)
+                   OR c.review_count <> c.stars_1 + c.stars_2 + c.stars_3 + c.stars_4 + c.stars_5
+                """, Long.class)).isZero();
+
+        // Successful payments belong to paid or completed bookings, and only those
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM bookings b
+                WHERE CASE WHEN b.status IN ('PAID', 'COMPLETED') THEN 1 ELSE 0 END
+                   <> CASE WHEN EXISTS (SELECT 1 FROM payments p WHERE p.booking_id = b.id AND p.status = 'SUCCESS')
+                           THEN 1 ELSE 0 END
+                """, Long.class)).isZero();
+
+        // Active bookings of one caregiver never overlap
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM bookings a
+                JOIN bookings b ON b.caregiver_id = a.caregiver_id AND b.date = a.date AND b.id > a.id
+                               AND b.start_time < a.end_time AND a.start_time < b.end_time
+                WHERE a.status NOT IN ('CANCELLED', 'REJECTED') AND b.status NOT IN ('CANCELLED', 'REJECTED')
+                """, Long.class)).isZero();
+
+        // A paid entry per paid or completed booking, a completed entry per completed one
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM bookings b
+                WHERE b.status IN ('PAID', 'COMPLETED')
+                  AND NOT EXISTS (SELECT 1 FROM earnings_ledger l
+                                  WHERE l.entry_type = 'BOOKING_PAID' AND l.source_ref = CAST(b.id AS VARCHAR))
+                   OR b.status = 'COMPLETED'
+                  AND NOT EXISTS (SELECT 1 FROM earnings_ledger l
+                                  WHERE l.entry_type = 'BOOKING_COMPLETED' AND l.source_ref = CAST(b.id AS VARCHAR))
+                """, Long.class)).isZero();
+        assertThat(first.rows("earnings_ledger")).isEqualTo(jdbc.queryForObject("""
+                SELECT COUNT(*) + SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) FROM bookings
+                WHERE status IN ('PAID', 'COMPLETED')
+                """, Long.class));
+
+        // Numbered 1..n per caregiver, with no gaps
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM (SELECT caregiver_id FROM earnings_ledger GROUP BY caregiver_id
+                                      HAVING MIN(seq) <> 1 OR MAX(seq) <> COUNT(*)) gaps
+                """, Long.class)).isZero();
+
+        // The app's balance for the busiest caregiver, read through its snapshots, is what was booked
+        UUID busiest = jdbc.queryForObject("""
+                SELECT caregiver_id FROM earnings_ledger GROUP BY caregiver_id ORDER BY COUNT(*) DESC, caregiver_id LIMIT 1
+                """, UUID.class);
+        assertThat(jdbc.queryForObject(
+                "SELECT COUNT(*) FROM earnings_balance_snapshots WHERE caregiver_id = ?", Long.class, busiest))
+                .isGreaterThan(1);
+        Map<String, Object> booked = jdbc.queryForMap("""
+                SELECT SUM(CASE WHEN status = 'PAID' THEN total_amount_minor ELSE 0 END) AS pending,
+                       SUM(CASE WHEN status = 'COMPLETED' THEN total_amount_minor ELSE 0 END) AS available
+                FROM bookings WHERE caregiver_id = ?
+                """, busiest);
+        EarningsLedgerService.Balance balance = earningsLedger.balances(List.of(busiest)).get(busiest);
+        assertThat(balance.pending().minorUnits()).isEqualTo(((Number) booked.get("pending")).longValue());
+        assertThat(balance.available().minorUnits()).isEqualTo(((Number) booked.get("available")).longValue());
+
+        // Reviews only for completed bookings of the same customer and caregiver
+        assertThat(jdbc.queryForObject("""
+                SELECT COUNT(*) FROM review r
+                WHERE NOT EXISTS (SELECT 1 FROM bookings b
+                                  WHERE b.user_id = r.user_id AND b.caregiver_id = r.caregiver_id
+                                    AND b.status = 'COMPLETED')
+                """, Long.class)).isZero();
+
+        // Lagos carries the most caregivers and the most bookings
+        assertThat(jdbc.queryForObject("""
+                SELECT city FROM caregivers GROUP BY city ORDER BY COUNT(*) DESC LIMIT 1
+                """, String.class)).isEqualTo("Lagos");
+        assertThat(jdbc.queryForObject("""
+                SELECT c.city FROM bookings b JOIN caregivers c ON c.id = b.caregiver_id
+                GROUP BY c.city ORDER BY COUNT(*) DESC LIMIT 1
+                """, String.class)).isEqualTo("Lagos");
+
+        // The app reads it like its own data
+        assertThat(caregiverService.browseCaregivers("Lagos", "Lekki")).isNotEmpty();
+
+        List<Map<String, Object>> fingerprint = fingerprint();
+        TABLES.forEach(table -> jdbc.update("DELETE FROM " + table));
+
+        DatasetGenerator.Summary second = new DatasetGenerator(dataSource, 42).generate(SCALE);
+
+        assertThat(second.rows()).isEqualTo(first.rows());
+        assertThat(fingerprint()).isEqualTo(fingerprint);
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private List<Map<String, Object>> fingerprint() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.addAll(jdbc.queryForList("""
+                SELECT status, COUNT(*) AS n, SUM(total_amount_minor) AS amount, MIN(date) AS first_date, MAX(date) AS last_date
+                FROM bookings GROUP BY status ORDER BY status
+                """));
+        rows.addAll(jdbc.queryForList("""
+                SELECT city, neighborhood, COUNT(*) AS n, SUM(hourly_rate_minor) AS rates
+                FROM caregivers GROUP BY city, neighborhood ORDER BY city, neighborhood
+                """));
+        rows.addAll(jdbc.queryForList("""
+                SELECT id, review_count, rating_total FROM caregivers
+                ORDER BY review_count DESC, id LIMIT 10
+                """));
+        rows.addAll(jdbc.queryForList("""
+                SELECT status, COUNT(*) AS n, MIN(reference) AS first_reference FROM payments GROUP BY status ORDER BY status
+                """));
+        rows.addAll(jdbc.queryForList("""
+                SELECT entry_type, COUNT(*) AS n, SUM(pending_delta) AS pending, SUM(available_delta) AS available
+                FROM earnings_ledger GROUP BY entry_type ORDER BY entry_type
+                """));
+        return rows;
+    }
+}
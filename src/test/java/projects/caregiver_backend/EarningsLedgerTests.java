@@ -0,0 +1,131 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import projects.caregiver_backend.dtos.response.EarningsBalanceResponse;
+import projects.caregiver_backend.dtos.response.EarningsEntryResponse;
+import projects.caregiver_backend.dtos.response.EarningsStatementResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.EarningsSnapshotRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.EarningsLedgerService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Posts to one caregiver's ledger from several threads at once, then checks the
+ * balance and every statement line against sums over the raw postings.
+ */
+@SpringBootTest(properties = "earnings.ledger.snapshot-interval=25")
+@ActiveProfiles("test")
+class EarningsLedgerTests {
+
+    private static final int WRITERS = 4;
+    private static final int POSTINGS_PER_WRITER = 100;
+
+    @Autowired
+    private EarningsLedgerService ledgerService;
+
+    @Autowired
+    private EarningsSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Test
+    void concurrentPostingsKeepOneContiguousLedger() throws Exception {
+        UUID caregiverId = seedCaregiver();
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(pool.submit(() -> {
+                for (int i = 0; i < POSTINGS_PER_WRITER; i++) {
+                    // Every third posting releases what the previous one credited
+                    boolean release = i % 3 == 2;
+                    ledgerService.post(List.of(new EarningsLedgerService.Posting(
+                            caregiverId,
+                            release ? LedgerEntryType.BOOKING_COMPLETED : LedgerEntryType.BOOKING_PAID,
+                            "w" + writer + "-" + i,
+                            release ? -1_000 : 1_000,
+                            release ? 1_000 : 0,
+                            Money.NGN
+                    )));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) writer.get();
+        pool.shutdown();
+
+        int total = WRITERS * POSTINGS_PER_WRITER;
+        int releases = WRITERS * (POSTINGS_PER_WRITER / 3);
+        long expectedPending = (long) (total - releases) * 1_000 - (long) releases * 1_000;
+        long expectedAvailable = (long) releases * 1_000;
+
+        EarningsBalanceResponse balance = ledgerService.balanceFor("ledger-caregiver");
+        assertThat(balance.sequence()).isEqualTo(total);
+        assertThat(balance.pending()).isEqualByComparingTo(Money.ofMinor(expectedPending, Money.NGN).toMajor());
+        assertThat(balance.available()).isEqualByComparingTo(Money.ofMinor(expectedAvailable, Money.NGN).toMajor());
+        // One snapshot with the first entry, then one every 25
+        assertThat(snapshotRepository.count()).isEqualTo(1 + (total - 1) / 25);
+
+        // Walk the statement oldest-last and check each running balance against the next line
+        List<EarningsEntryResponse> lines = new ArrayList<>();
+        Long before = null;
+        do {
+            EarningsStatementResponse page = ledgerService.statementFor("ledger-caregiver", before, 37);
+            lines.addAll(page.entries());
+            before = page.nextBefore();
+        } while (before != null);
+
+        assertThat(lines).hasSize(total);
+        assertThat(lines).extracting(EarningsEntryResponse::sequence)
+                .isSortedAccordingTo((a, b) -> Long.compare(b, a))
+                .doesNotHaveDuplicates();
+        for (int i = 0; i < lines.size() - 1; i++) {
+            EarningsEntryResponse line = lines.get(i);
+            EarningsEntryResponse previous = lines.get(i + 1);
+            assertThat(previous.pendingBalance().add(line.pendingChange()))
+                    .isEqualByComparingTo(line.pendingBalance());
+            assertThat(previous.availableBalance().add(line.availableChange()))
+                    .isEqualByComparingTo(line.availableBalance());
+        }
+        EarningsEntryResponse first = lines.get(lines.size() - 1);
+        assertThat(first.pendingBalance()).isEqualByComparingTo(first.pendingChange());
+        assertThat(first.availableBalance()).isEqualByComparingTo(first.availableChange());
+        assertThat(lines.get(0).availableBalance()).isEqualByComparingTo(balance.available());
+    }
+
+    private UUID seedCaregiver() {
+        User user = new User();
+        user.setUsername("ledger-caregiver");
+        user.setEmail("ledger-caregiver@example.com");
+        user.setPassword("password");
+        user.setRole(Role.CAREGIVER);
+        userRepository.save(user);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(user);
+        caregiver.setFullName("Ledger Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        return caregiverRepository.save(caregiver).getId();
+    }
+}
@@ -0,0 +1,417 @@
+package projects.caregiver_backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import projects.caregiver_backend.dtos.request.*;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.security.JwtService;
+import projects.caregiver_backend.service.DaySlots;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+import projects.caregiver_backend.service.ReviewService;
+import projects.caregiver_backend.support.PaystackStubServer;
+import projects.caregiver_backend.support.QueryBudget;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static projects.caregiver_backend.support.QueryBudget.limits;
+
+/**
+ * Drives every controller endpoint through the full filter chain against seeded
+ * data and holds each request to a query budget. The seed is wide (25 caregivers
+ * in one neighbourhood, 25 reviews, 30 ledger entries) so a query issued per row
+ * overshoots a budget many times over instead of by one.
+ * Authenticated calls carry a real JWT, so each budget includes the user lookup
+ * the filter does on every request.
+ */
+@SpringBootTest(properties = {
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTests {
+
+    private static final int CAREGIVERS = 25;
+    private static final int REVIEWS = 25;
+    private static final int LEDGER_ENTRIES = 30;
+
+    private static final String CITY = "Budgetville";
+    private static final String NEIGHBORHOOD = "Central";
+
+    // One-off admin batch whose cost grows with the caregivers it migrates, by design
+    private static final Set<String> UNBUDGETED = Set.of("POST /admin/availability/migrate-templates");
+
+    private static PaystackStubServer stubGateway;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private EarningsLedgerService earningsLedger;
+
+    @Autowired
+    private GatewayPayloadStore payloadStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Value("${paystack.secret.key}")
+    private String secretKey;
+
+    private QueryBudget budget;
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+    private List<UUID> caregiverIds;
+    private UUID caregiverId;
+    private UUID pendingCaregiverId;
+    private UUID completableBookingId;
+    private UUID payableBookingId;
+    private String paidReference;
+
+    private String customerToken;
+    private String reviewerToken;
+    private String caregiverToken;
+    private String secondCaregiverToken;
+    private String newcomerToken;
+    private String adminToken;
+
+    @DynamicPropertySource
+    static void stubPaystack(DynamicPropertyRegistry registry) throws IOException {
+        stubGateway = PaystackStubServer.start();
+        registry.add("paystack.base.url", stubGateway::baseUrl);
+    }
+
+    @AfterAll
+    void stopStub() {
+        stubGateway.close();
+    }
+
+    private record Endpoint(String label, QueryBudget.Limits limits, QueryBudget.Work call) {}
+
+    @TestFactory
+    Stream<DynamicTest> everyEndpointStaysWithinItsQueryBudget() {
+        return endpoints().stream().map(endpoint -> DynamicTest.dynamicTest(endpoint.label(), () ->
+                budget.measure(endpoint.call()).assertWithin(endpoint.label(), endpoint.limits())
+        ));
+    }
+
+    @Test
+    void everyEndpointHasABudget() {
+        Set<String> mapped = handlerMapping.getHandlerMethods().entrySet().stream()
+                .filter(e -> e.getValue().getBeanType().getPackageName()
+                        .equals(CaregiverSystemApplication.class.getPackageName() + ".controller"))
+                .flatMap(e -> labels(e.getKey()))
+                .collect(Collectors.toSet());
+
+        Set<String> covered = endpoints().stream().map(Endpoint::label).collect(Collectors.toCollection(HashSet::new));
+        covered.addAll(UNBUDGETED);
+
+        assertThat(covered).containsExactlyInAnyOrderElementsOf(mapped);
+    }
+
+    /**
+     * In order: later calls rely on what earlier ones created (the login uses the
+     * registered account)
+     */
+    private List<Endpoint> endpoints() {
+        return List.of(
+                new Endpoint("POST /auth/register", limits(3, 0, 0), () ->
+                        call(post("/auth/register"), null, new RegisterRequest(
+                                "budget-signup", "budget-signup@example.com", "signup-password"))),
+                new Endpoint("POST /auth/login", limits(1, 1, 0), () -> {
+                    LoginRequest login = new LoginRequest();
+                    login.setUsername("budget-signup");
+                    login.setPassword("signup-password");
+                    call(post("/auth/login"), null, login);
+                }),
+
+                // Public search: one select for the page whatever its size
+                new Endpoint("GET /caregivers/browse", limits(1, CAREGIVERS, 0), () ->
+                        call(get("/caregivers/browse").param("city", CITY).param("neighborhood", NEIGHBORHOOD), null, null)),
+                new Endpoint("POST /caregivers/search", limits(4, CAREGIVERS + 1, 0), () ->
+                        call(post("/caregivers/search"), customerToken, new CaregiverFilterRequest(
+                                CITY, NEIGHBORHOOD, null, null, null, tomorrow))),
+                new Endpoint("POST /caregivers/match", limits(5, 1, 0), () ->
+                        call(post("/caregivers/match"), customerToken, new CaregiverMatchRequest(
+                                CITY, NEIGHBORHOOD, tomorrow, LocalTime.of(9, 0), LocalTime.of(10, 0), null, 10))),
+                new Endpoint("GET /caregivers/top", limits(0, 0, 0), () ->
+                        call(get("/caregivers/top").param("city", CITY), null, null)),
+                new Endpoint("GET /caregivers/{id}/ratings", limits(1, 0, 0), () ->
+                        call(get("/caregivers/{id}/ratings", caregiverId), null, null)),
+
+                // Slot lookups load templates, windows and bookings in one query each
+                new Endpoint("GET /caregivers/{id}/slots", limits(3, 0, 0), () ->
+                        call(get("/caregivers/{id}/slots", caregiverId).param("date", tomorrow.toString()), null, null)),
+                new Endpoint("GET /caregivers/{id}/slots/check", limits(3, 0, 0), () ->
+                        call(get("/caregivers/{id}/slots/check", caregiverId)
+                                .param("date", tomorrow.toString())
+                                .param("startTime", "09:00")
+                                .param("endTime", "10:00"), null, null)),
+                new Endpoint("GET /caregivers/availability/grid", limits(3, 0, 0), () ->
+                        call(get("/caregivers/availability/grid")
+                                .param("caregiverIds", caregiverIds.stream().map(UUID::toString).toArray(String[]::new))
+                                .param("from", tomorrow.toString())
+                                .param("to", tomorrow.plusDays(6).toString()), null, null)),
+
+                // Customer flow
+                new Endpoint("POST /bookings", limits(8, 3, 0), () ->
+                        call(post("/bookings"), customerToken, new BookingRequest(
+                                caregiverId, tomorrow, LocalTime.of(14, 0), LocalTime.of(15, 0)))),
+                new Endpoint("POST /payments/init", limits(4, 2, 0), () ->
+                        call(post("/payments/init"), customerToken, new PaymentInitRequest(payableBookingId))),
+                new Endpoint("GET /payments/{reference}/status", limits(2, 1, 0), () -> {
+                    MvcResult started = mockMvc.perform(authorized(
+                                    get("/payments/{reference}/status", paidReference), customerToken))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+                    mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+                }),
+                new Endpoint("GET /payments/{reference}/status [text/event-stream]", limits(2, 1, 0), () -> {
+                    MvcResult started = mockMvc.perform(authorized(
+                                    get("/payments/{reference}/status", paidReference), customerToken)
+                                    .accept(MediaType.TEXT_EVENT_STREAM))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+                    assertThat(started.getResponse().getContentAsString()).contains("event:status");
+                }),
+                new Endpoint("POST /api/webhooks/paystack", limits(1, 0, 0), () -> {
+                    byte[] payload = ("{\"event\":\"charge.success\",\"data\":{\"id\":7001,\"reference\":\""
+                            + paidReference + "\",\"status\":\"success\"}}").getBytes(StandardCharsets.UTF_8);
+                    mockMvc.perform(post("/api/webhooks/paystack")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .header("x-paystack-signature", sign(payload))
+                                    .content(payload))
+                            .andExpect(status().isOk());
+                }),
+                new Endpoint("POST /reviews/{caregiverId}", limits(3, 1, 0), () ->
+                        call(post("/reviews/{caregiverId}", caregiverId), reviewerToken, new ReviewRequest(5, "Punctual"))),
+                new Endpoint("GET /reviews/{caregiverId}", limits(2, 1, 0), () ->
+                        call(get("/reviews/{caregiverId}", caregiverId).param("limit", "20"), reviewerToken, null)),
+
+                // Caregiver's own account
+                // Includes the read of the week's bookings, which stay available
+                new Endpoint("PUT /caregivers/me/availability/week", limits(6, 3, 0), () ->
+                        call(put("/caregivers/me/availability/week"), secondCaregiverToken, new WeeklyAvailabilityRequest(
+                                tomorrow.with(TemporalAdjusters.next(DayOfWeek.MONDAY)),
+                                Base64.getEncoder().encodeToString(new byte[7 * DaySlots.PACKED_BYTES])))),
+                new Endpoint("PUT /caregivers/me/availability/template", limits(5, 3, 0), () ->
+                        call(put("/caregivers/me/availability/template"), secondCaregiverToken, new AvailabilityTemplateRequest(
+                                List.of(new AvailabilityTemplateRequest.TemplateWindow(
+                                        DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(17, 0)))))),
+                new Endpoint("POST /caregivers/me/bookings/{id}/complete", limits(8, 3, 0), () ->
+                        call(post("/caregivers/me/bookings/{id}/complete", completableBookingId), caregiverToken, null)),
+                new Endpoint("GET /caregivers/me/earnings", limits(3, 1, 0), () ->
+                        call(get("/caregivers/me/earnings"), caregiverToken, null)),
+                new Endpoint("GET /caregivers/me/earnings/statement", limits(4, 21, 0), () ->
+                        call(get("/caregivers/me/earnings/statement").param("limit", "20"), caregiverToken, null)),
+                new Endpoint("PUT /caregivers/me/payout-account", limits(3, 1, 0), () ->
+                        call(put("/caregivers/me/payout-account"), caregiverToken,
+                                new PayoutAccountRequest("Budget Caregiver", "0123456789", "058"))),
+
+                // Onboarding has no hourly rate yet, so the insert is refused; the budget
+                // still holds the lookups in front of it
+                new Endpoint("POST /caregivers/onboard", limits(4, 2, 0), () ->
+                        mockMvc.perform(json(authorized(post("/caregivers/onboard"), newcomerToken),
+                                new CaregiverOnboardingRequest("New Comer", CITY, "Outskirts", "08000000000", null)))),
+                new Endpoint("PUT /caregivers/admin/caregivers/{id}/approve", limits(5, 3, 0), () ->
+                        call(put("/caregivers/admin/caregivers/{id}/approve", pendingCaregiverId), customerToken, null)),
+                new Endpoint("GET /admin/payments/{reference}/gateway-payload [application/json]", limits(3, 2, 0), () ->
+                        call(get("/admin/payments/{reference}/gateway-payload", paidReference), adminToken, null))
+        );
+    }
+
+    private void call(MockHttpServletRequestBuilder request, String token, Object body) throws Exception {
+        mockMvc.perform(json(authorized(request, token), body))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private static MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, String token) {
+        return token != null ? request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token) : request;
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return body != null
+                ? request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsBytes(body))
+                : request;
+    }
+
+    private static Stream<String> labels(RequestMappingInfo mapping) {
+        String produces = mapping.getProducesCondition().getProducibleMediaTypes().stream()
+                .map(MediaType::toString)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        String suffix = produces.isEmpty() ? "" : " [" + produces + "]";
+        return mapping.getMethodsCondition().getMethods().stream()
+                .flatMap(method -> mapping.getPatternValues().stream()
+                        .map(pattern -> method + " " + pattern + suffix));
+    }
+
+    private String sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        return HexFormat.of().formatHex(mac.doFinal(payload));
+    }
+
+    @BeforeAll
+    void seed() {
+        budget = new QueryBudget(entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+
+        User customer = seedUser("budget-customer", Role.USER);
+        User reviewer = seedUser("budget-reviewer", Role.USER);
+        User newcomer = seedUser("budget-newcomer", Role.CAREGIVER);
+        User admin = seedUser("budget-admin", Role.ADMIN);
+
+        caregiverIds = new ArrayList<>();
+        for (int i = 0; i < CAREGIVERS; i++) {
+            caregiverIds.add(seedCaregiver("budget-caregiver-" + i, NEIGHBORHOOD, OnboardingStatus.VERIFIED).getId());
+        }
+        caregiverId = caregiverIds.get(0);
+        pendingCaregiverId = seedCaregiver("budget-pending", "Outskirts", OnboardingStatus.PENDING).getId();
+
+        CaregiverAvailability window = new CaregiverAvailability();
+        window.setCaregiver(caregiverRepository.getReferenceById(caregiverId));
+        window.setDate(tomorrow);
+        window.setStartTime(LocalTime.of(8, 0));
+        window.setEndTime(LocalTime.of(18, 0));
+        availabilityRepository.save(window);
+
+        for (int i = 0; i < REVIEWS; i++) {
+            User fan = seedUser("budget-fan-" + i, Role.USER);
+            reviewService.createReview(fan.getId(), fan.getUsername(), caregiverId.toString(),
+                    new ReviewRequest(i % 5 + 1, "Review " + i));
+        }
+
+        List<EarningsLedgerService.Posting> postings = new ArrayList<>();
+        for (int i = 0; i < LEDGER_ENTRIES; i++) {
+            postings.add(new EarningsLedgerService.Posting(
+                    caregiverId, LedgerEntryType.BOOKING_PAID, "budget-seed-" + i, 10_000, 0, Money.NGN
+            ));
+        }
+        earningsLedger.post(postings);
+
+        Booking completable = seedBooking(customer, LocalDate.now().minusDays(1), LocalTime.of(9, 0), BookingStatus.PAID);
+        completableBookingId = completable.getId();
+        payableBookingId = seedBooking(customer, tomorrow, LocalTime.of(16, 0), BookingStatus.PENDING).getId();
+
+        Payment paid = new Payment();
+        paid.setBooking(completable);
+        paid.setAmount(completable.getTotalAmount());
+        paid.setStatus(PaymentStatus.SUCCESS);
+        paid.setReference("budget_paid_" + UUID.randomUUID().toString().replace("-", ""));
+        paid.setPaidAt(LocalDateTime.now().minusDays(1));
+        paidReference = paymentRepository.save(paid).getReference();
+        payloadStore.save(paid.getId(), GatewayPayloadStore.SOURCE_WEBHOOK,
+                "{\"reference\":\"" + paidReference + "\",\"status\":\"success\"}");
+
+        customerToken = jwtService.generateToken(customer.getUsername(), Role.USER.name());
+        reviewerToken = jwtService.generateToken(reviewer.getUsername(), Role.USER.name());
+        newcomerToken = jwtService.generateToken(newcomer.getUsername(), Role.CAREGIVER.name());
+        caregiverToken = jwtService.generateToken("budget-caregiver-0", Role.CAREGIVER.name());
+        secondCaregiverToken = jwtService.generateToken("budget-caregiver-1", Role.CAREGIVER.name());
+        adminToken = jwtService.generateToken(admin.getUsername(), Role.ADMIN.name());
+    }
+
+    private User seedUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Caregiver seedCaregiver(String username, String neighborhood, OnboardingStatus status) {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(seedUser(username, Role.CAREGIVER));
+        caregiver.setFullName("Budget Caregiver " + username);
+        caregiver.setCity(CITY);
+        caregiver.setNeighborhood(neighborhood);
+        caregiver.setPhone("08000000000");
+        caregiver.setVerified(status == OnboardingStatus.VERIFIED);
+        caregiver.setOnboardingStatus(status);
+        caregiver.setHourlyRate(Money.ofMajor(new BigDecimal("2000.00"), Money.NGN));
+        return caregiverRepository.save(caregiver);
+    }
+
+    private Booking seedBooking(User customer, LocalDate date, LocalTime start, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiverRepository.getReferenceById(caregiverId));
+        booking.setDate(date);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(2));
+        booking.setStatus(status);
+        booking.setTotalAmount(Money.ofMinor(400_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now().minusDays(2));
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,186 @@
+package projects.caregiver_backend;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.dtos.response.BookingResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.BookingService;
+import projects.caregiver_backend.service.CaregiverService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Every association is lazy; each use case pulls in only what its entity graph
+ * names. These tests count entity loads and secondary fetches per use case so an
+ * association drifting back to eager, or a graph going missing, shows up as N+1.
+ * Statistics are global, so the scheduled jobs are parked for the whole class.
+ */
+@SpringBootTest(properties = {
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H"
+})
+@ActiveProfiles("test")
+class FetchPlanTests {
+
+    private static final int CAREGIVERS = 5;
+
+    @Autowired
+    private CaregiverService caregiverService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void browsingCaregiversLeavesTheirUsersUnloaded() {
+        for (int i = 0; i < CAREGIVERS; i++) {
+            seedCaregiver("fetch-browse-" + i, "Ikeja");
+        }
+        statistics.clear();
+
+        assertThat(caregiverService.browseCaregivers("Lagos", "Ikeja")).hasSize(CAREGIVERS);
+
+        // One select for the page; the eager one-to-one used to add one per caregiver
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(loads(Caregiver.class)).isEqualTo(CAREGIVERS);
+        assertThat(loads(User.class)).isZero();
+    }
+
+    @Test
+    void completingABookingFetchesItsCaregiverInTheSameSelect() {
+        Caregiver caregiver = seedCaregiver("fetch-complete", "Surulere");
+        Booking booking = seedBooking(caregiver, seedUser("fetch-complete-customer", Role.USER));
+        statistics.clear();
+
+        BookingResponse response = bookingService.completeBooking("fetch-complete", booking.getId());
+
+        assertThat(response.status()).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(response.caregiverName()).isEqualTo(caregiver.getFullName());
+        assertThat(loads(Booking.class)).isEqualTo(1);
+        assertThat(loads(Caregiver.class)).isEqualTo(1);
+        assertThat(statistics.getEntityStatistics(Caregiver.class.getName()).getFetchCount()).isZero();
+        assertThat(loads(User.class)).isZero();
+    }
+
+    @Test
+    void settlementFetchesBookingsWithTheirPayments() {
+        Caregiver caregiver = seedCaregiver("fetch-settle", "Lekki");
+        User customer = seedUser("fetch-settle-customer", Role.USER);
+        List<String> references = List.of(
+                seedPayment(seedBooking(caregiver, customer)).getReference(),
+                seedPayment(seedBooking(caregiver, customer)).getReference()
+        );
+        statistics.clear();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Payment> payments = paymentRepository.findWithBookingByReferenceIn(references);
+            assertThat(payments).hasSize(2)
+                    .allSatisfy(p -> assertThat(Hibernate.isInitialized(p.getBooking())).isTrue());
+        });
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(loads(Booking.class)).isEqualTo(2);
+        assertThat(loads(Caregiver.class)).isZero();
+        assertThat(loads(User.class)).isZero();
+
+        // Without the graph the booking stays a proxy
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            Payment payment = paymentRepository.findByReference(references.get(0)).orElseThrow();
+            assertThat(Hibernate.isInitialized(payment.getBooking())).isFalse();
+        });
+        assertThat(loads(Booking.class)).isZero();
+    }
+
+    private long loads(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    private User seedUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Caregiver seedCaregiver(String username, String neighborhood) {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(seedUser(username, Role.CAREGIVER));
+        caregiver.setFullName("Fetch Caregiver " + username);
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood(neighborhood);
+        caregiver.setPhone("08000000000");
+        caregiver.setVerified(true);
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        return caregiverRepository.save(caregiver);
+    }
+
+    private Booking seedBooking(Caregiver caregiver, User customer) {
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(LocalDate.now().minusDays(1));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(11, 0));
+        booking.setStatus(BookingStatus.PAID);
+        booking.setTotalAmount(Money.ofMinor(400_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now().minusDays(2));
+        return bookingRepository.save(booking);
+    }
+
+    private Payment seedPayment(Booking booking) {
+        Payment payment = new Payment();
+        payment.setBooking(booking);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setReference("fetch_" + UUID.randomUUID().toString().replace("-", ""));
+        return paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,124 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.GatewayPayloadBackfill;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * The backfill is switched on for this context, so the context starting at all
+ * shows it skips a fresh schema without payments.gateway_response. The test then
+ * adds the legacy column and checks a payload moves out of it. Runs on its own
+ * in-memory database so the altered table stays out of the other tests.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:backfilldb;DB_CLOSE_DELAY=-1",
+        "payments.gateway-payload.backfill=true",
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H"
+})
+@ActiveProfiles("test")
+class GatewayPayloadBackfillTests {
+
+    @Autowired
+    private GatewayPayloadBackfill backfill;
+
+    @Autowired
+    private GatewayPayloadStore payloadStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Test
+    void movesLegacyPayloadsOnceTheColumnExists() {
+        Payment payment = seedPayment();
+        String json = "{\"id\":4242,\"reference\":\"backfill-1\",\"status\":\"success\"}";
+
+        jdbcTemplate.execute("ALTER TABLE payments ADD COLUMN gateway_response VARCHAR(100000)");
+        try {
+            jdbcTemplate.update("UPDATE payments SET gateway_response = ? WHERE id = ?", json, payment.getId());
+
+            backfill.run(new DefaultApplicationArguments());
+
+            assertThat(payloadStore.latest(payment.getId())).contains(json);
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM payments WHERE gateway_response IS NOT NULL", Long.class)).isZero();
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE payments DROP COLUMN gateway_response");
+        }
+    }
+
+    private Payment seedPayment() {
+        User customer = new User();
+        customer.setUsername("backfill-customer");
+        customer.setEmail("backfill-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername("backfill-caregiver");
+        caregiverUser.setEmail("backfill-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Backfill Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setStatus(BookingStatus.PAID);
+        booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now());
+        bookingRepository.save(booking);
+
+        Payment payment = new Payment();
+        payment.setBooking(booking);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setStatus(PaymentStatus.SUCCESS);
+        payment.setReference("backfill-1");
+        payment.setPaidAt(LocalDateTime.now());
+        return paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,60 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The Prometheus scrape authenticates with its own Basic credential, which opens
+ * nothing else under /actuator
+ */
+@SpringBootTest(properties = {
+        "metrics.scrape.username=scraper",
+        "metrics.scrape.password=scrape-secret",
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H",
+        "payouts.cron=-"
+})
+@AutoConfigureMockMvc
+// Tests leave the Prometheus registry out unless asked for it
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricsScrapeSecurityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void scrapeAcceptsItsCredential() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("jvm_memory_used_bytes")));
+    }
+
+    @Test
+    void scrapeRejectsMissingOrWrongCredential() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void scrapeCredentialOpensNoOtherEndpoint() throws Exception {
+        mockMvc.perform(get("/actuator/info").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
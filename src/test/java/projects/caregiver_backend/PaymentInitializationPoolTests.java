@@ -0,0 +1,181 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import projects.caregiver_backend.dtos.request.BookingRequest;
+import projects.caregiver_backend.dtos.response.BookingResponse;
+import projects.caregiver_backend.dtos.response.CaregiverResponse;
+import projects.caregiver_backend.dtos.response.PaymentInitResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.BookingService;
+import projects.caregiver_backend.service.CaregiverService;
+import projects.caregiver_backend.service.PaystackService;
+import projects.caregiver_backend.support.PaystackStubServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Payment initialisation against a stub Paystack that hangs until released.
+ * With a two-connection pool, three hanging payment calls must not stop
+ * search and booking from getting a connection.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@ActiveProfiles("test")
+class PaymentInitializationPoolTests {
+
+    private static final int HANGING_PAYMENTS = 3;
+
+    private static PaystackStubServer stubGateway;
+
+    @Autowired
+    private PaystackService paystackService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CaregiverService caregiverService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private AvailabilityRepository availabilityRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @DynamicPropertySource
+    static void stubPaystack(DynamicPropertyRegistry registry) throws IOException {
+        stubGateway = PaystackStubServer.start();
+        stubGateway.hold();
+        registry.add("paystack.base.url", stubGateway::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubGateway.close();
+    }
+
+    @Test
+    void bookingAndSearchStayFastWhilePaystackHangs() throws Exception {
+        Caregiver caregiver = seedCaregiver();
+        User customer = seedUser("pool-customer", Role.USER);
+        LocalDate date = LocalDate.now().plusDays(1);
+
+        List<Booking> pendingBookings = new ArrayList<>();
+        for (int i = 0; i < HANGING_PAYMENTS; i++) {
+            pendingBookings.add(seedBooking(customer, caregiver, date, LocalTime.of(8 + i, 0)));
+        }
+
+        ExecutorService callers = Executors.newFixedThreadPool(HANGING_PAYMENTS);
+        List<Future<PaymentInitResponse>> payments = new ArrayList<>();
+        for (Booking booking : pendingBookings) {
+            payments.add(callers.submit(() ->
+                    paystackService.initializePayment(booking.getId(), "customer@example.com")
+            ));
+        }
+
+        // More payments than pooled connections are waiting on Paystack at once
+        assertThat(stubGateway.awaitRequests(HANGING_PAYMENTS, Duration.ofSeconds(10))).isTrue();
+
+        long started = System.nanoTime();
+        List<CaregiverResponse> found = caregiverService.browseCaregivers("Pooltown", "Central");
+        BookingResponse booking = bookingService.createBooking(
+                customer.getUsername(),
+                new BookingRequest(caregiver.getId(), date, LocalTime.of(14, 0), LocalTime.of(15, 0))
+        );
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertThat(found).extracting(CaregiverResponse::id).contains(caregiver.getId());
+        assertThat(booking.status()).isEqualTo(BookingStatus.PENDING);
+        assertThat(elapsedMs).isLessThan(1000);
+
+        stubGateway.release();
+
+        for (Future<PaymentInitResponse> payment : payments) {
+            PaymentInitResponse response = payment.get(10, TimeUnit.SECONDS);
+            assertThat(response.authorizationUrl()).endsWith("/checkout/" + response.reference());
+            assertThat(paymentRepository.findByReference(response.reference()))
+                    .get()
+                    .extracting(Payment::getAuthorizationUrl)
+                    .isEqualTo(response.authorizationUrl());
+        }
+        callers.shutdown();
+    }
+
+    private User seedUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Caregiver seedCaregiver() {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(seedUser("pool-caregiver", Role.CAREGIVER));
+        caregiver.setFullName("Pool Caregiver");
+        caregiver.setCity("Pooltown");
+        caregiver.setNeighborhood("Central");
+        caregiver.setPhone("08000000000");
+        caregiver.setVerified(true);
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        CaregiverAvailability window = new CaregiverAvailability();
+        window.setCaregiver(caregiver);
+        window.setDate(LocalDate.now().plusDays(1));
+        window.setStartTime(LocalTime.of(8, 0));
+        window.setEndTime(LocalTime.of(18, 0));
+        availabilityRepository.save(window);
+
+        return caregiver;
+    }
+
+    private Booking seedBooking(User customer, Caregiver caregiver, LocalDate date, LocalTime start) {
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(date);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(1));
+        booking.setStatus(BookingStatus.PENDING);
+        booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now());
+        return bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,162 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.PaymentReconciliationService;
+import projects.caregiver_backend.support.PaystackStubServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Reconciles a backlog of stale pending payments against the stub gateway.
+ * Every tenth transaction was abandoned and every tenth is still open; the
+ * rest succeeded. Gateway concurrency must stay within the configured bound.
+ */
+@SpringBootTest(properties = {
+        "payments.reconciliation.initial-delay=PT1H",
+        "payments.reconciliation.chunk-size=250",
+        "payments.reconciliation.concurrency=8"
+})
+@ActiveProfiles("test")
+class PaymentReconciliationTests {
+
+    private static final int PAYMENTS = 3_000;
+
+    private static PaystackStubServer stubGateway;
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @DynamicPropertySource
+    static void stubPaystack(DynamicPropertyRegistry registry) throws IOException {
+        stubGateway = PaystackStubServer.start();
+        stubGateway.setLatency(Duration.ofMillis(5));
+        registry.add("paystack.base.url", stubGateway::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubGateway.close();
+    }
+
+    @Test
+    void reconcilesStalePendingPayments() {
+        List<String> references = seedStalePayments();
+        for (int i = 0; i < PAYMENTS; i++) {
+            if (i % 10 == 3) stubGateway.setVerifyStatus(references.get(i), "abandoned");
+            if (i % 10 == 7) stubGateway.setVerifyStatus(references.get(i), "ongoing");
+        }
+
+        PaymentReconciliationService.Result result = reconciliationService.reconcile();
+
+        assertThat(result.scanned()).isEqualTo(PAYMENTS);
+        assertThat(result.succeeded()).isEqualTo(PAYMENTS * 8 / 10);
+        assertThat(result.failed()).isEqualTo(PAYMENTS / 10);
+        assertThat(result.unresolved()).isEqualTo(PAYMENTS / 10);
+        // Verified in parallel, but never past the configured bound
+        assertThat(stubGateway.maxConcurrentRequests()).isBetween(2, 8);
+
+        Payment paid = paymentRepository.findByReference(references.get(0)).orElseThrow();
+        assertThat(paid.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        assertThat(bookingRepository.findById(paid.getBooking().getId()).orElseThrow().getStatus())
+                .isEqualTo(BookingStatus.PAID);
+        assertThat(paymentRepository.findByReference(references.get(3)).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.FAILED);
+        assertThat(paymentRepository.findByReference(references.get(7)).orElseThrow().getStatus())
+                .isEqualTo(PaymentStatus.PENDING);
+
+        // Only the still-open transactions are looked at again
+        int requestsBefore = stubGateway.requestCount();
+        assertThat(reconciliationService.reconcile().scanned()).isEqualTo(PAYMENTS / 10);
+        assertThat(stubGateway.requestCount() - requestsBefore).isEqualTo(PAYMENTS / 10);
+    }
+
+    private List<String> seedStalePayments() {
+        User customer = new User();
+        customer.setUsername("reconcile-customer");
+        customer.setEmail("reconcile-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername("reconcile-caregiver");
+        caregiverUser.setEmail("reconcile-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Reconcile Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        List<Booking> bookings = new ArrayList<>(PAYMENTS);
+        for (int i = 0; i < PAYMENTS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(customer);
+            booking.setCaregiver(caregiver);
+            booking.setDate(LocalDate.now().plusDays(1 + i / 10));
+            booking.setStartTime(LocalTime.of(8 + i % 10, 0));
+            booking.setEndTime(LocalTime.of(9 + i % 10, 0));
+            booking.setStatus(BookingStatus.ACCEPTED);
+            booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+            booking.setCreatedAt(LocalDateTime.now());
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        // A few share a timestamp so the keyset has to break ties on id
+        LocalDateTime createdAt = LocalDateTime.now().minusHours(3);
+        List<Payment> payments = new ArrayList<>(PAYMENTS);
+        List<String> references = new ArrayList<>(PAYMENTS);
+        for (int i = 0; i < PAYMENTS; i++) {
+            Payment payment = new Payment();
+            payment.setBooking(bookings.get(i));
+            payment.setAmount(bookings.get(i).getTotalAmount());
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setReference("reconcile-" + i);
+            payment.setCreatedAt(createdAt.plusSeconds(i / 3));
+            payments.add(payment);
+            references.add(payment.getReference());
+        }
+        paymentRepository.saveAll(payments);
+
+        return references;
+    }
+}
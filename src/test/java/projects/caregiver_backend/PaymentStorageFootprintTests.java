@@ -0,0 +1,172 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+import projects.caregiver_backend.support.PaystackPayloads;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Storage cost of gateway payloads, inline versus the compressed side table.
+ * "Before" is a legacy-shaped payments table carrying the raw payload on every row;
+ * "after" is the real payments table plus payment_gateway_payloads.
+ * Defaults to 20k payments; run the full comparison with -Dfootprint.payments=1000000.
+ * On PostgreSQL compare pg_total_relation_size('payments') for the on-disk figure.
+ * Lookup latency over the same two layouts is benchmark.PaymentLookupBenchmark.
+ */
+@SpringBootTest(properties = "payments.reconciliation.initial-delay=PT1H")
+@ActiveProfiles("test")
+class PaymentStorageFootprintTests {
+
+    private static final int PAYMENTS = Integer.getInteger("footprint.payments", 20_000);
+    private static final int CHUNK = 1_000;
+
+    @Autowired
+    private GatewayPayloadStore payloadStore;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compressedSideTableShrinksPaymentRows() {
+        Booking booking = seedBooking();
+        jdbcTemplate.execute("""
+            CREATE TABLE legacy_payments (
+                id UUID PRIMARY KEY,
+                booking_id UUID NOT NULL,
+                amount NUMERIC(38, 2) NOT NULL,
+                status VARCHAR(16),
+                reference VARCHAR(255) NOT NULL UNIQUE,
+                authorization_url VARCHAR(255),
+                gateway_response VARCHAR(1000000),
+                paid_at TIMESTAMP,
+                created_at TIMESTAMP
+            )
+        """);
+
+        try {
+            measure(booking);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE legacy_payments");
+        }
+    }
+
+    private void measure(Booking booking) {
+        for (int from = 0; from < PAYMENTS; from += CHUNK) {
+            int start = from;
+            transactionTemplate.executeWithoutResult(status -> seedChunk(booking, start));
+        }
+
+        long inlineBytes = jdbcTemplate.queryForObject(
+                "SELECT SUM(OCTET_LENGTH(gateway_response)) FROM legacy_payments", Long.class);
+        Map<String, Object> side = jdbcTemplate.queryForMap(
+                "SELECT SUM(OCTET_LENGTH(body)) AS compressed, SUM(raw_size) AS raw FROM payment_gateway_payloads");
+        long compressedBytes = ((Number) side.get("compressed")).longValue();
+        assertThat(((Number) side.get("raw")).longValue()).isEqualTo(inlineBytes);
+        assertThat(compressedBytes).isLessThan(inlineBytes / 3);
+
+        String reference = "footprint-" + (PAYMENTS - 1);
+        Payment payment = paymentRepository.findByReference(reference).orElseThrow();
+        assertThat(payloadStore.latest(payment.getId())).get().asString().contains(reference);
+    }
+
+    private void seedChunk(Booking booking, int from) {
+        int to = Math.min(from + CHUNK, PAYMENTS);
+        List<Payment> payments = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Payment payment = new Payment();
+            payment.setBooking(booking);
+            payment.setAmount(Money.ofMinor(200_000, Money.NGN));
+            payment.setStatus(PaymentStatus.SUCCESS);
+            payment.setReference("footprint-" + i);
+            payment.setGatewayTransactionId(String.valueOf(300_000 + i));
+            payment.setPaidAt(LocalDateTime.now());
+            payments.add(payment);
+        }
+        paymentRepository.saveAll(payments);
+
+        List<Object[]> legacyRows = new ArrayList<>(payments.size());
+        for (Payment payment : payments) {
+            String json = PaystackPayloads.chargeData(payment.getReference(), payment.getGatewayTransactionId());
+            payloadStore.save(payment.getId(), GatewayPayloadStore.SOURCE_WEBHOOK, json);
+            legacyRows.add(new Object[]{
+                    payment.getId(), booking.getId(), payment.getAmount().toMajor(), payment.getStatus().name(),
+                    payment.getReference(), json, payment.getPaidAt(), payment.getCreatedAt()
+            });
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO legacy_payments
+                (id, booking_id, amount, status, reference, gateway_response, paid_at, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """, legacyRows);
+    }
+
+    private Booking seedBooking() {
+        User customer = new User();
+        customer.setUsername("footprint-customer");
+        customer.setEmail("footprint-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername("footprint-caregiver");
+        caregiverUser.setEmail("footprint-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Footprint Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setStatus(BookingStatus.PAID);
+        booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now());
+        return bookingRepository.save(booking);
+    }
+}
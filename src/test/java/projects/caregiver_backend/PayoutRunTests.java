@@ -0,0 +1,160 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PayoutRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.PaystackService;
+import projects.caregiver_backend.service.PayoutService;
+import projects.caregiver_backend.service.WebhookInboxService;
+import projects.caregiver_backend.support.PaystackStubServer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Pays out 250 caregivers against the stub gateway: three bulk requests instead of
+ * 250 single transfers, then a failed-transfer webhook puts one amount back.
+ */
+@SpringBootTest(properties = {
+        "payouts.batch-size=100",
+        "payouts.concurrency=2",
+        "payouts.minimum-amount=1000.00",
+        "webhooks.inbox.poll-interval=PT1H"
+})
+@ActiveProfiles("test")
+class PayoutRunTests {
+
+    private static final int CAREGIVERS = 250;
+
+    private static PaystackStubServer stubGateway;
+
+    @Autowired
+    private PayoutService payoutService;
+
+    @Autowired
+    private EarningsLedgerService earningsLedger;
+
+    @Autowired
+    private PaystackService paystackService;
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private PayoutRepository payoutRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Value("${paystack.secret.key}")
+    private String secretKey;
+
+    @DynamicPropertySource
+    static void stubPaystack(DynamicPropertyRegistry registry) throws IOException {
+        stubGateway = PaystackStubServer.start();
+        stubGateway.setLatency(Duration.ofMillis(20));
+        registry.add("paystack.base.url", stubGateway::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubGateway.close();
+    }
+
+    @Test
+    void paysOutInBulkAndReturnsFailedTransfers() throws Exception {
+        List<UUID> caregiverIds = seedCaregiversWithEarnings();
+
+        PayoutService.Result result = payoutService.run();
+
+        assertThat(result).isEqualTo(new PayoutService.Result(CAREGIVERS, CAREGIVERS, 3, 0));
+        assertThat(stubGateway.bulkTransferRequests()).isEqualTo(3);
+        assertThat(stubGateway.largestBulkTransfer()).isEqualTo(100);
+        assertThat(stubGateway.transferReferences()).hasSize(CAREGIVERS);
+        assertThat(stubGateway.maxConcurrentRequests()).isLessThanOrEqualTo(2);
+        assertThat(payoutRepository.findAll())
+                .allSatisfy(p -> assertThat(p.getStatus()).isEqualTo(PayoutStatus.SUBMITTED));
+        assertThat(earningsLedger.balances(caregiverIds).values())
+                .allSatisfy(b -> assertThat(b.available().minorUnits()).isZero());
+
+        // A second run finds nothing to pay
+        assertThat(payoutService.run()).isEqualTo(new PayoutService.Result(0, 0, 0, 0));
+
+        Payout failed = payoutRepository.findAll().get(0);
+        deliverWebhook("{\"event\":\"transfer.failed\",\"data\":{\"id\":901,\"reference\":\""
+                + failed.getReference() + "\",\"transfer_code\":\"" + failed.getTransferCode() + "\"}}");
+        webhookInboxService.drain();
+
+        assertThat(payoutRepository.findById(failed.getId()))
+                .get()
+                .extracting(Payout::getStatus)
+                .isEqualTo(PayoutStatus.FAILED);
+        assertThat(earningsLedger.balances(List.of(failed.getCaregiverId())).get(failed.getCaregiverId()).available())
+                .isEqualTo(failed.getAmount());
+    }
+
+    private void deliverWebhook(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        byte[] body = payload.getBytes(StandardCharsets.UTF_8);
+        paystackService.handleWebhook(body, HexFormat.of().formatHex(mac.doFinal(body)));
+    }
+
+    private List<UUID> seedCaregiversWithEarnings() {
+        List<UUID> ids = new ArrayList<>(CAREGIVERS);
+        List<EarningsLedgerService.Posting> postings = new ArrayList<>();
+
+        for (int i = 0; i < CAREGIVERS; i++) {
+            User user = new User();
+            user.setUsername("payout-caregiver-" + i);
+            user.setEmail("payout-caregiver-" + i + "@example.com");
+            user.setPassword("password");
+            user.setRole(Role.CAREGIVER);
+            userRepository.save(user);
+
+            Caregiver caregiver = new Caregiver();
+            caregiver.setUser(user);
+            caregiver.setFullName("Payout Caregiver " + i);
+            caregiver.setCity("Lagos");
+            caregiver.setNeighborhood("Yaba");
+            caregiver.setPhone("08000000000");
+            caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+            caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+            caregiver.setPayoutRecipientCode("RCP_" + i);
+            UUID id = caregiverRepository.save(caregiver).getId();
+            ids.add(id);
+
+            long earned = 200_000 + 1_000L * i;
+            postings.add(new EarningsLedgerService.Posting(
+                    id, LedgerEntryType.BOOKING_PAID, "seed-paid-" + i, earned, 0, Money.NGN
+            ));
+            postings.add(new EarningsLedgerService.Posting(
+                    id, LedgerEntryType.BOOKING_COMPLETED, "seed-done-" + i, -earned, earned, Money.NGN
+            ));
+        }
+        earningsLedger.post(postings);
+        return ids;
+    }
+}
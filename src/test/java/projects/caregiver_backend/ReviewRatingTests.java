@@ -0,0 +1,201 @@
+package projects.caregiver_backend;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import projects.caregiver_backend.dtos.request.ReviewRequest;
+import projects.caregiver_backend.dtos.response.CaregiverResponse;
+import projects.caregiver_backend.dtos.response.LeaderboardEntryResponse;
+import projects.caregiver_backend.dtos.response.RatingSummaryResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.CaregiverRankingService;
+import projects.caregiver_backend.service.CaregiverRatingService;
+import projects.caregiver_backend.service.CaregiverService;
+import projects.caregiver_backend.service.ReviewService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Reviews one caregiver from many threads at once and checks that the counters
+ * on the caregiver row match the reviews written, in the summary and in browse;
+ * then counts the statements a single review submission issues.
+ */
+@SpringBootTest(properties = {
+        "reviews.ranking.initial-delay=PT1H",
+        "webhooks.inbox.poll-interval=PT1H",
+        "payments.reconciliation.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReviewRatingTests {
+
+    private static final int REVIEWERS = 60;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CaregiverRatingService ratingService;
+
+    @Autowired
+    private CaregiverService caregiverService;
+
+    @Autowired
+    private CaregiverRankingService rankingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void concurrentReviewsKeepCountersExact() throws Exception {
+        UUID caregiverId = seedCaregiver("rating-caregiver").getId();
+        rankingService.refresh(caregiverId);
+        List<User> reviewers = new ArrayList<>();
+        for (int i = 0; i < REVIEWERS; i++) {
+            reviewers.add(seedUser("rating-reviewer-" + i, Role.USER));
+        }
+
+        // Cache the empty summary so the writes below must invalidate it
+        assertThat(ratingService.summary(caregiverId).reviewCount()).isZero();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < REVIEWERS; i++) {
+            User reviewer = reviewers.get(i);
+            int stars = i % 5 + 1;
+            writes.add(pool.submit(() -> reviewService.createReview(
+                    reviewer.getId(),
+                    reviewer.getUsername(),
+                    caregiverId.toString(),
+                    new ReviewRequest(stars, "Review by " + reviewer.getUsername())
+            )));
+        }
+        for (Future<?> write : writes) write.get();
+        pool.shutdown();
+
+        // Twelve reviews of each star
+        long perStar = REVIEWERS / 5;
+        RatingSummaryResponse summary = ratingService.summary(caregiverId);
+        assertThat(summary.reviewCount()).isEqualTo(REVIEWERS);
+        assertThat(summary.averageRating()).isEqualTo(3.0);
+        assertThat(summary.histogram()).containsExactly(
+                entry(1, perStar), entry(2, perStar), entry(3, perStar), entry(4, perStar), entry(5, perStar)
+        );
+
+        CaregiverResponse card = caregiverService.browseCaregivers("Ibadan", "Bodija").stream()
+                .filter(c -> c.id().equals(caregiverId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(card.reviewCount()).isEqualTo(REVIEWERS);
+        assertThat(card.averageRating()).isEqualTo(3.0);
+        assertThat(card.ratingHistogram()).isEqualTo(summary.histogram());
+
+        // The leaderboard counted every committed review in memory, and a rebuild agrees
+        LeaderboardEntryResponse ranked = rankingService.top("Ibadan", 10).stream()
+                .filter(e -> e.caregiverId().equals(caregiverId))
+                .findFirst()
+                .orElseThrow();
+        assertThat(ranked.reviewCount()).isEqualTo(REVIEWERS);
+        rankingService.rebuild();
+        assertThat(rankingService.top("Ibadan", 10))
+                .filteredOn(e -> e.caregiverId().equals(caregiverId))
+                .singleElement()
+                .extracting(LeaderboardEntryResponse::reviewCount)
+                .isEqualTo((long) REVIEWERS);
+    }
+
+    @Test
+    void reviewSubmissionIssuesTwoStatements() {
+        Caregiver caregiver = seedCaregiver("statement-caregiver");
+        User reviewer = seedUser("statement-reviewer", Role.USER);
+        String caregiverId = caregiver.getId().toString();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        reviewService.createReview(reviewer.getId(), reviewer.getUsername(), caregiverId, new ReviewRequest(4, "Kind"));
+
+        // The counter UPDATE and the review INSERT
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        // Duplicates and self-reviews are refused and leave the counters alone
+        assertThatThrownBy(() -> reviewService.createReview(
+                reviewer.getId(), reviewer.getUsername(), caregiverId, new ReviewRequest(1, "Again")
+        ))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("You already reviewed this caregiver");
+        assertThatThrownBy(() -> reviewService.createReview(
+                caregiver.getUser().getId(), caregiver.getUser().getUsername(), caregiverId, new ReviewRequest(5, "Me")
+        ))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("You cannot review yourself");
+        assertThatThrownBy(() -> reviewService.createReview(
+                reviewer.getId(), reviewer.getUsername(), UUID.randomUUID().toString(), new ReviewRequest(5, "Who")
+        ))
+                .hasMessageContaining("Caregiver not found");
+
+        RatingSummaryResponse summary = ratingService.summary(caregiver.getId());
+        assertThat(summary.reviewCount()).isEqualTo(1);
+        assertThat(summary.histogram()).containsEntry(4, 1L);
+    }
+
+    @Test
+    void savingACaregiverLoadedBeforeAReviewKeepsTheCounters() {
+        Caregiver stale = seedCaregiver("stale-caregiver");
+        User reviewer = seedUser("stale-reviewer", Role.USER);
+
+        reviewService.createReview(
+                reviewer.getId(), reviewer.getUsername(), stale.getId().toString(), new ReviewRequest(5, "Great")
+        );
+
+        // As the admin verify endpoint does, with the counters it loaded still at zero
+        stale.setVerified(false);
+        caregiverRepository.save(stale);
+
+        RatingSummary ratings = caregiverRepository.findById(stale.getId()).orElseThrow().getRatings();
+        assertThat(ratings.reviewCount()).isEqualTo(1);
+        assertThat(ratings.fiveStar()).isEqualTo(1);
+    }
+
+    private User seedUser(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Caregiver seedCaregiver(String username) {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(seedUser(username, Role.CAREGIVER));
+        caregiver.setFullName("Rating Caregiver");
+        caregiver.setCity("Ibadan");
+        caregiver.setNeighborhood("Bodija");
+        caregiver.setPhone("08000000000");
+        caregiver.setVerified(true);
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        return caregiverRepository.save(caregiver);
+    }
+}
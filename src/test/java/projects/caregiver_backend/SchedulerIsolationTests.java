@@ -0,0 +1,159 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.PaymentReconciliationService;
+import projects.caregiver_backend.service.WebhookInboxService;
+import projects.caregiver_backend.support.PaystackStubServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * A reconciliation run holds the only thread of the shared scheduler while the
+ * gateway is parked; the scheduled webhook drain must still settle a payment,
+ * well within the gateway deadline that would eventually free the thread.
+ */
+@SpringBootTest(properties = {
+        "spring.task.scheduling.pool.size=1",
+        "webhooks.inbox.poll-interval=PT0.1S",
+        "payments.reconciliation.min-age=PT0S",
+        "payments.reconciliation.initial-delay=PT1H",
+        "reviews.ranking.initial-delay=PT1H",
+        "idempotency.purge-interval=PT1H",
+        "payouts.cron=-"
+})
+@ActiveProfiles("test")
+class SchedulerIsolationTests {
+
+    private static PaystackStubServer stubGateway;
+
+    @Autowired
+    @Qualifier("taskScheduler")
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @DynamicPropertySource
+    static void stubPaystack(DynamicPropertyRegistry registry) throws IOException {
+        stubGateway = PaystackStubServer.start();
+        registry.add("paystack.base.url", stubGateway::baseUrl);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stubGateway.close();
+    }
+
+    @Test
+    void webhookDrainKeepsRunningDuringReconciliation() throws Exception {
+        seedPendingPayment("isolation-stale", 9);
+        seedPendingPayment("isolation-webhook", 11);
+
+        stubGateway.hold();
+        ScheduledFuture<?> reconciliation = taskScheduler.schedule(reconciliationService::scheduledRun, Instant.now());
+        try {
+            assertThat(stubGateway.awaitRequests(1, Duration.ofSeconds(10))).isTrue();
+
+            String payload = "{\"event\":\"charge.success\",\"data\":{\"id\":77,"
+                    + "\"reference\":\"isolation-webhook\",\"amount\":200000,\"status\":\"success\"}}";
+            webhookInboxService.append(payload.getBytes(StandardCharsets.UTF_8));
+
+            assertThat(awaitStatus("isolation-webhook", PaymentStatus.SUCCESS, Duration.ofSeconds(5))).isTrue();
+            assertThat(reconciliation.isDone()).isFalse();
+        } finally {
+            stubGateway.release();
+        }
+        reconciliation.get(30, TimeUnit.SECONDS);
+    }
+
+    private boolean awaitStatus(String reference, PaymentStatus status, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (paymentRepository.findByReference(reference).orElseThrow().getStatus() != status) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(50);
+        }
+        return true;
+    }
+
+    private void seedPendingPayment(String reference, int hour) {
+        User customer = new User();
+        customer.setUsername(reference + "-customer");
+        customer.setEmail(reference + "-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername(reference + "-caregiver");
+        caregiverUser.setEmail(reference + "-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Isolation Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(hour, 0));
+        booking.setEndTime(LocalTime.of(hour + 1, 0));
+        booking.setStatus(BookingStatus.ACCEPTED);
+        booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now());
+        bookingRepository.save(booking);
+
+        Payment payment = new Payment();
+        payment.setBooking(booking);
+        payment.setAmount(booking.getTotalAmount());
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setReference(reference);
+        paymentRepository.save(payment);
+    }
+}
@@ -0,0 +1,154 @@
+package projects.caregiver_backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.repositories.WebhookEventRepository;
+import projects.caregiver_backend.service.PaystackService;
+import projects.caregiver_backend.service.WebhookInboxService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Acknowledges and drains a 10k-event webhook burst, including a share of
+ * redeliveries that must be dropped on append, and checks every event is applied.
+ * The ack and drain rates of the same burst are benchmark.WebhookInboxBenchmark.
+ */
+@SpringBootTest(properties = {
+        "webhooks.inbox.poll-interval=PT1H",
+        "webhooks.inbox.batch-size=500",
+        "webhooks.inbox.workers=4"
+})
+@ActiveProfiles("test")
+class WebhookInboxThroughputTests {
+
+    private static final int EVENTS = 10_000;
+    private static final int REDELIVERIES = 1_000;
+
+    @Autowired
+    private PaystackService paystackService;
+
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+
+    @Autowired
+    private WebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CaregiverRepository caregiverRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Value("${paystack.secret.key}")
+    private String secretKey;
+
+    @Test
+    void tenThousandEventBurst() throws Exception {
+        List<String> references = seedPendingPayments();
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+
+        List<String[]> deliveries = new ArrayList<>(EVENTS + REDELIVERIES);
+        for (int i = 0; i < EVENTS + REDELIVERIES; i++) {
+            String reference = references.get(i % EVENTS);
+            String payload = "{\"event\":\"charge.success\",\"data\":{\"id\":" + (i % EVENTS)
+                    + ",\"reference\":\"" + reference + "\",\"amount\":200000,\"status\":\"success\"}}";
+            String signature = HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+            deliveries.add(new String[]{payload, signature});
+        }
+
+        for (String[] delivery : deliveries) {
+            paystackService.handleWebhook(delivery[0].getBytes(StandardCharsets.UTF_8), delivery[1]);
+        }
+
+        assertThat(webhookEventRepository.countByStatus(WebhookEventStatus.RECEIVED)).isEqualTo(EVENTS);
+
+        webhookInboxService.drain();
+
+        assertThat(webhookEventRepository.countByStatus(WebhookEventStatus.PROCESSED)).isEqualTo(EVENTS);
+        assertThat(paymentRepository.findByReference(references.get(EVENTS - 1)))
+                .get()
+                .extracting(Payment::getStatus)
+                .isEqualTo(PaymentStatus.SUCCESS);
+    }
+
+    private List<String> seedPendingPayments() {
+        User customer = new User();
+        customer.setUsername("burst-customer");
+        customer.setEmail("burst-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername("burst-caregiver");
+        caregiverUser.setEmail("burst-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Burst Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        caregiverRepository.save(caregiver);
+
+        List<Booking> bookings = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(customer);
+            booking.setCaregiver(caregiver);
+            booking.setDate(LocalDate.now().plusDays(1 + i / 10));
+            booking.setStartTime(LocalTime.of(8 + i % 10, 0));
+            booking.setEndTime(LocalTime.of(9 + i % 10, 0));
+            booking.setStatus(BookingStatus.ACCEPTED);
+            booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+            booking.setCreatedAt(LocalDateTime.now());
+            bookings.add(booking);
+        }
+        bookingRepository.saveAll(bookings);
+
+        List<Payment> payments = new ArrayList<>(EVENTS);
+        List<String> references = new ArrayList<>(EVENTS);
+        for (Booking booking : bookings) {
+            Payment payment = new Payment();
+            payment.setBooking(booking);
+            payment.setAmount(booking.getTotalAmount());
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setReference("burst-" + booking.getId());
+            payments.add(payment);
+            references.add(payment.getReference());
+        }
+        paymentRepository.saveAll(payments);
+
+        return references;
+    }
+}
@@ -0,0 +1,72 @@
+package projects.caregiver_backend.benchmark;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import projects.caregiver_backend.security.JwtAuthenticationFilter;
+import projects.caregiver_backend.security.JwtService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end with an in-memory user lookup in place of
+ * the repository: a valid bearer token, a request without one, and a forged token
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private String bearer;
+    private String forged;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(JwtBenchmark.SECRET, JwtBenchmark.EXPIRATION);
+        UserDetails user = User.withUsername("customer-1")
+                .password("{noop}password")
+                .roles("USER")
+                .build();
+        filter = new JwtAuthenticationFilter(jwtService, username -> user);
+
+        String token = jwtService.generateToken("customer-1", "USER");
+        bearer = "Bearer " + token;
+        forged = "Bearer " + token.substring(0, token.length() - 4) + "AAAA";
+    }
+
+    @Benchmark
+    public Object authenticated() throws Exception {
+        return filter(bearer);
+    }
+
+    @Benchmark
+    public Object anonymous() throws Exception {
+        return filter(null);
+    }
+
+    @Benchmark
+    public Object forgedToken() throws Exception {
+        return filter(forged);
+    }
+
+    private Object filter(String authorization) throws Exception {
+        // A fresh request each time; the filter marks the ones it has seen
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings");
+        if (authorization != null) request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
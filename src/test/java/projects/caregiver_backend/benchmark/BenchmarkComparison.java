@@ -0,0 +1,98 @@
+package projects.caregiver_backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files, benchmark by benchmark: score and
+ * allocation per operation, with the change from baseline. jmh-baseline.json in
+ * the project root is a -prof gc run of the micro benchmarks, everything but
+ * the ones that boot the app (CaregiverMatching, PaymentLookup, WebhookInbox),
+ * on a single-core machine; scores only compare well against a run on similar
+ * hardware, allocation per operation travels better.
+ * Re-record it with
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark.results=jmh-baseline.json
+ *       "-Dbenchmark=^(?!.*(CaregiverMatching|PaymentLookup|WebhookInbox)Benchmark).*Benchmark"
+ * and compare a later run of the same benchmarks with
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=projects.caregiver_backend.benchmark.BenchmarkComparison
+ *       -Dexec.args="jmh-baseline.json target/jmh-result.json"
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    record Result(double score, double error, String unit, Double allocatedBytes) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %24s %24s %8s %12s %12s%n",
+                "Benchmark", "baseline", "current", "change", "B/op before", "B/op after");
+        current.forEach((name, now) -> {
+            Result before = baseline.get(name);
+            if (before == null) {
+                System.out.printf("%-70s %24s %24s %8s%n", name, "-", format(now), "new");
+                return;
+            }
+            System.out.printf("%-70s %24s %24s %7.1f%% %12s %12s%n",
+                    name, format(before), format(now),
+                    (now.score() - before.score()) / before.score() * 100,
+                    bytes(before.allocatedBytes()), bytes(now.allocatedBytes()));
+        });
+        baseline.keySet().stream()
+                .filter(name -> !current.containsKey(name))
+                .forEach(name -> System.out.printf("%-70s %24s %24s %8s%n", name, format(baseline.get(name)), "-", "gone"));
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode primary = run.path("primaryMetric");
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+            results.put(name(run), new Result(
+                    primary.path("score").asDouble(),
+                    primary.path("scoreError").asDouble(),
+                    primary.path("scoreUnit").asText(),
+                    allocation.isMissingNode() ? null : allocation.path("score").asDouble()
+            ));
+        }
+        return results;
+    }
+
+    // Short class and method, then any @Param values
+    private static String name(JsonNode run) {
+        String benchmark = run.path("benchmark").asText();
+        int method = benchmark.lastIndexOf('.');
+        int type = benchmark.lastIndexOf('.', method - 1);
+        StringBuilder name = new StringBuilder(benchmark.substring(type + 1));
+        Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+        return name.toString();
+    }
+
+    private static String format(Result result) {
+        return String.format("%.3f ± %.3f %s", result.score(), result.error(), result.unit());
+    }
+
+    private static String bytes(Double allocated) {
+        return allocated == null ? "-" : String.format("%.0f", allocated);
+    }
+}
@@ -0,0 +1,85 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projects.caregiver_backend.dtos.response.CaregiverResponse;
+import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.Money;
+import projects.caregiver_backend.model.RatingSummary;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.CaregiverService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Browsing a neighbourhood with the repository mocked, so what is left is mapping
+ * caregivers and their rating counters to CaregiverResponse. repositoryOnly is the
+ * mock's own cost, to subtract.
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CaregiverMappingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaregiverMappingBenchmark {
+
+    @Param({"25", "200"})
+    public int pageSize;
+
+    private CaregiverRepository caregiverRepository;
+    private CaregiverService caregiverService;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Caregiver> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            long[] stars = new long[5];
+            for (int s = 0; s < 5; s++) stars[s] = random.nextInt(s * 20 + 1);
+            long count = stars[0] + stars[1] + stars[2] + stars[3] + stars[4];
+            long total = stars[0] + 2 * stars[1] + 3 * stars[2] + 4 * stars[3] + 5 * stars[4];
+
+            Caregiver caregiver = new Caregiver();
+            caregiver.setId(new UUID(random.nextLong(), random.nextLong()));
+            caregiver.setFullName("Caregiver " + i);
+            caregiver.setCity("Lagos");
+            caregiver.setNeighborhood("Lekki");
+            caregiver.setPhone("0800000" + String.format("%04d", i));
+            caregiver.setBio("Experienced caregiver based in Lekki, Lagos");
+            caregiver.setVerified(true);
+            caregiver.setHourlyRate(Money.ofMinor(150_000, Money.NGN));
+            caregiver.setRatings(new RatingSummary(count, total, stars[0], stars[1], stars[2], stars[3], stars[4]));
+            page.add(caregiver);
+        }
+
+        caregiverRepository = mock(CaregiverRepository.class);
+        when(caregiverRepository.findByCityAndNeighborhoodAndVerifiedTrue("Lagos", "Lekki")).thenReturn(page);
+        caregiverService = new CaregiverService(
+                caregiverRepository,
+                mock(UserRepository.class),
+                mock(AvailabilityRepository.class),
+                mock(AvailabilityTemplateRepository.class)
+        );
+    }
+
+    @Benchmark
+    public List<CaregiverResponse> browse() {
+        return caregiverService.browseCaregivers("Lagos", "Lekki");
+    }
+
+    @Benchmark
+    public List<Caregiver> repositoryOnly() {
+        return caregiverRepository.findByCityAndNeighborhoodAndVerifiedTrue("Lagos", "Lekki");
+    }
+}
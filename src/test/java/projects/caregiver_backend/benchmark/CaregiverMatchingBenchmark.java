@@ -0,0 +1,161 @@
+package projects.caregiver_backend.benchmark;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import projects.caregiver_backend.CaregiverSystemApplication;
+import projects.caregiver_backend.dtos.request.CaregiverMatchRequest;
+import projects.caregiver_backend.dtos.response.CaregiverMatchResponse;
+import projects.caregiver_backend.service.CaregiverMatchingService;
+import projects.caregiver_backend.support.DatasetGenerator;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CaregiverMatchingService.match against a generated dataset of 100k caregivers,
+ * sampled per call so the report carries p50/p99/p99.9. Requests are drawn from the
+ * caregivers' own areas, so busy cities are asked for as often as they have supply;
+ * half are city-wide, dates are spread over the next two weeks and a third set a
+ * budget. Each trial runs with the old 20,000-entry slot cache and the current
+ * 200,000-entry default; the slot cache hit ratio and evictions are printed after
+ * every iteration, so an undersized cache shows up as misses next to the tail it
+ * causes. A match takes 100-200 ms on H2 at this size, so iterations are a minute
+ * long to give the p99 a few hundred samples each. The app runs on
+ * in-memory H2 with one customer per caregiver to stay within the fork's heap.
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=CaregiverMatchingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 60)
+@Measurement(iterations = 5, time = 60)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CaregiverMatchingBenchmark {
+
+    private static final String SLOT_CACHE = "availability.slots";
+    private static final int REQUESTS = 10_000;
+
+    @Param("100000")
+    public int caregivers;
+
+    @Param("100000")
+    public int customers;
+
+    @Param({"20000", "200000"})
+    public int slotCacheEntries;
+
+    private ConfigurableApplicationContext app;
+    private CaregiverMatchingService matchingService;
+    private MeterRegistry meterRegistry;
+    private List<CaregiverMatchRequest> requests;
+    private int next;
+    private double hitsBefore;
+    private double missesBefore;
+    private double evictionsBefore;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:matching;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("jwt.secret", "matching-benchmark-jwt-secret-that-is-at-least-32-bytes");
+        properties.put("availability.slot-cache.max-entries", slotCacheEntries);
+        properties.put("reviews.ranking.initial-delay", "PT1H");
+        properties.put("webhooks.inbox.poll-interval", "PT1H");
+        properties.put("payments.reconciliation.initial-delay", "PT1H");
+        properties.put("payouts.cron", "-");
+        properties.put("logging.level.root", "WARN");
+        // As arguments, since application.properties outranks builder defaults
+        app = new SpringApplicationBuilder(CaregiverSystemApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+
+        DataSource dataSource = app.getBean(DataSource.class);
+        new DatasetGenerator(dataSource, 42).generate(DatasetGenerator.Scale.of(customers, caregivers));
+        matchingService = app.getBean(CaregiverMatchingService.class);
+        meterRegistry = app.getBean(MeterRegistry.class);
+        requests = requests(new JdbcTemplate(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        hitsBefore = slotCache("cache.gets", "hit");
+        missesBefore = slotCache("cache.gets", "miss");
+        evictionsBefore = slotCache("cache.evictions", null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportSlotCache() {
+        double hits = slotCache("cache.gets", "hit") - hitsBefore;
+        double misses = slotCache("cache.gets", "miss") - missesBefore;
+        double evictions = slotCache("cache.evictions", null) - evictionsBefore;
+        Gauge size = meterRegistry.find("cache.size").tag("cache", SLOT_CACHE).gauge();
+        System.out.printf("%nslot cache (max %,d): hit ratio %.1f%% of %,.0f lookups, %,.0f evictions, size %,.0f%n",
+                slotCacheEntries, hits + misses > 0 ? hits * 100 / (hits + misses) : 0.0,
+                hits + misses, evictions, size != null ? size.value() : 0.0);
+    }
+
+    @Benchmark
+    public List<CaregiverMatchResponse> match() {
+        CaregiverMatchRequest request = requests.get(next);
+        next = (next + 1) % requests.size();
+        return matchingService.match(request);
+    }
+
+    // One area per verified caregiver, so areas are drawn in proportion to their supply
+    private static List<CaregiverMatchRequest> requests(JdbcTemplate jdbc) {
+        List<String[]> areas = jdbc.query(
+                "SELECT city, neighborhood FROM caregivers WHERE onboarding_status = 'VERIFIED' ORDER BY id",
+                (rs, row) -> new String[]{rs.getString("city"), rs.getString("neighborhood")}
+        );
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate today = LocalDate.now();
+        List<CaregiverMatchRequest> requests = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            String[] area = areas.get(random.nextInt(areas.size()));
+            int start = random.nextInt(8, 17);
+            requests.add(new CaregiverMatchRequest(
+                    area[0],
+                    random.nextBoolean() ? area[1] : null,
+                    today.plusDays(random.nextInt(14)),
+                    LocalTime.of(start, 0),
+                    LocalTime.of(start + random.nextInt(1, 4), 0),
+                    random.nextInt(3) == 0 ? BigDecimal.valueOf(2_000) : null,
+                    null
+            ));
+        }
+        return requests;
+    }
+
+    private double slotCache(String name, String result) {
+        Search search = meterRegistry.find(name).tag("cache", SLOT_CACHE);
+        if (result != null) search = search.tag("result", result);
+        FunctionCounter counter = search.functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,47 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projects.caregiver_backend.security.JwtService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification as JwtService does them on login and on every
+ * authenticated request; isTokenValid parses the token a second time
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-32-bytes";
+    static final long EXPIRATION = 86_400_000;
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION);
+        token = jwtService.generateToken("customer-1", "USER");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken("customer-1", "USER");
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, "customer-1");
+    }
+}
@@ -0,0 +1,83 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projects.caregiver_backend.service.CaregiverLeaderboard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * City leaderboards: cost of counting one review and of a top-N query on the
+ * skip-list boards, against sorting the city's caregivers on every query
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=LeaderboardBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final int CITIES = 20;
+    private static final String[] CITY_NAMES = new String[CITIES];
+
+    static {
+        for (int i = 0; i < CITIES; i++) CITY_NAMES[i] = "City-" + i;
+    }
+
+    @Param({"10000", "100000"})
+    public int caregivers;
+
+    @Param({"10", "100"})
+    public int topN;
+
+    private CaregiverLeaderboard leaderboard;
+    private UUID[] ids;
+    private List<List<CaregiverLeaderboard.Standing>> unsortedCities;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        leaderboard = new CaregiverLeaderboard(10, 4.2);
+        ids = new UUID[caregivers];
+        unsortedCities = new ArrayList<>(CITIES);
+        for (int c = 0; c < CITIES; c++) unsortedCities.add(new ArrayList<>());
+
+        for (int i = 0; i < caregivers; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            String city = CITY_NAMES[i % CITIES];
+            long reviews = random.nextInt(500);
+            long total = reviews * (3 + random.nextInt(3));
+            ids[i] = id;
+            leaderboard.put(id, city, "Caregiver " + i, "Area", reviews, total);
+            unsortedCities.get(i % CITIES).add(new CaregiverLeaderboard.Standing(
+                    id, city, "Caregiver " + i, "Area", reviews, total, leaderboard.score(reviews, total)
+            ));
+        }
+    }
+
+    @Benchmark
+    public void recordReview() {
+        leaderboard.recordReview(ids[random.nextInt(caregivers)], 1 + random.nextInt(5));
+    }
+
+    @Benchmark
+    public List<CaregiverLeaderboard.Standing> topFromBoard() {
+        return leaderboard.top(CITY_NAMES[random.nextInt(CITIES)], topN);
+    }
+
+    // What "sort by rating" costs without maintained boards, even with the scores in memory
+    @Benchmark
+    public List<CaregiverLeaderboard.Standing> sortOnQuery() {
+        return unsortedCities.get(random.nextInt(CITIES)).stream()
+                .sorted(Comparator.comparingDouble(CaregiverLeaderboard.Standing::score).reversed())
+                .limit(topN)
+                .toList();
+    }
+}
@@ -0,0 +1,103 @@
+package projects.caregiver_backend.benchmark;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What instrumentation adds to a call, on the Prometheus registry the app exports
+ * to: recording into a held timer, looking the timer up by name and tags on every
+ * call as PaystackGatewayClient does, and a cache hit counter. histogram toggles the
+ * percentile buckets that application.properties turns on for these timers.
+ * scrape is the cost of one Prometheus scrape with an app-sized set of timers.
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=MetricsOverheadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    // Roughly the endpoints, repository methods and gateway operations the app times
+    private static final int TIMERS = 150;
+
+    @Param({"true", "false"})
+    public boolean histogram;
+
+    private PrometheusMeterRegistry registry;
+    private Timer timer;
+    private final LongAdder cacheHits = new LongAdder();
+    private long elapsed;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(histogram)
+                        .build()
+                        .merge(config);
+            }
+        });
+        timer = timer(registry, "initialize", "success");
+        for (int i = 0; i < TIMERS; i++) {
+            Timer.builder("benchmark.requests")
+                    .tag("uri", "/endpoint/" + i)
+                    .register(registry)
+                    .record(i + 1, TimeUnit.MILLISECONDS);
+        }
+        elapsed = TimeUnit.MILLISECONDS.toNanos(42);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return System.nanoTime() - System.nanoTime();
+    }
+
+    @Benchmark
+    public void heldTimer() {
+        timer.record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timerLookupPerCall() {
+        timer(registry, "initialize", "success").record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timedCall() {
+        long started = System.nanoTime();
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void cacheHit() {
+        cacheHits.increment();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation, String outcome) {
+        return Timer.builder("paystack.gateway.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,243 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.CaregiverSystemApplication;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+import projects.caregiver_backend.service.PaystackService;
+import projects.caregiver_backend.support.PaystackPayloads;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payment lookups with the raw gateway payload inline on every payments row, the
+ * layout before payloads moved out, against the narrow payments row with payloads
+ * compressed in payment_gateway_payloads. Both hold the same 1M payments with a
+ * 1.4 KB charge.success data object each, in an H2 file database whose 64 MB page
+ * cache holds a fraction of either table, as a production buffer cache would.
+ * findByReference* read the whole row by reference the way the hot paths do;
+ * payload* fetch the raw JSON, inline by reference and through the admin read path
+ * (payment id, latest side row, inflate). The dataset is generated on the first
+ * trial, which takes several minutes, and reused while it is complete.
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PaymentLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PaymentLookupBenchmark {
+
+    private static final int CHUNK = 1_000;
+
+    @Param("1000000")
+    public int payments;
+
+    private ConfigurableApplicationContext app;
+    private JdbcTemplate jdbcTemplate;
+    private PaystackService paystackService;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = "jdbc:h2:file:./target/benchmark/payment-lookup-" + payments + ";CACHE_SIZE=65536";
+        boolean complete = dropIfIncomplete(url);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("jwt.secret", "payment-lookup-benchmark-jwt-secret-of-at-least-32-bytes");
+        properties.put("reviews.ranking.initial-delay", "PT1H");
+        properties.put("webhooks.inbox.poll-interval", "PT1H");
+        properties.put("payments.reconciliation.initial-delay", "PT1H");
+        properties.put("payouts.cron", "-");
+        properties.put("logging.level.root", "WARN");
+        // As arguments, since application.properties outranks builder defaults
+        app = new SpringApplicationBuilder(CaregiverSystemApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+
+        jdbcTemplate = app.getBean(JdbcTemplate.class);
+        paystackService = app.getBean(PaystackService.class);
+        random = new SplittableRandom(7);
+        if (!complete) {
+            seed();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> findByReferenceInline() {
+        return jdbcTemplate.queryForMap("SELECT * FROM legacy_payments WHERE reference = ?", nextReference());
+    }
+
+    @Benchmark
+    public Map<String, Object> findByReferenceNarrow() {
+        return jdbcTemplate.queryForMap("SELECT * FROM payments WHERE reference = ?", nextReference());
+    }
+
+    @Benchmark
+    public String payloadInline() {
+        return jdbcTemplate.queryForObject(
+                "SELECT gateway_response FROM legacy_payments WHERE reference = ?", String.class, nextReference());
+    }
+
+    @Benchmark
+    public String payloadSideTable() {
+        return paystackService.gatewayPayload(nextReference());
+    }
+
+    private String nextReference() {
+        return "lookup-" + random.nextInt(payments);
+    }
+
+    // The legacy table fills last, so a full legacy table means a finished seed
+    private boolean dropIfIncomplete(String url) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (ResultSet rs = connection.createStatement().executeQuery(
+                    "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'LEGACY_PAYMENTS'")) {
+                rs.next();
+                if (rs.getInt(1) == 1) {
+                    try (ResultSet count = connection.createStatement().executeQuery(
+                            "SELECT COUNT(*) FROM legacy_payments")) {
+                        count.next();
+                        if (count.getInt(1) == payments) return true;
+                    }
+                }
+            }
+            connection.createStatement().execute("DROP ALL OBJECTS");
+            return false;
+        }
+    }
+
+    private void seed() {
+        jdbcTemplate.execute("""
+            CREATE TABLE legacy_payments (
+                id UUID PRIMARY KEY,
+                booking_id UUID NOT NULL,
+                amount NUMERIC(38, 2) NOT NULL,
+                status VARCHAR(16),
+                reference VARCHAR(255) NOT NULL UNIQUE,
+                authorization_url VARCHAR(255),
+                gateway_response VARCHAR(1000000),
+                paid_at TIMESTAMP,
+                created_at TIMESTAMP
+            )
+        """);
+
+        Booking booking = seedBooking();
+        TransactionTemplate transactionTemplate = app.getBean(TransactionTemplate.class);
+        PaymentRepository paymentRepository = app.getBean(PaymentRepository.class);
+        GatewayPayloadStore payloadStore = app.getBean(GatewayPayloadStore.class);
+        long started = System.nanoTime();
+        for (int from = 0; from < payments; from += CHUNK) {
+            int start = from;
+            int end = Math.min(from + CHUNK, payments);
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Payment> chunk = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    Payment payment = new Payment();
+                    payment.setBooking(booking);
+                    payment.setAmount(Money.ofMinor(200_000, Money.NGN));
+                    payment.setStatus(PaymentStatus.SUCCESS);
+                    payment.setReference("lookup-" + i);
+                    payment.setGatewayTransactionId(String.valueOf(300_000 + i));
+                    payment.setPaidAt(LocalDateTime.now());
+                    chunk.add(payment);
+                }
+                paymentRepository.saveAll(chunk);
+
+                List<Object[]> legacyRows = new ArrayList<>(chunk.size());
+                for (Payment payment : chunk) {
+                    String json = PaystackPayloads.chargeData(payment.getReference(), payment.getGatewayTransactionId());
+                    payloadStore.save(payment.getId(), GatewayPayloadStore.SOURCE_WEBHOOK, json);
+                    legacyRows.add(new Object[]{
+                            payment.getId(), booking.getId(), payment.getAmount().toMajor(), payment.getStatus().name(),
+                            payment.getReference(), json, payment.getPaidAt(), payment.getCreatedAt()
+                    });
+                }
+                jdbcTemplate.batchUpdate("""
+                    INSERT INTO legacy_payments
+                        (id, booking_id, amount, status, reference, gateway_response, paid_at, created_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """, legacyRows);
+            });
+        }
+
+        Map<String, Object> side = jdbcTemplate.queryForMap(
+                "SELECT SUM(OCTET_LENGTH(body)) AS compressed, SUM(raw_size) AS raw FROM payment_gateway_payloads");
+        System.out.printf("%nseeded %,d payments in %d s: payloads %,d MB inline, %,d MB compressed in the side table%n",
+                payments, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started),
+                ((Number) side.get("raw")).longValue() >> 20, ((Number) side.get("compressed")).longValue() >> 20);
+    }
+
+    private Booking seedBooking() {
+        UserRepository userRepository = app.getBean(UserRepository.class);
+
+        User customer = new User();
+        customer.setUsername("lookup-customer");
+        customer.setEmail("lookup-customer@example.com");
+        customer.setPassword("password");
+        customer.setRole(Role.USER);
+        userRepository.save(customer);
+
+        User caregiverUser = new User();
+        caregiverUser.setUsername("lookup-caregiver");
+        caregiverUser.setEmail("lookup-caregiver@example.com");
+        caregiverUser.setPassword("password");
+        caregiverUser.setRole(Role.CAREGIVER);
+        userRepository.save(caregiverUser);
+
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(caregiverUser);
+        caregiver.setFullName("Lookup Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        app.getBean(CaregiverRepository.class).save(caregiver);
+
+        Booking booking = new Booking();
+        booking.setUser(customer);
+        booking.setCaregiver(caregiver);
+        booking.setDate(LocalDate.now().plusDays(1));
+        booking.setStartTime(LocalTime.of(9, 0));
+        booking.setEndTime(LocalTime.of(10, 0));
+        booking.setStatus(BookingStatus.PAID);
+        booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+        booking.setCreatedAt(LocalDateTime.now());
+        return app.getBean(BookingRepository.class).save(booking);
+    }
+}
@@ -0,0 +1,75 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import projects.caregiver_backend.model.Money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking price calculation: the BigDecimal version BookingService used before
+ * Money against Money.forMinutes and the primitive Money.priceForMinutes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BigDecimal[] decimalRates = new BigDecimal[SIZE];
+    private final Money[] moneyRates = new Money[SIZE];
+    private final long[] minorRates = new long[SIZE];
+    private final LocalTime[] starts = new LocalTime[SIZE];
+    private final LocalTime[] ends = new LocalTime[SIZE];
+
+    private int index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < SIZE; i++) {
+            long rateMinor = 50_000 + random.nextLong(1_000_000);
+            decimalRates[i] = BigDecimal.valueOf(rateMinor, 2);
+            moneyRates[i] = Money.ofMinor(rateMinor, Money.NGN);
+            minorRates[i] = rateMinor;
+            starts[i] = LocalTime.of(6 + random.nextInt(6), 15 * random.nextInt(4));
+            ends[i] = starts[i].plusMinutes(30 + 15L * random.nextInt(30));
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        int i = next();
+        long minutes = Duration.between(starts[i], ends[i]).toMinutes();
+        BigDecimal hours = BigDecimal.valueOf(minutes)
+                .divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+        return decimalRates[i].multiply(hours).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Benchmark
+    public Money money() {
+        int i = next();
+        long minutes = Duration.between(starts[i], ends[i]).toMinutes();
+        return moneyRates[i].forMinutes(minutes);
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        int i = next();
+        long minutes = (ends[i].toSecondOfDay() - starts[i].toSecondOfDay()) / 60;
+        return Money.priceForMinutes(minorRates[i], minutes);
+    }
+}
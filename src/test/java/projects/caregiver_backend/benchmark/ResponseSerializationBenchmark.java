@@ -0,0 +1,112 @@
+package projects.caregiver_backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import projects.caregiver_backend.dtos.response.*;
+import projects.caregiver_backend.model.BookingStatus;
+import projects.caregiver_backend.model.RatingSummary;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the busiest response bodies with an ObjectMapper configured the way
+ * Spring Boot configures the app's: a browse page, a review page, a booking and
+ * a rating summary
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ResponseSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final int CAREGIVER_PAGE = 25;
+    private static final int REVIEW_PAGE = 20;
+
+    private ObjectMapper objectMapper;
+    private List<CaregiverResponse> caregivers;
+    private ReviewPageResponse reviews;
+    private BookingResponse booking;
+    private RatingSummaryResponse ratingSummary;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        SplittableRandom random = new SplittableRandom(42);
+
+        caregivers = new ArrayList<>(CAREGIVER_PAGE);
+        for (int i = 0; i < CAREGIVER_PAGE; i++) {
+            RatingSummary ratings = new RatingSummary(40, 170, 1, 2, 5, 12, 20);
+            caregivers.add(new CaregiverResponse(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Caregiver " + i,
+                    "Lagos",
+                    "Lekki",
+                    "08000000000",
+                    "Experienced caregiver based in Lekki, Lagos",
+                    ratings.averageRating(),
+                    ratings.reviewCount(),
+                    ratings.histogram()
+            ));
+        }
+
+        List<ReviewResponse> page = new ArrayList<>(REVIEW_PAGE);
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+        for (int i = 0; i < REVIEW_PAGE; i++) {
+            page.add(new ReviewResponse(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "customer-" + i,
+                    1 + random.nextInt(5),
+                    "Kind and punctual",
+                    now.minusDays(i)
+            ));
+        }
+        reviews = new ReviewPageResponse(page, "eyJjcmVhdGVkQXQiOiIyMDI1LTA1LTEyVDEyOjAwIn0");
+
+        booking = new BookingResponse(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                "Caregiver 1",
+                LocalDate.of(2025, 6, 2),
+                LocalTime.of(9, 0),
+                LocalTime.of(13, 30),
+                BookingStatus.PENDING,
+                new BigDecimal("6750.00")
+        );
+
+        RatingSummary ratings = new RatingSummary(40, 170, 1, 2, 5, 12, 20);
+        ratingSummary = new RatingSummaryResponse(
+                UUID.randomUUID(), ratings.averageRating(), ratings.reviewCount(), ratings.histogram());
+    }
+
+    @Benchmark
+    public byte[] caregiverPage() throws Exception {
+        return objectMapper.writeValueAsBytes(caregivers);
+    }
+
+    @Benchmark
+    public byte[] reviewPage() throws Exception {
+        return objectMapper.writeValueAsBytes(reviews);
+    }
+
+    @Benchmark
+    public byte[] booking() throws Exception {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+
+    @Benchmark
+    public byte[] ratingSummary() throws Exception {
+        return objectMapper.writeValueAsBytes(ratingSummary);
+    }
+}
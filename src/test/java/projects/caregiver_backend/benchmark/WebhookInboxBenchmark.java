@@ -0,0 +1,185 @@
+package projects.caregiver_backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import projects.caregiver_backend.CaregiverSystemApplication;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.PaystackService;
+import projects.caregiver_backend.service.WebhookInboxService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The 10k-event webhook burst of WebhookInboxThroughputTests, timed. acknowledge
+ * takes 11k signed deliveries (10k events plus 1k redeliveries dropped on append)
+ * through PaystackService.handleWebhook, as the controller does before answering;
+ * drain applies the 10k queued events with the configured workers and batch size.
+ * Scores are per delivery and per event, so 1e6 / score is the rate per second.
+ * Every iteration gets its own 10k pending payments, seeded outside the timing,
+ * and the app runs on in-memory H2. The drain takes about five bursts to warm up.
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WebhookInboxBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WebhookInboxBenchmark {
+
+    private static final int EVENTS = 10_000;
+    private static final int REDELIVERIES = 1_000;
+    private static final String SECRET_KEY = "webhook-inbox-benchmark-secret-key";
+
+    @Param("200")
+    public int batchSize;
+
+    @Param("2")
+    public int workers;
+
+    private ConfigurableApplicationContext app;
+    private PaystackService paystackService;
+    private WebhookInboxService webhookInboxService;
+    private User customer;
+    private int burst;
+    private List<Delivery> deliveries;
+
+    private record Delivery(byte[] payload, String signature) {}
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", "jdbc:h2:mem:webhooks;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.driver-class-name", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("jwt.secret", "webhook-inbox-benchmark-jwt-secret-of-at-least-32-bytes");
+        properties.put("paystack.secret.key", SECRET_KEY);
+        properties.put("webhooks.inbox.batch-size", batchSize);
+        properties.put("webhooks.inbox.workers", workers);
+        properties.put("webhooks.inbox.poll-interval", "PT1H");
+        properties.put("reviews.ranking.initial-delay", "PT1H");
+        properties.put("payments.reconciliation.initial-delay", "PT1H");
+        properties.put("payouts.cron", "-");
+        properties.put("logging.level.root", "WARN");
+        // As arguments, since application.properties outranks builder defaults
+        app = new SpringApplicationBuilder(CaregiverSystemApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+
+        paystackService = app.getBean(PaystackService.class);
+        webhookInboxService = app.getBean(WebhookInboxService.class);
+        customer = user("burst-customer", Role.USER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void prepareBurst(BenchmarkParams params) throws GeneralSecurityException {
+        List<String> references = seedPendingPayments(burst);
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(SECRET_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+
+        deliveries = new ArrayList<>(EVENTS + REDELIVERIES);
+        for (int i = 0; i < EVENTS + REDELIVERIES; i++) {
+            byte[] payload = ("{\"event\":\"charge.success\",\"data\":{\"id\":" + ((long) burst * EVENTS + i % EVENTS)
+                    + ",\"reference\":\"" + references.get(i % EVENTS) + "\",\"amount\":200000,\"status\":\"success\"}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            deliveries.add(new Delivery(payload, HexFormat.of().formatHex(mac.doFinal(payload))));
+        }
+        burst++;
+
+        if (params.getBenchmark().endsWith(".drain")) {
+            acknowledge();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS + REDELIVERIES)
+    public void acknowledge() {
+        for (Delivery delivery : deliveries) {
+            paystackService.handleWebhook(delivery.payload(), delivery.signature());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void drain() {
+        webhookInboxService.drain();
+    }
+
+    private List<String> seedPendingPayments(int burst) {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setUser(user("burst-caregiver-" + burst, Role.CAREGIVER));
+        caregiver.setFullName("Burst Caregiver");
+        caregiver.setCity("Lagos");
+        caregiver.setNeighborhood("Yaba");
+        caregiver.setPhone("08000000000");
+        caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
+        caregiver.setHourlyRate(Money.ofMinor(200_000, Money.NGN));
+        app.getBean(CaregiverRepository.class).save(caregiver);
+
+        List<Booking> bookings = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            Booking booking = new Booking();
+            booking.setUser(customer);
+            booking.setCaregiver(caregiver);
+            booking.setDate(LocalDate.now().plusDays(1 + i / 10));
+            booking.setStartTime(LocalTime.of(8 + i % 10, 0));
+            booking.setEndTime(LocalTime.of(9 + i % 10, 0));
+            booking.setStatus(BookingStatus.ACCEPTED);
+            booking.setTotalAmount(Money.ofMinor(200_000, Money.NGN));
+            booking.setCreatedAt(LocalDateTime.now());
+            bookings.add(booking);
+        }
+        app.getBean(BookingRepository.class).saveAll(bookings);
+
+        List<Payment> payments = new ArrayList<>(EVENTS);
+        List<String> references = new ArrayList<>(EVENTS);
+        for (Booking booking : bookings) {
+            Payment payment = new Payment();
+            payment.setBooking(booking);
+            payment.setAmount(booking.getTotalAmount());
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setReference("burst-" + booking.getId());
+            payments.add(payment);
+            references.add(payment.getReference());
+        }
+        app.getBean(PaymentRepository.class).saveAll(payments);
+        return references;
+    }
+
+    private User user(String username, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        return app.getBean(UserRepository.class).save(user);
+    }
+}
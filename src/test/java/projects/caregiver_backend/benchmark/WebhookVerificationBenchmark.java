@@ -0,0 +1,108 @@
+package projects.caregiver_backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import projects.caregiver_backend.service.PaystackEventFields;
+import projects.caregiver_backend.service.PaystackSignatureVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Webhook verification and field extraction, before and after moving to raw bytes
+ * The legacy path is kept here as it was in PaystackService: a new Mac per call,
+ * per-byte String.format hex encoding, a full readTree and data.toString().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebhookVerificationBenchmark {
+
+    private static final String SECRET = "sk_test_benchmark";
+
+    private String payloadText;
+    private byte[] payloadBytes;
+    private String signature;
+    private ObjectMapper objectMapper;
+    private PaystackSignatureVerifier verifier;
+
+    @Setup
+    public void setUp() throws Exception {
+        payloadText = chargeSuccessPayload();
+        payloadBytes = payloadText.getBytes(StandardCharsets.UTF_8);
+        objectMapper = new ObjectMapper();
+        verifier = new PaystackSignatureVerifier(SECRET);
+
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        signature = HexFormat.of().formatHex(mac.doFinal(payloadBytes));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) throws Exception {
+        // Spring decoded the body into a String before the controller saw it
+        String payload = new String(payloadBytes, StandardCharsets.UTF_8);
+
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        blackhole.consume(hex.toString().equalsIgnoreCase(signature));
+
+        JsonNode root = objectMapper.readTree(payload);
+        JsonNode data = root.get("data");
+        blackhole.consume(root.get("event").asText());
+        blackhole.consume(data.get("reference").asText());
+        blackhole.consume(data.toString());
+    }
+
+    @Benchmark
+    public void streaming(Blackhole blackhole) {
+        blackhole.consume(verifier.verify(payloadBytes, signature));
+
+        PaystackEventFields fields = PaystackEventFields.parse(objectMapper.getFactory(), payloadBytes);
+        blackhole.consume(fields.event());
+        blackhole.consume(fields.reference());
+        blackhole.consume(new String(payloadBytes, StandardCharsets.UTF_8));
+    }
+
+    // Shape and size of a real charge.success delivery, about 2 KB
+    private static String chargeSuccessPayload() {
+        return """
+                {"event":"charge.success","data":{"id":302961,"domain":"live","status":"success",\
+                "reference":"bk-7f3c2a91-1d4e-4b8a-9c55-0e6f2d1a7b30","amount":1500000,\
+                "message":null,"gateway_response":"Approved by Financial Institution",\
+                "paid_at":"2026-03-14T10:22:31.000Z","created_at":"2026-03-14T10:21:02.000Z",\
+                "channel":"card","currency":"NGN","ip_address":"102.89.34.121",\
+                "metadata":{"booking_id":"7f3c2a91-1d4e-4b8a-9c55-0e6f2d1a7b30","custom_fields":[\
+                {"display_name":"Caregiver","variable_name":"caregiver","value":"Adaeze Okafor"},\
+                {"display_name":"Service date","variable_name":"service_date","value":"2026-03-20"}],\
+                "referrer":"https://app.example.com/bookings/7f3c2a91"},\
+                "log":{"start_time":1710411662,"time_spent":89,"attempts":1,"errors":0,"success":true,\
+                "mobile":false,"input":[],"history":[{"type":"action","message":"Attempted to pay with card","time":45},\
+                {"type":"success","message":"Successfully paid with card","time":89}]},\
+                "fees":22500,"fees_split":null,"authorization":{"authorization_code":"AUTH_8dfhjjdt",\
+                "bin":"539999","last4":"8877","exp_month":"08","exp_year":"2028","channel":"card",\
+                "card_type":"mastercard DEBIT","bank":"Guaranty Trust Bank","country_code":"NG",\
+                "brand":"mastercard","reusable":true,"signature":"SIG_idyuhgd87dUYSHO92D",\
+                "account_name":null,"receiver_bank_account_number":null,"receiver_bank":null},\
+                "customer":{"id":84312,"first_name":"Tunde","last_name":"Bakare",\
+                "email":"tunde.bakare@example.com","customer_code":"CUS_xnxdt6s1zg1f4nx",\
+                "phone":"+2348031234567","metadata":{},"risk_action":"default",\
+                "international_format_phone":"+2348031234567"},"plan":{},"subaccount":{},\
+                "split":{},"order_id":null,"paidAt":"2026-03-14T10:22:31.000Z",\
+                "requested_amount":1500000,"pos_transaction_data":null,"source":{"type":"web",\
+                "source":"checkout","entry_point":"request_inline","identifier":null}}}""";
+    }
+}
@@ -0,0 +1,270 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.request.WeeklyAvailabilityRequest;
+import projects.caregiver_backend.dtos.response.AvailabilityGridResponse;
+import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.CaregiverAvailability;
+import projects.caregiver_backend.model.User;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
+import projects.caregiver_backend.service.AvailabilityGridService;
+import projects.caregiver_backend.service.DaySlots;
+import projects.caregiver_backend.service.FreeSlotService;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityGridService Tests")
+class AvailabilityGridServiceTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private AvailabilityTemplateRepository templateRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FreeSlotService freeSlotService;
+
+    private LocalDate weekStart;
+
+    @BeforeEach
+    void setUp() {
+        weekStart = LocalDate.now().plusDays(1);
+    }
+
+    private record Window(UUID getCaregiverId, LocalDate getDate, LocalTime getStartTime, LocalTime getEndTime)
+            implements CaregiverWindowView {}
+
+    @Nested
+    @DisplayName("Grid Read Tests")
+    class GridTests {
+
+        private AvailabilityGridService gridService;
+
+        @BeforeEach
+        void setUp() {
+            FreeSlotService slotEngine =
+                    new FreeSlotService(availabilityRepository, templateRepository, bookingRepository, 10_000, Duration.ofMinutes(2));
+            gridService = new AvailabilityGridService(
+                    slotEngine, availabilityRepository, caregiverRepository, userRepository, bookingRepository
+            );
+        }
+
+        @Test
+        @DisplayName("Should encode free slots as packed day masks")
+        void shouldEncodePackedDayMasks() {
+            UUID caregiverId = UUID.randomUUID();
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(new Window(caregiverId, weekStart.plusDays(1), LocalTime.of(9, 0), LocalTime.of(12, 0))));
+            when(bookingRepository.findBookedWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(new Window(caregiverId, weekStart.plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+            AvailabilityGridResponse grid =
+                    gridService.getGrid(List.of(caregiverId), weekStart, weekStart.plusDays(6));
+
+            byte[] packed = Base64.getDecoder().decode(grid.slots().get(caregiverId));
+            assertThat(grid.days()).isEqualTo(7);
+            assertThat(packed).hasSize(7 * DaySlots.PACKED_BYTES);
+
+            ByteBuffer buffer = ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN);
+            assertThat(DaySlots.readFrom(buffer).freeCount()).isZero();
+            DaySlots secondDay = DaySlots.readFrom(buffer);
+            assertThat(secondDay.freeCount()).isEqualTo(8);
+            assertThat(secondDay.isFree(LocalTime.of(9, 0), LocalTime.of(10, 0))).isTrue();
+            assertThat(secondDay.isFree(LocalTime.of(10, 0), LocalTime.of(10, 15))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should use two queries and a fraction of the row-per-window payload for 50 caregivers")
+        void shouldBeSmallerThanRowPerWindowJson() throws Exception {
+            List<UUID> ids = new ArrayList<>();
+            List<CaregiverWindowView> windows = new ArrayList<>();
+            List<Map<String, Object>> naiveRows = new ArrayList<>();
+
+            for (int c = 0; c < 50; c++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                for (int d = 0; d < 7; d++) {
+                    LocalDate date = weekStart.plusDays(d);
+                    for (int[] hours : new int[][]{{8, 12}, {14, 18}}) {
+                        windows.add(new Window(id, date, LocalTime.of(hours[0], 0), LocalTime.of(hours[1], 0)));
+
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("id", UUID.randomUUID().toString());
+                        row.put("caregiverId", id.toString());
+                        row.put("date", date.toString());
+                        row.put("startTime", LocalTime.of(hours[0], 0).toString());
+                        row.put("endTime", LocalTime.of(hours[1], 0).toString());
+                        naiveRows.add(row);
+                    }
+                }
+            }
+
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any())).thenReturn(windows);
+            when(bookingRepository.findBookedWindowsForCaregivers(any(), any(), any())).thenReturn(List.of());
+
+            ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+            int gridBytes = mapper.writeValueAsBytes(
+                    gridService.getGrid(ids, weekStart, weekStart.plusDays(6))
+            ).length;
+            int naiveBytes = mapper.writeValueAsBytes(naiveRows).length;
+
+            assertThat(gridBytes * 5).isLessThan(naiveBytes);
+            verify(availabilityRepository, times(1)).findWindowsForCaregivers(any(), any(), any());
+            verify(bookingRepository, times(1)).findBookedWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject ranges longer than a month")
+        void shouldRejectLongRanges() {
+            assertThatThrownBy(() -> gridService.getGrid(List.of(UUID.randomUUID()), weekStart, weekStart.plusDays(40)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Weekly Upsert Tests")
+    class ReplaceWeekTests {
+
+        private AvailabilityGridService gridService;
+        private User caregiverUser;
+        private Caregiver caregiver;
+
+        @BeforeEach
+        void setUp() {
+            gridService = new AvailabilityGridService(
+                    freeSlotService, availabilityRepository, caregiverRepository, userRepository, bookingRepository
+            );
+
+            caregiverUser = new User();
+            caregiverUser.setId(UUID.randomUUID());
+            caregiverUser.setUsername("caregiver1");
+
+            caregiver = new Caregiver();
+            caregiver.setId(UUID.randomUUID());
+            caregiver.setUser(caregiverUser);
+        }
+
+        private String encodeWeek(DaySlots... days) {
+            ByteBuffer buffer = ByteBuffer.allocate(7 * DaySlots.PACKED_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < 7; i++) {
+                (i < days.length ? days[i] : DaySlots.empty()).writeTo(buffer);
+            }
+            return Base64.getEncoder().encodeToString(buffer.array());
+        }
+
+        @Test
+        @DisplayName("Should replace the week with one row per contiguous run")
+        @SuppressWarnings("unchecked")
+        void shouldReplaceWeekWithRuns() {
+            DaySlots monday = DaySlots.empty();
+            monday.markFree(LocalTime.of(9, 0), LocalTime.of(12, 0));
+            monday.markFree(LocalTime.of(22, 0), LocalTime.of(23, 59));
+
+            when(userRepository.findByUsername("caregiver1")).thenReturn(Optional.of(caregiverUser));
+            when(caregiverRepository.findByUser(caregiverUser)).thenReturn(Optional.of(caregiver));
+
+            int saved = gridService.replaceWeek(
+                    "caregiver1",
+                    new WeeklyAvailabilityRequest(weekStart, encodeWeek(monday))
+            );
+
+            ArgumentCaptor<List<CaregiverAvailability>> captor = ArgumentCaptor.forClass(List.class);
+            verify(availabilityRepository).deleteWindows(caregiver.getId(), weekStart, weekStart.plusDays(6));
+            verify(availabilityRepository).saveAll(captor.capture());
+            verify(freeSlotService, times(7)).invalidate(eq(caregiver.getId()), any());
+
+            List<CaregiverAvailability> rows = captor.getValue();
+            List<CaregiverAvailability> windows = rows.stream().filter(w -> !w.isDayOff()).toList();
+            assertThat(saved).isEqualTo(2);
+            assertThat(rows).filteredOn(CaregiverAvailability::isDayOff).hasSize(6);
+            assertThat(windows).extracting(CaregiverAvailability::getStartTime)
+                    .containsExactly(LocalTime.of(9, 0), LocalTime.of(22, 0));
+            assertThat(windows).extracting(CaregiverAvailability::getEndTime)
+                    .containsExactly(LocalTime.of(12, 0), LocalTime.MAX);
+            assertThat(windows).allMatch(w -> w.getDate().equals(weekStart));
+        }
+
+        @Test
+        @DisplayName("Should keep booked time available when the grid's free week is saved back")
+        @SuppressWarnings("unchecked")
+        void shouldKeepBookedTimeOnRoundTrip() {
+            // What the grid returns for 09:00-12:00 availability with a 10:00-11:00 booking
+            DaySlots free = DaySlots.empty();
+            free.markFree(LocalTime.of(9, 0), LocalTime.of(10, 0));
+            free.markFree(LocalTime.of(11, 0), LocalTime.of(12, 0));
+
+            when(userRepository.findByUsername("caregiver1")).thenReturn(Optional.of(caregiverUser));
+            when(caregiverRepository.findByUser(caregiverUser)).thenReturn(Optional.of(caregiver));
+            when(bookingRepository.findBookedWindowsForCaregivers(List.of(caregiver.getId()), weekStart, weekStart.plusDays(6)))
+                    .thenReturn(List.of(new Window(caregiver.getId(), weekStart, LocalTime.of(10, 0), LocalTime.of(11, 0))));
+
+            int saved = gridService.replaceWeek("caregiver1", new WeeklyAvailabilityRequest(weekStart, encodeWeek(free)));
+
+            ArgumentCaptor<List<CaregiverAvailability>> captor = ArgumentCaptor.forClass(List.class);
+            verify(availabilityRepository).saveAll(captor.capture());
+            assertThat(saved).isEqualTo(1);
+            assertThat(captor.getValue()).filteredOn(w -> !w.isDayOff()).singleElement().satisfies(w -> {
+                assertThat(w.getDate()).isEqualTo(weekStart);
+                assertThat(w.getStartTime()).isEqualTo(LocalTime.of(9, 0));
+                assertThat(w.getEndTime()).isEqualTo(LocalTime.of(12, 0));
+            });
+        }
+
+        @Test
+        @DisplayName("Should reject payloads that are not exactly one week")
+        void shouldRejectWrongLength() {
+            when(userRepository.findByUsername("caregiver1")).thenReturn(Optional.of(caregiverUser));
+            when(caregiverRepository.findByUser(caregiverUser)).thenReturn(Optional.of(caregiver));
+
+            String tooShort = Base64.getEncoder().encodeToString(new byte[DaySlots.PACKED_BYTES]);
+
+            assertThatThrownBy(() -> gridService.replaceWeek(
+                    "caregiver1",
+                    new WeeklyAvailabilityRequest(weekStart, tooShort)
+            )).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("exactly 7 days");
+
+            verify(availabilityRepository, never()).saveAll(any());
+        }
+    }
+}
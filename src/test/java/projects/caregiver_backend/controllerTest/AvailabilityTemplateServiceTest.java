@@ -0,0 +1,187 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.dtos.request.AvailabilityTemplateRequest;
+import projects.caregiver_backend.dtos.response.TemplateMigrationResponse;
+import projects.caregiver_backend.model.AvailabilityTemplate;
+import projects.caregiver_backend.model.Caregiver;
+import projects.caregiver_backend.model.CaregiverAvailability;
+import projects.caregiver_backend.model.User;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.UserRepository;
+import projects.caregiver_backend.service.AvailabilityTemplateService;
+import projects.caregiver_backend.service.FreeSlotService;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityTemplateService Tests")
+class AvailabilityTemplateServiceTest {
+
+    @Mock
+    private AvailabilityTemplateRepository templateRepository;
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FreeSlotService freeSlotService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private AvailabilityTemplateService templateService;
+
+    private User caregiverUser;
+    private Caregiver caregiver;
+
+    @BeforeEach
+    void setUp() {
+        caregiverUser = new User();
+        caregiverUser.setId(UUID.randomUUID());
+        caregiverUser.setUsername("caregiver1");
+
+        caregiver = new Caregiver();
+        caregiver.setId(UUID.randomUUID());
+        caregiver.setUser(caregiverUser);
+    }
+
+    private CaregiverAvailability row(LocalDate date, int startHour, int endHour) {
+        CaregiverAvailability row = new CaregiverAvailability();
+        row.setCaregiver(caregiver);
+        row.setDate(date);
+        row.setStartTime(LocalTime.of(startHour, 0));
+        row.setEndTime(LocalTime.of(endHour, 0));
+        return row;
+    }
+
+    @Nested
+    @DisplayName("Replace Template Tests")
+    class ReplaceTemplateTests {
+
+        @Test
+        @DisplayName("Should replace templates and drop the caregiver's cached days")
+        void shouldReplaceTemplate() {
+            when(userRepository.findByUsername("caregiver1")).thenReturn(Optional.of(caregiverUser));
+            when(caregiverRepository.findByUser(caregiverUser)).thenReturn(Optional.of(caregiver));
+
+            int saved = templateService.replaceTemplate("caregiver1", new AvailabilityTemplateRequest(List.of(
+                    new AvailabilityTemplateRequest.TemplateWindow(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(13, 0)),
+                    new AvailabilityTemplateRequest.TemplateWindow(DayOfWeek.SATURDAY, LocalTime.of(9, 0), LocalTime.of(13, 0))
+            )));
+
+            assertThat(saved).isEqualTo(2);
+            verify(templateRepository).deleteByCaregiverId(caregiver.getId());
+            verify(templateRepository).saveAll(anyList());
+            verify(freeSlotService).invalidateCaregiver(caregiver.getId());
+        }
+
+        @Test
+        @DisplayName("Should reject a window that ends before it starts")
+        void shouldRejectInvertedWindow() {
+            assertThatThrownBy(() -> new AvailabilityTemplateRequest.TemplateWindow(
+                    DayOfWeek.MONDAY, LocalTime.of(13, 0), LocalTime.of(9, 0)
+            )).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Migration Tests")
+    class MigrationTests {
+
+        @Test
+        @DisplayName("Should turn a repeating weekday pattern into a template and keep exceptions")
+        @SuppressWarnings("unchecked")
+        void shouldMigrateRepeatingPattern() {
+            LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            CaregiverAvailability exception = row(monday.plusWeeks(2), 14, 16);
+            List<CaregiverAvailability> rows = List.of(
+                    row(monday, 9, 12),
+                    row(monday.plusWeeks(1), 9, 12),
+                    exception,
+                    // monday + 3 weeks had no availability
+                    row(monday.plusWeeks(4), 9, 12)
+            );
+
+            when(transactionTemplate.execute(any()))
+                    .thenAnswer(i -> ((TransactionCallback<int[]>) i.getArgument(0)).doInTransaction(null));
+            when(availabilityRepository.findCaregiverIdsWithWindows()).thenReturn(List.of(caregiver.getId()));
+            when(templateRepository.existsByCaregiverId(caregiver.getId())).thenReturn(false);
+            when(availabilityRepository.findByCaregiverIdOrderByDateAsc(caregiver.getId())).thenReturn(rows);
+            when(caregiverRepository.getReferenceById(caregiver.getId())).thenReturn(caregiver);
+
+            TemplateMigrationResponse response = templateService.migrateExistingRows();
+
+            // Mondays without rows: the gap, then every one after the last row up to the horizon
+            List<LocalDate> expectedDayOffs = new ArrayList<>(List.of(monday.plusWeeks(3)));
+            LocalDate horizon = LocalDate.now().plusDays(AvailabilityTemplateService.DAY_OFF_HORIZON_DAYS);
+            for (LocalDate d = monday.plusWeeks(5); !d.isAfter(horizon); d = d.plusWeeks(1)) {
+                expectedDayOffs.add(d);
+            }
+            assertThat(response).isEqualTo(new TemplateMigrationResponse(1, 1, 3, expectedDayOffs.size()));
+
+            ArgumentCaptor<List<AvailabilityTemplate>> templates = ArgumentCaptor.forClass(List.class);
+            verify(templateRepository).saveAll(templates.capture());
+            assertThat(templates.getValue()).singleElement().satisfies(t -> {
+                assertThat(t.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+                assertThat(t.getStartTime()).isEqualTo(LocalTime.of(9, 0));
+                assertThat(t.getEndTime()).isEqualTo(LocalTime.of(12, 0));
+            });
+
+            ArgumentCaptor<List<CaregiverAvailability>> deleted = ArgumentCaptor.forClass(List.class);
+            verify(availabilityRepository).deleteAllInBatch(deleted.capture());
+            assertThat(deleted.getValue()).hasSize(3).doesNotContain(exception);
+
+            ArgumentCaptor<List<CaregiverAvailability>> dayOffs = ArgumentCaptor.forClass(List.class);
+            verify(availabilityRepository).saveAll(dayOffs.capture());
+            assertThat(dayOffs.getValue()).allMatch(CaregiverAvailability::isDayOff);
+            assertThat(dayOffs.getValue())
+                    .extracting(CaregiverAvailability::getDate)
+                    .containsExactlyElementsOf(expectedDayOffs);
+        }
+
+        @Test
+        @DisplayName("Should skip caregivers that already have templates")
+        void shouldSkipCaregiversWithTemplates() {
+            when(transactionTemplate.execute(any()))
+                    .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+            when(availabilityRepository.findCaregiverIdsWithWindows()).thenReturn(List.of(caregiver.getId()));
+            when(templateRepository.existsByCaregiverId(caregiver.getId())).thenReturn(true);
+
+            TemplateMigrationResponse response = templateService.migrateExistingRows();
+
+            assertThat(response.caregiversMigrated()).isZero();
+            verify(templateRepository, never()).saveAll(any());
+        }
+    }
+}
@@ -15,6 +15,8 @@ import projects.caregiver_backend.repositories.BookingRepository;
 import projects.caregiver_backend.repositories.CaregiverRepository;
 import projects.caregiver_backend.repositories.UserRepository;
 import projects.caregiver_backend.service.BookingService;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.FreeSlotService;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -39,6 +41,12 @@ class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private FreeSlotService freeSlotService;
+
+    @Mock
+    private EarningsLedgerService earningsLedgerService;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -65,7 +73,7 @@ class BookingServiceTest {
         caregiver.setUser(caregiverUser);
         caregiver.setFullName("John Doe");
         caregiver.setOnboardingStatus(OnboardingStatus.VERIFIED);
-        caregiver.setHourlyRate(new BigDecimal("50.00"));
+        caregiver.setHourlyRate(Money.ofMajor(new BigDecimal("50.00"), Money.NGN));
 
         validBookingRequest = new BookingRequest(
                 caregiver.getId(),
@@ -82,7 +90,10 @@ class BookingServiceTest {
         savedBooking.setStartTime(validBookingRequest.startTime());
         savedBooking.setEndTime(validBookingRequest.endTime());
         savedBooking.setStatus(BookingStatus.PENDING);
-        savedBooking.setTotalAmount(new BigDecimal("400.00")); // 8 hours * 50
+        savedBooking.setTotalAmount(Money.ofMajor(new BigDecimal("400.00"), Money.NGN)); // 8 hours * 50
+
+        // Caregiver is available unless a test says otherwise
+        lenient().when(freeSlotService.isRangeFreeUncached(any(), any(), any(), any())).thenReturn(true);
     }
 
     @Nested
@@ -130,7 +141,7 @@ class BookingServiceTest {
 
             // Then
             verify(bookingRepository).save(argThat(booking ->
-                    booking.getTotalAmount().compareTo(new BigDecimal("400.00")) == 0
+                    booking.getTotalAmount().toMajor().compareTo(new BigDecimal("400.00")) == 0
             ));
         }
 
@@ -156,7 +167,7 @@ class BookingServiceTest {
 
             // Then
             verify(bookingRepository).save(argThat(booking ->
-                    booking.getTotalAmount().compareTo(new BigDecimal("50.00")) == 0
+                    booking.getTotalAmount().toMajor().compareTo(new BigDecimal("50.00")) == 0
             ));
         }
 
@@ -182,7 +193,7 @@ class BookingServiceTest {
 
             // Then
             verify(bookingRepository).save(argThat(booking ->
-                    booking.getTotalAmount().compareTo(new BigDecimal("75.00")) == 0
+                    booking.getTotalAmount().toMajor().compareTo(new BigDecimal("75.00")) == 0
             ));
         }
 
@@ -270,6 +281,46 @@ class BookingServiceTest {
             verify(bookingRepository, never()).save(any());
         }
 
+        @Test
+        @DisplayName("Should throw exception when time is outside caregiver availability")
+        void shouldThrowExceptionWhenOutsideAvailability() {
+            // Given
+            when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+            when(caregiverRepository.findById(caregiver.getId())).thenReturn(Optional.of(caregiver));
+            when(bookingRepository.existsByCaregiverAndDateAndStartTimeLessThanAndEndTimeGreaterThan(
+                    any(), any(), any(), any())).thenReturn(false);
+            when(freeSlotService.isRangeFreeUncached(
+                    caregiver.getId(),
+                    validBookingRequest.date(),
+                    validBookingRequest.startTime(),
+                    validBookingRequest.endTime()
+            )).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> bookingService.createBooking("testuser", validBookingRequest))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("outside the caregiver's availability");
+
+            verify(bookingRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should invalidate cached slots after booking is saved")
+        void shouldInvalidateFreeSlotsAfterBooking() {
+            // Given
+            when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+            when(caregiverRepository.findById(caregiver.getId())).thenReturn(Optional.of(caregiver));
+            when(bookingRepository.existsByCaregiverAndDateAndStartTimeLessThanAndEndTimeGreaterThan(
+                    any(), any(), any(), any())).thenReturn(false);
+            when(bookingRepository.save(any(Booking.class))).thenReturn(savedBooking);
+
+            // When
+            bookingService.createBooking("testuser", validBookingRequest);
+
+            // Then
+            verify(freeSlotService).invalidate(caregiver.getId(), savedBooking.getDate());
+        }
+
         @Test
         @DisplayName("Should detect conflict for overlapping start time")
         void shouldDetectConflictForOverlappingStartTime() {
@@ -427,7 +478,7 @@ class BookingServiceTest {
         @DisplayName("Should handle very high hourly rates")
         void shouldHandleVeryHighHourlyRates() {
             // Given
-            caregiver.setHourlyRate(new BigDecimal("999.99"));
+            caregiver.setHourlyRate(Money.ofMajor(new BigDecimal("999.99"), Money.NGN));
             when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
             when(caregiverRepository.findById(caregiver.getId())).thenReturn(Optional.of(caregiver));
             when(bookingRepository.existsByCaregiverAndDateAndStartTimeLessThanAndEndTimeGreaterThan(
@@ -439,7 +490,7 @@ class BookingServiceTest {
 
             // Then
             verify(bookingRepository).save(argThat(booking ->
-                    booking.getTotalAmount().compareTo(new BigDecimal("7999.92")) == 0 // 8 hours * 999.99
+                    booking.getTotalAmount().toMajor().compareTo(new BigDecimal("7999.92")) == 0 // 8 hours * 999.99
             ));
         }
     }
@@ -614,4 +665,62 @@ class BookingServiceTest {
                     .hasMessageContaining("Booking already processed");
         }
     }
+
+    @Nested
+    @DisplayName("Complete Booking Tests")
+    class CompleteBookingTests {
+
+        @BeforeEach
+        void setUp() {
+            savedBooking.setDate(LocalDate.now().minusDays(1));
+            savedBooking.setStatus(BookingStatus.PAID);
+        }
+
+        @Test
+        @DisplayName("Should complete a paid booking and release its earnings")
+        void shouldCompletePaidBooking() {
+            when(caregiverRepository.findIdByUsername("caregiver1")).thenReturn(Optional.of(caregiver.getId()));
+            when(bookingRepository.findWithCaregiverById(savedBooking.getId())).thenReturn(Optional.of(savedBooking));
+
+            BookingResponse response = bookingService.completeBooking("caregiver1", savedBooking.getId());
+
+            assertThat(response.status()).isEqualTo(BookingStatus.COMPLETED);
+            verify(earningsLedgerService).bookingCompleted(savedBooking);
+        }
+
+        @Test
+        @DisplayName("Should refuse to complete an unpaid booking")
+        void shouldRejectUnpaidBooking() {
+            savedBooking.setStatus(BookingStatus.ACCEPTED);
+            when(caregiverRepository.findIdByUsername("caregiver1")).thenReturn(Optional.of(caregiver.getId()));
+            when(bookingRepository.findWithCaregiverById(savedBooking.getId())).thenReturn(Optional.of(savedBooking));
+
+            assertThatThrownBy(() -> bookingService.completeBooking("caregiver1", savedBooking.getId()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Only paid bookings");
+            verifyNoInteractions(earningsLedgerService);
+        }
+
+        @Test
+        @DisplayName("Should refuse to complete a booking that has not ended")
+        void shouldRejectFutureBooking() {
+            savedBooking.setDate(LocalDate.now().plusDays(1));
+            when(caregiverRepository.findIdByUsername("caregiver1")).thenReturn(Optional.of(caregiver.getId()));
+            when(bookingRepository.findWithCaregiverById(savedBooking.getId())).thenReturn(Optional.of(savedBooking));
+
+            assertThatThrownBy(() -> bookingService.completeBooking("caregiver1", savedBooking.getId()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("not ended");
+        }
+
+        @Test
+        @DisplayName("Should not let another caregiver complete the booking")
+        void shouldRejectOtherCaregiver() {
+            when(caregiverRepository.findIdByUsername("intruder")).thenReturn(Optional.of(UUID.randomUUID()));
+            when(bookingRepository.findWithCaregiverById(savedBooking.getId())).thenReturn(Optional.of(savedBooking));
+
+            assertThatThrownBy(() -> bookingService.completeBooking("intruder", savedBooking.getId()))
+                    .isInstanceOf(SecurityException.class);
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import projects.caregiver_backend.service.CaregiverLeaderboard;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CaregiverLeaderboard Tests")
+class CaregiverLeaderboardTest {
+
+    private CaregiverLeaderboard leaderboard;
+
+    private final UUID veteran = UUID.randomUUID();
+    private final UUID newcomer = UUID.randomUUID();
+    private final UUID average = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        // Ten reviews' worth of prior at 4.0 stars
+        leaderboard = new CaregiverLeaderboard(10, 4.0);
+        leaderboard.put(veteran, "Lagos", "Veteran", "Yaba", 400, 1920);   // 4.8 over 400
+        leaderboard.put(newcomer, "Lagos", "Newcomer", "Ikeja", 1, 5);     // 5.0 over 1
+        leaderboard.put(average, "Lagos", "Average", "Yaba", 20, 80);      // 4.0 over 20
+    }
+
+    @Test
+    @DisplayName("Should rank a long 4.8 record above a single 5-star review")
+    void shouldSmoothSmallSamples() {
+        assertThat(leaderboard.top("Lagos", 3))
+                .extracting(CaregiverLeaderboard.Standing::caregiverId)
+                .containsExactly(veteran, newcomer, average);
+
+        assertThat(leaderboard.score(1, 5)).isCloseTo(45.0 / 11, within(1e-9));
+        assertThat(leaderboard.score(0, 0)).isEqualTo(4.0);
+    }
+
+    @Test
+    @DisplayName("Should move a caregiver as reviews arrive")
+    void shouldReorderOnReview() {
+        for (int i = 0; i < 60; i++) {
+            leaderboard.recordReview(newcomer, 5);
+        }
+
+        assertThat(leaderboard.top("Lagos", 1))
+                .singleElement()
+                .satisfies(top -> {
+                    assertThat(top.caregiverId()).isEqualTo(newcomer);
+                    assertThat(top.reviewCount()).isEqualTo(61);
+                    assertThat(top.averageRating()).isEqualTo(5.0);
+                });
+        assertThat(leaderboard.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep cities apart and move a caregiver that changes city")
+    void shouldKeepCitiesSeparate() {
+        leaderboard.put(average, "Abuja", "Average", "Wuse", 20, 80);
+
+        assertThat(leaderboard.top("Lagos", 10)).hasSize(2);
+        assertThat(leaderboard.top("Abuja", 10))
+                .extracting(CaregiverLeaderboard.Standing::caregiverId)
+                .containsExactly(average);
+        assertThat(leaderboard.top("Kano", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return at most the requested number, and drop removed caregivers")
+    void shouldLimitAndRemove() {
+        assertThat(leaderboard.top("Lagos", 2)).hasSize(2);
+
+        leaderboard.remove(veteran);
+        leaderboard.recordReview(veteran, 5);
+
+        assertThat(leaderboard.top("Lagos", 10))
+                .extracting(CaregiverLeaderboard.Standing::caregiverId)
+                .containsExactly(newcomer, average);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive prior weight")
+    void shouldRejectInvalidPrior() {
+        assertThatThrownBy(() -> new CaregiverLeaderboard(0, 4.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
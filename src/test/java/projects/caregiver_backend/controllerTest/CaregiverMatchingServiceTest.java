@@ -0,0 +1,180 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.request.CaregiverMatchRequest;
+import projects.caregiver_backend.dtos.response.CaregiverMatchResponse;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverCandidateView;
+import projects.caregiver_backend.service.CaregiverMatchingService;
+import projects.caregiver_backend.service.DaySlots;
+import projects.caregiver_backend.service.FreeSlotService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CaregiverMatchingService Tests")
+class CaregiverMatchingServiceTest {
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    @Mock
+    private FreeSlotService freeSlotService;
+
+    @InjectMocks
+    private CaregiverMatchingService matchingService;
+
+    private LocalDate date;
+    private Set<UUID> busy;
+
+    @BeforeEach
+    void setUp() {
+        date = LocalDate.now().plusDays(1);
+        busy = new HashSet<>();
+    }
+
+    private record Candidate(
+            UUID getId,
+            String getFullName,
+            String getNeighborhood,
+            Long getHourlyRateMinor,
+            Double getAverageRating,
+            Long getReviewCount
+    ) implements CaregiverCandidateView {}
+
+    private Candidate candidate(String name, double rate, Double rating, long reviews) {
+        return new Candidate(UUID.randomUUID(), name, "Yaba", Math.round(rate * 100), rating, reviews);
+    }
+
+    private CaregiverMatchRequest request(BigDecimal maxRate, Integer limit) {
+        return new CaregiverMatchRequest(
+                "Lagos", null, date, LocalTime.of(9, 0), LocalTime.of(12, 0), maxRate, limit
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubAvailability() {
+        when(freeSlotService.freeSlots(any(Collection.class), eq(date), eq(date))).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(0);
+            Map<UUID, Map<LocalDate, DaySlots>> result = new HashMap<>();
+            for (UUID id : ids) {
+                DaySlots slots = DaySlots.empty();
+                if (!busy.contains(id)) {
+                    slots.markFree(LocalTime.of(8, 0), LocalTime.of(18, 0));
+                }
+                result.put(id, Map.of(date, slots));
+            }
+            return result;
+        });
+    }
+
+    @Nested
+    @DisplayName("Ranking Tests")
+    class RankingTests {
+
+        @Test
+        @DisplayName("Should rank by rating and price and skip unavailable caregivers")
+        void shouldRankAvailableCaregivers() {
+            Candidate best = candidate("Ada", 2000, 4.9, 30);
+            Candidate cheap = candidate("Bola", 1000, 4.0, 10);
+            Candidate booked = candidate("Chi", 1000, 5.0, 50);
+            Candidate unrated = candidate("Dayo", 4000, null, 0);
+            busy.add(booked.getId());
+
+            when(caregiverRepository.findMatchCandidates("Lagos", null, null))
+                    .thenReturn(List.of(unrated, booked, cheap, best));
+            stubAvailability();
+
+            List<CaregiverMatchResponse> result = matchingService.match(request(null, 2));
+
+            assertThat(result).extracting(CaregiverMatchResponse::fullName)
+                    .containsExactly("Ada", "Bola");
+            assertThat(result.get(0).score()).isGreaterThan(result.get(1).score());
+        }
+
+        @Test
+        @DisplayName("Should agree with a full sort on a large synthetic candidate set")
+        void shouldMatchFullSort() {
+            Random random = new Random(42);
+            List<CaregiverCandidateView> candidates = new ArrayList<>();
+            for (int i = 0; i < 5_000; i++) {
+                Candidate c = candidate("cg-" + i, 500 + random.nextInt(4_500), 1 + random.nextDouble() * 4, random.nextInt(100));
+                candidates.add(c);
+                if (random.nextInt(4) == 0) busy.add(c.getId());
+            }
+
+            when(caregiverRepository.findMatchCandidates("Lagos", null, null)).thenReturn(candidates);
+            stubAvailability();
+
+            List<CaregiverMatchResponse> result = matchingService.match(request(null, 20));
+
+            double ceiling = candidates.stream().mapToDouble(c -> c.getHourlyRateMinor()).max().orElseThrow();
+            List<UUID> expected = candidates.stream()
+                    .filter(c -> !busy.contains(c.getId()))
+                    .sorted(Comparator.comparingDouble((CaregiverCandidateView c) -> 0.7 * (c.getAverageRating() / 5.0)
+                                    + 0.3 * (1.0 - c.getHourlyRateMinor() / ceiling))
+                            .thenComparingLong(CaregiverCandidateView::getReviewCount)
+                            .thenComparing(CaregiverCandidateView::getId)
+                            .reversed())
+                    .limit(20)
+                    .map(CaregiverCandidateView::getId)
+                    .toList();
+
+            assertThat(result).extracting(CaregiverMatchResponse::id).containsExactlyElementsOf(expected);
+        }
+
+        @Test
+        @DisplayName("Should return empty list without checking availability when nobody matches")
+        void shouldReturnEmptyWhenNoCandidates() {
+            when(caregiverRepository.findMatchCandidates("Lagos", null, 1_000L)).thenReturn(List.of());
+
+            assertThat(matchingService.match(request(BigDecimal.TEN, null))).isEmpty();
+            verifyNoInteractions(freeSlotService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject a limit above the maximum")
+        void shouldRejectLargeLimit() {
+            assertThatThrownBy(() -> matchingService.match(request(null, 500)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(caregiverRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject an end time before the start time")
+        void shouldRejectInvertedRange() {
+            assertThatThrownBy(() -> new CaregiverMatchRequest(
+                    "Lagos", null, date, LocalTime.of(12, 0), LocalTime.of(9, 0), null, null
+            )).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
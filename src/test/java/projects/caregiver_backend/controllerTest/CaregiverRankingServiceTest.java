@@ -0,0 +1,86 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.response.LeaderboardEntryResponse;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverStandingView;
+import projects.caregiver_backend.service.CaregiverRankingService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CaregiverRankingService Tests")
+class CaregiverRankingServiceTest {
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    private CaregiverRankingService rankingService;
+
+    private final UUID caregiverId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new CaregiverRankingService(caregiverRepository, 10, 4.0);
+    }
+
+    private CaregiverStandingView standing(long reviews, long stars) {
+        return new CaregiverStandingView() {
+            public UUID getId() { return caregiverId; }
+            public String getCity() { return "Ibadan"; }
+            public String getFullName() { return "Ada Obi"; }
+            public String getNeighborhood() { return "Bodija"; }
+            public long getReviewCount() { return reviews; }
+            public long getRatingTotal() { return stars; }
+        };
+    }
+
+    @Nested
+    @DisplayName("Rebuild Tests")
+    class RebuildTests {
+
+        @Test
+        @DisplayName("Should keep a review that lands while the rebuild is scanning")
+        void shouldKeepReviewRecordedDuringRebuild() {
+            // The scan reads the row before the review commits; the review is then
+            // counted on the board the rebuild is about to replace
+            when(caregiverRepository.findStandingsAfter(any(), any())).thenAnswer(invocation -> {
+                rankingService.recordReview(caregiverId, 5);
+                return List.of(standing(2, 8));
+            });
+            when(caregiverRepository.findStandingById(caregiverId)).thenReturn(Optional.of(standing(3, 13)));
+
+            rankingService.rebuild();
+
+            assertThat(rankingService.top("Ibadan", 10))
+                    .extracting(LeaderboardEntryResponse::reviewCount)
+                    .containsExactly(3L);
+        }
+
+        @Test
+        @DisplayName("Should not re-read caregivers when nothing changed during the rebuild")
+        void shouldNotReplayWithoutChanges() {
+            when(caregiverRepository.findStandingsAfter(any(), any())).thenReturn(List.of(standing(2, 8)));
+
+            rankingService.rebuild();
+            rankingService.recordReview(caregiverId, 5);
+
+            assertThat(rankingService.top("Ibadan", 10))
+                    .extracting(LeaderboardEntryResponse::reviewCount)
+                    .containsExactly(3L);
+            verify(caregiverRepository, never()).findStandingById(any());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package projects.caregiver_backend.controllerTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.response.RatingSummaryResponse;
+import projects.caregiver_backend.model.RatingSummary;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.service.CaregiverRankingService;
+import projects.caregiver_backend.service.CaregiverRatingService;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CaregiverRatingService Tests")
+class CaregiverRatingServiceTest {
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    @Mock
+    private CaregiverRankingService rankingService;
+
+    private CaregiverRatingService ratingService;
+
+    private final UUID caregiverId = UUID.randomUUID();
+    private final UUID reviewerId = UUID.randomUUID();
+
+    // 1, 4, 4, 5, 5, 5 stars
+    private final RatingSummary ratings = new RatingSummary(6, 24, 1, 0, 0, 2, 3);
+
+    @BeforeEach
+    void setUp() {
+        ratingService = new CaregiverRatingService(caregiverRepository, rankingService, 2);
+    }
+
+    @Nested
+    @DisplayName("Summary Tests")
+    class SummaryTests {
+
+        @Test
+        @DisplayName("Should expose average, count and the histogram in star order")
+        void shouldMapSummary() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.of(ratings));
+
+            RatingSummaryResponse summary = ratingService.summary(caregiverId);
+
+            assertThat(summary.caregiverId()).isEqualTo(caregiverId);
+            assertThat(summary.averageRating()).isEqualTo(4.0);
+            assertThat(summary.reviewCount()).isEqualTo(6);
+            assertThat(summary.histogram()).containsExactly(
+                    entry(1, 1L), entry(2, 0L), entry(3, 0L), entry(4, 2L), entry(5, 3L)
+            );
+        }
+
+        @Test
+        @DisplayName("Should report zero average for a caregiver without reviews")
+        void shouldHandleEmptySummary() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.of(RatingSummary.EMPTY));
+
+            RatingSummaryResponse summary = ratingService.summary(caregiverId);
+
+            assertThat(summary.averageRating()).isZero();
+            assertThat(summary.histogram()).containsOnlyKeys(1, 2, 3, 4, 5).allSatisfy((star, count) ->
+                    assertThat(count).isZero());
+        }
+
+        @Test
+        @DisplayName("Should load a summary once and serve repeats from the cache")
+        void shouldCacheSummary() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.of(ratings));
+
+            ratingService.summary(caregiverId);
+            ratingService.summary(caregiverId);
+
+            verify(caregiverRepository, times(1)).findRatingsById(caregiverId);
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used summary beyond the cache size")
+        void shouldEvictLeastRecentlyUsed() {
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            when(caregiverRepository.findRatingsById(any())).thenReturn(Optional.of(ratings));
+
+            ratingService.summary(caregiverId);
+            ratingService.summary(second);
+            ratingService.summary(third);
+            ratingService.summary(caregiverId);
+
+            verify(caregiverRepository, times(2)).findRatingsById(caregiverId);
+        }
+
+        @Test
+        @DisplayName("Should publish cache hits, misses and evictions")
+        void shouldPublishCacheMetrics() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ratingService.bindTo(registry);
+            when(caregiverRepository.findRatingsById(any())).thenReturn(Optional.of(ratings));
+
+            ratingService.summary(caregiverId);
+            ratingService.summary(caregiverId);
+            ratingService.summary(UUID.randomUUID());
+            ratingService.summary(UUID.randomUUID());
+
+            assertThat(registry.get("cache.gets").tags("cache", "reviews.ratings", "result", "hit")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(registry.get("cache.gets").tags("cache", "reviews.ratings", "result", "miss")
+                    .functionCounter().count()).isEqualTo(3);
+            assertThat(registry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+            assertThat(registry.get("cache.size").gauge().value()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when caregiver not found")
+        void shouldThrowWhenCaregiverNotFound() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> ratingService.summary(caregiverId))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("Caregiver not found");
+        }
+    }
+
+    @Nested
+    @DisplayName("Record Review Tests")
+    class RecordReviewTests {
+
+        @Test
+        @DisplayName("Should bump the counters and drop the cached summary")
+        void shouldInvalidateOnWrite() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.of(ratings));
+            when(caregiverRepository.recordRating(caregiverId, reviewerId, 3)).thenReturn(1);
+
+            ratingService.summary(caregiverId);
+            boolean counted = ratingService.recordReview(caregiverId, reviewerId, 3);
+            ratingService.summary(caregiverId);
+
+            assertThat(counted).isTrue();
+            verify(caregiverRepository, times(2)).findRatingsById(caregiverId);
+            verify(rankingService).recordReview(caregiverId, 3);
+        }
+
+        @Test
+        @DisplayName("Should count nothing and keep the cache when no caregiver row matched")
+        void shouldReportUnmatchedCaregiver() {
+            when(caregiverRepository.findRatingsById(caregiverId)).thenReturn(Optional.of(ratings));
+            when(caregiverRepository.recordRating(caregiverId, reviewerId, 4)).thenReturn(0);
+
+            ratingService.summary(caregiverId);
+            boolean counted = ratingService.recordReview(caregiverId, reviewerId, 4);
+            ratingService.summary(caregiverId);
+
+            assertThat(counted).isFalse();
+            verify(caregiverRepository, times(1)).findRatingsById(caregiverId);
+            verifyNoInteractions(rankingService);
+        }
+
+        @Test
+        @DisplayName("Should reject ratings outside 1 to 5")
+        void shouldRejectOutOfRangeRating() {
+            assertThatThrownBy(() -> ratingService.recordReview(caregiverId, reviewerId, 6))
+                    .isInstanceOf(IllegalArgumentException.class);
+
+            verifyNoInteractions(caregiverRepository);
+        }
+    }
+}
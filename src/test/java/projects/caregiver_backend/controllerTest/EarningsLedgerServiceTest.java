@@ -0,0 +1,219 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.response.EarningsStatementResponse;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.EarningsLedgerRepository;
+import projects.caregiver_backend.repositories.EarningsSnapshotRepository;
+import projects.caregiver_backend.repositories.projections.EarningsBalanceView;
+import projects.caregiver_backend.service.EarningsLedgerService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EarningsLedgerService Tests")
+class EarningsLedgerServiceTest {
+
+    @Mock
+    private EarningsLedgerRepository ledgerRepository;
+
+    @Mock
+    private EarningsSnapshotRepository snapshotRepository;
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    private EarningsLedgerService ledgerService;
+
+    private final UUID caregiverId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new EarningsLedgerService(ledgerRepository, snapshotRepository, caregiverRepository, 3);
+    }
+
+    private Booking booking(long amountMinor) {
+        Caregiver caregiver = new Caregiver();
+        caregiver.setId(caregiverId);
+        Booking booking = new Booking();
+        booking.setId(UUID.randomUUID());
+        booking.setCaregiver(caregiver);
+        booking.setTotalAmount(Money.ofMinor(amountMinor, Money.NGN));
+        return booking;
+    }
+
+    private EarningsBalanceView head(long snapshotSequence, long lastSequence, long pending, long available) {
+        return new EarningsBalanceView() {
+            public UUID getCaregiverId() { return caregiverId; }
+            public Long getSnapshotSequence() { return snapshotSequence; }
+            public Long getLastSequence() { return lastSequence; }
+            public Long getPendingMinor() { return pending; }
+            public Long getAvailableMinor() { return available; }
+            public Currency getCurrency() { return Money.NGN; }
+        };
+    }
+
+    private EarningsLedgerEntry entry(long sequence, LedgerEntryType type, long pendingDelta, long availableDelta) {
+        EarningsLedgerEntry entry = new EarningsLedgerEntry();
+        entry.setCaregiverId(caregiverId);
+        entry.setSequence(sequence);
+        entry.setEntryType(type);
+        entry.setSourceRef("booking-" + sequence);
+        entry.setPendingDelta(pendingDelta);
+        entry.setAvailableDelta(availableDelta);
+        entry.setCurrency(Money.NGN);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entry;
+    }
+
+    @Nested
+    @DisplayName("Posting Tests")
+    class PostingTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should number entries after the head and snapshot every interval")
+        void shouldNumberAndSnapshot() {
+            when(ledgerRepository.findBalances(any())).thenReturn(List.of(head(3, 4, 10_000, 0)));
+
+            ledgerService.bookingsPaid(List.of(booking(1_000), booking(2_000), booking(3_000)));
+
+            verify(caregiverRepository).lockByIdIn(Set.of(caregiverId));
+
+            ArgumentCaptor<List<EarningsLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+            verify(ledgerRepository).saveAll(entries.capture());
+            assertThat(entries.getValue())
+                    .extracting(EarningsLedgerEntry::getSequence)
+                    .containsExactly(5L, 6L, 7L);
+            assertThat(entries.getValue())
+                    .allSatisfy(e -> assertThat(e.getEntryType()).isEqualTo(LedgerEntryType.BOOKING_PAID));
+
+            // Interval 3 from the snapshot at 3: the next one lands on 6
+            ArgumentCaptor<List<EarningsBalanceSnapshot>> snapshots = ArgumentCaptor.forClass(List.class);
+            verify(snapshotRepository).saveAll(snapshots.capture());
+            assertThat(snapshots.getValue()).singleElement().satisfies(snapshot -> {
+                assertThat(snapshot.getSequence()).isEqualTo(6);
+                assertThat(snapshot.getPendingMinor()).isEqualTo(13_000);
+            });
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should snapshot a caregiver's first entry")
+        void shouldSnapshotFirstEntry() {
+            when(ledgerRepository.findBalances(any())).thenReturn(List.of());
+
+            ledgerService.bookingsPaid(List.of(booking(5_000)));
+
+            ArgumentCaptor<List<EarningsBalanceSnapshot>> snapshots = ArgumentCaptor.forClass(List.class);
+            verify(snapshotRepository).saveAll(snapshots.capture());
+            assertThat(snapshots.getValue()).singleElement().satisfies(snapshot -> {
+                assertThat(snapshot.getSequence()).isEqualTo(1);
+                assertThat(snapshot.getPendingMinor()).isEqualTo(5_000);
+                assertThat(snapshot.getAvailableMinor()).isZero();
+            });
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should move a completed booking from pending to available")
+        void shouldReleaseCompletedBooking() {
+            when(ledgerRepository.findBalances(any())).thenReturn(List.of(head(1, 1, 5_000, 0)));
+
+            ledgerService.bookingCompleted(booking(5_000));
+
+            ArgumentCaptor<List<EarningsLedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+            verify(ledgerRepository).saveAll(entries.capture());
+            assertThat(entries.getValue()).singleElement().satisfies(entry -> {
+                assertThat(entry.getEntryType()).isEqualTo(LedgerEntryType.BOOKING_COMPLETED);
+                assertThat(entry.getPendingDelta()).isEqualTo(-5_000);
+                assertThat(entry.getAvailableDelta()).isEqualTo(5_000);
+            });
+        }
+
+        @Test
+        @DisplayName("Should refuse a posting in another currency")
+        void shouldRejectOtherCurrency() {
+            when(ledgerRepository.findBalances(any())).thenReturn(List.of(head(1, 1, 5_000, 0)));
+            Booking dollars = booking(100);
+            dollars.setTotalAmount(Money.ofMinor(100, Currency.getInstance("USD")));
+
+            assertThatThrownBy(() -> ledgerService.bookingsPaid(List.of(dollars)))
+                    .isInstanceOf(IllegalStateException.class);
+            verify(ledgerRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should not touch the database for an empty batch")
+        void shouldSkipEmptyBatch() {
+            ledgerService.bookingsPaid(List.of());
+
+            verifyNoInteractions(ledgerRepository, snapshotRepository, caregiverRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Statement Tests")
+    class StatementTests {
+
+        @Test
+        @DisplayName("Should walk running balances back from the page's first entry")
+        void shouldComputeRunningBalances() {
+            when(caregiverRepository.findIdByUsername("carer")).thenReturn(Optional.of(caregiverId));
+            when(ledgerRepository.findByCaregiverIdAndSequenceLessThanOrderBySequenceDesc(
+                    eq(caregiverId), eq(Long.MAX_VALUE), any()))
+                    .thenReturn(List.of(
+                            entry(3, LedgerEntryType.BOOKING_COMPLETED, -2_000, 2_000),
+                            entry(2, LedgerEntryType.BOOKING_PAID, 2_000, 0)
+                    ));
+            when(ledgerRepository.findBalanceAt(caregiverId, 3)).thenReturn(Optional.of(head(1, 3, 1_000, 2_000)));
+
+            EarningsStatementResponse statement = ledgerService.statementFor("carer", null, 2);
+
+            assertThat(statement.entries()).hasSize(2);
+            assertThat(statement.entries().get(0).availableBalance()).isEqualByComparingTo(new BigDecimal("20.00"));
+            assertThat(statement.entries().get(0).pendingBalance()).isEqualByComparingTo(new BigDecimal("10.00"));
+            assertThat(statement.entries().get(1).availableBalance()).isEqualByComparingTo(BigDecimal.ZERO);
+            assertThat(statement.entries().get(1).pendingBalance()).isEqualByComparingTo(new BigDecimal("30.00"));
+            assertThat(statement.nextBefore()).isEqualTo(2L);
+        }
+
+        @Test
+        @DisplayName("Should end paging on a short page")
+        void shouldEndOnShortPage() {
+            when(caregiverRepository.findIdByUsername("carer")).thenReturn(Optional.of(caregiverId));
+            when(ledgerRepository.findByCaregiverIdAndSequenceLessThanOrderBySequenceDesc(
+                    eq(caregiverId), eq(2L), any()))
+                    .thenReturn(List.of(entry(1, LedgerEntryType.BOOKING_PAID, 1_000, 0)));
+            when(ledgerRepository.findBalanceAt(caregiverId, 1)).thenReturn(Optional.of(head(1, 1, 1_000, 0)));
+
+            EarningsStatementResponse statement = ledgerService.statementFor("carer", 2L, 20);
+
+            assertThat(statement.entries()).hasSize(1);
+            assertThat(statement.nextBefore()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject an out-of-range page size")
+        void shouldRejectInvalidLimit() {
+            assertThatThrownBy(() -> ledgerService.statementFor("carer", null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> ledgerService.statementFor("carer", null, 101))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.dtos.response.FreeSlotResponse;
+import projects.caregiver_backend.repositories.AvailabilityRepository;
+import projects.caregiver_backend.repositories.AvailabilityTemplateRepository;
+import projects.caregiver_backend.repositories.BookingRepository;
+import projects.caregiver_backend.repositories.projections.CaregiverWindowView;
+import projects.caregiver_backend.repositories.projections.TemplateWindowView;
+import projects.caregiver_backend.service.DaySlots;
+import projects.caregiver_backend.service.FreeSlotService;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FreeSlotService Tests")
+class FreeSlotServiceTest {
+
+    @Mock
+    private AvailabilityRepository availabilityRepository;
+
+    @Mock
+    private AvailabilityTemplateRepository templateRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private FreeSlotService freeSlotService;
+
+    private UUID caregiverId;
+    private LocalDate date;
+
+    @BeforeEach
+    void setUp() {
+        freeSlotService = new FreeSlotService(availabilityRepository, templateRepository, bookingRepository, 100, Duration.ofMinutes(2));
+        caregiverId = UUID.randomUUID();
+        date = LocalDate.now().plusDays(1);
+    }
+
+    private CaregiverWindowView window(LocalDate day, int startHour, int startMinute, int endHour, int endMinute) {
+        return new Window(caregiverId, day, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+
+    private record Window(UUID getCaregiverId, LocalDate getDate, LocalTime getStartTime, LocalTime getEndTime)
+            implements CaregiverWindowView {}
+
+    private record Template(UUID getCaregiverId, DayOfWeek getDayOfWeek, LocalTime getStartTime, LocalTime getEndTime)
+            implements TemplateWindowView {}
+
+    @Nested
+    @DisplayName("Day Slot Bitset Tests")
+    class DaySlotsTests {
+
+        @Test
+        @DisplayName("Should treat availability as free and bookings as busy")
+        void shouldSubtractBookingsFromAvailability() {
+            DaySlots slots = DaySlots.empty();
+            slots.markFree(LocalTime.of(9, 0), LocalTime.of(17, 0));
+            slots.markBusy(LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+            assertThat(slots.freeCount()).isEqualTo(28); // 8h - 1h in 15-minute slots
+            assertThat(slots.isFree(LocalTime.of(9, 0), LocalTime.of(12, 0))).isTrue();
+            assertThat(slots.isFree(LocalTime.of(11, 0), LocalTime.of(12, 15))).isFalse();
+            assertThat(slots.isFree(LocalTime.of(8, 45), LocalTime.of(10, 0))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should round unaligned bookings outward and windows inward")
+        void shouldRoundConservatively() {
+            DaySlots slots = DaySlots.empty();
+            slots.markFree(LocalTime.of(9, 10), LocalTime.of(11, 50));
+
+            assertThat(slots.nextFree(0)).isEqualTo(DaySlots.floorSlot(LocalTime.of(9, 15)));
+            assertThat(slots.isFree(LocalTime.of(9, 15), LocalTime.of(11, 45))).isTrue();
+            assertThat(slots.isFree(LocalTime.of(9, 15), LocalTime.of(11, 50))).isFalse();
+
+            slots.markBusy(LocalTime.of(10, 5), LocalTime.of(10, 20));
+            assertThat(slots.isFree(LocalTime.of(10, 0), LocalTime.of(10, 15))).isFalse();
+            assertThat(slots.isFree(LocalTime.of(10, 30), LocalTime.of(11, 0))).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should handle slots across the 64-bit word boundary and end of day")
+        void shouldHandleWordBoundary() {
+            DaySlots slots = DaySlots.empty();
+            slots.markFree(LocalTime.of(15, 0), LocalTime.of(23, 59));
+
+            // Slot 64 starts at 16:00
+            assertThat(slots.isFree(LocalTime.of(15, 30), LocalTime.of(16, 30))).isTrue();
+            assertThat(slots.isFree(LocalTime.of(23, 0), LocalTime.of(23, 59))).isTrue();
+            assertThat(slots.nextFree(70)).isEqualTo(70);
+            assertThat(DaySlots.slotEnd(95)).isEqualTo(LocalTime.MAX);
+        }
+
+        @Test
+        @DisplayName("Should report no free slot when the day is empty")
+        void shouldReturnMinusOneWhenNothingFree() {
+            DaySlots slots = DaySlots.empty();
+
+            assertThat(slots.nextFree(0)).isEqualTo(-1);
+            assertThat(slots.isFree(LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Free Slot Engine Tests")
+    class EngineTests {
+
+        @Test
+        @DisplayName("Should report range free only inside availability and outside bookings")
+        void shouldCheckRangeAgainstWindowsAndBookings() {
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(window(date, 9, 0, 13, 0)));
+            when(bookingRepository.findBookedWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(window(date, 10, 0, 11, 0)));
+
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0))).isTrue();
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(10, 30), LocalTime.of(11, 30))).isFalse();
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(12, 0), LocalTime.of(14, 0))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should serve the whole week from cache until invalidated")
+        void shouldCacheUntilInvalidated() {
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(window(date, 9, 0, 13, 0)));
+
+            LocalDate sameWeek = date.getDayOfWeek() == DayOfWeek.SUNDAY ? date.minusDays(1) : date.plusDays(1);
+
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            freeSlotService.isRangeFree(caregiverId, sameWeek, LocalTime.of(11, 0), LocalTime.of(12, 0));
+            verify(availabilityRepository, times(1)).findWindowsForCaregivers(any(), any(), any());
+
+            freeSlotService.invalidate(caregiverId, date);
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            verify(availabilityRepository, times(2)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not cache a load that an invalidation raced with")
+        void shouldNotCacheLoadRacingInvalidation() {
+            // The booking commits while the week is being read
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenAnswer(invocation -> {
+                        freeSlotService.invalidate(caregiverId, date);
+                        return List.of(window(date, 9, 0, 13, 0));
+                    })
+                    .thenReturn(List.of(window(date, 9, 0, 13, 0)));
+
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+            verify(availabilityRepository, times(2)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reload entries older than the TTL")
+        void shouldReloadExpiredEntries() {
+            FreeSlotService expiring = new FreeSlotService(
+                    availabilityRepository, templateRepository, bookingRepository, 100, Duration.ZERO);
+
+            expiring.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+            expiring.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+            verify(availabilityRepository, times(2)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should check the database, not the cache, for the uncached range check")
+        void shouldBypassCacheForUncachedCheck() {
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(window(date, 9, 0, 13, 0)))
+                    .thenReturn(List.of());
+
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0))).isTrue();
+            assertThat(freeSlotService.isRangeFreeUncached(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+            verify(availabilityRepository).findWindowsForCaregivers(List.of(caregiverId), date, date);
+        }
+
+        @Test
+        @DisplayName("Should evict whole caregivers, least recently used first, once the days exceed the limit")
+        void shouldEvictLeastRecentlyUsedCaregiver() {
+            FreeSlotService twoWeeks = new FreeSlotService(
+                    availabilityRepository, templateRepository, bookingRepository, 14, Duration.ofMinutes(2));
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+
+            twoWeeks.freeSlots(caregiverId, date);
+            twoWeeks.freeSlots(second, date);
+            twoWeeks.freeSlots(caregiverId, date);
+            twoWeeks.freeSlots(third, date);
+            verify(availabilityRepository, times(3)).findWindowsForCaregivers(any(), any(), any());
+
+            twoWeeks.freeSlots(caregiverId, date);
+            verify(availabilityRepository, times(3)).findWindowsForCaregivers(any(), any(), any());
+            twoWeeks.freeSlots(second, date);
+            verify(availabilityRepository, times(4)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should drop only the invalidated caregiver's days")
+        void shouldInvalidateOneCaregiver() {
+            UUID other = UUID.randomUUID();
+            freeSlotService.freeSlots(caregiverId, date);
+            freeSlotService.freeSlots(other, date);
+
+            freeSlotService.invalidateCaregiver(caregiverId);
+            freeSlotService.freeSlots(other, date);
+            verify(availabilityRepository, times(2)).findWindowsForCaregivers(any(), any(), any());
+            freeSlotService.freeSlots(caregiverId, date);
+            verify(availabilityRepository, times(3)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should load the week around the requested date")
+        void shouldLoadWholeWeek() {
+            freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+            verify(availabilityRepository).findWindowsForCaregivers(
+                    Set.of(caregiverId),
+                    date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                    date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+            );
+        }
+
+        @Test
+        @DisplayName("Should return next free slots across days in one load")
+        void shouldReturnNextFreeSlotsAcrossDays() {
+            LocalDate nextDay = date.plusDays(1);
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(
+                            window(date, 9, 0, 9, 30),
+                            window(nextDay, 8, 0, 9, 0)
+                    ));
+            when(bookingRepository.findBookedWindowsForCaregivers(any(), any(), any()))
+                    .thenReturn(List.of(window(nextDay, 8, 15, 8, 30)));
+
+            List<FreeSlotResponse> slots =
+                    freeSlotService.nextFreeSlots(caregiverId, date, LocalTime.of(9, 5), 3);
+
+            assertThat(slots).containsExactly(
+                    new FreeSlotResponse(date, LocalTime.of(9, 15), LocalTime.of(9, 30)),
+                    new FreeSlotResponse(nextDay, LocalTime.of(8, 0), LocalTime.of(8, 15)),
+                    new FreeSlotResponse(nextDay, LocalTime.of(8, 30), LocalTime.of(8, 45))
+            );
+            verify(availabilityRepository, times(1)).findWindowsForCaregivers(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive limit")
+        void shouldRejectNonPositiveLimit() {
+            assertThatThrownBy(() -> freeSlotService.nextFreeSlots(caregiverId, date, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Weekly Template Tests")
+    class TemplateTests {
+
+        @Test
+        @DisplayName("Should expand the weekly template onto every matching date")
+        void shouldExpandTemplate() {
+            when(templateRepository.findTemplateWindows(any()))
+                    .thenReturn(List.of(new Template(caregiverId, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(12, 0))));
+
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(12, 0))).isTrue();
+            assertThat(freeSlotService.isRangeFree(caregiverId, date.plusWeeks(3), LocalTime.of(9, 0), LocalTime.of(10, 0))).isTrue();
+            assertThat(freeSlotService.isRangeFree(caregiverId, date.plusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should let date-specific rows and day-offs override the template")
+        void shouldApplyDateOverrides() {
+            LocalDate nextWeek = date.plusWeeks(1);
+            when(templateRepository.findTemplateWindows(any()))
+                    .thenReturn(List.of(new Template(caregiverId, date.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(12, 0))));
+            when(availabilityRepository.findWindowsForCaregivers(any(), any(), any()))
+                    .thenAnswer(invocation -> {
+                        LocalDate from = invocation.getArgument(1);
+                        LocalDate to = invocation.getArgument(2);
+                        return Stream.of(
+                                        new Window(caregiverId, date, null, null),
+                                        window(nextWeek, 14, 0, 16, 0)
+                                )
+                                .filter(w -> !w.getDate().isBefore(from) && !w.getDate().isAfter(to))
+                                .map(w -> (CaregiverWindowView) w)
+                                .toList();
+                    });
+
+            assertThat(freeSlotService.isRangeFree(caregiverId, date, LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+            assertThat(freeSlotService.isRangeFree(caregiverId, nextWeek, LocalTime.of(9, 0), LocalTime.of(10, 0))).isFalse();
+            assertThat(freeSlotService.isRangeFree(caregiverId, nextWeek, LocalTime.of(14, 0), LocalTime.of(16, 0))).isTrue();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import projects.caregiver_backend.model.GatewayPayload;
+import projects.caregiver_backend.repositories.GatewayPayloadRepository;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GatewayPayloadStore Tests")
+class GatewayPayloadStoreTest {
+
+    @Mock
+    private GatewayPayloadRepository payloadRepository;
+
+    private GatewayPayloadStore payloadStore;
+
+    @BeforeEach
+    void setUp() {
+        payloadStore = new GatewayPayloadStore(payloadRepository);
+    }
+
+    private String payload() {
+        StringBuilder json = new StringBuilder("{\"id\":302961,\"status\":\"success\",\"reference\":\"ref-₦\",\"log\":{\"history\":[");
+        for (int i = 0; i < 20; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"type\":\"action\",\"message\":\"Attempted to pay with card\",\"time\":").append(i).append('}');
+        }
+        return json.append("]}}").toString();
+    }
+
+    @Test
+    @DisplayName("Should store the payload compressed and read it back unchanged")
+    void shouldRoundTripCompressed() {
+        UUID paymentId = UUID.randomUUID();
+        String json = payload();
+
+        payloadStore.save(paymentId, GatewayPayloadStore.SOURCE_WEBHOOK, json);
+
+        ArgumentCaptor<GatewayPayload> saved = ArgumentCaptor.forClass(GatewayPayload.class);
+        verify(payloadRepository).save(saved.capture());
+        GatewayPayload stored = saved.getValue();
+
+        assertThat(stored.getPaymentId()).isEqualTo(paymentId);
+        assertThat(stored.getRawSize()).isEqualTo(json.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(stored.getCodec()).isEqualTo((short) 1);
+        assertThat(stored.getBody().length).isLessThan(stored.getRawSize() / 3);
+
+        when(payloadRepository.findFirstByPaymentIdOrderByCreatedAtDesc(paymentId))
+                .thenReturn(Optional.of(stored));
+
+        assertThat(payloadStore.latest(paymentId)).contains(json);
+    }
+
+    @Test
+    @DisplayName("Should skip a missing payload")
+    void shouldIgnoreNull() {
+        payloadStore.save(UUID.randomUUID(), GatewayPayloadStore.SOURCE_VERIFY, null);
+
+        verifyNoInteractions(payloadRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupt body")
+    void shouldRejectCorruptBody() {
+        UUID paymentId = UUID.randomUUID();
+        GatewayPayload corrupt = new GatewayPayload();
+        corrupt.setCodec((short) 1);
+        corrupt.setBody(new byte[]{1, 2, 3});
+        corrupt.setRawSize(100);
+        when(payloadRepository.findFirstByPaymentIdOrderByCreatedAtDesc(paymentId))
+                .thenReturn(Optional.of(corrupt));
+
+        assertThatThrownBy(() -> payloadStore.latest(paymentId))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,332 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.dtos.request.BookingRequest;
+import projects.caregiver_backend.dtos.response.PaymentInitResponse;
+import projects.caregiver_backend.model.IdempotencyRecord;
+import projects.caregiver_backend.repositories.IdempotencyRecordRepository;
+import projects.caregiver_backend.service.DatabaseIdempotencyStore;
+import projects.caregiver_backend.service.IdempotencyService;
+import projects.caregiver_backend.service.InMemoryIdempotencyStore;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IdempotencyService Tests")
+class IdempotencyServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private BookingRequest bookingRequest(int startHour) {
+        return new BookingRequest(
+                UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                LocalDate.now().plusDays(1),
+                LocalTime.of(startHour, 0),
+                LocalTime.of(startHour + 2, 0)
+        );
+    }
+
+    @Nested
+    @DisplayName("In-Memory Store Tests")
+    class InMemoryTests {
+
+        private IdempotencyService idempotencyService;
+        private AtomicInteger calls;
+
+        @BeforeEach
+        void setUp() {
+            idempotencyService = new IdempotencyService(
+                    new InMemoryIdempotencyStore(100, Duration.ofHours(1), Duration.ofSeconds(5)),
+                    objectMapper
+            );
+            calls = new AtomicInteger();
+        }
+
+        private PaymentInitResponse initPayment(String key, String username, int startHour) {
+            return idempotencyService.execute(
+                    key, username, "init-payment", bookingRequest(startHour), PaymentInitResponse.class,
+                    () -> new PaymentInitResponse("https://checkout/" + calls.incrementAndGet(), "ref-" + calls.get())
+            );
+        }
+
+        @Test
+        @DisplayName("Should replay the stored response without running the action again")
+        void shouldReplayStoredResponse() {
+            PaymentInitResponse first = initPayment("key-1", "user1", 9);
+            PaymentInitResponse retry = initPayment("key-1", "user1", 9);
+
+            assertThat(retry).isEqualTo(first);
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should run every request when no key is sent")
+        void shouldRunWithoutKey() {
+            initPayment(null, "user1", 9);
+            initPayment(null, "user1", 9);
+
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should scope keys per user")
+        void shouldScopeKeysPerUser() {
+            PaymentInitResponse first = initPayment("key-1", "user1", 9);
+            PaymentInitResponse second = initPayment("key-1", "user2", 9);
+
+            assertThat(second).isNotEqualTo(first);
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should reject a key reused for a different request body")
+        void shouldRejectDifferentRequest() {
+            initPayment("key-1", "user1", 9);
+
+            assertThatThrownBy(() -> initPayment("key-1", "user1", 14))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("different request");
+        }
+
+        @Test
+        @DisplayName("Should make a concurrent duplicate wait for the original")
+        void shouldWaitForInFlightOriginal() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+
+            CompletableFuture<PaymentInitResponse> original = CompletableFuture.supplyAsync(() ->
+                    idempotencyService.execute(
+                            "key-1", "user1", "init-payment", bookingRequest(9), PaymentInitResponse.class,
+                            () -> {
+                                started.countDown();
+                                await(release);
+                                calls.incrementAndGet();
+                                return new PaymentInitResponse("https://checkout/1", "ref-1");
+                            }
+                    ));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            CompletableFuture<PaymentInitResponse> duplicate =
+                    CompletableFuture.supplyAsync(() -> initPayment("key-1", "user1", 9));
+
+            Thread.sleep(100);
+            assertThat(duplicate).isNotDone();
+
+            release.countDown();
+
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(original.get(5, TimeUnit.SECONDS));
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should forget a failed request so the client can retry")
+        void shouldAllowRetryAfterFailure() {
+            assertThatThrownBy(() -> idempotencyService.execute(
+                    "key-1", "user1", "init-payment", bookingRequest(9), PaymentInitResponse.class,
+                    () -> { throw new IllegalStateException("Booking must be approved before payment"); }
+            )).isInstanceOf(IllegalStateException.class);
+
+            initPayment("key-1", "user1", 9);
+
+            assertThat(calls).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Should run the action again once the stored response expires")
+        void shouldExpireStoredResponse() {
+            idempotencyService = new IdempotencyService(
+                    new InMemoryIdempotencyStore(100, Duration.ZERO, Duration.ofSeconds(5)),
+                    objectMapper
+            );
+
+            initPayment("key-1", "user1", 9);
+            initPayment("key-1", "user1", 9);
+
+            assertThat(calls).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Should evict completed entries but never an in-flight one")
+        void shouldNotEvictInFlightEntry() throws Exception {
+            idempotencyService = new IdempotencyService(
+                    new InMemoryIdempotencyStore(2, Duration.ofHours(1), Duration.ofSeconds(5)),
+                    objectMapper
+            );
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<PaymentInitResponse> original = startBlocked("key-1", release);
+
+            initPayment("key-2", "user1", 10);
+            initPayment("key-3", "user1", 11);
+            initPayment("key-4", "user1", 12);
+
+            CompletableFuture<PaymentInitResponse> duplicate =
+                    CompletableFuture.supplyAsync(() -> initPayment("key-1", "user1", 9));
+            Thread.sleep(100);
+            assertThat(duplicate).isNotDone();
+
+            release.countDown();
+            assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(original.get(5, TimeUnit.SECONDS));
+            assertThat(calls).hasValue(4);
+        }
+
+        @Test
+        @DisplayName("Should turn new keys away while every entry is in flight")
+        void shouldRejectNewKeysWhenFullOfInFlight() throws Exception {
+            idempotencyService = new IdempotencyService(
+                    new InMemoryIdempotencyStore(1, Duration.ofHours(1), Duration.ofSeconds(5)),
+                    objectMapper
+            );
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<PaymentInitResponse> original = startBlocked("key-1", release);
+
+            assertThatThrownBy(() -> initPayment("key-2", "user1", 10))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+            release.countDown();
+            original.get(5, TimeUnit.SECONDS);
+            initPayment("key-2", "user1", 10);
+            assertThat(calls).hasValue(2);
+        }
+
+        // user1's 09:00 request under the given key, held in flight until release
+        private CompletableFuture<PaymentInitResponse> startBlocked(String key, CountDownLatch release)
+                throws InterruptedException {
+            CountDownLatch started = new CountDownLatch(1);
+            CompletableFuture<PaymentInitResponse> original = CompletableFuture.supplyAsync(() ->
+                    idempotencyService.execute(
+                            key, "user1", "init-payment", bookingRequest(9), PaymentInitResponse.class,
+                            () -> {
+                                started.countDown();
+                                await(release);
+                                return new PaymentInitResponse("https://checkout/0", "ref-" + calls.incrementAndGet());
+                            }
+                    ));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            return original;
+        }
+
+        @Test
+        @DisplayName("Should reject an over-long key")
+        void shouldRejectLongKey() {
+            assertThatThrownBy(() -> initPayment("k".repeat(101), "user1", 9))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @ExtendWith(MockitoExtension.class)
+    @DisplayName("Database Store Tests")
+    class DatabaseTests {
+
+        @Mock
+        private IdempotencyRecordRepository repository;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        private DatabaseIdempotencyStore store;
+
+        @BeforeEach
+        @SuppressWarnings("unchecked")
+        void setUp() {
+            store = new DatabaseIdempotencyStore(
+                    repository, transactionTemplate, objectMapper,
+                    Duration.ofHours(1), Duration.ofMillis(300), Duration.ofMinutes(1)
+            );
+            doAnswer(i -> {
+                ((Consumer<TransactionStatus>) i.getArgument(0)).accept(null);
+                return null;
+            }).when(transactionTemplate).executeWithoutResult(any());
+        }
+
+        @Test
+        @DisplayName("Should claim the key, run the action and store the response")
+        void shouldClaimAndStore() {
+            PaymentInitResponse response = store.execute(
+                    "key", "fp", PaymentInitResponse.class,
+                    () -> new PaymentInitResponse("https://checkout/1", "ref-1")
+            );
+
+            assertThat(response.reference()).isEqualTo("ref-1");
+            verify(repository).insertClaim(eq("key"), eq("fp"), any(), any());
+            verify(repository).complete(eq("key"), contains("ref-1"), any());
+        }
+
+        @Test
+        @DisplayName("Should return the stored response when another node already completed the key")
+        void shouldReplayFromDatabase() throws Exception {
+            IdempotencyRecord record = new IdempotencyRecord();
+            record.setIdempotencyKey("key");
+            record.setFingerprint("fp");
+            record.setResponseBody(objectMapper.writeValueAsString(
+                    new PaymentInitResponse("https://checkout/1", "ref-1")
+            ));
+            record.setExpiresAt(LocalDateTime.now().plusHours(1));
+
+            when(repository.insertClaim(anyString(), anyString(), any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+            when(repository.findById("key")).thenReturn(Optional.of(record));
+
+            PaymentInitResponse response = store.execute(
+                    "key", "fp", PaymentInitResponse.class,
+                    () -> { throw new AssertionError("action must not run"); }
+            );
+
+            assertThat(response.reference()).isEqualTo("ref-1");
+        }
+
+        @Test
+        @DisplayName("Should give up with a conflict while the original is still running")
+        void shouldTimeOutWhileInFlight() {
+            IdempotencyRecord claim = new IdempotencyRecord();
+            claim.setIdempotencyKey("key");
+            claim.setFingerprint("fp");
+
+            when(repository.insertClaim(anyString(), anyString(), any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+            when(repository.findById("key")).thenReturn(Optional.of(claim));
+
+            assertThatThrownBy(() -> store.execute(
+                    "key", "fp", PaymentInitResponse.class,
+                    () -> new PaymentInitResponse("https://checkout/2", "ref-2")
+            )).isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("still in progress");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projects.caregiver_backend.model.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Nested
+    @DisplayName("Conversion Tests")
+    class ConversionTests {
+
+        @Test
+        @DisplayName("Should convert major amounts to minor units exactly")
+        void shouldConvertMajorToMinor() {
+            assertThat(Money.ofMajor(new BigDecimal("2500.50"), Money.NGN).minorUnits()).isEqualTo(250_050);
+            assertThat(Money.ofMajor(new BigDecimal("25000000"), Money.NGN).minorUnits()).isEqualTo(2_500_000_000L);
+            assertThat(Money.ofMinor(250_050, Money.NGN).toMajor()).isEqualTo(new BigDecimal("2500.50"));
+        }
+
+        @Test
+        @DisplayName("Should reject amounts finer than the currency's minor unit")
+        void shouldRejectSubMinorAmounts() {
+            assertThatThrownBy(() -> Money.ofMajor(new BigDecimal("10.005"), Money.NGN))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pricing Tests")
+    class PricingTests {
+
+        @Test
+        @DisplayName("Should price whole and partial hours")
+        void shouldPriceDurations() {
+            Money rate = Money.ofMajor(new BigDecimal("50.00"), Money.NGN);
+
+            assertThat(rate.forMinutes(480).toMajor()).isEqualTo(new BigDecimal("400.00"));
+            assertThat(rate.forMinutes(90).toMajor()).isEqualTo(new BigDecimal("75.00"));
+        }
+
+        @Test
+        @DisplayName("Should round half-up to the minor unit")
+        void shouldRoundHalfUp() {
+            // 1000 kobo/h for 1 minute is 16.67 kobo, 10 kobo/h for 3 minutes is exactly 0.5 kobo
+            assertThat(Money.priceForMinutes(1_000, 1)).isEqualTo(17);
+            assertThat(Money.priceForMinutes(10, 3)).isEqualTo(1);
+            assertThat(Money.priceForMinutes(10, 2)).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("Should fail instead of wrapping on overflow")
+        void shouldDetectOverflow() {
+            assertThatThrownBy(() -> Money.priceForMinutes(Long.MAX_VALUE / 10, 60))
+                    .isInstanceOf(ArithmeticException.class);
+            assertThat(Money.priceForMinutes(5_000_000_00L, 600)).isEqualTo(5_000_000_000L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Currency Tests")
+    class CurrencyTests {
+
+        @Test
+        @DisplayName("Should refuse to mix currencies")
+        void shouldRejectMixedCurrencies() {
+            Money naira = Money.ofMinor(100, Money.NGN);
+            Money dollars = Money.ofMinor(100, USD);
+
+            assertThatThrownBy(() -> naira.plus(dollars)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> naira.compareTo(dollars)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should add and subtract within one currency")
+        void shouldAddAndSubtract() {
+            Money a = Money.ofMinor(1_500, Money.NGN);
+            Money b = Money.ofMinor(2_000, Money.NGN);
+
+            assertThat(a.plus(b)).isEqualTo(Money.ofMinor(3_500, Money.NGN));
+            assertThat(a.minus(b).isNegative()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.projections.PendingPaymentView;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.GatewayCircuitBreaker;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+import projects.caregiver_backend.service.PaymentReconciliationService;
+import projects.caregiver_backend.service.PaymentStatusRegistry;
+import projects.caregiver_backend.service.PaystackGatewayClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentReconciliationService Tests")
+class PaymentReconciliationServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaystackGatewayClient gatewayClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private GatewayPayloadStore payloadStore;
+
+    @Mock
+    private EarningsLedgerService earningsLedger;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PaymentReconciliationService reconciliationService;
+
+    @BeforeEach
+    void setUp() {
+        reconciliationService = new PaymentReconciliationService(
+                paymentRepository, gatewayClient, transactionTemplate, new PaymentStatusRegistry(100),
+                payloadStore, earningsLedger, Duration.ofMinutes(15), 2, 4
+        );
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+        lenient().when(gatewayClient.circuitState()).thenReturn(GatewayCircuitBreaker.State.CLOSED);
+    }
+
+    private PendingPaymentView pending(String reference, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        return new PendingPaymentView() {
+            public UUID getId() { return id; }
+            public String getReference() { return reference; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+        };
+    }
+
+    private Payment payment(String reference) {
+        Booking booking = new Booking();
+        booking.setStatus(BookingStatus.ACCEPTED);
+        Payment payment = new Payment();
+        payment.setReference(reference);
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setBooking(booking);
+        return payment;
+    }
+
+    private Mono<JsonNode> verified(String reference, String status) {
+        return Mono.just(objectMapper.createObjectNode()
+                .put("reference", reference)
+                .put("status", status));
+    }
+
+    @Nested
+    @DisplayName("Reconcile Tests")
+    class ReconcileTests {
+
+        @Test
+        @DisplayName("Should page by the last key of each chunk and apply settled results")
+        void shouldReconcileInChunks() {
+            LocalDateTime old = LocalDateTime.now().minusHours(2);
+            PendingPaymentView first = pending("ref-1", old);
+            PendingPaymentView second = pending("ref-2", old.plusMinutes(1));
+            PendingPaymentView third = pending("ref-3", old.plusMinutes(2));
+
+            when(paymentRepository.findPendingCreatedBefore(any(), any(), any(), any()))
+                    .thenReturn(List.of(first, second), List.of(third));
+            when(gatewayClient.verifyTransactionAsync("ref-1")).thenReturn(verified("ref-1", "success"));
+            when(gatewayClient.verifyTransactionAsync("ref-2")).thenReturn(verified("ref-2", "abandoned"));
+            when(gatewayClient.verifyTransactionAsync("ref-3")).thenReturn(verified("ref-3", "ongoing"));
+
+            Payment paid = payment("ref-1");
+            Payment abandoned = payment("ref-2");
+            when(paymentRepository.findWithBookingByReferenceIn(Set.of("ref-1", "ref-2")))
+                    .thenReturn(List.of(paid, abandoned));
+
+            PaymentReconciliationService.Result result = reconciliationService.reconcile();
+
+            assertThat(result).isEqualTo(new PaymentReconciliationService.Result(3, 1, 1, 1));
+            assertThat(paid.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+            assertThat(paid.getPaidAt()).isNotNull();
+            assertThat(paid.getBooking().getStatus()).isEqualTo(BookingStatus.PAID);
+            assertThat(abandoned.getStatus()).isEqualTo(PaymentStatus.FAILED);
+            assertThat(abandoned.getBooking().getStatus()).isEqualTo(BookingStatus.ACCEPTED);
+            verify(payloadStore, times(2)).save(any(), eq(GatewayPayloadStore.SOURCE_VERIFY), any());
+            verify(earningsLedger).bookingsPaid(List.of(paid.getBooking()));
+
+            verify(paymentRepository).findPendingCreatedBefore(
+                    any(), eq(second.getCreatedAt()), eq(second.getId()), any()
+            );
+        }
+
+        @Test
+        @DisplayName("Should leave payments pending when the gateway call fails")
+        void shouldSkipGatewayErrors() {
+            PendingPaymentView view = pending("ref-1", LocalDateTime.now().minusHours(1));
+
+            when(paymentRepository.findPendingCreatedBefore(any(), any(), any(), any()))
+                    .thenReturn(List.of(view));
+            when(gatewayClient.verifyTransactionAsync("ref-1")).thenReturn(Mono.error(
+                    new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Payment gateway request failed")
+            ));
+
+            PaymentReconciliationService.Result result = reconciliationService.reconcile();
+
+            assertThat(result.unresolved()).isEqualTo(1);
+            verify(paymentRepository, never()).findWithBookingByReferenceIn(any());
+        }
+
+        @Test
+        @DisplayName("Should not overwrite a payment a webhook settled in the meantime")
+        void shouldSkipAlreadySettled() {
+            PendingPaymentView view = pending("ref-1", LocalDateTime.now().minusHours(1));
+            Payment payment = payment("ref-1");
+            payment.setStatus(PaymentStatus.SUCCESS);
+
+            when(paymentRepository.findPendingCreatedBefore(any(), any(), any(), any()))
+                    .thenReturn(List.of(view));
+            when(gatewayClient.verifyTransactionAsync("ref-1")).thenReturn(verified("ref-1", "failed"));
+            when(paymentRepository.findWithBookingByReferenceIn(any())).thenReturn(List.of(payment));
+
+            reconciliationService.reconcile();
+
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        }
+
+        @Test
+        @DisplayName("Should stop the run once the circuit opens")
+        void shouldStopWhenCircuitOpens() {
+            LocalDateTime old = LocalDateTime.now().minusHours(1);
+            when(paymentRepository.findPendingCreatedBefore(any(), any(), any(), any()))
+                    .thenReturn(List.of(pending("ref-1", old), pending("ref-2", old)));
+            when(gatewayClient.verifyTransactionAsync(any())).thenReturn(Mono.error(
+                    new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Payment gateway temporarily unavailable")
+            ));
+            when(gatewayClient.circuitState()).thenReturn(GatewayCircuitBreaker.State.OPEN);
+
+            reconciliationService.reconcile();
+
+            verify(paymentRepository, times(1)).findPendingCreatedBefore(any(), any(), any(), any());
+        }
+    }
+}
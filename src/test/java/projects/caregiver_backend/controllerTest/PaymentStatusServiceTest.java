@@ -0,0 +1,140 @@
+package projects.caregiver_backend.controllerTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.dtos.response.PaymentStatusResponse;
+import projects.caregiver_backend.model.PaymentStatus;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.projections.PaymentStatusView;
+import projects.caregiver_backend.service.PaymentStatusRegistry;
+import projects.caregiver_backend.service.PaymentStatusService;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentStatusService Tests")
+class PaymentStatusServiceTest {
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    private PaymentStatusRegistry registry;
+    private PaymentStatusService statusService;
+
+    private final UUID bookingId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        registry = new PaymentStatusRegistry(2);
+        statusService = new PaymentStatusService(paymentRepository, registry, Duration.ofSeconds(5));
+    }
+
+    private PaymentStatusView view(PaymentStatus status, String username) {
+        return new PaymentStatusView() {
+            public PaymentStatus getStatus() { return status; }
+            public UUID getBookingId() { return bookingId; }
+            public String getCustomerUsername() { return username; }
+        };
+    }
+
+    @Nested
+    @DisplayName("Wait Tests")
+    class WaitTests {
+
+        @Test
+        @DisplayName("Should answer at once when the payment has already settled")
+        void shouldReturnSettledImmediately() {
+            when(paymentRepository.findStatusByReference("ref-1"))
+                    .thenReturn(Optional.of(view(PaymentStatus.SUCCESS, "ada")));
+
+            CompletableFuture<PaymentStatusResponse> result =
+                    statusService.awaitStatus("ref-1", "ada", Duration.ofSeconds(5));
+
+            assertThat(result).isCompletedWithValue(
+                    new PaymentStatusResponse("ref-1", PaymentStatus.SUCCESS, bookingId)
+            );
+            assertThat(registry.waiting()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should complete a parked waiter when the payment settles")
+        void shouldWakeOnSettlement() throws Exception {
+            when(paymentRepository.findStatusByReference("ref-1"))
+                    .thenReturn(Optional.of(view(PaymentStatus.PENDING, "ada")));
+
+            CompletableFuture<PaymentStatusResponse> result =
+                    statusService.awaitStatus("ref-1", "ada", Duration.ofSeconds(5));
+            assertThat(result).isNotDone();
+            assertThat(registry.waiting()).isEqualTo(1);
+
+            registry.complete("ref-1", PaymentStatus.SUCCESS);
+
+            assertThat(result.get(1, TimeUnit.SECONDS).status()).isEqualTo(PaymentStatus.SUCCESS);
+            assertThat(registry.waiting()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should answer pending when the wait runs out")
+        void shouldTimeOutAsPending() throws Exception {
+            when(paymentRepository.findStatusByReference("ref-1"))
+                    .thenReturn(Optional.of(view(PaymentStatus.PENDING, "ada")));
+
+            CompletableFuture<PaymentStatusResponse> result =
+                    statusService.awaitStatus("ref-1", "ada", Duration.ofMillis(50));
+
+            assertThat(result.get(1, TimeUnit.SECONDS).status()).isEqualTo(PaymentStatus.PENDING);
+            assertThat(registry.waiting()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should shed waiters beyond the registry limit")
+        void shouldRejectWhenFull() {
+            when(paymentRepository.findStatusByReference("ref-1"))
+                    .thenReturn(Optional.of(view(PaymentStatus.PENDING, "ada")));
+
+            statusService.awaitStatus("ref-1", "ada", Duration.ofSeconds(5));
+            statusService.awaitStatus("ref-1", "ada", Duration.ofSeconds(5));
+
+            assertThatThrownBy(() -> statusService.awaitStatus("ref-1", "ada", Duration.ofSeconds(5)))
+                    .isInstanceOf(ResponseStatusException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Access Tests")
+    class AccessTests {
+
+        @Test
+        @DisplayName("Should refuse another customer's payment and release the waiter")
+        void shouldRejectOtherCustomer() {
+            when(paymentRepository.findStatusByReference("ref-1"))
+                    .thenReturn(Optional.of(view(PaymentStatus.PENDING, "ada")));
+
+            assertThatThrownBy(() -> statusService.awaitStatus("ref-1", "bola", Duration.ofSeconds(5)))
+                    .isInstanceOf(SecurityException.class);
+            assertThat(registry.waiting()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should report an unknown reference as not found")
+        void shouldRejectUnknownReference() {
+            when(paymentRepository.findStatusByReference("missing")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> statusService.awaitStatus("missing", "ada", Duration.ZERO))
+                    .hasMessage("Payment not found");
+        }
+    }
+}
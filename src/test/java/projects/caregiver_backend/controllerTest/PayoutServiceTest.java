@@ -0,0 +1,228 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.model.Money;
+import projects.caregiver_backend.model.Payout;
+import projects.caregiver_backend.model.PayoutStatus;
+import projects.caregiver_backend.repositories.CaregiverRepository;
+import projects.caregiver_backend.repositories.PayoutRepository;
+import projects.caregiver_backend.repositories.projections.PayoutRecipientView;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.GatewayCircuitBreaker;
+import projects.caregiver_backend.service.PaystackGatewayClient;
+import projects.caregiver_backend.service.PayoutService;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PayoutService Tests")
+class PayoutServiceTest {
+
+    @Mock
+    private CaregiverRepository caregiverRepository;
+
+    @Mock
+    private PayoutRepository payoutRepository;
+
+    @Mock
+    private EarningsLedgerService earningsLedger;
+
+    @Mock
+    private PaystackGatewayClient gatewayClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PayoutService payoutService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Bulk requests of 2 transfers, 2 in flight
+        payoutService = new PayoutService(
+                caregiverRepository, payoutRepository, earningsLedger, gatewayClient, transactionTemplate,
+                new BigDecimal("1000.00"), 2, 2
+        );
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+        lenient().doAnswer(i -> {
+            ((Consumer<TransactionStatus>) i.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(gatewayClient.circuitState()).thenReturn(GatewayCircuitBreaker.State.CLOSED);
+    }
+
+    private PayoutRecipientView recipient(UUID id) {
+        return new PayoutRecipientView() {
+            public UUID getId() { return id; }
+            public String getRecipientCode() { return "RCP_" + id; }
+        };
+    }
+
+    private Payout pending(String reference) {
+        Payout payout = new Payout();
+        payout.setId(UUID.randomUUID());
+        payout.setCaregiverId(UUID.randomUUID());
+        payout.setRecipientCode("RCP_1");
+        payout.setReference(reference);
+        payout.setAmount(Money.ofMinor(250_000, Money.NGN));
+        payout.setStatus(PayoutStatus.PENDING);
+        payout.setCreatedAt(LocalDateTime.now());
+        return payout;
+    }
+
+    private Mono<JsonNode> accepted(List<PaystackGatewayClient.Transfer> transfers) {
+        ArrayNode data = objectMapper.createArrayNode();
+        transfers.forEach(t -> data.addObject()
+                .put("reference", t.reference())
+                .put("transfer_code", "TRF_" + t.reference()));
+        return Mono.just(data);
+    }
+
+    @Nested
+    @DisplayName("Reserve Tests")
+    class ReserveTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should withdraw only balances at or above the minimum")
+        void shouldReserveEligibleBalances() {
+            UUID rich = UUID.randomUUID();
+            UUID poor = UUID.randomUUID();
+            when(caregiverRepository.findPayoutRecipientsAfter(any(), any()))
+                    .thenReturn(List.of(recipient(rich), recipient(poor)), List.of());
+            when(earningsLedger.balances(List.of(rich, poor))).thenReturn(Map.of(
+                    rich, new EarningsLedgerService.Balance(rich, 4,
+                            Money.ofMinor(0, Money.NGN), Money.ofMinor(500_000, Money.NGN)),
+                    poor, new EarningsLedgerService.Balance(poor, 2,
+                            Money.ofMinor(0, Money.NGN), Money.ofMinor(99_999, Money.NGN))
+            ));
+            when(earningsLedger.withdrawAvailable(any(), eq(100_000L)))
+                    .thenReturn(Map.of(rich, Money.ofMinor(500_000, Money.NGN)));
+
+            PayoutService.Result result = payoutService.run();
+
+            ArgumentCaptor<Map<UUID, String>> references = ArgumentCaptor.forClass(Map.class);
+            verify(earningsLedger).withdrawAvailable(references.capture(), eq(100_000L));
+            assertThat(references.getValue()).containsOnlyKeys(rich);
+
+            ArgumentCaptor<List<Payout>> saved = ArgumentCaptor.forClass(List.class);
+            verify(payoutRepository).saveAll(saved.capture());
+            assertThat(saved.getValue()).singleElement().satisfies(payout -> {
+                assertThat(payout.getCaregiverId()).isEqualTo(rich);
+                assertThat(payout.getRecipientCode()).isEqualTo("RCP_" + rich);
+                assertThat(payout.getAmount()).isEqualTo(Money.ofMinor(500_000, Money.NGN));
+                assertThat(payout.getStatus()).isEqualTo(PayoutStatus.PENDING);
+                assertThat(payout.getReference()).matches("payout_[0-9a-f]{32}");
+            });
+            assertThat(result.created()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Submit Tests")
+    class SubmitTests {
+
+        @BeforeEach
+        void noRecipients() {
+            when(caregiverRepository.findPayoutRecipientsAfter(any(), any())).thenReturn(List.of());
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should split pending payouts into bulk requests and page by the last key")
+        void shouldSubmitInBatches() {
+            List<Payout> firstPage = List.of(pending("p1"), pending("p2"), pending("p3"), pending("p4"));
+            List<Payout> secondPage = List.of(pending("p5"));
+            when(payoutRepository.findPendingAfter(any(), any(), any())).thenReturn(firstPage, secondPage);
+            when(gatewayClient.bulkTransferAsync(any()))
+                    .thenAnswer(i -> accepted(i.getArgument(0)));
+            when(payoutRepository.findByReferenceIn(any()))
+                    .thenReturn(firstPage, secondPage);
+
+            PayoutService.Result result = payoutService.run();
+
+            assertThat(result).isEqualTo(new PayoutService.Result(0, 5, 3, 0));
+            ArgumentCaptor<List<PaystackGatewayClient.Transfer>> requests = ArgumentCaptor.forClass(List.class);
+            verify(gatewayClient, times(3)).bulkTransferAsync(requests.capture());
+            assertThat(requests.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(2, 2, 1);
+
+            assertThat(firstPage).allSatisfy(p -> {
+                assertThat(p.getStatus()).isEqualTo(PayoutStatus.SUBMITTED);
+                assertThat(p.getTransferCode()).isEqualTo("TRF_" + p.getReference());
+            });
+            Payout last = firstPage.get(3);
+            verify(payoutRepository).findPendingAfter(eq(last.getCreatedAt()), eq(last.getId()), any());
+        }
+
+        @Test
+        @DisplayName("Should leave a batch pending when its bulk request fails")
+        void shouldKeepFailedBatchPending() {
+            List<Payout> page = List.of(pending("p1"), pending("p2"), pending("p3"));
+            when(payoutRepository.findPendingAfter(any(), any(), any())).thenReturn(page);
+            when(gatewayClient.bulkTransferAsync(any())).thenAnswer(i -> {
+                List<PaystackGatewayClient.Transfer> transfers = i.getArgument(0);
+                return transfers.size() == 2
+                        ? Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY))
+                        : accepted(transfers);
+            });
+            when(payoutRepository.findByReferenceIn(Set.of("p3"))).thenReturn(List.of(page.get(2)));
+
+            PayoutService.Result result = payoutService.run();
+
+            assertThat(result).isEqualTo(new PayoutService.Result(0, 1, 2, 2));
+            assertThat(page.get(0).getStatus()).isEqualTo(PayoutStatus.PENDING);
+            assertThat(page.get(2).getStatus()).isEqualTo(PayoutStatus.SUBMITTED);
+        }
+
+        @Test
+        @DisplayName("Should stop submitting while the circuit is open")
+        void shouldStopWhenCircuitOpen() {
+            List<Payout> page = List.of(pending("p1"), pending("p2"), pending("p3"), pending("p4"));
+            when(payoutRepository.findPendingAfter(any(), any(), any())).thenReturn(page);
+            when(gatewayClient.bulkTransferAsync(any()))
+                    .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)));
+            when(gatewayClient.circuitState()).thenReturn(GatewayCircuitBreaker.State.OPEN);
+
+            PayoutService.Result result = payoutService.run();
+
+            assertThat(result.unsubmitted()).isEqualTo(4);
+            verify(payoutRepository, times(1)).findPendingAfter(any(), any(), any());
+            verify(payoutRepository, never()).findByReferenceIn(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a batch size above the gateway limit")
+    void shouldRejectOversizedBatch() {
+        assertThatThrownBy(() -> new PayoutService(
+                caregiverRepository, payoutRepository, earningsLedger, gatewayClient, transactionTemplate,
+                new BigDecimal("1000.00"), 101, 2
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+}
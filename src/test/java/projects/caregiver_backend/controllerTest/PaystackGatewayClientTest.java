@@ -0,0 +1,177 @@
+package projects.caregiver_backend.controllerTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import projects.caregiver_backend.config.WebClientConfig;
+import projects.caregiver_backend.model.Money;
+import projects.caregiver_backend.service.GatewayCircuitBreaker;
+import projects.caregiver_backend.service.PaystackGatewayClient;
+import projects.caregiver_backend.support.PaystackStubServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Currency;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PaystackGatewayClient Tests")
+class PaystackGatewayClientTest {
+
+    private static final Money AMOUNT = Money.ofMinor(500_000, Money.NGN);
+
+    private PaystackStubServer stub;
+    private ConnectionProvider connectionProvider;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = PaystackStubServer.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+        if (connectionProvider != null) connectionProvider.dispose();
+    }
+
+    private PaystackGatewayClient client(Duration deadline, int maxConcurrentCalls, int failureThreshold) {
+        WebClientConfig config = new WebClientConfig();
+        connectionProvider = config.paystackConnectionProvider(10, Duration.ofSeconds(1), Duration.ofSeconds(30));
+        WebClient webClient = config.paystackWebClient(
+                connectionProvider, stub.baseUrl(), "sk_test", Duration.ofSeconds(1), Duration.ofSeconds(5)
+        );
+        return new PaystackGatewayClient(
+                webClient, meterRegistry, deadline, maxConcurrentCalls, failureThreshold, Duration.ofMinutes(1)
+        );
+    }
+
+    private int statusOf(Throwable e) {
+        return ((ResponseStatusException) e).getStatusCode().value();
+    }
+
+    @Nested
+    @DisplayName("Call Tests")
+    class CallTests {
+
+        @Test
+        @DisplayName("Should return the authorization URL and record a success timer")
+        void shouldInitializeTransaction() {
+            PaystackGatewayClient client = client(Duration.ofSeconds(2), 5, 3);
+
+            String url = client.initializeTransaction("user@example.com", AMOUNT, "ref-1");
+
+            assertThat(url).isEqualTo(stub.baseUrl() + "/checkout/ref-1");
+            assertThat(meterRegistry.get("paystack.gateway.requests")
+                    .tag("operation", "initialize")
+                    .tag("outcome", "success")
+                    .timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject amounts Paystack cannot charge before calling it")
+        void shouldRejectInvalidAmount() {
+            PaystackGatewayClient client = client(Duration.ofSeconds(2), 5, 3);
+
+            assertThatThrownBy(() -> client.initializeTransaction(
+                    "user@example.com", Money.ofMinor(0, Money.NGN), "ref-1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> client.initializeTransaction(
+                    "user@example.com", Money.ofMinor(500_000, Currency.getInstance("JPY")), "ref-1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(stub.requestCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should count a 2xx without a body as a gateway failure")
+        void shouldFailOnEmptyResponse() {
+            stub.setEmptyBody(true);
+            PaystackGatewayClient client = client(Duration.ofSeconds(2), 5, 3);
+
+            assertThatThrownBy(() -> client.initializeTransaction("user@example.com", AMOUNT, "ref-1"))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(statusOf(e)).isEqualTo(HttpStatus.BAD_GATEWAY.value()));
+            assertThat(meterRegistry.get("paystack.gateway.requests")
+                    .tag("operation", "initialize")
+                    .tag("outcome", "error")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.find("paystack.gateway.requests")
+                    .tag("outcome", "success")
+                    .timer()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should fail with 504 when the deadline passes")
+        void shouldEnforceDeadline() {
+            stub.setLatency(Duration.ofMillis(500));
+            PaystackGatewayClient client = client(Duration.ofMillis(100), 5, 3);
+
+            assertThatThrownBy(() -> client.initializeTransaction("user@example.com", AMOUNT, "ref-1"))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(statusOf(e)).isEqualTo(HttpStatus.GATEWAY_TIMEOUT.value()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Resilience Tests")
+    class ResilienceTests {
+
+        @Test
+        @DisplayName("Should open the circuit after repeated failures and stop calling the gateway")
+        void shouldOpenCircuit() {
+            stub.setFailing(true);
+            // The stub fails at once; the deadline only has to outlast a cold client on a busy build
+            PaystackGatewayClient client = client(Duration.ofSeconds(30), 5, 2);
+
+            for (int i = 0; i < 2; i++) {
+                assertThatThrownBy(() -> client.initializeTransaction("user@example.com", AMOUNT, "ref"))
+                        .satisfies(e -> assertThat(statusOf(e)).isEqualTo(HttpStatus.BAD_GATEWAY.value()));
+            }
+            assertThat(client.circuitState()).isEqualTo(GatewayCircuitBreaker.State.OPEN);
+
+            assertThatThrownBy(() -> client.initializeTransaction("user@example.com", AMOUNT, "ref"))
+                    .satisfies(e -> assertThat(statusOf(e)).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value()));
+            assertThat(stub.requestCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should shed calls beyond the bulkhead limit")
+        void shouldRejectWhenBulkheadFull() throws Exception {
+            stub.hold();
+            PaystackGatewayClient client = client(Duration.ofSeconds(5), 1, 3);
+
+            CompletableFuture<String> first = client
+                    .initializeTransactionAsync("user@example.com", AMOUNT, "ref-1")
+                    .toFuture();
+            assertThat(stub.awaitRequests(1, Duration.ofSeconds(5))).isTrue();
+
+            assertThatThrownBy(() -> client.initializeTransaction("user@example.com", AMOUNT, "ref-2"))
+                    .satisfies(e -> assertThat(statusOf(e)).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value()));
+
+            stub.release();
+            assertThat(first.get(5, TimeUnit.SECONDS)).endsWith("/checkout/ref-1");
+        }
+
+        @Test
+        @DisplayName("Should close the circuit again after a successful trial call")
+        void shouldRecoverAfterTrial() {
+            GatewayCircuitBreaker breaker = new GatewayCircuitBreaker(1, Duration.ZERO);
+
+            breaker.recordFailure();
+            assertThat(breaker.allowRequest()).isTrue();
+            assertThat(breaker.allowRequest()).isFalse();
+
+            breaker.recordSuccess();
+            assertThat(breaker.state()).isEqualTo(GatewayCircuitBreaker.State.CLOSED);
+        }
+    }
+}
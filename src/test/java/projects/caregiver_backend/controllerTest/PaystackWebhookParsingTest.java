@@ -0,0 +1,102 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import projects.caregiver_backend.service.PaystackEventFields;
+import projects.caregiver_backend.service.PaystackSignatureVerifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Paystack webhook parsing Tests")
+class PaystackWebhookParsingTest {
+
+    private static final String SECRET = "sk_test_secret";
+    private static final String PAYLOAD =
+            "{\"event\":\"charge.success\",\"data\":{\"id\":42,\"metadata\":{\"reference\":\"nested\"},"
+                    + "\"customer\":{\"email\":\"ade@example.com\"},\"reference\":\"ref-₦-1\",\"amount\":500000},"
+                    + "\"trailing\":[1,2,3]}";
+
+    private String sign(byte[] payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA512");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+        return HexFormat.of().formatHex(mac.doFinal(payload));
+    }
+
+    @Nested
+    @DisplayName("Signature Tests")
+    class SignatureTests {
+
+        private final PaystackSignatureVerifier verifier = new PaystackSignatureVerifier(SECRET);
+
+        @Test
+        @DisplayName("Should accept a valid signature in either hex case")
+        void shouldAcceptValidSignature() throws Exception {
+            byte[] payload = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+            String signature = sign(payload);
+
+            assertThat(verifier.verify(payload, signature)).isTrue();
+            assertThat(verifier.verify(payload, signature.toUpperCase())).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should reject a tampered payload or malformed header")
+        void shouldRejectInvalidSignature() throws Exception {
+            byte[] payload = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+            String signature = sign(payload);
+
+            assertThat(verifier.verify("{}".getBytes(StandardCharsets.UTF_8), signature)).isFalse();
+            assertThat(verifier.verify(payload, signature.substring(2))).isFalse();
+            assertThat(verifier.verify(payload, "zz" + signature.substring(2))).isFalse();
+            assertThat(verifier.verify(payload, null)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Field Extraction Tests")
+    class FieldTests {
+
+        @Test
+        @DisplayName("Should read event, id and top-level data.reference only")
+        void shouldExtractFields() {
+            PaystackEventFields fields = PaystackEventFields.parse(new JsonFactory(), PAYLOAD);
+
+            assertThat(fields.event()).isEqualTo("charge.success");
+            assertThat(fields.objectId()).isEqualTo("42");
+            assertThat(fields.reference()).isEqualTo("ref-₦-1");
+        }
+
+        @Test
+        @DisplayName("Should slice the raw data object out of the payload")
+        void shouldSliceData() {
+            PaystackEventFields fields = PaystackEventFields.parse(new JsonFactory(), PAYLOAD);
+
+            assertThat(fields.data(PAYLOAD)).startsWith("{\"id\":42").endsWith("\"amount\":500000}");
+        }
+
+        @Test
+        @DisplayName("Should give the same fields for bytes and text")
+        void shouldMatchBytesAndText() {
+            PaystackEventFields fromBytes =
+                    PaystackEventFields.parse(new JsonFactory(), PAYLOAD.getBytes(StandardCharsets.UTF_8));
+
+            assertThat(fromBytes.event()).isEqualTo("charge.success");
+            assertThat(fromBytes.reference()).isEqualTo("ref-₦-1");
+        }
+
+        @Test
+        @DisplayName("Should reject a payload that is not a JSON object")
+        void shouldRejectInvalidPayload() {
+            assertThatThrownBy(() -> PaystackEventFields.parse(new JsonFactory(), "[1,2]"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> PaystackEventFields.parse(new JsonFactory(), "{\"event\":"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
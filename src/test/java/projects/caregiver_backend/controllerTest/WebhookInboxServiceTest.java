@@ -0,0 +1,300 @@
+package projects.caregiver_backend.controllerTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import projects.caregiver_backend.model.*;
+import projects.caregiver_backend.repositories.PaymentRepository;
+import projects.caregiver_backend.repositories.PayoutRepository;
+import projects.caregiver_backend.repositories.WebhookEventRepository;
+import projects.caregiver_backend.service.EarningsLedgerService;
+import projects.caregiver_backend.service.GatewayPayloadStore;
+import projects.caregiver_backend.service.PaymentStatusRegistry;
+import projects.caregiver_backend.service.WebhookInboxService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WebhookInboxService Tests")
+class WebhookInboxServiceTest {
+
+    @Mock
+    private WebhookEventRepository inboxRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PayoutRepository payoutRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private GatewayPayloadStore payloadStore;
+
+    @Mock
+    private EarningsLedgerService earningsLedger;
+
+    private WebhookInboxService inboxService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        inboxService = new WebhookInboxService(
+                inboxRepository, paymentRepository, payoutRepository, transactionTemplate, new ObjectMapper(),
+                new PaymentStatusRegistry(100), payloadStore, earningsLedger, 10, 1, Duration.ofDays(7)
+        );
+        lenient().doAnswer(i -> {
+            ((Consumer<TransactionStatus>) i.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).doInTransaction(null));
+    }
+
+    private String chargeSuccess(String reference) {
+        return "{\"event\":\"charge.success\",\"data\":{\"id\":42,\"reference\":\"" + reference + "\",\"amount\":500000}}";
+    }
+
+    private WebhookEvent event(String type, String payload) {
+        WebhookEvent event = new WebhookEvent();
+        event.setEventType(type);
+        event.setPayload(payload);
+        event.setStatus(WebhookEventStatus.RECEIVED);
+        event.setReceivedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Nested
+    @DisplayName("Append Tests")
+    class AppendTests {
+
+        @Test
+        @DisplayName("Should store the event keyed by type and gateway id")
+        void shouldAppendEvent() {
+            assertThat(inboxService.append(chargeSuccess("ref-1").getBytes(StandardCharsets.UTF_8))).isTrue();
+
+            verify(inboxRepository).append(any(), eq("charge.success:42"), eq("charge.success"), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should drop a redelivered event")
+        void shouldDeduplicate() {
+            when(inboxRepository.append(any(), any(), any(), any(), any()))
+                    .thenThrow(new DataIntegrityViolationException("duplicate event_id"));
+
+            assertThat(inboxService.append(chargeSuccess("ref-1").getBytes(StandardCharsets.UTF_8))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reject a payload without an event type")
+        void shouldRejectInvalidPayload() {
+            assertThatThrownBy(() -> inboxService.append("{\"data\":{}}".getBytes(StandardCharsets.UTF_8)))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(inboxRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Processing Tests")
+    class ProcessingTests {
+
+        @Test
+        @DisplayName("Should mark payments paid for a batch with one payment lookup")
+        void shouldApplyChargeSuccessBatch() {
+            Booking booking = new Booking();
+            booking.setStatus(BookingStatus.ACCEPTED);
+            Payment payment = new Payment();
+            payment.setReference("ref-1");
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setBooking(booking);
+            Payout payout = new Payout();
+            payout.setReference("payout_1");
+            payout.setStatus(PayoutStatus.SUBMITTED);
+
+            WebhookEvent charge = event("charge.success", chargeSuccess("ref-1"));
+            WebhookEvent transfer = event("transfer.success",
+                    "{\"event\":\"transfer.success\",\"data\":{\"id\":77,\"reference\":\"payout_1\"}}");
+            WebhookEvent other = event("subscription.create", "{\"event\":\"subscription.create\",\"data\":{}}");
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(charge, transfer, other));
+            when(paymentRepository.findWithBookingByReferenceIn(List.of("ref-1"))).thenReturn(List.of(payment));
+            when(payoutRepository.findByReferenceIn(List.of("payout_1"))).thenReturn(List.of(payout));
+
+            assertThat(inboxService.processBatch()).isEqualTo(3);
+
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+            assertThat(payment.getGatewayTransactionId()).isEqualTo("42");
+            verify(payloadStore).save(
+                    any(), eq(GatewayPayloadStore.SOURCE_WEBHOOK),
+                    eq("{\"id\":42,\"reference\":\"ref-1\",\"amount\":500000}")
+            );
+            assertThat(booking.getStatus()).isEqualTo(BookingStatus.PAID);
+            verify(earningsLedger).bookingsPaid(List.of(booking));
+            assertThat(payout.getStatus()).isEqualTo(PayoutStatus.SUCCESS);
+            assertThat(charge.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+            assertThat(transfer.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+            assertThat(other.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+            verify(paymentRepository, times(1)).findWithBookingByReferenceIn(any());
+        }
+
+        @Test
+        @DisplayName("Should keep an event pending and count the attempt when its payment is missing")
+        void shouldRetryUnknownPayment() {
+            WebhookEvent charge = event("charge.success", chargeSuccess("missing"));
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(charge));
+            when(paymentRepository.findWithBookingByReferenceIn(any())).thenReturn(List.of());
+
+            inboxService.processBatch();
+
+            assertThat(charge.getStatus()).isEqualTo(WebhookEventStatus.RECEIVED);
+            assertThat(charge.getAttempts()).isEqualTo(1);
+            assertThat(charge.getLastError()).isEqualTo("Payment not found");
+        }
+
+        @Test
+        @DisplayName("Should give up on an event after the maximum attempts")
+        void shouldFailAfterMaxAttempts() {
+            WebhookEvent charge = event("charge.success", chargeSuccess("missing"));
+            charge.setAttempts(4);
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(charge));
+            when(paymentRepository.findWithBookingByReferenceIn(any())).thenReturn(List.of());
+
+            inboxService.processBatch();
+
+            assertThat(charge.getStatus()).isEqualTo(WebhookEventStatus.FAILED);
+        }
+
+        @Test
+        @DisplayName("Should retry a failed batch one event at a time and count the failure against the bad event")
+        void shouldIsolateFailingEventInBatch() {
+            Booking booking = new Booking();
+            booking.setStatus(BookingStatus.ACCEPTED);
+            Payment payment = new Payment();
+            payment.setReference("ref-1");
+            payment.setStatus(PaymentStatus.PENDING);
+            payment.setBooking(booking);
+
+            WebhookEvent good = event("charge.success", chargeSuccess("ref-1"));
+            good.setId(UUID.randomUUID());
+            WebhookEvent bad = event("charge.success", chargeSuccess("poison"));
+            bad.setId(UUID.randomUUID());
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(good, bad));
+            when(inboxRepository.claimById(good.getId())).thenReturn(Optional.of(good));
+            when(inboxRepository.claimById(bad.getId())).thenReturn(Optional.of(bad));
+            when(paymentRepository.findWithBookingByReferenceIn(any())).thenAnswer(i -> {
+                List<String> references = i.getArgument(0);
+                if (references.contains("poison")) {
+                    throw new IllegalStateException("Cannot load poison");
+                }
+                return List.of(payment);
+            });
+
+            assertThat(inboxService.processBatch()).isEqualTo(2);
+
+            assertThat(good.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+            assertThat(payment.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+            assertThat(bad.getStatus()).isEqualTo(WebhookEventStatus.RECEIVED);
+            assertThat(bad.getAttempts()).isEqualTo(1);
+            assertThat(bad.getLastError()).isEqualTo("Cannot load poison");
+        }
+    }
+
+    @Nested
+    @DisplayName("Transfer Tests")
+    class TransferTests {
+
+        private String transfer(String event, String reference) {
+            return "{\"event\":\"" + event + "\",\"data\":{\"id\":77,\"reference\":\"" + reference
+                    + "\",\"transfer_code\":\"TRF_1\"}}";
+        }
+
+        private Payout payout(String reference, PayoutStatus status) {
+            Payout payout = new Payout();
+            payout.setReference(reference);
+            payout.setStatus(status);
+            payout.setAmount(Money.ofMinor(150_000, Money.NGN));
+            return payout;
+        }
+
+        @Test
+        @DisplayName("Should settle successful transfers with one payout lookup")
+        void shouldSettleSuccessfulTransfers() {
+            Payout first = payout("payout_1", PayoutStatus.SUBMITTED);
+            Payout second = payout("payout_2", PayoutStatus.PENDING);
+            WebhookEvent one = event("transfer.success", transfer("transfer.success", "payout_1"));
+            WebhookEvent two = event("transfer.success", transfer("transfer.success", "payout_2"));
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(one, two));
+            when(payoutRepository.findByReferenceIn(any())).thenReturn(List.of(first, second));
+
+            inboxService.processBatch();
+
+            assertThat(first.getStatus()).isEqualTo(PayoutStatus.SUCCESS);
+            assertThat(second.getStatus()).isEqualTo(PayoutStatus.SUCCESS);
+            assertThat(second.getTransferCode()).isEqualTo("77");
+            verify(payoutRepository, times(1)).findByReferenceIn(any());
+            verify(earningsLedger).payoutsReturned(List.of());
+        }
+
+        @Test
+        @DisplayName("Should return the amount of a failed transfer to available earnings")
+        void shouldReturnFailedTransfer() {
+            Payout failed = payout("payout_1", PayoutStatus.SUBMITTED);
+            WebhookEvent event = event("transfer.failed", transfer("transfer.failed", "payout_1"));
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(event));
+            when(payoutRepository.findByReferenceIn(any())).thenReturn(List.of(failed));
+
+            inboxService.processBatch();
+
+            assertThat(failed.getStatus()).isEqualTo(PayoutStatus.FAILED);
+            verify(earningsLedger).payoutsReturned(List.of(failed));
+            assertThat(event.getStatus()).isEqualTo(WebhookEventStatus.PROCESSED);
+        }
+
+        @Test
+        @DisplayName("Should return a reversed transfer once even if it had succeeded")
+        void shouldReturnReversedTransferOnce() {
+            Payout payout = payout("payout_1", PayoutStatus.SUCCESS);
+            WebhookEvent reversed = event("transfer.reversed", transfer("transfer.reversed", "payout_1"));
+
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(reversed));
+            when(payoutRepository.findByReferenceIn(any())).thenReturn(List.of(payout));
+
+            inboxService.processBatch();
+            assertThat(payout.getStatus()).isEqualTo(PayoutStatus.REVERSED);
+            verify(earningsLedger).payoutsReturned(List.of(payout));
+
+            WebhookEvent failedLater = event("transfer.failed", transfer("transfer.failed", "payout_1"));
+            when(inboxRepository.claimBatch(10)).thenReturn(List.of(failedLater));
+
+            inboxService.processBatch();
+            assertThat(payout.getStatus()).isEqualTo(PayoutStatus.REVERSED);
+            verify(earningsLedger).payoutsReturned(List.of());
+        }
+    }
+}
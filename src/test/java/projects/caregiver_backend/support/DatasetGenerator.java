@@ -0,0 +1,729 @@
+package projects.caregiver_backend.support;
+
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seedable generator of a production-shaped dataset: customers, caregivers spread
+ * over cities and neighbourhoods, weekly templates and date overrides, a booking
+ * history with payments and the earnings ledger they post, and reviews with the
+ * caregivers' rating counters to match. A caregiver's active bookings never overlap.
+ * Demand is skewed the way ours is: most caregivers and bookings are in a few
+ * cities, neighbourhoods and caregivers follow a power law, and customers book in
+ * their own city.
+ * Rows go straight through JDBC batches into an existing, empty schema, which tests
+ * get from ddl-auto and a local Postgres from starting the app once with
+ * ddl-auto=update. The same seed and scale give the same rows on the same day,
+ * apart from the password hash; dates are relative to today. Every account's
+ * password is {@value #PASSWORD}.
+ * Against a local Postgres (reWriteBatchedInserts lets the driver send multi-row inserts):
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=projects.caregiver_backend.support.DatasetGenerator
+ * -Dexec.args="jdbc:postgresql://localhost:5432/caregiver_db?reWriteBatchedInserts=true postgres secret 500000 50000 42"}
+ */
+public final class DatasetGenerator {
+
+    public static final String PASSWORD = "password";
+
+    private static final String[] CITIES = {
+            "Lagos", "Abuja", "Ibadan", "Port Harcourt", "Kano", "Benin City", "Enugu", "Kaduna"
+    };
+    private static final double[] CITY_WEIGHTS = {0.42, 0.16, 0.10, 0.09, 0.08, 0.06, 0.05, 0.04};
+
+    // Most popular first; picked with a power law
+    private static final String[][] NEIGHBORHOODS = {
+            {"Lekki", "Ikeja", "Yaba", "Surulere", "Victoria Island", "Ikoyi", "Ajah", "Gbagada", "Maryland", "Festac"},
+            {"Wuse", "Maitama", "Garki", "Gwarinpa", "Asokoro", "Kubwa", "Jabi"},
+            {"Bodija", "Jericho", "Akobo", "Ring Road", "Challenge", "Dugbe"},
+            {"GRA", "Rumuola", "Trans Amadi", "Diobu", "Eleme"},
+            {"Nassarawa", "Sabon Gari", "Tarauni", "Fagge"},
+            {"GRA", "Ugbowo", "Uselu", "Ekenwan"},
+            {"Independence Layout", "New Haven", "Trans Ekulu", "Abakpa"},
+            {"Barnawa", "Malali", "Kawo", "Sabon Tasha"}
+    };
+    private static final double NEIGHBORHOOD_SKEW = 1.0;
+    private static final double CAREGIVER_SKEW = 1.1;
+
+    private static final int FUTURE_DAYS = 30;
+    private static final int OVERRIDE_DAYS = 28;
+    private static final double OVERRIDE_RATE = 0.08;
+    private static final int SLOT_ATTEMPTS = 5;
+
+    // As earnings.ledger.snapshot-interval defaults to
+    private static final int SNAPSHOT_INTERVAL = 100;
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COMMIT_EVERY = 50_000;
+
+    // Id kinds; an id is the seed's prefix, the kind and a sequence number
+    private static final int USER = 1;
+    private static final int CAREGIVER = 2;
+    private static final int TEMPLATE = 3;
+    private static final int AVAILABILITY = 4;
+    private static final int BOOKING = 5;
+    private static final int PAYMENT = 6;
+    private static final int REVIEW = 7;
+    private static final int LEDGER_ENTRY = 8;
+    private static final int LEDGER_SNAPSHOT = 9;
+
+    private final DataSource dataSource;
+    private final long seed;
+    private final long idPrefix;
+
+    public DatasetGenerator(DataSource dataSource, long seed) {
+        this.dataSource = dataSource;
+        this.seed = seed;
+        this.idPrefix = new SplittableRandom(seed).nextLong() & ~0xFFFFL;
+    }
+
+    /**
+     * How much to generate. Bookings per customer is a mean: many customers never
+     * book, a few book often. Review rate is the share of completed bookings reviewed.
+     */
+    public record Scale(
+            int customers,
+            int caregivers,
+            double bookingsPerCustomer,
+            int historyDays,
+            double reviewRate
+    ) {
+        public static Scale of(int customers, int caregivers) {
+            return new Scale(customers, caregivers, 4.0, 365, 0.35);
+        }
+
+        /** A few thousand rows, for tests */
+        public static Scale small() {
+            return of(3_000, 300);
+        }
+
+        /** Roughly 550k users, 2M bookings, 1.5M payments and 500k reviews */
+        public static Scale production() {
+            return of(500_000, 50_000);
+        }
+    }
+
+    /** Rows written per table */
+    public record Summary(Map<String, Long> rows, Duration elapsed) {
+        public long rows(String table) {
+            return rows.getOrDefault(table, 0L);
+        }
+
+        public long total() {
+            return rows.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows in %d s %s", total(), elapsed.toSeconds(), rows);
+        }
+    }
+
+    public Summary generate(Scale scale) throws SQLException {
+        long started = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate today = LocalDate.now();
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            Writer writer = new Writer(connection);
+            try {
+                Batch users = writer.batch("app_users", """
+                        INSERT INTO app_users (id, email, username, password, role)
+                        VALUES (?, ?, ?, ?, ?)""", null);
+                Batch caregivers = writer.batch("caregivers", """
+                        INSERT INTO caregivers (id, user_id, full_name, city, neighborhood, phone, verified, bio,
+                            onboarding_status, hourly_rate_minor, hourly_rate_currency,
+                            review_count, rating_total, stars_1, stars_2, stars_3, stars_4, stars_5)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'NGN', 0, 0, 0, 0, 0, 0, 0)""", users);
+                Batch templates = writer.batch("caregiver_availability_templates", """
+                        INSERT INTO caregiver_availability_templates (id, caregiver_id, day_of_week, start_time, end_time)
+                        VALUES (?, ?, ?, ?, ?)""", caregivers);
+                Batch availability = writer.batch("caregiver_availability", """
+                        INSERT INTO caregiver_availability (id, caregiver_id, date, start_time, end_time)
+                        VALUES (?, ?, ?, ?, ?)""", caregivers);
+                Batch bookings = writer.batch("bookings", """
+                        INSERT INTO bookings (id, user_id, caregiver_id, date, start_time, end_time, status,
+                            total_amount_minor, total_amount_currency, created_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'NGN', ?)""", caregivers);
+                Batch payments = writer.batch("payments", """
+                        INSERT INTO payments (id, booking_id, amount_minor, amount_currency, status, reference,
+                            gateway_transaction_id, paid_at, created_at)
+                        VALUES (?, ?, ?, 'NGN', ?, ?, ?, ?, ?)""", bookings);
+                Batch reviews = writer.batch("review", """
+                        INSERT INTO review (id, user_id, caregiver_id, rating, comment, created_at)
+                        VALUES (?, ?, ?, ?, ?, ?)""", caregivers);
+                Batch ledgerEntries = writer.batch("earnings_ledger", """
+                        INSERT INTO earnings_ledger (id, caregiver_id, seq, entry_type, source_ref,
+                            pending_delta, available_delta, currency, created_at)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, 'NGN', ?)""", caregivers);
+                Batch ledgerSnapshots = writer.batch("earnings_balance_snapshots", """
+                        INSERT INTO earnings_balance_snapshots (id, caregiver_id, seq, pending_minor, available_minor,
+                            currency, created_at)
+                        VALUES (?, ?, ?, ?, ?, 'NGN', ?)""", caregivers);
+                Batch counters = writer.batch("caregiver rating counters", """
+                        UPDATE caregivers
+                        SET review_count = ?, rating_total = ?, stars_1 = ?, stars_2 = ?, stars_3 = ?, stars_4 = ?, stars_5 = ?
+                        WHERE id = ?""", reviews);
+
+                for (int i = 0; i < scale.customers(); i++) {
+                    user(users, i, "customer-" + i, passwordHash, "USER");
+                }
+
+                Caregivers pool = caregivers(scale, random, users, caregivers, passwordHash);
+                availability(pool, random, today, templates, availability);
+                Earnings earnings = new Earnings();
+                long[] stars = bookings(scale, pool, random, today, earnings, bookings, payments, reviews);
+                ledger(pool, earnings, ledgerEntries, ledgerSnapshots);
+
+                for (int c = 0; c < pool.size(); c++) {
+                    long count = 0;
+                    long total = 0;
+                    for (int s = 0; s < 5; s++) {
+                        count += stars[c * 5 + s];
+                        total += stars[c * 5 + s] * (s + 1);
+                    }
+                    if (count == 0) continue;
+
+                    PreparedStatement row = counters.statement();
+                    row.setLong(1, count);
+                    row.setLong(2, total);
+                    for (int s = 0; s < 5; s++) row.setLong(3 + s, stars[c * 5 + s]);
+                    row.setObject(8, id(CAREGIVER, c));
+                    counters.added();
+                }
+
+                writer.finish();
+                return new Summary(writer.rows(), Duration.ofNanos(System.nanoTime() - started));
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                writer.close();
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private record Caregivers(int[] city, long[] rateMinor, double[] quality, int[][] verifiedByCity) {
+        int size() {
+            return city.length;
+        }
+    }
+
+    private Caregivers caregivers(
+            Scale scale,
+            SplittableRandom random,
+            Batch users,
+            Batch caregivers,
+            String passwordHash
+    ) throws SQLException {
+        WeightedSampler citySampler = new WeightedSampler(CITY_WEIGHTS);
+        WeightedSampler[] neighborhoodSamplers = new WeightedSampler[CITIES.length];
+        for (int c = 0; c < CITIES.length; c++) {
+            neighborhoodSamplers[c] = WeightedSampler.zipf(NEIGHBORHOODS[c].length, NEIGHBORHOOD_SKEW);
+        }
+
+        int count = scale.caregivers();
+        int[] city = new int[count];
+        long[] rateMinor = new long[count];
+        double[] quality = new double[count];
+        List<List<Integer>> verified = new ArrayList<>();
+        for (int c = 0; c < CITIES.length; c++) verified.add(new ArrayList<>());
+
+        for (int i = 0; i < count; i++) {
+            String username = "caregiver-" + i;
+            user(users, scale.customers() + i, username, passwordHash, "CAREGIVER");
+
+            city[i] = citySampler.next(random);
+            String neighborhood = NEIGHBORHOODS[city[i]][neighborhoodSamplers[city[i]].next(random)];
+            // Log-normal around ₦1,500 an hour, in ₦50 steps
+            long rateNaira = Math.max(500, Math.round(1_500 * Math.exp(0.35 * random.nextGaussian()) / 50) * 50);
+            rateMinor[i] = rateNaira * 100;
+            quality[i] = Math.min(4.95, Math.max(2.5, 4.3 + 0.45 * random.nextGaussian()));
+
+            double r = random.nextDouble();
+            String status = r < 0.90 ? "VERIFIED" : r < 0.97 ? "PENDING" : "REJECTED";
+            if (status.equals("VERIFIED")) verified.get(city[i]).add(i);
+
+            PreparedStatement row = caregivers.statement();
+            row.setObject(1, id(CAREGIVER, i));
+            row.setObject(2, id(USER, scale.customers() + i));
+            row.setString(3, "Caregiver " + i);
+            row.setString(4, CITIES[city[i]]);
+            row.setString(5, neighborhood);
+            row.setString(6, String.format("080%08d", i % 100_000_000));
+            row.setBoolean(7, status.equals("VERIFIED"));
+            row.setString(8, "Experienced caregiver based in " + neighborhood + ", " + CITIES[city[i]]);
+            row.setString(9, status);
+            row.setLong(10, rateMinor[i]);
+            caregivers.added();
+        }
+
+        // Popularity rank within the city is random, so it is not tied to the index
+        int[][] verifiedByCity = new int[CITIES.length][];
+        for (int c = 0; c < CITIES.length; c++) {
+            int[] ids = verified.get(c).stream().mapToInt(Integer::intValue).toArray();
+            for (int i = ids.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = ids[i];
+                ids[i] = ids[j];
+                ids[j] = swap;
+            }
+            verifiedByCity[c] = ids;
+        }
+        return new Caregivers(city, rateMinor, quality, verifiedByCity);
+    }
+
+    private void availability(
+            Caregivers pool,
+            SplittableRandom random,
+            LocalDate today,
+            Batch templates,
+            Batch availability
+    ) throws SQLException {
+        long templateIds = 0;
+        long availabilityIds = 0;
+
+        for (int c = 0; c < pool.size(); c++) {
+            int start = random.nextInt(7, 11);
+            int end = Math.min(21, start + random.nextInt(6, 11));
+            int days = random.nextDouble() < 0.4 ? 6 : 5;
+
+            for (int d = 1; d <= days; d++) {
+                PreparedStatement row = templates.statement();
+                row.setObject(1, id(TEMPLATE, templateIds++));
+                row.setObject(2, id(CAREGIVER, c));
+                row.setString(3, DayOfWeek.of(d).name());
+                row.setObject(4, LocalTime.of(start, 0));
+                row.setObject(5, LocalTime.of(end, 0));
+                templates.added();
+            }
+
+            // The odd date with different hours, overriding the template for that day
+            for (int d = 0; d < OVERRIDE_DAYS; d++) {
+                if (random.nextDouble() >= OVERRIDE_RATE) continue;
+                int overrideStart = random.nextInt(8, 15);
+
+                PreparedStatement row = availability.statement();
+                row.setObject(1, id(AVAILABILITY, availabilityIds++));
+                row.setObject(2, id(CAREGIVER, c));
+                row.setObject(3, today.plusDays(d));
+                row.setObject(4, LocalTime.of(overrideStart, 0));
+                row.setObject(5, LocalTime.of(overrideStart + random.nextInt(2, 7), 0));
+                availability.added();
+            }
+        }
+    }
+
+    /**
+     * Writes every customer's bookings with their payments and reviews, collects
+     * the earnings they post, and returns the review count per caregiver and star
+     * (index caregiver * 5 + star - 1)
+     */
+    private long[] bookings(
+            Scale scale,
+            Caregivers pool,
+            SplittableRandom random,
+            LocalDate today,
+            Earnings earnings,
+            Batch bookings,
+            Batch payments,
+            Batch reviews
+    ) throws SQLException {
+        WeightedSampler citySampler = new WeightedSampler(CITY_WEIGHTS);
+        WeightedSampler[] popularity = new WeightedSampler[CITIES.length];
+        for (int c = 0; c < CITIES.length; c++) {
+            int size = pool.verifiedByCity()[c].length;
+            popularity[c] = size > 0 ? WeightedSampler.zipf(size, CAREGIVER_SKEW) : null;
+        }
+
+        long[] stars = new long[pool.size() * 5];
+        double stop = 1.0 / (scale.bookingsPerCustomer() + 1);
+        LocalDateTime now = LocalDateTime.now();
+        long bookingIds = 0;
+        long paymentIds = 0;
+        long reviewIds = 0;
+        Set<Integer> reviewed = new HashSet<>();
+        BusyHours busy = new BusyHours();
+
+        for (int customer = 0; customer < scale.customers(); customer++) {
+            int city = citySampler.next(random);
+            if (popularity[city] == null) continue;
+
+            // Geometric with the requested mean
+            int count = (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - stop));
+            reviewed.clear();
+
+            for (int b = 0; b < count; b++) {
+                int caregiver = pool.verifiedByCity()[city][popularity[city].next(random)];
+                Slot slot = slot(scale, random, today, busy, caregiver);
+                if (slot == null) continue;
+
+                LocalDate date = slot.date();
+                int startHour = slot.startHour();
+                int hours = slot.hours();
+                String status = slot.status();
+                long amount = pool.rateMinor()[caregiver] * hours;
+                LocalDateTime createdAt = date.minusDays(random.nextInt(1, 15))
+                        .atTime(random.nextInt(7, 22), random.nextInt(60));
+
+                long bookingIndex = bookingIds++;
+                UUID bookingId = id(BOOKING, bookingIndex);
+                PreparedStatement row = bookings.statement();
+                row.setObject(1, bookingId);
+                row.setObject(2, id(USER, customer));
+                row.setObject(3, id(CAREGIVER, caregiver));
+                row.setObject(4, date);
+                row.setObject(5, LocalTime.of(startHour, 0));
+                row.setObject(6, LocalTime.of(startHour + hours, 0));
+                row.setString(7, status);
+                row.setLong(8, amount);
+                row.setObject(9, createdAt);
+                bookings.added();
+
+                String paymentStatus = paymentStatus(status, random.nextDouble());
+                if (paymentStatus != null) {
+                    UUID paymentId = id(PAYMENT, paymentIds++);
+                    boolean success = paymentStatus.equals("SUCCESS");
+                    LocalDateTime paymentCreatedAt = createdAt.plusMinutes(random.nextInt(1, 120));
+
+                    PreparedStatement payment = payments.statement();
+                    payment.setObject(1, paymentId);
+                    payment.setObject(2, bookingId);
+                    payment.setLong(3, amount);
+                    payment.setString(4, paymentStatus);
+                    payment.setString(5, "gen_" + paymentId.toString().replace("-", ""));
+                    if (success) {
+                        LocalDateTime paidAt = paymentCreatedAt.plusMinutes(random.nextInt(1, 30));
+                        payment.setString(6, Long.toString(Math.abs(paymentId.getLeastSignificantBits()) + 1_000_000));
+                        payment.setObject(7, paidAt);
+
+                        earnings.add(caregiver, paidAt, bookingIndex, false, amount);
+                        if (status.equals("COMPLETED")) {
+                            earnings.add(caregiver, date.atTime(startHour + hours, 0), bookingIndex, true, amount);
+                        }
+                    } else {
+                        payment.setNull(6, Types.VARCHAR);
+                        payment.setNull(7, Types.TIMESTAMP);
+                    }
+                    payment.setObject(8, paymentCreatedAt);
+                    payments.added();
+                }
+
+                // One review per customer and caregiver, as the unique constraint has it
+                if (status.equals("COMPLETED")
+                        && random.nextDouble() < scale.reviewRate()
+                        && reviewed.add(caregiver)) {
+                    int rating = (int) Math.min(5, Math.max(1,
+                            Math.round(pool.quality()[caregiver] + 0.8 * random.nextGaussian())));
+                    stars[caregiver * 5 + rating - 1]++;
+
+                    LocalDateTime reviewedAt = date.plusDays(random.nextInt(0, 7)).atTime(20, 0);
+                    PreparedStatement review = reviews.statement();
+                    review.setObject(1, id(REVIEW, reviewIds++));
+                    review.setObject(2, id(USER, customer));
+                    review.setObject(3, id(CAREGIVER, caregiver));
+                    review.setInt(4, rating);
+                    review.setString(5, rating >= 4 ? "Kind and punctual" : "Could have been better");
+                    review.setObject(6, reviewedAt.isAfter(now) ? now : reviewedAt);
+                    reviews.added();
+                }
+            }
+        }
+        return stars;
+    }
+
+    private record Slot(LocalDate date, int startHour, int hours, String status) {}
+
+    /**
+     * Draws a booking's date, hours and status. A slot that would overlap the
+     * caregiver's other active bookings is drawn again, and after
+     * {@value #SLOT_ATTEMPTS} clashes the booking is dropped (null).
+     */
+    private static Slot slot(Scale scale, SplittableRandom random, LocalDate today, BusyHours busy, int caregiver) {
+        for (int attempt = 0; attempt < SLOT_ATTEMPTS; attempt++) {
+            LocalDate date = today.plusDays(random.nextInt(-scale.historyDays(), FUTURE_DAYS + 1));
+            int startHour = random.nextInt(7, 19);
+            int hours = Math.min(random.nextInt(1, 5), 22 - startHour);
+            String status = bookingStatus(random.nextDouble(), date.isBefore(today));
+
+            // Cancelled and rejected bookings free their hours, as in BookingRepository
+            boolean active = !status.equals("CANCELLED") && !status.equals("REJECTED");
+            if (!active || busy.claim(caregiver, date, startHour, hours)) {
+                return new Slot(date, startHour, hours, status);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes each caregiver's earnings in time order, numbered and snapshotted the
+     * way EarningsLedgerService posts them: paid bookings credited to pending, and
+     * completed ones moved from pending to available
+     */
+    private void ledger(Caregivers pool, Earnings earnings, Batch entries, Batch snapshots) throws SQLException {
+        long entryIds = 0;
+        long snapshotIds = 0;
+
+        for (int c = 0; c < pool.size(); c++) {
+            long sequence = 0;
+            long snapshotSequence = 0;
+            long pending = 0;
+            long available = 0;
+
+            for (Earnings.Posting posting : earnings.inOrder(c)) {
+                long pendingDelta = posting.completed() ? -posting.amountMinor() : posting.amountMinor();
+                long availableDelta = posting.completed() ? posting.amountMinor() : 0;
+                LocalDateTime at = LocalDateTime.ofEpochSecond(posting.at(), 0, ZoneOffset.UTC);
+                sequence++;
+                pending += pendingDelta;
+                available += availableDelta;
+
+                PreparedStatement row = entries.statement();
+                row.setObject(1, id(LEDGER_ENTRY, entryIds++));
+                row.setObject(2, id(CAREGIVER, c));
+                row.setLong(3, sequence);
+                row.setString(4, posting.completed() ? "BOOKING_COMPLETED" : "BOOKING_PAID");
+                row.setString(5, id(BOOKING, posting.booking()).toString());
+                row.setLong(6, pendingDelta);
+                row.setLong(7, availableDelta);
+                row.setObject(8, at);
+                entries.added();
+
+                if (snapshotSequence == 0 || sequence - snapshotSequence >= SNAPSHOT_INTERVAL) {
+                    PreparedStatement snapshot = snapshots.statement();
+                    snapshot.setObject(1, id(LEDGER_SNAPSHOT, snapshotIds++));
+                    snapshot.setObject(2, id(CAREGIVER, c));
+                    snapshot.setLong(3, sequence);
+                    snapshot.setLong(4, pending);
+                    snapshot.setLong(5, available);
+                    snapshot.setObject(6, at);
+                    snapshots.added();
+                    snapshotSequence = sequence;
+                }
+            }
+        }
+    }
+
+    private static String bookingStatus(double r, boolean past) {
+        if (past) {
+            return r < 0.75 ? "COMPLETED" : r < 0.87 ? "CANCELLED" : r < 0.92 ? "REJECTED" : "PAID";
+        }
+        return r < 0.30 ? "PENDING" : r < 0.45 ? "ACCEPTED" : r < 0.90 ? "PAID" : "CANCELLED";
+    }
+
+    // Paid bookings have a successful payment; some open or cancelled ones an attempt
+    private static String paymentStatus(String bookingStatus, double r) {
+        return switch (bookingStatus) {
+            case "PAID", "COMPLETED" -> "SUCCESS";
+            case "PENDING", "ACCEPTED" -> r < 0.3 ? "PENDING" : null;
+            case "CANCELLED" -> r < 0.2 ? "FAILED" : null;
+            default -> null;
+        };
+    }
+
+    private void user(Batch users, long index, String username, String passwordHash, String role) throws SQLException {
+        PreparedStatement row = users.statement();
+        row.setObject(1, id(USER, index));
+        row.setString(2, username + "@example.com");
+        row.setString(3, username);
+        row.setString(4, passwordHash);
+        row.setString(5, role);
+        users.added();
+    }
+
+    private UUID id(int kind, long index) {
+        return new UUID(idPrefix | kind, index);
+    }
+
+    /** Hours taken by active bookings, as a bit per hour for each caregiver and day */
+    private static final class BusyHours {
+
+        private final Map<Long, Integer> taken = new HashMap<>();
+
+        /** Takes the hours and returns true, or returns false if any of them is already taken */
+        boolean claim(int caregiver, LocalDate date, int startHour, int hours) {
+            long key = (long) caregiver << 32 | date.toEpochDay() & 0xFFFFFFFFL;
+            int wanted = ((1 << hours) - 1) << startHour;
+            int current = taken.getOrDefault(key, 0);
+            if ((current & wanted) != 0) return false;
+            taken.put(key, current | wanted);
+            return true;
+        }
+    }
+
+    /**
+     * Earnings postings per caregiver, collected while bookings are generated in
+     * customer order so they can be numbered in time order afterwards. Kept to
+     * primitives; at production scale there are a few million.
+     */
+    private static final class Earnings {
+
+        record Posting(long at, long booking, boolean completed, long amountMinor) {}
+
+        private static final Comparator<Posting> TIME_ORDER = Comparator
+                .comparingLong(Posting::at)
+                .thenComparing(Posting::completed)
+                .thenComparingLong(Posting::booking);
+
+        private final Map<Integer, List<Posting>> byCaregiver = new HashMap<>();
+
+        void add(int caregiver, LocalDateTime at, long booking, boolean completed, long amountMinor) {
+            byCaregiver.computeIfAbsent(caregiver, c -> new ArrayList<>())
+                    .add(new Posting(at.toEpochSecond(ZoneOffset.UTC), booking, completed, amountMinor));
+        }
+
+        List<Posting> inOrder(int caregiver) {
+            List<Posting> postings = byCaregiver.getOrDefault(caregiver, List.of());
+            if (postings.isEmpty()) return postings;
+            postings.sort(TIME_ORDER);
+            return postings;
+        }
+    }
+
+    /** Samples an index with probability proportional to its weight */
+    private static final class WeightedSampler {
+
+        private final double[] cumulative;
+
+        WeightedSampler(double[] weights) {
+            cumulative = new double[weights.length];
+            double sum = 0;
+            for (int i = 0; i < weights.length; i++) {
+                sum += weights[i];
+                cumulative[i] = sum;
+            }
+        }
+
+        static WeightedSampler zipf(int size, double skew) {
+            double[] weights = new double[size];
+            for (int k = 0; k < size; k++) weights[k] = 1 / Math.pow(k + 1, skew);
+            return new WeightedSampler(weights);
+        }
+
+        int next(SplittableRandom random) {
+            double u = random.nextDouble() * cumulative[cumulative.length - 1];
+            int i = Arrays.binarySearch(cumulative, u);
+            return i >= 0 ? i + 1 : -i - 1;
+        }
+    }
+
+    /** One connection's batches; commits every {@link #COMMIT_EVERY} rows */
+    private static final class Writer {
+
+        private final Connection connection;
+        private final List<Batch> batches = new ArrayList<>();
+        private long uncommitted;
+
+        Writer(Connection connection) {
+            this.connection = connection;
+        }
+
+        Batch batch(String table, String sql, Batch parent) throws SQLException {
+            Batch batch = new Batch(this, table, connection.prepareStatement(sql), parent);
+            batches.add(batch);
+            return batch;
+        }
+
+        void executed(int rows) throws SQLException {
+            uncommitted += rows;
+            if (uncommitted >= COMMIT_EVERY) {
+                connection.commit();
+                uncommitted = 0;
+            }
+        }
+
+        // Parents were created first, so flushing in creation order respects foreign keys
+        void finish() throws SQLException {
+            for (Batch batch : batches) batch.flush();
+            connection.commit();
+        }
+
+        Map<String, Long> rows() {
+            Map<String, Long> rows = new LinkedHashMap<>();
+            batches.forEach(batch -> rows.put(batch.table, batch.rows));
+            return rows;
+        }
+
+        void close() throws SQLException {
+            for (Batch batch : batches) batch.statement.close();
+        }
+    }
+
+    /**
+     * A statement collecting rows; before it runs, its parent table's pending rows
+     * are flushed so every foreign key it writes already exists
+     */
+    private static final class Batch {
+
+        private final Writer writer;
+        private final String table;
+        private final PreparedStatement statement;
+        private final Batch parent;
+        private int pending;
+        private long rows;
+
+        Batch(Writer writer, String table, PreparedStatement statement, Batch parent) {
+            this.writer = writer;
+            this.table = table;
+            this.statement = statement;
+            this.parent = parent;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void added() throws SQLException {
+            statement.addBatch();
+            rows++;
+            if (++pending == BATCH_SIZE) flush();
+        }
+
+        void flush() throws SQLException {
+            if (parent != null) parent.flush();
+            if (pending == 0) return;
+            statement.executeBatch();
+            int executed = pending;
+            pending = 0;
+            writer.executed(executed);
+        }
+    }
+
+    /**
+     * {@code DatasetGenerator <jdbc-url> <user> <password> [customers] [caregivers] [seed]}
+     */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 3) {
+            System.err.println("Usage: DatasetGenerator <jdbc-url> <user> <password> [customers] [caregivers] [seed]");
+            System.exit(2);
+        }
+        Scale production = Scale.production();
+        Scale scale = Scale.of(
+                args.length > 3 ? Integer.parseInt(args[3]) : production.customers(),
+                args.length > 4 ? Integer.parseInt(args[4]) : production.caregivers()
+        );
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(args[0], args[1], args[2]);
+        Summary summary = new DatasetGenerator(dataSource, seed).generate(scale);
+        System.out.printf("Generated %s (seed %d)%n", summary, seed);
+        System.out.printf("%,.0f rows/s%n", summary.total() / Math.max(1e-3, summary.elapsed().toNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+    }
+}
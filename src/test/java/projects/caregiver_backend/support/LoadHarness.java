@@ -0,0 +1,507 @@
+package projects.caregiver_backend.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import projects.caregiver_backend.CaregiverSystemApplication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline end-to-end load test. Boots the app against a local database with
+ * {@link PaystackStubServer} in place of api.paystack.co, fills an empty database
+ * with {@link DatasetGenerator}, then has each worker log in as a generated customer
+ * and run a weighted mix of login, caregiver search, booking, payment init and the
+ * charge.success webhook for its own payments. Latency per endpoint goes into
+ * HdrHistograms; the report gives throughput and p50/p99/p99.9, and the results
+ * file keeps the histograms so two builds can be compared afterwards.
+ * Workers are closed-loop (the next request waits for the last), so under
+ * saturation the percentiles understate what an open arrival rate would see.
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=projects.caregiver_backend.support.LoadHarness
+ *       -Dexec.args="run out=target/load-main.json threads=32 latency-ms=250"
+ * Then, with the other build checked out, run again into another file and
+ *       -Dexec.args="compare target/load-main.json target/load-branch.json"
+ * run options, as key=value: db-url (default the local Postgres of
+ * application.properties, or "h2" for in-memory), db-user, db-password,
+ * customers, caregivers, seed, threads, latency-ms, warmup-s, duration-s,
+ * mix (e.g. login=10,search=45,booking=25,payment=12,webhook=8), out
+ */
+public final class LoadHarness {
+
+    private static final String PAYSTACK_SECRET = "sk_test_load_harness";
+    private static final String JWT_SECRET = "load-harness-jwt-secret-that-is-at-least-32-bytes";
+    private static final String DEFAULT_MIX = "login=10,search=45,booking=25,payment=12,webhook=8";
+
+    // Latencies in microseconds, up to a minute, to three significant digits
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    enum Endpoint {
+        LOGIN("login", "POST /auth/login"),
+        SEARCH("search", "POST /caregivers/search"),
+        BOOKING("booking", "POST /bookings"),
+        PAYMENT("payment", "POST /payments/init"),
+        WEBHOOK("webhook", "POST /api/webhooks/paystack");
+
+        final String key;
+        final String label;
+
+        Endpoint(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    /** Latencies and outcomes for one endpoint; 4xx counts as rejected, 5xx and I/O errors as failed */
+    static final class Stats {
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, SIGNIFICANT_DIGITS);
+        final LongAdder ok = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        void record(long micros, int status) {
+            latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+            if (status >= 200 && status < 300) ok.increment();
+            else if (status >= 400 && status < 500) rejected.increment();
+            else failed.increment();
+        }
+    }
+
+    record Area(String city, String neighborhood) {}
+
+    record Options(
+            String dbUrl,
+            String dbUser,
+            String dbPassword,
+            int customers,
+            int caregivers,
+            long seed,
+            int threads,
+            Duration paystackLatency,
+            Duration warmup,
+            Duration duration,
+            EnumMap<Endpoint, Integer> mix,
+            File out
+    ) {
+        static Options parse(List<String> args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) throw new IllegalArgumentException("Expected key=value, got " + arg);
+                values.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+            String dbUrl = values.getOrDefault("db-url", "jdbc:postgresql://localhost:5432/caregiver_db");
+            if (dbUrl.equals("h2")) dbUrl = "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1";
+
+            EnumMap<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+            for (String weight : values.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+                String[] parts = weight.split("=");
+                Endpoint endpoint = Arrays.stream(Endpoint.values())
+                        .filter(e -> e.key.equals(parts[0].trim()))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint in mix: " + parts[0]));
+                mix.put(endpoint, Integer.parseInt(parts[1].trim()));
+            }
+
+            return new Options(
+                    dbUrl,
+                    values.getOrDefault("db-user", dbUrl.startsWith("jdbc:h2") ? "sa" : "postgres"),
+                    values.getOrDefault("db-password", dbUrl.startsWith("jdbc:h2") ? "" : "secret"),
+                    Integer.parseInt(values.getOrDefault("customers", "20000")),
+                    Integer.parseInt(values.getOrDefault("caregivers", "2000")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Integer.parseInt(values.getOrDefault("threads", "16")),
+                    Duration.ofMillis(Long.parseLong(values.getOrDefault("latency-ms", "200"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-s", "30"))),
+                    Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-s", "120"))),
+                    mix,
+                    new File(values.getOrDefault("out", "target/load-result.json"))
+            );
+        }
+    }
+
+    private final Options options;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final EnumMap<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicLong webhookIds = new AtomicLong(1_000_000);
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private String baseUrl;
+    private List<Area> areas;
+    private Map<Area, List<UUID>> caregiversByArea;
+
+    private LoadHarness(Options options) {
+        this.options = options;
+        for (Endpoint endpoint : Endpoint.values()) stats.put(endpoint, new Stats());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 1 && args[0].equals("run")) {
+            new LoadHarness(Options.parse(List.of(args).subList(1, args.length))).run();
+        } else if (args.length == 3 && args[0].equals("compare")) {
+            compare(new File(args[1]), new File(args[2]));
+        } else {
+            System.err.println("Usage: LoadHarness run [key=value ...] | compare <baseline.json> <current.json>");
+            System.exit(2);
+        }
+    }
+
+    private void run() throws Exception {
+        try (PaystackStubServer paystack = PaystackStubServer.start();
+             ConfigurableApplicationContext app = boot(paystack)) {
+            paystack.setLatency(options.paystackLatency());
+            baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            prepareData(app.getBean(DataSource.class));
+
+            ExecutorService workers = Executors.newFixedThreadPool(options.threads());
+            CountDownLatch done = new CountDownLatch(options.threads());
+            for (int w = 0; w < options.threads(); w++) {
+                int worker = w;
+                workers.execute(() -> {
+                    try {
+                        new Worker(worker).loop();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+
+            System.out.printf("Warming up for %d s with %d workers%n", options.warmup().toSeconds(), options.threads());
+            Thread.sleep(options.warmup().toMillis());
+            measuring = true;
+            long started = System.nanoTime();
+            System.out.printf("Measuring for %d s%n", options.duration().toSeconds());
+            Thread.sleep(options.duration().toMillis());
+            measuring = false;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            running = false;
+            done.await(1, TimeUnit.MINUTES);
+            workers.shutdownNow();
+
+            ObjectNode result = result(seconds, paystack.requestCount());
+            print(result);
+            options.out().getAbsoluteFile().getParentFile().mkdirs();
+            JSON.writeValue(options.out(), result);
+            System.out.println("Results written to " + options.out());
+        }
+    }
+
+    private ConfigurableApplicationContext boot(PaystackStubServer paystack) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", options.dbUrl());
+        properties.put("spring.datasource.username", options.dbUser());
+        properties.put("spring.datasource.password", options.dbPassword());
+        // Empty, so the driver follows the URL
+        properties.put("spring.datasource.driver-class-name", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("paystack.base.url", paystack.baseUrl());
+        properties.put("paystack.secret.key", PAYSTACK_SECRET);
+        properties.put("jwt.secret", JWT_SECRET);
+        properties.put("payouts.cron", "-");
+        properties.put("logging.level.root", "WARN");
+        // As arguments, since application.properties outranks builder defaults
+        return new SpringApplicationBuilder(CaregiverSystemApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private void prepareData(DataSource dataSource) throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Long caregivers = jdbc.queryForObject("SELECT COUNT(*) FROM caregivers", Long.class);
+        if (caregivers == null || caregivers == 0) {
+            System.out.printf("Empty database; generating %,d customers and %,d caregivers%n",
+                    options.customers(), options.caregivers());
+            DatasetGenerator.Summary summary = new DatasetGenerator(dataSource, options.seed())
+                    .generate(DatasetGenerator.Scale.of(options.customers(), options.caregivers()));
+            System.out.println("Generated " + summary);
+        }
+
+        caregiversByArea = new LinkedHashMap<>();
+        jdbc.query("SELECT id, city, neighborhood FROM caregivers WHERE verified = TRUE ORDER BY id", rs -> {
+            Area area = new Area(rs.getString("city"), rs.getString("neighborhood"));
+            caregiversByArea.computeIfAbsent(area, a -> new ArrayList<>()).add(rs.getObject("id", UUID.class));
+        });
+        // One entry per caregiver, so busy areas are searched as often as they are in production
+        areas = new ArrayList<>();
+        caregiversByArea.forEach((area, ids) -> ids.forEach(id -> areas.add(area)));
+        if (areas.isEmpty()) throw new IllegalStateException("No verified caregivers to load-test against");
+    }
+
+    /** One customer's session: its token, and bookings and payments it can still act on */
+    private final class Worker {
+
+        private final SplittableRandom random;
+        private final String username;
+        private final Deque<UUID> unpaidBookings = new ArrayDeque<>();
+        private final Deque<String> pendingReferences = new ArrayDeque<>();
+        private final Endpoint[] wheel;
+        private String token;
+
+        Worker(int index) {
+            random = new SplittableRandom(options.seed() * 31 + index);
+            int customers = Math.max(1, options.customers());
+            username = "customer-" + (int) ((long) index * 7919 % customers);
+
+            List<Endpoint> slots = new ArrayList<>();
+            options.mix().forEach((endpoint, weight) -> {
+                for (int i = 0; i < weight; i++) slots.add(endpoint);
+            });
+            wheel = slots.toArray(Endpoint[]::new);
+        }
+
+        void loop() {
+            while (running) {
+                Endpoint next = token == null ? Endpoint.LOGIN : wheel[random.nextInt(wheel.length)];
+                // Payments need a booking and webhooks a payment; fall back to what creates them
+                if (next == Endpoint.WEBHOOK && pendingReferences.isEmpty()) next = Endpoint.PAYMENT;
+                if (next == Endpoint.PAYMENT && unpaidBookings.isEmpty()) next = Endpoint.BOOKING;
+                try {
+                    switch (next) {
+                        case LOGIN -> login();
+                        case SEARCH -> search();
+                        case BOOKING -> book();
+                        case PAYMENT -> pay();
+                        case WEBHOOK -> confirm();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void login() throws InterruptedException {
+            JsonNode body = send(Endpoint.LOGIN, post("/auth/login", Map.of(
+                    "username", username,
+                    "password", DatasetGenerator.PASSWORD)));
+            if (body != null) token = body.path("token").asText();
+        }
+
+        private void search() throws InterruptedException {
+            Area area = areas.get(random.nextInt(areas.size()));
+            Map<String, Object> filter = new HashMap<>();
+            filter.put("city", area.city());
+            filter.put("neighborhood", area.neighborhood());
+            filter.put("availableDate", weekday(random.nextInt(1, 15)).toString());
+            send(Endpoint.SEARCH, authorized(post("/caregivers/search", filter)));
+        }
+
+        private void book() throws InterruptedException {
+            Area area = areas.get(random.nextInt(areas.size()));
+            List<UUID> caregivers = caregiversByArea.get(area);
+            int start = random.nextInt(10, 15);
+            JsonNode body = send(Endpoint.BOOKING, authorized(post("/bookings", Map.of(
+                    "caregiverId", caregivers.get(random.nextInt(caregivers.size())).toString(),
+                    "date", weekday(random.nextInt(1, 29)).toString(),
+                    "startTime", String.format("%02d:00", start),
+                    "endTime", String.format("%02d:00", start + random.nextInt(1, 3))))));
+            if (body != null) unpaidBookings.add(UUID.fromString(body.path("id").asText()));
+        }
+
+        private void pay() throws InterruptedException {
+            UUID booking = unpaidBookings.poll();
+            JsonNode body = send(Endpoint.PAYMENT, authorized(post("/payments/init", Map.of(
+                    "bookingId", booking.toString())))
+                    .header("Idempotency-Key", booking.toString()));
+            if (body != null) pendingReferences.add(body.path("reference").asText());
+        }
+
+        private void confirm() throws InterruptedException {
+            String reference = pendingReferences.poll();
+            byte[] payload = ("{\"event\":\"charge.success\",\"data\":{\"id\":" + webhookIds.incrementAndGet()
+                    + ",\"reference\":\"" + reference + "\",\"status\":\"success\"}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            send(Endpoint.WEBHOOK, request("/api/webhooks/paystack")
+                    .header("Content-Type", "application/json")
+                    .header("x-paystack-signature", sign(payload))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(payload)));
+        }
+
+        private LocalDate weekday(int daysAhead) {
+            LocalDate date = LocalDate.now().plusDays(daysAhead);
+            while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                date = date.plusDays(1);
+            }
+            return date;
+        }
+
+        private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+            return request.header("Authorization", "Bearer " + token);
+        }
+
+        /** Sends and records the request; returns the parsed body of a 2xx, otherwise null */
+        private JsonNode send(Endpoint endpoint, HttpRequest.Builder request) throws InterruptedException {
+            long started = System.nanoTime();
+            int status;
+            byte[] body = null;
+            try {
+                HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = -1;
+            }
+            if (measuring) {
+                stats.get(endpoint).record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started), status);
+            }
+            if (status == 401 || status == 403) token = null;
+            if (status < 200 || status >= 300 || body == null || body.length == 0) return null;
+            try {
+                return JSON.readTree(body);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.Builder post(String path, Object body) {
+        try {
+            return request(path)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static String sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA512");
+            mac.init(new SecretKeySpec(PAYSTACK_SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA512"));
+            return HexFormat.of().formatHex(mac.doFinal(payload));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ObjectNode result(double seconds, int paystackRequests) {
+        ObjectNode result = JSON.createObjectNode();
+        result.put("threads", options.threads());
+        result.put("paystackLatencyMs", options.paystackLatency().toMillis());
+        result.put("seconds", seconds);
+        result.put("paystackRequests", paystackRequests);
+        ArrayNode endpoints = result.putArray("endpoints");
+        stats.forEach((endpoint, s) -> {
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", endpoint.label);
+            node.put("ok", s.ok.sum());
+            node.put("rejected", s.rejected.sum());
+            node.put("failed", s.failed.sum());
+            node.put("throughput", s.latencies.getTotalCount() / seconds);
+            node.put("histogram", encode(s.latencies));
+        });
+        return result;
+    }
+
+    private static void print(JsonNode result) {
+        System.out.printf("%n%d workers, Paystack stub at %d ms, %.0f s measured%n",
+                result.path("threads").asInt(), result.path("paystackLatencyMs").asLong(), result.path("seconds").asDouble());
+        System.out.printf("%-30s %9s %9s %9s %9s %10s %10s %10s %10s%n",
+                "Endpoint", "req/s", "ok", "4xx", "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (JsonNode endpoint : result.path("endpoints")) {
+            Histogram latencies = decode(endpoint.path("histogram").asText());
+            System.out.printf("%-30s %9.1f %9d %9d %9d %10.2f %10.2f %10.2f %10.2f%n",
+                    endpoint.path("endpoint").asText(),
+                    endpoint.path("throughput").asDouble(),
+                    endpoint.path("ok").asLong(),
+                    endpoint.path("rejected").asLong(),
+                    endpoint.path("failed").asLong(),
+                    millis(latencies, 50), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0);
+        }
+    }
+
+    /**
+     * Throughput and percentiles of the current run against the baseline, per endpoint;
+     * a positive change is more throughput, or more latency
+     */
+    private static void compare(File baselineFile, File currentFile) throws IOException {
+        JsonNode baseline = JSON.readTree(baselineFile);
+        JsonNode current = JSON.readTree(currentFile);
+        print(baseline);
+        print(current);
+
+        Map<String, JsonNode> before = new LinkedHashMap<>();
+        baseline.path("endpoints").forEach(e -> before.put(e.path("endpoint").asText(), e));
+
+        System.out.printf("%n%-30s %16s %16s %16s %16s%n", "Change", "req/s", "p50", "p99", "p99.9");
+        for (JsonNode after : current.path("endpoints")) {
+            String name = after.path("endpoint").asText();
+            JsonNode previous = before.get(name);
+            if (previous == null) {
+                System.out.printf("%-30s %16s%n", name, "not in baseline");
+                continue;
+            }
+            Histogram was = decode(previous.path("histogram").asText());
+            Histogram now = decode(after.path("histogram").asText());
+            System.out.printf("%-30s %16s %16s %16s %16s%n", name,
+                    change(previous.path("throughput").asDouble(), after.path("throughput").asDouble()),
+                    change(millis(was, 50), millis(now, 50)),
+                    change(millis(was, 99), millis(now, 99)),
+                    change(millis(was, 99.9), millis(now, 99.9)));
+        }
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format("%+.1f%%", (after - before) / before * 100);
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String encode(Histogram latencies) {
+        ByteBuffer buffer = ByteBuffer.allocate(latencies.getNeededByteBufferCapacity());
+        int length = latencies.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unreadable histogram in results file", e);
+        }
+    }
+}
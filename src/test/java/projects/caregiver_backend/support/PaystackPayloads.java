@@ -0,0 +1,32 @@
+package projects.caregiver_backend.support;
+
+/**
+ * Paystack-shaped payloads for tests and benchmarks that need realistic sizes
+ */
+public final class PaystackPayloads {
+
+    private PaystackPayloads() {
+    }
+
+    /** Shape of a charge.success data object, about 1.4 KB */
+    public static String chargeData(String reference, String id) {
+        return "{\"id\":" + id + ",\"domain\":\"live\",\"status\":\"success\",\"reference\":\"" + reference + "\","
+                + "\"amount\":200000,\"message\":null,\"gateway_response\":\"Approved by Financial Institution\","
+                + "\"paid_at\":\"2026-03-14T10:22:31.000Z\",\"created_at\":\"2026-03-14T10:21:02.000Z\","
+                + "\"channel\":\"card\",\"currency\":\"NGN\",\"ip_address\":\"102.89.34." + (Integer.parseInt(id) % 255) + "\","
+                + "\"metadata\":{\"custom_fields\":[{\"display_name\":\"Caregiver\",\"variable_name\":\"caregiver\","
+                + "\"value\":\"Footprint Caregiver\"}],\"referrer\":\"https://app.example.com/bookings/" + reference + "\"},"
+                + "\"log\":{\"start_time\":1710411662,\"time_spent\":89,\"attempts\":1,\"errors\":0,\"success\":true,"
+                + "\"mobile\":false,\"input\":[],\"history\":[{\"type\":\"action\",\"message\":\"Attempted to pay with card\","
+                + "\"time\":45},{\"type\":\"success\",\"message\":\"Successfully paid with card\",\"time\":89}]},"
+                + "\"fees\":3000,\"fees_split\":null,\"authorization\":{\"authorization_code\":\"AUTH_" + id + "\","
+                + "\"bin\":\"539999\",\"last4\":\"8877\",\"exp_month\":\"08\",\"exp_year\":\"2028\",\"channel\":\"card\","
+                + "\"card_type\":\"mastercard DEBIT\",\"bank\":\"Guaranty Trust Bank\",\"country_code\":\"NG\","
+                + "\"brand\":\"mastercard\",\"reusable\":true,\"signature\":\"SIG_" + id + "\",\"account_name\":null},"
+                + "\"customer\":{\"id\":84312,\"first_name\":\"Tunde\",\"last_name\":\"Bakare\","
+                + "\"email\":\"tunde.bakare@example.com\",\"customer_code\":\"CUS_xnxdt6s1zg1f4nx\","
+                + "\"phone\":\"+2348031234567\",\"metadata\":{},\"risk_action\":\"default\"},\"plan\":{},"
+                + "\"subaccount\":{},\"split\":{},\"order_id\":null,\"requested_amount\":200000,"
+                + "\"source\":{\"type\":\"web\",\"source\":\"checkout\",\"entry_point\":\"request_inline\"}}";
+    }
+}
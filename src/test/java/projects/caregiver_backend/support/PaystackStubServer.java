@@ -0,0 +1,232 @@
+package projects.caregiver_backend.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Paystack API so gateway behaviour can be exercised offline
+ * Latency, failures and an explicit hold gate are adjustable while it runs.
+ * Run main() to start it standalone: {@code PaystackStubServer [port] [latencyMs]}.
+ */
+public class PaystackStubServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Map<String, String> verifyStatuses = new ConcurrentHashMap<>();
+    private final AtomicInteger bulkTransferRequests = new AtomicInteger();
+    private final AtomicInteger largestBulkTransfer = new AtomicInteger();
+    private final Set<String> transferReferences = ConcurrentHashMap.newKeySet();
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile boolean failing;
+    private volatile boolean emptyBody;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private volatile String defaultVerifyStatus = "success";
+
+    private PaystackStubServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/transaction/initialize", this::initialize);
+        server.createContext("/transaction/verify/", this::verify);
+        server.createContext("/transferrecipient", this::createRecipient);
+        server.createContext("/transfer/bulk", this::bulkTransfer);
+        server.start();
+    }
+
+    public static PaystackStubServer start() throws IOException {
+        return new PaystackStubServer(0);
+    }
+
+    public static PaystackStubServer start(int port) throws IOException {
+        return new PaystackStubServer(port);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // Answer every request with HTTP 500
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    // Answer every request with HTTP 200 and no body
+    public void setEmptyBody(boolean emptyBody) {
+        this.emptyBody = emptyBody;
+    }
+
+    // Park incoming requests until release()
+    public void hold() {
+        gate = new CountDownLatch(1);
+    }
+
+    public void release() {
+        gate.countDown();
+    }
+
+    // Transaction status reported by /transaction/verify for references without their own
+    public void setDefaultVerifyStatus(String status) {
+        this.defaultVerifyStatus = status;
+    }
+
+    public void setVerifyStatus(String reference, String status) {
+        verifyStatuses.put(reference, status);
+    }
+
+    // Most requests the stub has been serving at the same time
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    public int bulkTransferRequests() {
+        return bulkTransferRequests.get();
+    }
+
+    public int largestBulkTransfer() {
+        return largestBulkTransfer.get();
+    }
+
+    // Distinct transfer references received; a resubmitted reference counts once, as at Paystack
+    public Set<String> transferReferences() {
+        return Set.copyOf(transferReferences);
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    public boolean awaitRequests(int count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (requests.get() < count) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private void initialize(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        String reference = request.path("reference").asText();
+
+        String body = "{\"status\":true,\"message\":\"Authorization URL created\",\"data\":{"
+                + "\"authorization_url\":\"" + baseUrl() + "/checkout/" + reference + "\","
+                + "\"access_code\":\"stub-" + reference + "\","
+                + "\"reference\":\"" + reference + "\"}}";
+        respond(exchange, body);
+    }
+
+    private void verify(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String reference = path.substring(path.lastIndexOf('/') + 1);
+        String status = verifyStatuses.getOrDefault(reference, defaultVerifyStatus);
+
+        String body = "{\"status\":true,\"message\":\"Verification successful\",\"data\":{"
+                + "\"id\":" + Math.abs(reference.hashCode()) + ","
+                + "\"status\":\"" + status + "\","
+                + "\"reference\":\"" + reference + "\","
+                + "\"gateway_response\":\"" + ("success".equals(status) ? "Successful" : "Declined") + "\","
+                + "\"channel\":\"card\",\"currency\":\"NGN\"}}";
+        respond(exchange, body);
+    }
+
+    private void createRecipient(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        String accountNumber = request.path("account_number").asText();
+
+        String body = "{\"status\":true,\"message\":\"Transfer recipient created successfully\",\"data\":{"
+                + "\"recipient_code\":\"RCP_" + accountNumber + "\","
+                + "\"type\":\"nuban\",\"currency\":\"NGN\"}}";
+        respond(exchange, body);
+    }
+
+    private void bulkTransfer(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+        JsonNode transfers = request.path("transfers");
+        bulkTransferRequests.incrementAndGet();
+        largestBulkTransfer.accumulateAndGet(transfers.size(), Math::max);
+
+        StringBuilder data = new StringBuilder();
+        for (JsonNode transfer : transfers) {
+            String reference = transfer.path("reference").asText();
+            transferReferences.add(reference);
+            if (!data.isEmpty()) data.append(',');
+            data.append("{\"reference\":\"").append(reference).append("\",")
+                    .append("\"recipient\":\"").append(transfer.path("recipient").asText()).append("\",")
+                    .append("\"amount\":").append(transfer.path("amount").asLong()).append(',')
+                    .append("\"transfer_code\":\"TRF_").append(reference).append("\",")
+                    .append("\"currency\":\"").append(request.path("currency").asText()).append("\",")
+                    .append("\"status\":\"received\"}");
+        }
+
+        respond(exchange, "{\"status\":true,\"message\":\"" + transfers.size()
+                + " transfers queued.\",\"data\":[" + data + "]}");
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            gate.await(30, TimeUnit.SECONDS);
+            if (!latency.isZero()) Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+
+        int status = failing ? 500 : 200;
+        byte[] bytes = (failing ? "{\"status\":false,\"message\":\"stub failure\"}" : body)
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (emptyBody && !failing) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8089;
+        PaystackStubServer stub = start(port);
+        if (args.length > 1) {
+            stub.setLatency(Duration.ofMillis(Long.parseLong(args[1])));
+        }
+        System.out.println("Paystack stub listening on " + stub.baseUrl());
+    }
+}
@@ -0,0 +1,137 @@
+package projects.caregiver_backend.support;
+
+import org.hibernate.stat.Statistics;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures what one piece of work costs the database: statements prepared on the
+ * calling thread, entities loaded and collections fetched. A usage that goes over
+ * its limits fails with a report of every statement, most repeated first, so the
+ * query behind an N+1 is named in the failure rather than found by re-running
+ * with SQL logging.
+ * Needs hibernate.generate_statistics and {@link SqlRecorder}, both on in the test profile.
+ */
+public final class QueryBudget {
+
+    // Longer statements are cut in the report; the select list is rarely the interesting part
+    private static final int MAX_SQL_LENGTH = 220;
+
+    private final Statistics statistics;
+
+    public QueryBudget(Statistics statistics) {
+        if (!statistics.isStatisticsEnabled()) {
+            throw new IllegalStateException("Query budgets need hibernate.generate_statistics=true");
+        }
+        this.statistics = statistics;
+    }
+
+    public record Limits(int statements, long entityLoads, long collectionFetches) {}
+
+    public static Limits limits(int statements, long entityLoads, long collectionFetches) {
+        return new Limits(statements, entityLoads, collectionFetches);
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    /**
+     * What the work cost. Statements are per thread; entity and collection counters
+     * are global, so scheduled jobs should be parked while measuring.
+     */
+    public record Usage(
+            List<String> statements,
+            Map<String, Long> entityLoads,
+            Map<String, Long> collectionFetches
+    ) {
+        public long entityLoadCount() {
+            return entityLoads.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public long collectionFetchCount() {
+            return collectionFetches.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        public void assertWithin(String label, Limits limits) {
+            boolean over = statements.size() > limits.statements()
+                    || entityLoadCount() > limits.entityLoads()
+                    || collectionFetchCount() > limits.collectionFetches();
+            if (over) {
+                throw new AssertionError(report(label, limits));
+            }
+        }
+
+        public String report(String label, Limits limits) {
+            StringBuilder report = new StringBuilder()
+                    .append(label).append(" went over its query budget\n")
+                    .append(String.format("  %-22s %6s %7s%n", "", "used", "budget"));
+            line(report, "statements", statements.size(), limits.statements());
+            line(report, "entities loaded", entityLoadCount(), limits.entityLoads());
+            line(report, "collections fetched", collectionFetchCount(), limits.collectionFetches());
+
+            report.append("Statements, most repeated first:\n");
+            Map<String, Long> repeats = statements.stream()
+                    .map(QueryBudget::normalize)
+                    .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()));
+            repeats.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> report.append(String.format("  %4dx  %s%s%n",
+                            e.getValue(), e.getKey(), e.getValue() > 1 ? "   <- repeated" : "")));
+
+            counts(report, "Entities loaded:", entityLoads);
+            counts(report, "Collections fetched:", collectionFetches);
+            return report.toString();
+        }
+
+        private static void line(StringBuilder report, String name, long used, long budget) {
+            report.append(String.format("  %-22s %6d %7d%s%n", name, used, budget, used > budget ? "  OVER" : ""));
+        }
+
+        private static void counts(StringBuilder report, String title, Map<String, Long> counts) {
+            if (counts.isEmpty()) return;
+            report.append(title).append('\n');
+            counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .forEach(e -> report.append(String.format("  %4d  %s%n", e.getValue(), e.getKey())));
+        }
+    }
+
+    public Usage measure(Work work) throws Exception {
+        statistics.clear();
+        List<String> statements;
+        SqlRecorder.start();
+        try {
+            work.run();
+        } finally {
+            statements = SqlRecorder.stop();
+        }
+        return new Usage(statements, entityLoads(), collectionFetches());
+    }
+
+    private Map<String, Long> entityLoads() {
+        Map<String, Long> loads = new TreeMap<>();
+        for (String entity : statistics.getEntityNames()) {
+            long count = statistics.getEntityStatistics(entity).getLoadCount();
+            if (count > 0) loads.put(entity, count);
+        }
+        return loads;
+    }
+
+    private Map<String, Long> collectionFetches() {
+        Map<String, Long> fetches = new TreeMap<>();
+        for (String role : statistics.getCollectionRoleNames()) {
+            long count = statistics.getCollectionStatistics(role).getFetchCount();
+            if (count > 0) fetches.put(role, count);
+        }
+        return fetches;
+    }
+
+    private static String normalize(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() > MAX_SQL_LENGTH ? flat.substring(0, MAX_SQL_LENGTH) + " ..." : flat;
+    }
+}
@@ -0,0 +1,39 @@
+package projects.caregiver_backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while a recording is
+ * open, so a query budget only counts what the request under test issued and not
+ * what a scheduled job did meanwhile. Registered for the test profile in
+ * application-test.yml; Hibernate creates it through the no-arg constructor.
+ */
+public class SqlRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDING.set(new ArrayList<>());
+    }
+
+    /**
+     * Ends the recording and returns the statements in the order they were prepared
+     */
+    public static List<String> stop() {
+        List<String> recorded = RECORDING.get();
+        RECORDING.remove();
+        return recorded != null ? recorded : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDING.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+}